@@ -3,6 +3,18 @@ plugins { id("buildlogic.java-application-conventions") }
 dependencies {
   implementation(project(":libs:common"))
   implementation(project(":libs:catalog"))
+  implementation("io.micronaut.micrometer:micronaut-micrometer-core")
+  implementation("io.micronaut.micrometer:micronaut-micrometer-registry-prometheus")
+  implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+  implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+  runtimeOnly(libs.zstd.jni)
 }
 
 application { mainClass = "io.github.carlomicieli.App" }
+
+tasks.register<JavaExec>("importCatalog") {
+  description = "Imports brands, railways or scales from a CSV or NDJSON file."
+  group = "application"
+  classpath = sourceSets["main"].runtimeClasspath
+  mainClass = "io.github.carlomicieli.Import"
+}
@@ -0,0 +1,75 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli;
+
+import io.github.carlomicieli.catalog.FileStore;
+import io.github.carlomicieli.imports.CatalogImporter;
+import io.github.carlomicieli.imports.ImportEntity;
+import io.github.carlomicieli.imports.ImportFormat;
+import io.github.carlomicieli.imports.ImportOptions;
+import io.github.carlomicieli.imports.ImportReport;
+import io.micronaut.context.ApplicationContext;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports brands, railways or scales from a CSV or NDJSON file, without starting the HTTP server:
+ *
+ * <pre>{@code
+ * Import <brands|railways|scales> <file> [csv|ndjson]
+ * }</pre>
+ *
+ * The format is guessed from the file extension when it is not given. The entities are kept only
+ * when {@code catalog.store.directory} is set, and the import fails when the server, or another
+ * import, holds the lock on that directory.
+ */
+public class Import {
+  private static final Logger LOG = LoggerFactory.getLogger(Import.class);
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println("Usage: Import <brands|railways|scales> <file> [csv|ndjson]");
+      System.exit(2);
+    }
+    ImportEntity entity = ImportEntity.parse(args[0]);
+    Path file = Path.of(args[1]);
+    ImportFormat format =
+        args.length == 3
+            ? ImportFormat.parse(args[2])
+            : ImportFormat.fromFileName(file.getFileName().toString());
+
+    try (ApplicationContext context = ApplicationContext.run()) {
+      if (!context.containsProperty(FileStore.DIRECTORY_PROPERTY)) {
+        LOG.warn(
+            "{} is not set: the imported entities are not saved", FileStore.DIRECTORY_PROPERTY);
+      }
+      ImportReport report =
+          context
+              .getBean(CatalogImporter.class)
+              .importFile(file, entity, ImportOptions.defaults(format));
+      if (!report.errors().isEmpty()) {
+        LOG.warn("The first rejected records:\n{}", String.join("\n", report.errors()));
+      }
+    }
+  }
+}
@@ -21,7 +21,13 @@
 package io.github.carlomicieli.api.catalog;
 
 final class ApiCatalog {
+  static final String API_AUTOCOMPLETE = "/api/autocomplete";
   static final String API_BRANDS = "/api/brands";
+  static final String API_CATALOG_ITEMS = "/api/catalog-items";
+  static final String API_EXPORT = "/api/export";
   static final String API_RAILWAYS = "/api/railways";
   static final String API_SCALES = "/api/scales";
+  static final String API_SEARCH = "/api/search";
+  static final String APPLICATION_CBOR = "application/cbor";
+  static final String APPLICATION_SMILE = "application/x-jackson-smile";
 }
@@ -0,0 +1,65 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Typeahead suggestions for the brand and railway pickers, so that the clients do not need to
+ * download the whole lists to filter them.
+ */
+@Controller(ApiCatalog.API_AUTOCOMPLETE)
+public class AutocompleteController {
+  static final String DEFAULT_LIMIT = "10";
+
+  private final CatalogAutocomplete autocomplete;
+
+  public AutocompleteController(final CatalogAutocomplete autocomplete) {
+    this.autocomplete = Objects.requireNonNull(autocomplete, "autocomplete must not be null");
+  }
+
+  /**
+   * Suggests the brands and railways with a name, slug or abbreviation starting with the prefix,
+   * ignoring case and accents. The most popular come first.
+   */
+  @NonBlocking
+  @Get
+  @Produces(MediaType.APPLICATION_JSON)
+  List<AutocompleteView> suggest(
+      @QueryValue final String q,
+      @Nullable @QueryValue @Pattern(regexp = "brand|railway", message = "Invalid type")
+          final String type,
+      @QueryValue(defaultValue = DEFAULT_LIMIT) @Min(1) @Max(CatalogAutocomplete.MAX_LIMIT)
+          final int limit) {
+    return autocomplete.suggest(q, type, limit);
+  }
+}
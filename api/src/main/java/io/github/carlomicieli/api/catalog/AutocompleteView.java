@@ -0,0 +1,57 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.Railway;
+import io.micronaut.serde.annotation.Serdeable;
+import io.soabase.recordbuilder.core.RecordBuilder;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A typeahead suggestion: the {@code type} of the entity ({@code brand} or {@code railway}), its id
+ * and its name, and nothing else.
+ */
+@RecordBuilder
+@Serdeable
+public record AutocompleteView(@NotNull String type, @NotNull String id, @NotNull String name) {
+  static final String BRAND = "brand";
+  static final String RAILWAY = "railway";
+
+  @CheckReturnValue
+  public static @NotNull AutocompleteView fromBrand(@NotNull final Brand brand) {
+    return AutocompleteViewBuilder.builder()
+        .type(BRAND)
+        .id(brand.id().value())
+        .name(brand.name())
+        .build();
+  }
+
+  @CheckReturnValue
+  public static @NotNull AutocompleteView fromRailway(@NotNull final Railway railway) {
+    return AutocompleteViewBuilder.builder()
+        .type(RAILWAY)
+        .id(railway.id().value())
+        .name(railway.name())
+        .build();
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.BatchResult;
+import io.micronaut.serde.annotation.Serdeable;
+import io.micronaut.serde.config.naming.SnakeCaseStrategy;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The outcome of one item of a batch create request.
+ *
+ * @param index the position of the item in the request
+ * @param id the id of the created resource, or {@code null} when the item was rejected
+ * @param error the reason why the item was rejected, or {@code null} when it was created
+ */
+@Serdeable(naming = SnakeCaseStrategy.class)
+public record BatchItemView(int index, @Nullable String id, @Nullable String error) {
+  @CheckReturnValue
+  public static @NotNull BatchItemView fromResult(
+      final int index, @NotNull final BatchResult<?> result) {
+    return switch (result) {
+      case BatchResult.Created<?> created ->
+          new BatchItemView(index, created.value().toString(), null);
+      case BatchResult.Rejected<?> rejected -> new BatchItemView(index, null, rejected.reason());
+    };
+  }
+}
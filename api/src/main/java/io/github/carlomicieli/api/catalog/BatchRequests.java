@@ -0,0 +1,110 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.BatchResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs a batch create request: the requests are validated in parallel, the valid ones are created
+ * with a single batch command, and the two outcomes are merged back in the request order.
+ *
+ * <p>The body of a batch request is bound as a stream and collected with {@link #collect}, without
+ * blocking the event loop while it is received.
+ */
+public final class BatchRequests {
+  private BatchRequests() {}
+
+  /**
+   * Collects the requests of a batch as they are decoded, and emits them on a worker thread, where
+   * the batch can be created.
+   *
+   * @param requests the requests, as they are received
+   * @return the requests, in the order they were received
+   * @param <Q> the request type
+   */
+  @CheckReturnValue
+  public static <Q> @NotNull Mono<List<Q>> collect(@NotNull final Publisher<Q> requests) {
+    return Flux.from(requests).collectList().publishOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * Creates the resources of a batch request.
+   *
+   * @param requests the requests, in the order they were received
+   * @param validator the validator for the request constraints
+   * @param toCommand the function mapping a valid request to its create command
+   * @param handler the function running the batch command for the valid requests
+   * @return the outcome of every request
+   * @param <Q> the request type
+   * @param <C> the create command type
+   * @param <I> the id type of the created resources
+   */
+  @CheckReturnValue
+  public static <Q, C, I> @NotNull BatchView create(
+      @NotNull final List<Q> requests,
+      @NotNull final Validator validator,
+      @NotNull final Function<Q, C> toCommand,
+      @NotNull final Function<List<C>, List<BatchResult<I>>> handler) {
+    List<BatchResult<C>> commands =
+        requests.parallelStream().map(request -> validate(request, validator, toCommand)).toList();
+    Iterator<BatchResult<I>> created = handler.apply(BatchResult.created(commands)).iterator();
+
+    List<BatchItemView> items = new ArrayList<>(commands.size());
+    for (int index = 0; index < commands.size(); index++) {
+      BatchResult<?> result =
+          commands.get(index) instanceof BatchResult.Created<C>
+              ? created.next()
+              : commands.get(index);
+      items.add(BatchItemView.fromResult(index, result));
+    }
+    return BatchView.fromItems(items);
+  }
+
+  private static <Q, C> BatchResult<C> validate(
+      final Q request, final Validator validator, final Function<Q, C> toCommand) {
+    if (request == null) {
+      return new BatchResult.Rejected<>("The request cannot be null");
+    }
+    Set<ConstraintViolation<Q>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      return new BatchResult.Rejected<>(
+          violations.stream()
+              .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+              .sorted()
+              .collect(Collectors.joining(", ")));
+    }
+    return BatchResult.of(() -> toCommand.apply(request));
+  }
+}
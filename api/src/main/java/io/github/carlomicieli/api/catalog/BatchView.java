@@ -0,0 +1,43 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.micronaut.serde.annotation.Serdeable;
+import io.micronaut.serde.config.naming.SnakeCaseStrategy;
+import java.util.List;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The response to a batch create request.
+ *
+ * @param created the number of created items
+ * @param rejected the number of rejected items
+ * @param items the outcome of every item, in the request order
+ */
+@Serdeable(naming = SnakeCaseStrategy.class)
+public record BatchView(int created, int rejected, @NotNull List<BatchItemView> items) {
+  @CheckReturnValue
+  public static @NotNull BatchView fromItems(@NotNull final List<BatchItemView> items) {
+    int created = (int) items.stream().filter(item -> item.id() != null).count();
+    return new BatchView(created, items.size() - created, items);
+  }
+}
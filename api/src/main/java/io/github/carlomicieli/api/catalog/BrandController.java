@@ -20,12 +20,17 @@
  */
 package io.github.carlomicieli.api.catalog;
 
-import io.github.carlomicieli.Address;
-import io.github.carlomicieli.ContactInfo;
+import io.github.carlomicieli.catalog.Brand;
 import io.github.carlomicieli.catalog.BrandCommand;
 import io.github.carlomicieli.catalog.BrandCommandHandler;
 import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.DuplicateIdException;
+import io.micronaut.core.annotation.Blocking;
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Consumes;
@@ -34,42 +39,93 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.annotation.QueryValue;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Controller(ApiCatalog.API_BRANDS)
 public class BrandController {
   private final Logger LOG = LoggerFactory.getLogger(BrandController.class);
   private final BrandCommandHandler commandHandler;
+  private final Validator validator;
+  private final ResponseCache responseCache;
 
-  public BrandController(final BrandCommandHandler commandHandler) {
+  public BrandController(
+      final BrandCommandHandler commandHandler,
+      final Validator validator,
+      final ResponseCache responseCache) {
     this.commandHandler = Objects.requireNonNull(commandHandler, "commandHandler must not be null");
+    this.validator = Objects.requireNonNull(validator, "validator must not be null");
+    this.responseCache = Objects.requireNonNull(responseCache, "responseCache must not be null");
   }
 
   @Get()
-  @Produces(MediaType.APPLICATION_JSON)
-  List<BrandView> getAllBrands() {
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getAllBrands(
+      final HttpRequest<?> request,
+      @Nullable @QueryValue final String cursor,
+      @QueryValue(defaultValue = Pagination.DEFAULT_LIMIT) @Min(1) @Max(Pagination.MAX_LIMIT)
+          final int limit,
+      @Nullable @QueryValue(FieldSet.PARAMETER) final String fields) {
     LOG.info("GET {}", ApiCatalog.API_BRANDS);
-    return commandHandler.handle(new BrandCommand.FindAllBrands()).stream()
-        .map(BrandView::fromBrand)
-        .toList();
+    BrandId after;
+    FieldSet fieldSet;
+    try {
+      after = Optional.ofNullable(Pagination.decodeCursor(cursor)).map(BrandId::new).orElse(null);
+      fieldSet = FieldSet.parse(fields, BrandView.FIELDS);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    long version = commandHandler.handle(new BrandCommand.FindBrandsVersion());
+    return responseCache.collection(
+        request,
+        version,
+        () -> {
+          List<Brand> brands =
+              commandHandler.handle(new BrandCommand.FindAllBrands(after, limit + 1));
+          return Pagination.page(
+              ApiCatalog.API_BRANDS,
+              Collections.singletonMap(FieldSet.PARAMETER, fields),
+              brands,
+              limit,
+              brand -> brand.id().value(),
+              brand -> BrandView.fromBrand(brand, fieldSet));
+        });
+  }
+
+  @Blocking
+  @Get("/stream")
+  @Produces({MediaType.APPLICATION_JSON_STREAM, MediaType.APPLICATION_JSON})
+  Publisher<BrandView> streamAllBrands() {
+    LOG.info("GET {}/stream", ApiCatalog.API_BRANDS);
+    return Flux.fromIterable(commandHandler.handle(new BrandCommand.FindAllBrands()))
+        .map(BrandView::fromBrand);
   }
 
+  @NonBlocking
   @Get("/{id}")
-  @Produces(MediaType.APPLICATION_JSON)
-  HttpResponse<BrandView> getBrandById(@PathVariable("id") final String id) {
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getBrandById(final HttpRequest<?> request, @PathVariable("id") final String id) {
     LOG.info("GET {}/{}", ApiCatalog.API_BRANDS, id);
     BrandId brandId = BrandId.fromName(id);
-    return commandHandler
-        .handle(new BrandCommand.FindBrandById(brandId))
-        .map(BrandView::fromBrand)
-        .map(HttpResponse::ok)
-        .orElseGet(HttpResponse::notFound);
+    return responseCache.entity(
+        request,
+        commandHandler.handle(new BrandCommand.FindBrandById(brandId)),
+        Brand::metadata,
+        BrandView::fromBrand);
   }
 
   @Post()
@@ -77,22 +133,49 @@ public class BrandController {
   @Produces(MediaType.APPLICATION_JSON)
   HttpResponse<?> createBrand(@Valid @Body final BrandRequest brandRequest) {
     LOG.info("POST {} {}", ApiCatalog.API_BRANDS, brandRequest);
-    Address address =
-        Optional.ofNullable(brandRequest.address()).map(AddressRequest::toAddress).orElse(null);
-    ContactInfo contactInfo =
-        Optional.ofNullable(brandRequest.contactInfo())
-            .map(ContactInfoRequest::toContactInfo)
-            .orElse(null);
-    BrandId brandId =
-        commandHandler.handle(
-            new BrandCommand.CreateBrand(
-                brandRequest.name(),
-                brandRequest.kind(),
-                brandRequest.status(),
-                address,
-                brandRequest.organizationEntityType(),
-                contactInfo));
-
+    BrandId brandId;
+    try {
+      brandId = commandHandler.handle(brandRequest.toCommand());
+    } catch (DuplicateIdException e) {
+      return HttpResponse.status(HttpStatus.CONFLICT);
+    }
     return HttpResponse.created(URI.create(ApiCatalog.API_BRANDS + "/" + brandId));
   }
+
+  /** Replaces the values of an existing brand, which keeps its id: a brand cannot be renamed. */
+  @Put("/{id}")
+  @Consumes(MediaType.APPLICATION_JSON)
+  HttpResponse<?> updateBrand(
+      @PathVariable("id") final String id, @Valid @Body final BrandRequest brandRequest) {
+    LOG.info("PUT {}/{} {}", ApiCatalog.API_BRANDS, id, brandRequest);
+    BrandCommand.UpdateBrand command;
+    try {
+      command = new BrandCommand.UpdateBrand(BrandId.fromName(id), brandRequest.toCommand());
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    Optional<Brand> brand = commandHandler.handle(command);
+    return brand.isPresent() ? HttpResponse.noContent() : HttpResponse.notFound();
+  }
+
+  /**
+   * Creates many brands at once. The body is either a JSON array or a stream of JSON values, one
+   * per line.
+   */
+  @Post("/batch")
+  @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON_STREAM})
+  @Produces(MediaType.APPLICATION_JSON)
+  Mono<HttpResponse<BatchView>> createBrands(@Body final Publisher<BrandRequest> brandRequests) {
+    return BatchRequests.collect(brandRequests)
+        .map(
+            requests -> {
+              LOG.info("POST {}/batch ({} brands)", ApiCatalog.API_BRANDS, requests.size());
+              return HttpResponse.ok(
+                  BatchRequests.create(
+                      requests,
+                      validator,
+                      BrandRequest::toCommand,
+                      brands -> commandHandler.handle(new BrandCommand.CreateBrands(brands))));
+            });
+  }
 }
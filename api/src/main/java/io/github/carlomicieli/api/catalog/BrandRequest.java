@@ -20,6 +20,7 @@
  */
 package io.github.carlomicieli.api.catalog;
 
+import io.github.carlomicieli.catalog.BrandCommand;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
 import io.micronaut.serde.config.naming.SnakeCaseStrategy;
@@ -27,6 +28,8 @@ import io.soabase.recordbuilder.core.RecordBuilder;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import java.util.Optional;
+import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
 @Introspected
@@ -38,4 +41,21 @@ public record BrandRequest(
     String status,
     @Valid AddressRequest address,
     String organizationEntityType,
-    ContactInfoRequest contactInfo) {}
+    ContactInfoRequest contactInfo) {
+
+  /**
+   * Creates the command to create the brand described by this request.
+   *
+   * @return the command to create the brand
+   */
+  @CheckReturnValue
+  public @NotNull BrandCommand.CreateBrand toCommand() {
+    return new BrandCommand.CreateBrand(
+        name,
+        kind,
+        status,
+        Optional.ofNullable(address).map(AddressRequest::toAddress).orElse(null),
+        organizationEntityType,
+        Optional.ofNullable(contactInfo).map(ContactInfoRequest::toContactInfo).orElse(null));
+  }
+}
@@ -26,6 +26,8 @@ import io.github.carlomicieli.catalog.BrandKind;
 import io.micronaut.serde.annotation.Serdeable;
 import io.soabase.recordbuilder.core.RecordBuilder;
 import java.util.Optional;
+import java.util.Set;
+import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -41,24 +43,62 @@ public record BrandView(
     @Nullable String organizationEntityType,
     @Nullable ContactInfoView contactInfo,
     @NotNull MetadataView metadata) {
+  /** The fields that can be requested with a {@link FieldSet}. */
+  static final Set<String> FIELDS =
+      Set.of(
+          "id",
+          "name",
+          "slug",
+          "kind",
+          "status",
+          "address",
+          "organizationEntityType",
+          "contactInfo",
+          "metadata");
+
   public static @NotNull BrandView fromBrand(@NotNull final Brand brand) {
-    var kind = Optional.ofNullable(brand.kind()).orElse(BrandKind.INDUSTRIAL).name();
-    var status = Optional.ofNullable(brand.status()).map(Enum::name).orElse(null);
-    var organizationEntityType =
-        Optional.ofNullable(brand.organizationEntityType()).map(Enum::name).orElse(null);
-    var contactInfo =
-        Optional.ofNullable(brand.contactInfo()).map(ContactInfoView::fromContactInfo).orElse(null);
-    return BrandViewBuilder.builder()
-        .id(brand.id().value())
-        .name(brand.name())
-        .slug(brand.slug().toString())
-        .status(status)
-        .kind(kind)
-        .address(toAddress(brand.address()))
-        .organizationEntityType(organizationEntityType)
-        .contactInfo(contactInfo)
-        .metadata(MetadataView.fromMetadata(brand.metadata()))
-        .build();
+    return fromBrand(brand, FieldSet.ALL);
+  }
+
+  /**
+   * Maps a brand to its view with only the requested fields, the others are left {@code null}.
+   *
+   * @param brand the brand
+   * @param fields the requested fields
+   * @return the view
+   */
+  @CheckReturnValue
+  static @NotNull BrandView fromBrand(@NotNull final Brand brand, @NotNull final FieldSet fields) {
+    var builder = BrandViewBuilder.builder().id(brand.id().value());
+    if (fields.includes("name")) {
+      builder.name(brand.name());
+    }
+    if (fields.includes("slug")) {
+      builder.slug(brand.slug().toString());
+    }
+    if (fields.includes("kind")) {
+      builder.kind(Optional.ofNullable(brand.kind()).orElse(BrandKind.INDUSTRIAL).name());
+    }
+    if (fields.includes("status")) {
+      builder.status(Optional.ofNullable(brand.status()).map(Enum::name).orElse(null));
+    }
+    if (fields.includes("address")) {
+      builder.address(toAddress(brand.address()));
+    }
+    if (fields.includes("organizationEntityType")) {
+      builder.organizationEntityType(
+          Optional.ofNullable(brand.organizationEntityType()).map(Enum::name).orElse(null));
+    }
+    if (fields.includes("contactInfo")) {
+      builder.contactInfo(
+          Optional.ofNullable(brand.contactInfo())
+              .map(ContactInfoView::fromContactInfo)
+              .orElse(null));
+    }
+    if (fields.includes("metadata")) {
+      builder.metadata(MetadataView.fromMetadata(brand.metadata()));
+    }
+    return builder.build();
   }
 
   private static @Nullable AddressView toAddress(@Nullable final Address address) {
@@ -0,0 +1,252 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.BrandCommand;
+import io.github.carlomicieli.catalog.BrandCommandHandler;
+import io.github.carlomicieli.catalog.BrandRepository;
+import io.github.carlomicieli.catalog.CatalogItemCommand;
+import io.github.carlomicieli.catalog.CatalogItemCommandHandler;
+import io.github.carlomicieli.catalog.CatalogItemFacet;
+import io.github.carlomicieli.catalog.CatalogItemQuery;
+import io.github.carlomicieli.catalog.CatalogItemRepository;
+import io.github.carlomicieli.catalog.PrefixTrie;
+import io.github.carlomicieli.catalog.Railway;
+import io.github.carlomicieli.catalog.RailwayCommand;
+import io.github.carlomicieli.catalog.RailwayCommandHandler;
+import io.github.carlomicieli.catalog.RailwayRepository;
+import io.micronaut.context.annotation.Context;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Typeahead suggestions for the brand and railway pickers, from the prefix of a name, a slug or a
+ * railway abbreviation.
+ *
+ * <p>The suggestions come from immutable {@link PrefixTrie}s built from a snapshot of the
+ * repositories. The first snapshot is built on startup. When the version of any repository changes,
+ * the tries are rebuilt in the background, and the requests are served from the previous snapshot
+ * in the meantime, so that a request never waits for a build. The versions are read on every
+ * request straight from the repositories, without going through the command handlers. A trie is
+ * rebuilt only when its own content changes: the railway trie when a railway is saved, the brand
+ * trie when a brand is saved or the number of catalog items of a brand changes. The brands are
+ * ranked by their number of catalog items, the railways, which have no catalog items of their own,
+ * by name.
+ */
+@Context
+public final class CatalogAutocomplete {
+  /** The maximum number of suggestions for a single request. */
+  public static final int MAX_LIMIT = PrefixTrie.MAX_SUGGESTIONS;
+
+  private static final Logger LOG = LoggerFactory.getLogger(CatalogAutocomplete.class);
+  private static final Executor BACKGROUND = task -> Thread.ofVirtual().start(task);
+
+  // the entries with the same popularity are suggested in this order
+  private static final Comparator<PrefixTrie.Entry<AutocompleteView>> BY_NAME =
+      Comparator.comparing(entry -> entry.value().name(), String.CASE_INSENSITIVE_ORDER);
+
+  private final BrandCommandHandler brandCommandHandler;
+  private final RailwayCommandHandler railwayCommandHandler;
+  private final CatalogItemCommandHandler catalogItemCommandHandler;
+  private final BrandRepository brandRepository;
+  private final RailwayRepository railwayRepository;
+  private final CatalogItemRepository catalogItemRepository;
+  private volatile Snapshot snapshot;
+  private @Nullable CompletableFuture<Snapshot> refresh;
+
+  private record Versions(long brands, long railways, long catalogItems) {}
+
+  private record Trie(
+      List<PrefixTrie.Entry<AutocompleteView>> entries, PrefixTrie<AutocompleteView> trie) {
+    static Trie of(final List<PrefixTrie.Entry<AutocompleteView>> entries) {
+      List<PrefixTrie.Entry<AutocompleteView>> sorted = new ArrayList<>(entries);
+      sorted.sort(BY_NAME);
+      return new Trie(List.copyOf(sorted), PrefixTrie.of(sorted));
+    }
+  }
+
+  private record Snapshot(
+      Versions versions,
+      Map<String, Integer> itemsByBrand,
+      Trie brands,
+      Trie railways,
+      PrefixTrie<AutocompleteView> all) {}
+
+  public CatalogAutocomplete(
+      final BrandCommandHandler brandCommandHandler,
+      final RailwayCommandHandler railwayCommandHandler,
+      final CatalogItemCommandHandler catalogItemCommandHandler,
+      final BrandRepository brandRepository,
+      final RailwayRepository railwayRepository,
+      final CatalogItemRepository catalogItemRepository) {
+    this.brandCommandHandler =
+        Objects.requireNonNull(brandCommandHandler, "brandCommandHandler must not be null");
+    this.railwayCommandHandler =
+        Objects.requireNonNull(railwayCommandHandler, "railwayCommandHandler must not be null");
+    this.catalogItemCommandHandler =
+        Objects.requireNonNull(
+            catalogItemCommandHandler, "catalogItemCommandHandler must not be null");
+    this.brandRepository =
+        Objects.requireNonNull(brandRepository, "brandRepository must not be null");
+    this.railwayRepository =
+        Objects.requireNonNull(railwayRepository, "railwayRepository must not be null");
+    this.catalogItemRepository =
+        Objects.requireNonNull(catalogItemRepository, "catalogItemRepository must not be null");
+    this.snapshot = build(null, versions());
+  }
+
+  /**
+   * Suggests the entities with a name, slug or abbreviation starting with the prefix, the most
+   * popular first.
+   *
+   * @param prefix the prefix
+   * @param type the type of the entities, {@code brand} or {@code railway}, or {@code null} for
+   *     both
+   * @param limit the maximum number of suggestions, up to {@value PrefixTrie#MAX_SUGGESTIONS}
+   * @return the suggestions
+   */
+  @CheckReturnValue
+  public @NotNull List<AutocompleteView> suggest(
+      @NotNull final String prefix, @Nullable final String type, final int limit) {
+    Snapshot current = current();
+    PrefixTrie<AutocompleteView> trie =
+        switch (type) {
+          case null -> current.all();
+          case AutocompleteView.BRAND -> current.brands().trie();
+          case AutocompleteView.RAILWAY -> current.railways().trie();
+          default -> throw new IllegalArgumentException("Invalid type: " + type);
+        };
+    return trie.suggest(prefix, limit);
+  }
+
+  /**
+   * Rebuilds the tries that are out of date, unless a rebuild is already running.
+   *
+   * @return the completion of the rebuild, with the saves before it included
+   */
+  synchronized @NotNull CompletableFuture<Void> refresh() {
+    if (refresh == null || refresh.isDone()) {
+      refresh =
+          CompletableFuture.supplyAsync(this::rebuild, BACKGROUND)
+              .whenComplete(
+                  (ignored, e) -> {
+                    if (e != null) {
+                      LOG.error("Unable to rebuild the autocomplete tries", e);
+                    }
+                  });
+    }
+    return refresh.thenApply(ignored -> null);
+  }
+
+  private Snapshot current() {
+    Snapshot current = snapshot;
+    if (!current.versions().equals(versions())) {
+      refresh();
+    }
+    return current;
+  }
+
+  /** Rebuilds the snapshot until it includes every save made while it was rebuilt. */
+  private Snapshot rebuild() {
+    Snapshot current = snapshot;
+    while (true) {
+      // the versions are read before the content: a save in between triggers another round
+      Versions versions = versions();
+      if (current.versions().equals(versions)) {
+        return current;
+      }
+      current = build(current, versions);
+      snapshot = current;
+    }
+  }
+
+  private Versions versions() {
+    return new Versions(
+        brandRepository.version(), railwayRepository.version(), catalogItemRepository.version());
+  }
+
+  private Snapshot build(@Nullable final Snapshot previous, final Versions versions) {
+    Map<String, Integer> itemsByBrand;
+    if (previous != null && previous.versions().catalogItems() == versions.catalogItems()) {
+      itemsByBrand = previous.itemsByBrand();
+    } else {
+      itemsByBrand =
+          Map.copyOf(
+              catalogItemCommandHandler
+                  .handle(new CatalogItemCommand.SearchCatalogItems(CatalogItemQuery.ALL, null, 1))
+                  .facets()
+                  .getOrDefault(CatalogItemFacet.BRAND, Map.of()));
+    }
+
+    Trie brands;
+    if (previous != null
+        && previous.versions().brands() == versions.brands()
+        && previous.itemsByBrand().equals(itemsByBrand)) {
+      brands = previous.brands();
+    } else {
+      List<PrefixTrie.Entry<AutocompleteView>> entries = new ArrayList<>();
+      for (Brand brand : brandCommandHandler.handle(new BrandCommand.FindAllBrands())) {
+        entries.add(
+            new PrefixTrie.Entry<>(
+                AutocompleteView.fromBrand(brand),
+                itemsByBrand.getOrDefault(brand.id().value(), 0),
+                List.of(brand.name(), brand.slug().value())));
+      }
+      brands = Trie.of(entries);
+    }
+
+    Trie railways;
+    if (previous != null && previous.versions().railways() == versions.railways()) {
+      railways = previous.railways();
+    } else {
+      List<PrefixTrie.Entry<AutocompleteView>> entries = new ArrayList<>();
+      for (Railway railway : railwayCommandHandler.handle(new RailwayCommand.FindAllRailways())) {
+        entries.add(
+            new PrefixTrie.Entry<>(
+                AutocompleteView.fromRailway(railway),
+                0,
+                List.of(railway.name(), railway.abbreviation(), railway.slug().value())));
+      }
+      railways = Trie.of(entries);
+    }
+
+    PrefixTrie<AutocompleteView> all;
+    if (previous != null && previous.brands() == brands && previous.railways() == railways) {
+      all = previous.all();
+    } else {
+      List<PrefixTrie.Entry<AutocompleteView>> entries = new ArrayList<>(brands.entries());
+      entries.addAll(railways.entries());
+      all = Trie.of(entries).trie();
+    }
+    return new Snapshot(versions, itemsByBrand, brands, railways, all);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.CatalogEntity;
+import io.github.carlomicieli.catalog.CatalogExporter;
+import io.github.carlomicieli.catalog.CatalogItem;
+import io.github.carlomicieli.catalog.Railway;
+import io.github.carlomicieli.catalog.Scale;
+import io.github.carlomicieli.util.ChunkedEncoder;
+import io.micronaut.core.annotation.Blocking;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Exports the whole catalog, either as a stream of JSON values (one per line) or in the binary
+ * format of {@link CatalogExporter}. The entities are encoded in chunks, while the response is
+ * written.
+ */
+@Controller(ApiCatalog.API_EXPORT)
+public class CatalogExportController {
+  private static final Logger LOG = LoggerFactory.getLogger(CatalogExportController.class);
+  private static final byte[] BRAND = prefix("brand");
+  private static final byte[] RAILWAY = prefix("railway");
+  private static final byte[] SCALE = prefix("scale");
+  private static final byte[] CATALOG_ITEM = prefix("catalog_item");
+  private static final byte[] SUFFIX = "}\n".getBytes(StandardCharsets.UTF_8);
+
+  private final CatalogExporter exporter;
+  private final JsonMapper jsonMapper;
+
+  public CatalogExportController(final CatalogExporter exporter, final JsonMapper jsonMapper) {
+    this.exporter = Objects.requireNonNull(exporter, "exporter must not be null");
+    this.jsonMapper = Objects.requireNonNull(jsonMapper, "jsonMapper must not be null");
+  }
+
+  /**
+   * Exports the catalog as JSON lines: every line is an object with the {@code type} of the entity
+   * ({@code brand}, {@code railway}, {@code scale} or {@code catalog_item}) and its {@code value}.
+   */
+  @Blocking
+  @Get
+  @Produces(MediaType.APPLICATION_JSON_STREAM)
+  Publisher<byte[]> exportJson() {
+    LOG.info("GET {}", ApiCatalog.API_EXPORT);
+    return Flux.fromIterable(
+        () ->
+            new ChunkedEncoder<CatalogEntity>(
+                exporter.entities().iterator(),
+                this::writeJsonLine,
+                CatalogExporter.DEFAULT_CHUNK_SIZE));
+  }
+
+  @Blocking
+  @Get("/binary")
+  @Produces(CatalogExporter.BINARY_MEDIA_TYPE)
+  Publisher<byte[]> exportBinary() {
+    LOG.info("GET {}/binary", ApiCatalog.API_EXPORT);
+    return Flux.fromIterable(() -> exporter.binaryChunks(CatalogExporter.DEFAULT_CHUNK_SIZE));
+  }
+
+  private void writeJsonLine(final CatalogEntity entity, final ByteArrayOutputStream out)
+      throws IOException {
+    Object view =
+        switch (entity) {
+          case Brand brand -> {
+            out.write(BRAND);
+            yield BrandView.fromBrand(brand);
+          }
+          case Railway railway -> {
+            out.write(RAILWAY);
+            yield RailwayView.fromRailway(railway);
+          }
+          case Scale scale -> {
+            out.write(SCALE);
+            yield ScaleView.fromScale(scale);
+          }
+          case CatalogItem catalogItem -> {
+            out.write(CATALOG_ITEM);
+            yield CatalogItemView.fromCatalogItem(catalogItem);
+          }
+        };
+    jsonMapper.writeValue(out, view);
+    out.write(SUFFIX);
+  }
+
+  private static byte[] prefix(final String type) {
+    return ("{\"type\":\"" + type + "\",\"value\":").getBytes(StandardCharsets.UTF_8);
+  }
+}
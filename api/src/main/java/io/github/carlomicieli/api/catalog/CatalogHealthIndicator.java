@@ -0,0 +1,59 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.CatalogProjections;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import jakarta.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports the catalog as {@code DOWN} once the projection of a journal failed: its repository no
+ * longer follows the journal, and the creates and updates are rejected until a restart. The details
+ * have the failure of each failed journal.
+ */
+@Singleton
+public class CatalogHealthIndicator implements HealthIndicator {
+  static final String NAME = "catalog";
+
+  private final CatalogProjections projections;
+
+  public CatalogHealthIndicator(@NotNull final CatalogProjections projections) {
+    this.projections = Objects.requireNonNull(projections, "projections must not be null");
+  }
+
+  @Override
+  public Publisher<HealthResult> getResult() {
+    Map<String, String> failures = new LinkedHashMap<>();
+    projections.failures().forEach((journal, failure) -> failures.put(journal, failure.toString()));
+    return Mono.just(
+        HealthResult.builder(NAME, failures.isEmpty() ? HealthStatus.UP : HealthStatus.DOWN)
+            .details(failures)
+            .build());
+  }
+}
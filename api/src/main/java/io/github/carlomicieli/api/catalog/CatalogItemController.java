@@ -0,0 +1,281 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.CatalogItem;
+import io.github.carlomicieli.catalog.CatalogItemCategory;
+import io.github.carlomicieli.catalog.CatalogItemCommand;
+import io.github.carlomicieli.catalog.CatalogItemCommandHandler;
+import io.github.carlomicieli.catalog.CatalogItemFacet;
+import io.github.carlomicieli.catalog.CatalogItemFilter;
+import io.github.carlomicieli.catalog.CatalogItemId;
+import io.github.carlomicieli.catalog.CatalogItemQuery;
+import io.github.carlomicieli.catalog.CatalogItemSearchResult;
+import io.github.carlomicieli.catalog.Epoch;
+import io.github.carlomicieli.catalog.EpochRange;
+import io.github.carlomicieli.catalog.PowerMethod;
+import io.github.carlomicieli.catalog.ScaleId;
+import io.micronaut.core.annotation.Blocking;
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+@Controller(ApiCatalog.API_CATALOG_ITEMS)
+public class CatalogItemController {
+  private static final Logger LOG = LoggerFactory.getLogger(CatalogItemController.class);
+  private static final String RANGE_SEPARATOR = "..";
+  private final CatalogItemCommandHandler commandHandler;
+  private final ResponseCache responseCache;
+
+  public CatalogItemController(
+      final CatalogItemCommandHandler commandHandler, final ResponseCache responseCache) {
+    this.commandHandler = Objects.requireNonNull(commandHandler, "commandHandler must not be null");
+    this.responseCache = Objects.requireNonNull(responseCache, "responseCache must not be null");
+  }
+
+  @Post
+  @Consumes(MediaType.APPLICATION_JSON)
+  HttpResponse<?> createCatalogItem(@Valid @Body CatalogItemRequest request) {
+    LOG.info("POST {} {}", ApiCatalog.API_CATALOG_ITEMS, request);
+    var command =
+        new CatalogItemCommand.CreateCatalogItem(
+            request.brand(),
+            request.itemNumber(),
+            request.scale(),
+            request.epoch(),
+            request.category(),
+            request.powerMethod(),
+            request.count());
+    var catalogItemId = commandHandler.handle(command);
+    return HttpResponse.created(URI.create(ApiCatalog.API_CATALOG_ITEMS + "/" + catalogItemId));
+  }
+
+  @NonBlocking
+  @Get("/{id}")
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getCatalogItem(final HttpRequest<?> request, @PathVariable final String id) {
+    LOG.info("GET {}/{}", ApiCatalog.API_CATALOG_ITEMS, id);
+    CatalogItemId catalogItemId;
+    try {
+      catalogItemId = new CatalogItemId(id);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.notFound();
+    }
+    var command = new CatalogItemCommand.FindCatalogItemById(catalogItemId);
+    return responseCache.entity(
+        request,
+        commandHandler.handle(command),
+        CatalogItem::metadata,
+        CatalogItemView::fromCatalogItem);
+  }
+
+  @Get
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getCatalogItems(
+      final HttpRequest<?> request,
+      @Nullable @QueryValue final String brand,
+      @Nullable @QueryValue final String scale,
+      @Nullable @QueryValue final String epoch,
+      @Nullable @QueryValue final String category,
+      @Nullable @QueryValue("power_method") final String powerMethod,
+      @Nullable @QueryValue final String cursor,
+      @QueryValue(defaultValue = Pagination.DEFAULT_LIMIT) @Min(1) @Max(Pagination.MAX_LIMIT)
+          final int limit) {
+    LOG.info("GET {}", ApiCatalog.API_CATALOG_ITEMS);
+    CatalogItemFilter filter;
+    CatalogItemId after;
+    try {
+      filter =
+          new CatalogItemFilter(
+              parseOrNull(brand, CatalogItemController::brandIdOf),
+              parseOrNull(scale, CatalogItemController::scaleIdOf),
+              parseOrNull(epoch, Epoch::parse),
+              parseOrNull(category, CatalogItemCategory::parse),
+              parseOrNull(powerMethod, PowerMethod::parse));
+      after =
+          Optional.ofNullable(Pagination.decodeCursor(cursor)).map(CatalogItemId::new).orElse(null);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    Map<String, String> query = new LinkedHashMap<>();
+    query.put("brand", brand);
+    query.put("scale", scale);
+    query.put("epoch", epoch);
+    query.put("category", category);
+    query.put("power_method", powerMethod);
+    return responseCache.collection(
+        request,
+        version(),
+        () -> {
+          var command = new CatalogItemCommand.FindCatalogItems(filter, after, limit + 1);
+          List<CatalogItem> catalogItems = commandHandler.handle(command);
+          return Pagination.page(
+              ApiCatalog.API_CATALOG_ITEMS,
+              query,
+              catalogItems,
+              limit,
+              catalogItem -> catalogItem.id().value(),
+              CatalogItemView::fromCatalogItem);
+        });
+  }
+
+  @NonBlocking
+  @Get("/search")
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> searchCatalogItems(
+      final HttpRequest<?> request,
+      @Nullable @QueryValue final List<String> brand,
+      @Nullable @QueryValue final List<String> scale,
+      @Nullable @QueryValue final List<String> epoch,
+      @Nullable @QueryValue final List<String> category,
+      @Nullable @QueryValue("power_method") final List<String> powerMethod,
+      @Nullable @QueryValue final String cursor,
+      @QueryValue(defaultValue = Pagination.DEFAULT_LIMIT) @Min(1) @Max(Pagination.MAX_LIMIT)
+          final int limit) {
+    LOG.info("GET {}/search", ApiCatalog.API_CATALOG_ITEMS);
+    Map<CatalogItemFacet, List<String>> selections = new EnumMap<>(CatalogItemFacet.class);
+    selections.put(CatalogItemFacet.BRAND, valuesOf(brand));
+    selections.put(CatalogItemFacet.SCALE, valuesOf(scale));
+    selections.put(CatalogItemFacet.EPOCH, valuesOf(epoch));
+    selections.put(CatalogItemFacet.CATEGORY, valuesOf(category));
+    selections.put(CatalogItemFacet.POWER_METHOD, valuesOf(powerMethod));
+    CatalogItemQuery query;
+    CatalogItemId after;
+    try {
+      query =
+          new CatalogItemQuery(
+              parseAll(selections.get(CatalogItemFacet.BRAND), CatalogItemController::brandIdOf),
+              parseAll(selections.get(CatalogItemFacet.SCALE), CatalogItemController::scaleIdOf),
+              parseAll(epochsOf(selections.get(CatalogItemFacet.EPOCH), false), Epoch::parse),
+              parseAll(epochsOf(selections.get(CatalogItemFacet.EPOCH), true), EpochRange::parse),
+              parseAll(selections.get(CatalogItemFacet.CATEGORY), CatalogItemCategory::parse),
+              parseAll(selections.get(CatalogItemFacet.POWER_METHOD), PowerMethod::parse));
+      after =
+          Optional.ofNullable(Pagination.decodeCursor(cursor)).map(CatalogItemId::new).orElse(null);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    return responseCache.collection(
+        request, version(), () -> searchResponse(selections, query, after, limit));
+  }
+
+  private MutableHttpResponse<CatalogItemSearchView> searchResponse(
+      final Map<CatalogItemFacet, List<String>> selections,
+      final CatalogItemQuery query,
+      @Nullable final CatalogItemId after,
+      final int limit) {
+    CatalogItemSearchResult result =
+        commandHandler.handle(new CatalogItemCommand.SearchCatalogItems(query, after, limit + 1));
+    List<CatalogItem> items = result.items();
+    MutableHttpResponse<CatalogItemSearchView> response =
+        HttpResponse.ok(
+            CatalogItemSearchView.fromSearchResult(
+                new CatalogItemSearchResult(
+                    result.total(),
+                    items.subList(0, Math.min(limit, items.size())),
+                    result.facets())));
+    if (items.size() > limit) {
+      Map<String, List<String>> parameters = new LinkedHashMap<>();
+      selections.forEach(
+          (facet, values) -> {
+            if (!values.isEmpty()) {
+              parameters.put(CatalogItemSearchView.parameterOf(facet), values);
+            }
+          });
+      String lastId = items.get(limit - 1).id().value();
+      response.header(
+          HttpHeaders.LINK,
+          Pagination.nextLink(ApiCatalog.API_CATALOG_ITEMS + "/search", parameters, lastId, limit));
+    }
+    return response;
+  }
+
+  @Blocking
+  @Get("/stream")
+  @Produces({MediaType.APPLICATION_JSON_STREAM, MediaType.APPLICATION_JSON})
+  Publisher<CatalogItemView> streamCatalogItems() {
+    LOG.info("GET {}/stream", ApiCatalog.API_CATALOG_ITEMS);
+    var command = new CatalogItemCommand.FindCatalogItems();
+    return Flux.fromIterable(commandHandler.handle(command)).map(CatalogItemView::fromCatalogItem);
+  }
+
+  private long version() {
+    return commandHandler.handle(new CatalogItemCommand.FindCatalogItemsVersion());
+  }
+
+  private static <T> @Nullable T parseOrNull(
+      @Nullable final String value, final Function<String, T> parser) {
+    return value == null || value.isBlank() ? null : parser.apply(value);
+  }
+
+  private static List<String> valuesOf(@Nullable final List<String> values) {
+    return values == null ? List.of() : values.stream().filter(v -> !v.isBlank()).toList();
+  }
+
+  private static <T> Set<T> parseAll(final List<String> values, final Function<String, T> parser) {
+    return values.stream().map(parser).collect(Collectors.toSet());
+  }
+
+  /** Splits the epoch values between the single epochs and the {@code from..to} ranges. */
+  private static List<String> epochsOf(final List<String> values, final boolean ranges) {
+    return values.stream().filter(value -> value.contains(RANGE_SEPARATOR) == ranges).toList();
+  }
+
+  /** Accepts both a brand name and a brand id, the form the facet counts are reported in. */
+  private static BrandId brandIdOf(final String value) {
+    return value.startsWith("trn:") ? new BrandId(value) : BrandId.fromName(value);
+  }
+
+  /** Accepts both a scale name and a scale id, the form the facet counts are reported in. */
+  private static ScaleId scaleIdOf(final String value) {
+    return value.startsWith("trn:") ? new ScaleId(value) : ScaleId.fromName(value);
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+import io.micronaut.serde.config.naming.SnakeCaseStrategy;
+import io.soabase.recordbuilder.core.RecordBuilder;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import org.jetbrains.annotations.NotNull;
+
+@Introspected
+@RecordBuilder
+@Serdeable(naming = SnakeCaseStrategy.class)
+public record CatalogItemRequest(
+    @NotBlank @NotNull String brand,
+    @NotBlank @NotNull String itemNumber,
+    @NotBlank @NotNull String scale,
+    @NotBlank
+        @Pattern(
+            regexp = "I|II|IIa|IIb|III|IIIa|IIIb|IV|IVa|IVb|IV/V|V|Va|Vb|Vm|V/VI|VI",
+            message = "Invalid epoch")
+        @NotNull String epoch,
+    @NotBlank
+        @Pattern(
+            regexp =
+                "ELECTRIC_MULTIPLE_UNITS|FREIGHT_CARS|LOCOMOTIVES|PASSENGER_CARS|RAILCARS"
+                    + "|STARTER_SETS|TRAIN_SETS",
+            message = "Invalid catalog item category")
+        @NotNull String category,
+    @NotBlank @Pattern(regexp = "AC|DC|TRIX_EXPRESS", message = "Invalid power method") @NotNull
+        String powerMethod,
+    @Positive Integer count) {}
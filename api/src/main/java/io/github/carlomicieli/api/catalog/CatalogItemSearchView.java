@@ -0,0 +1,60 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.CatalogItemFacet;
+import io.github.carlomicieli.catalog.CatalogItemSearchResult;
+import io.micronaut.serde.annotation.Serdeable;
+import io.micronaut.serde.config.naming.SnakeCaseStrategy;
+import io.soabase.recordbuilder.core.RecordBuilder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A page of catalog item search results. The facets are keyed by the name of their query parameter.
+ */
+@RecordBuilder
+@Serdeable(naming = SnakeCaseStrategy.class)
+public record CatalogItemSearchView(
+    int total,
+    @NotNull List<CatalogItemView> items,
+    @NotNull Map<String, Map<String, Integer>> facets) {
+  @CheckReturnValue
+  public static @NotNull CatalogItemSearchView fromSearchResult(
+      @NotNull final CatalogItemSearchResult result) {
+    Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+    result.facets().forEach((facet, counts) -> facets.put(parameterOf(facet), counts));
+    return CatalogItemSearchViewBuilder.builder()
+        .total(result.total())
+        .items(result.items().stream().map(CatalogItemView::fromCatalogItem).toList())
+        .facets(facets)
+        .build();
+  }
+
+  @CheckReturnValue
+  static @NotNull String parameterOf(@NotNull final CatalogItemFacet facet) {
+    return facet.name().toLowerCase(Locale.ROOT);
+  }
+}
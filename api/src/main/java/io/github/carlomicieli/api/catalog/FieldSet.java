@@ -0,0 +1,87 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The fields of a view requested with the {@code fields} query parameter, for sparse fieldsets.
+ *
+ * <p>The parameter is a comma separated list of the JSON property names of the view, like {@code
+ * fields=name,slug}; the {@code id} is always included. The views are built with the other fields
+ * left {@code null}, so that they are not serialized and their nested views are never created.
+ */
+final class FieldSet {
+  static final String PARAMETER = "fields";
+
+  /** All the fields, when the parameter is missing. */
+  static final FieldSet ALL = new FieldSet(null);
+
+  private final @Nullable Set<String> names;
+
+  private FieldSet(@Nullable final Set<String> names) {
+    this.names = names;
+  }
+
+  /**
+   * Parses the value of the {@code fields} query parameter.
+   *
+   * @param fields the parameter value, or {@code null} for all the fields
+   * @param available the fields of the view
+   * @return the requested fields
+   * @throws IllegalArgumentException if a field is not one of the available ones
+   */
+  @CheckReturnValue
+  static @NotNull FieldSet parse(
+      @Nullable final String fields, @NotNull final Set<String> available) {
+    if (fields == null || fields.isBlank()) {
+      return ALL;
+    }
+    Set<String> names = new LinkedHashSet<>();
+    names.add("id");
+    for (String field : fields.split(",")) {
+      String name = field.strip();
+      if (name.isEmpty()) {
+        continue;
+      }
+      if (!available.contains(name)) {
+        throw new IllegalArgumentException("Unknown field: " + name);
+      }
+      names.add(name);
+    }
+    return new FieldSet(Set.copyOf(names));
+  }
+
+  /**
+   * Checks whether the given field is requested.
+   *
+   * @param name the field name
+   * @return {@code true} if the field is requested
+   */
+  @CheckReturnValue
+  boolean includes(@NotNull final String name) {
+    return names == null || names.contains(name);
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Conditional requests for the read endpoints.
+ *
+ * <p>An entity is tagged with its metadata version and last modification time, and it also carries
+ * a {@code Last-Modified} header. A list is tagged with the version of its repository, which
+ * changes with every save, prefixed by a token chosen when the server starts: the repository
+ * versions start over after a restart. A request with a matching {@code If-None-Match} (or, without
+ * it, an {@code If-Modified-Since} not older than the entity) gets a {@code 304 Not Modified}
+ * before any view is built.
+ *
+ * <p>The representations in the formats negotiated by {@link ResponseFormat} are tagged apart, and
+ * every response varies on the {@code Accept} header. The responses are also compressed with the
+ * encoding negotiated through {@code Accept-Encoding}, so they vary on it too, and their tags are
+ * weak: a tag stands for the content in any encoding, not for the bytes on the wire.
+ */
+final class HttpCaching {
+  private static final String INSTANCE =
+      Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, Character.MAX_RADIX);
+  private static final String NO_CACHE = "no-cache";
+  private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+  private HttpCaching() {}
+
+  /**
+   * Creates the response for an entity: {@code 404} if it is missing, {@code 304} if the client
+   * copy is still current, the full response otherwise.
+   *
+   * @param request the request
+   * @param entity the entity, if it exists
+   * @param metadataOf the function extracting the entity metadata
+   * @param responseOf the function building the full response, from the entity and its tag
+   * @return the response
+   */
+  @CheckReturnValue
+  static <T> @NotNull MutableHttpResponse<?> entity(
+      @NotNull final HttpRequest<?> request,
+      @NotNull final Optional<T> entity,
+      @NotNull final Function<T, Metadata> metadataOf,
+      @NotNull final BiFunction<T, String, ? extends MutableHttpResponse<?>> responseOf) {
+    if (entity.isEmpty()) {
+      return HttpResponse.notFound();
+    }
+    Metadata metadata = metadataOf.apply(entity.get());
+    String eTag = ResponseFormat.negotiate(request).tag(entityTag(metadata));
+    ZonedDateTime lastModified = metadata.lastModifiedAt();
+    MutableHttpResponse<?> response =
+        isNotModified(request, eTag, lastModified)
+            ? HttpResponse.notModified()
+            : responseOf.apply(entity.get(), eTag);
+    return validators(response, eTag, lastModified);
+  }
+
+  /**
+   * Creates the response for a list: {@code 304} if the client copy is still current, the full
+   * response otherwise.
+   *
+   * <p>The version must be read before the list: when a save happens in between, the list is newer
+   * than its tag and the client downloads it once more, instead of keeping a stale copy.
+   *
+   * @param request the request
+   * @param version the version of the repository
+   * @param responseOf the function building the full response, from the tag of the list
+   * @return the response
+   */
+  @CheckReturnValue
+  static @NotNull MutableHttpResponse<?> collection(
+      @NotNull final HttpRequest<?> request,
+      final long version,
+      @NotNull final Function<String, ? extends MutableHttpResponse<?>> responseOf) {
+    String eTag = ResponseFormat.negotiate(request).tag(collectionTag(version));
+    if (isNotModified(request, eTag, null)) {
+      return validators(HttpResponse.notModified(), eTag, null);
+    }
+    MutableHttpResponse<?> full = responseOf.apply(eTag);
+    return full.status() == HttpStatus.OK ? validators(full, eTag, null) : full;
+  }
+
+  /**
+   * Returns the entity tag of an entity.
+   *
+   * @param metadata the entity metadata
+   * @return the quoted entity tag
+   */
+  @CheckReturnValue
+  static @NotNull String entityTag(@NotNull final Metadata metadata) {
+    long lastModified = metadata.lastModifiedAt().toInstant().toEpochMilli();
+    return "\""
+        + metadata.version()
+        + "-"
+        + Long.toString(lastModified, Character.MAX_RADIX)
+        + "\"";
+  }
+
+  /**
+   * Returns the entity tag of a list.
+   *
+   * @param version the version of the repository
+   * @return the quoted entity tag
+   */
+  @CheckReturnValue
+  static @NotNull String collectionTag(final long version) {
+    return "\"" + INSTANCE + "-" + Long.toString(version, Character.MAX_RADIX) + "\"";
+  }
+
+  /**
+   * Checks the conditional headers of the request against the current state of a resource. {@code
+   * If-None-Match} takes precedence, as in RFC 9110: {@code If-Modified-Since} is only evaluated
+   * without it.
+   *
+   * @param request the request
+   * @param eTag the current entity tag
+   * @param lastModified the last modification time, {@code null} if unknown
+   * @return {@code true} if the client copy is still current
+   */
+  @CheckReturnValue
+  static boolean isNotModified(
+      @NotNull final HttpRequest<?> request,
+      @NotNull final String eTag,
+      @Nullable final ZonedDateTime lastModified) {
+    HttpHeaders headers = request.getHeaders();
+    List<String> ifNoneMatch = headers.getAll(HttpHeaders.IF_NONE_MATCH);
+    if (!ifNoneMatch.isEmpty()) {
+      return ifNoneMatch.stream().anyMatch(value -> matches(value, eTag));
+    }
+    if (lastModified == null || !headers.contains(HttpHeaders.IF_MODIFIED_SINCE)) {
+      return false;
+    }
+    return headers
+        .findDate(HttpHeaders.IF_MODIFIED_SINCE)
+        .map(since -> !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since))
+        .orElse(false);
+  }
+
+  private static boolean matches(final String ifNoneMatch, final String eTag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.strip();
+      if (tag.equals("*") || weak(tag).equals(eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String weak(final String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+
+  private static MutableHttpResponse<?> validators(
+      final MutableHttpResponse<?> response,
+      final String eTag,
+      @Nullable final ZonedDateTime lastModified) {
+    response
+        .header(HttpHeaders.ETAG, "W/" + eTag)
+        .header(HttpHeaders.CACHE_CONTROL, NO_CACHE)
+        .header(HttpHeaders.VARY, VARY);
+    if (lastModified != null) {
+      response.header(
+          HttpHeaders.LAST_MODIFIED,
+          DateTimeFormatter.RFC_1123_DATE_TIME.format(
+              lastModified.withZoneSameInstant(ZoneOffset.UTC)));
+    }
+    return response;
+  }
+}
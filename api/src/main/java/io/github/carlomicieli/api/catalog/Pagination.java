@@ -0,0 +1,166 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keyset pagination for the list endpoints.
+ *
+ * <p>The cursor is an opaque, URL-safe token that encodes the id of the last item in the page. The
+ * link to the next page is returned in the {@code Link} response header.
+ */
+final class Pagination {
+  static final String DEFAULT_LIMIT = "100";
+  static final int MAX_LIMIT = 1000;
+
+  private Pagination() {}
+
+  /**
+   * Decodes the given cursor into the id of the last item of the previous page.
+   *
+   * @param cursor the cursor, or {@code null} for the first page
+   * @return the decoded id, or {@code null} for the first page
+   * @throws IllegalArgumentException if the cursor is not valid
+   */
+  @CheckReturnValue
+  static @Nullable String decodeCursor(@Nullable final String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Encodes the given id as an opaque cursor.
+   *
+   * @param id the id of the last item in a page
+   * @return the cursor
+   */
+  @CheckReturnValue
+  static @NotNull String encodeCursor(@NotNull final String id) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Creates the response for a page of items. The items are expected to be fetched with a limit one
+   * larger than the requested one: the extra item only tells whether a next page exists.
+   *
+   * @param path the endpoint path
+   * @param items the items, at most {@code limit + 1}
+   * @param limit the requested page size
+   * @param idOf the function extracting the item id
+   * @param toView the function mapping the items to their views
+   * @return the page response
+   */
+  @CheckReturnValue
+  static <T, V> @NotNull MutableHttpResponse<List<V>> page(
+      @NotNull final String path,
+      @NotNull final List<T> items,
+      final int limit,
+      @NotNull final Function<T, String> idOf,
+      @NotNull final Function<T, V> toView) {
+    return page(path, Map.of(), items, limit, idOf, toView);
+  }
+
+  /**
+   * Creates the response for a page of filtered items: the link to the next page keeps the query
+   * parameters of the filter.
+   *
+   * @param path the endpoint path
+   * @param query the query parameters of the filter, the {@code null} values are skipped
+   * @param items the items, at most {@code limit + 1}
+   * @param limit the requested page size
+   * @param idOf the function extracting the item id
+   * @param toView the function mapping the items to their views
+   * @return the page response
+   */
+  @CheckReturnValue
+  static <T, V> @NotNull MutableHttpResponse<List<V>> page(
+      @NotNull final String path,
+      @NotNull final Map<String, String> query,
+      @NotNull final List<T> items,
+      final int limit,
+      @NotNull final Function<T, String> idOf,
+      @NotNull final Function<T, V> toView) {
+    List<V> views = items.stream().limit(limit).map(toView).toList();
+    MutableHttpResponse<List<V>> response = HttpResponse.ok(views);
+    if (items.size() > limit) {
+      Map<String, List<String>> parameters = new LinkedHashMap<>();
+      query.forEach(
+          (name, value) -> {
+            if (value != null) {
+              parameters.put(name, List.of(value));
+            }
+          });
+      response.header(
+          HttpHeaders.LINK, nextLink(path, parameters, idOf.apply(items.get(limit - 1)), limit));
+    }
+    return response;
+  }
+
+  /**
+   * Creates the {@code Link} header value pointing to the page after the given item.
+   *
+   * @param path the endpoint path
+   * @param query the query parameters to keep, each with all its values
+   * @param lastId the id of the last item in the current page
+   * @param limit the requested page size
+   * @return the header value
+   */
+  @CheckReturnValue
+  static @NotNull String nextLink(
+      @NotNull final String path,
+      @NotNull final Map<String, List<String>> query,
+      @NotNull final String lastId,
+      final int limit) {
+    StringBuilder next = new StringBuilder("<").append(path).append('?');
+    query.forEach(
+        (name, values) -> {
+          for (String value : values) {
+            next.append(name)
+                .append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8))
+                .append('&');
+          }
+        });
+    return next.append("cursor=")
+        .append(encodeCursor(lastId))
+        .append("&limit=")
+        .append(limit)
+        .append(">; rel=\"next\"")
+        .toString();
+  }
+}
@@ -20,13 +20,17 @@
  */
 package io.github.carlomicieli.api.catalog;
 
-import io.github.carlomicieli.Address;
-import io.github.carlomicieli.ContactInfo;
+import io.github.carlomicieli.catalog.DuplicateIdException;
+import io.github.carlomicieli.catalog.Railway;
 import io.github.carlomicieli.catalog.RailwayCommand;
 import io.github.carlomicieli.catalog.RailwayCommandHandler;
 import io.github.carlomicieli.catalog.RailwayId;
-import io.github.carlomicieli.catalog.RailwayPeriodOfActivity;
+import io.micronaut.core.annotation.Blocking;
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Consumes;
@@ -35,44 +39,89 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.annotation.QueryValue;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Controller(ApiCatalog.API_RAILWAYS)
 public class RailwayController {
   private static final Logger LOG = LoggerFactory.getLogger(RailwayController.class);
   private final RailwayCommandHandler commandHandler;
+  private final Validator validator;
+  private final ResponseCache responseCache;
 
-  public RailwayController(RailwayCommandHandler commandHandler) {
+  public RailwayController(
+      RailwayCommandHandler commandHandler, Validator validator, ResponseCache responseCache) {
     this.commandHandler = Objects.requireNonNull(commandHandler, "The command handler is required");
+    this.validator = Objects.requireNonNull(validator, "The validator is required");
+    this.responseCache = Objects.requireNonNull(responseCache, "The response cache is required");
   }
 
   @Get
-  @Produces(MediaType.APPLICATION_JSON)
-  HttpResponse<List<RailwayView>> getRailways() {
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getRailways(
+      final HttpRequest<?> request,
+      @Nullable @QueryValue final String cursor,
+      @QueryValue(defaultValue = Pagination.DEFAULT_LIMIT) @Min(1) @Max(Pagination.MAX_LIMIT)
+          final int limit,
+      @Nullable @QueryValue(FieldSet.PARAMETER) final String fields) {
     LOG.info("GET {}", ApiCatalog.API_RAILWAYS);
+    RailwayId after;
+    FieldSet fieldSet;
+    try {
+      after = Optional.ofNullable(Pagination.decodeCursor(cursor)).map(RailwayId::new).orElse(null);
+      fieldSet = FieldSet.parse(fields, RailwayView.FIELDS);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    long version = commandHandler.handle(new RailwayCommand.FindRailwaysVersion());
+    return responseCache.collection(
+        request,
+        version,
+        () -> {
+          var command = new RailwayCommand.FindAllRailways(after, limit + 1);
+          List<Railway> railways = commandHandler.handle(command);
+          return Pagination.page(
+              ApiCatalog.API_RAILWAYS,
+              Collections.singletonMap(FieldSet.PARAMETER, fields),
+              railways,
+              limit,
+              railway -> railway.id().value(),
+              railway -> RailwayView.fromRailway(railway, fieldSet));
+        });
+  }
+
+  @Blocking
+  @Get("/stream")
+  @Produces({MediaType.APPLICATION_JSON_STREAM, MediaType.APPLICATION_JSON})
+  Publisher<RailwayView> streamRailways() {
+    LOG.info("GET {}/stream", ApiCatalog.API_RAILWAYS);
     var command = new RailwayCommand.FindAllRailways();
-    List<RailwayView> railways =
-        commandHandler.handle(command).stream().map(RailwayView::fromRailway).toList();
-    return HttpResponse.ok(railways);
+    return Flux.fromIterable(commandHandler.handle(command)).map(RailwayView::fromRailway);
   }
 
+  @NonBlocking
   @Get("/{id}")
-  @Produces(MediaType.APPLICATION_JSON)
-  HttpResponse<RailwayView> getRailwayById(@PathVariable final String id) {
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getRailwayById(final HttpRequest<?> request, @PathVariable final String id) {
     LOG.info("GET {}/{}", ApiCatalog.API_RAILWAYS, id);
     RailwayId railwayId = RailwayId.fromName(id);
     var command = new RailwayCommand.FindRailwayById(railwayId);
-    return commandHandler
-        .handle(command)
-        .map(RailwayView::fromRailway)
-        .map(HttpResponse::ok)
-        .orElseGet(HttpResponse::notFound);
+    return responseCache.entity(
+        request, commandHandler.handle(command), Railway::metadata, RailwayView::fromRailway);
   }
 
   @Post
@@ -80,26 +129,55 @@ public class RailwayController {
   @Produces(MediaType.APPLICATION_JSON)
   HttpResponse<?> createRailway(@Valid @Body final RailwayRequest railwayRequest) {
     LOG.info("POST {} {}", ApiCatalog.API_RAILWAYS, railwayRequest);
-    Address address =
-        Optional.ofNullable(railwayRequest.address()).map(AddressRequest::toAddress).orElse(null);
-    ContactInfo contactInfo =
-        Optional.ofNullable(railwayRequest.contactInfo())
-            .map(ContactInfoRequest::toContactInfo)
-            .orElse(null);
-    RailwayPeriodOfActivity periodOfActivity =
-        Optional.ofNullable(railwayRequest.periodOfActivity())
-            .map(RailwayPeriodOfActivityRequest::toRailwayPeriodOfActivity)
-            .orElse(null);
-    var command =
-        new RailwayCommand.CreateRailway(
-            railwayRequest.name(),
-            railwayRequest.abbreviation(),
-            railwayRequest.country(),
-            periodOfActivity,
-            address,
-            railwayRequest.organizationEntityType(),
-            contactInfo);
-    RailwayId railwayId = commandHandler.handle(command);
+    RailwayId railwayId;
+    try {
+      railwayId = commandHandler.handle(railwayRequest.toCommand());
+    } catch (DuplicateIdException e) {
+      return HttpResponse.status(HttpStatus.CONFLICT);
+    }
     return HttpResponse.created(URI.create(ApiCatalog.API_RAILWAYS + "/" + railwayId));
   }
+
+  /**
+   * Replaces the values of an existing railway company, which keeps its id: a railway company
+   * cannot be renamed.
+   */
+  @Put("/{id}")
+  @Consumes(MediaType.APPLICATION_JSON)
+  HttpResponse<?> updateRailway(
+      @PathVariable final String id, @Valid @Body final RailwayRequest railwayRequest) {
+    LOG.info("PUT {}/{} {}", ApiCatalog.API_RAILWAYS, id, railwayRequest);
+    RailwayCommand.UpdateRailway command;
+    try {
+      command =
+          new RailwayCommand.UpdateRailway(RailwayId.fromName(id), railwayRequest.toCommand());
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    Optional<Railway> railway = commandHandler.handle(command);
+    return railway.isPresent() ? HttpResponse.noContent() : HttpResponse.notFound();
+  }
+
+  /**
+   * Creates many railway companies at once. The body is either a JSON array or a stream of JSON
+   * values, one per line.
+   */
+  @Post("/batch")
+  @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON_STREAM})
+  @Produces(MediaType.APPLICATION_JSON)
+  Mono<HttpResponse<BatchView>> createRailways(
+      @Body final Publisher<RailwayRequest> railwayRequests) {
+    return BatchRequests.collect(railwayRequests)
+        .map(
+            requests -> {
+              LOG.info("POST {}/batch ({} railways)", ApiCatalog.API_RAILWAYS, requests.size());
+              return HttpResponse.ok(
+                  BatchRequests.create(
+                      requests,
+                      validator,
+                      RailwayRequest::toCommand,
+                      railways ->
+                          commandHandler.handle(new RailwayCommand.CreateRailways(railways))));
+            });
+  }
 }
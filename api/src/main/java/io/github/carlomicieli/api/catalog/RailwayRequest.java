@@ -20,11 +20,15 @@
  */
 package io.github.carlomicieli.api.catalog;
 
+import io.github.carlomicieli.catalog.RailwayCommand;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
 import io.soabase.recordbuilder.core.RecordBuilder;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import java.util.Optional;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
 
 @Introspected
 @Serdeable
@@ -36,4 +40,24 @@ public record RailwayRequest(
     RailwayPeriodOfActivityRequest periodOfActivity,
     @Valid AddressRequest address,
     String organizationEntityType,
-    ContactInfoRequest contactInfo) {}
+    ContactInfoRequest contactInfo) {
+
+  /**
+   * Creates the command to create the railway company described by this request.
+   *
+   * @return the command to create the railway company
+   */
+  @CheckReturnValue
+  public @NotNull RailwayCommand.CreateRailway toCommand() {
+    return new RailwayCommand.CreateRailway(
+        name,
+        abbreviation,
+        country,
+        Optional.ofNullable(periodOfActivity)
+            .map(RailwayPeriodOfActivityRequest::toRailwayPeriodOfActivity)
+            .orElse(null),
+        Optional.ofNullable(address).map(AddressRequest::toAddress).orElse(null),
+        organizationEntityType,
+        Optional.ofNullable(contactInfo).map(ContactInfoRequest::toContactInfo).orElse(null));
+  }
+}
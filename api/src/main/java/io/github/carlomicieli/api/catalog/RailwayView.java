@@ -25,6 +25,7 @@ import io.github.carlomicieli.catalog.Railway;
 import io.micronaut.serde.annotation.Serdeable;
 import io.soabase.recordbuilder.core.RecordBuilder;
 import java.util.Optional;
+import java.util.Set;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -42,30 +43,73 @@ public record RailwayView(
     @Nullable String organizationEntityType,
     @Nullable ContactInfoView contactInfo,
     @NotNull MetadataView metadata) {
+  /** The fields that can be requested with a {@link FieldSet}. */
+  static final Set<String> FIELDS =
+      Set.of(
+          "id",
+          "name",
+          "slug",
+          "abbreviation",
+          "country",
+          "periodOfActivity",
+          "address",
+          "organizationEntityType",
+          "contactInfo",
+          "metadata");
+
   @CheckReturnValue
   public static @NotNull RailwayView fromRailway(@NotNull final Railway railway) {
-    var organizationEntityType =
-        railway.organizationEntityType() != null ? railway.organizationEntityType().name() : null;
-    var contactInfo =
-        railway.contactInfo() != null
-            ? ContactInfoView.fromContactInfo(railway.contactInfo())
-            : null;
-    var periodOfActivity =
-        Optional.ofNullable(railway.periodOfActivity())
-            .map(RailwayPeriodOfActivityView::fromRailwayPeriodOfActivity)
-            .orElse(null);
-    return RailwayViewBuilder.builder()
-        .id(railway.id().value())
-        .name(railway.name())
-        .slug(railway.slug().value())
-        .abbreviation(railway.abbreviation())
-        .country(railway.country().getAlpha2())
-        .periodOfActivity(periodOfActivity)
-        .organizationEntityType(organizationEntityType)
-        .address(toAddress(railway.address()))
-        .contactInfo(contactInfo)
-        .metadata(MetadataView.fromMetadata(railway.metadata()))
-        .build();
+    return fromRailway(railway, FieldSet.ALL);
+  }
+
+  /**
+   * Maps a railway to its view with only the requested fields, the others are left {@code null}.
+   *
+   * @param railway the railway
+   * @param fields the requested fields
+   * @return the view
+   */
+  @CheckReturnValue
+  static @NotNull RailwayView fromRailway(
+      @NotNull final Railway railway, @NotNull final FieldSet fields) {
+    var builder = RailwayViewBuilder.builder().id(railway.id().value());
+    if (fields.includes("name")) {
+      builder.name(railway.name());
+    }
+    if (fields.includes("slug")) {
+      builder.slug(railway.slug().value());
+    }
+    if (fields.includes("abbreviation")) {
+      builder.abbreviation(railway.abbreviation());
+    }
+    if (fields.includes("country")) {
+      builder.country(railway.country().getAlpha2());
+    }
+    if (fields.includes("periodOfActivity")) {
+      builder.periodOfActivity(
+          Optional.ofNullable(railway.periodOfActivity())
+              .map(RailwayPeriodOfActivityView::fromRailwayPeriodOfActivity)
+              .orElse(null));
+    }
+    if (fields.includes("address")) {
+      builder.address(toAddress(railway.address()));
+    }
+    if (fields.includes("organizationEntityType")) {
+      builder.organizationEntityType(
+          railway.organizationEntityType() != null
+              ? railway.organizationEntityType().name()
+              : null);
+    }
+    if (fields.includes("contactInfo")) {
+      builder.contactInfo(
+          railway.contactInfo() != null
+              ? ContactInfoView.fromContactInfo(railway.contactInfo())
+              : null);
+    }
+    if (fields.includes("metadata")) {
+      builder.metadata(MetadataView.fromMetadata(railway.metadata()));
+    }
+    return builder.build();
   }
 
   private static @Nullable AddressView toAddress(@Nullable final Address address) {
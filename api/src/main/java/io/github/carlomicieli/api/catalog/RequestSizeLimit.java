@@ -0,0 +1,168 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
+import io.micronaut.http.server.netty.NettyServerCustomizer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.ReferenceCountUtil;
+import jakarta.inject.Singleton;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Limits the size of the request bodies by endpoint.
+ *
+ * <p>{@code micronaut.server.max-request-size} applies to every request, so it is set to the size
+ * of the largest batch create request. The other endpoints accept bodies of at most {@code
+ * api.max-request-size} bytes (10MB by default, the Micronaut default): a larger request is
+ * answered with {@code 413 Request Entity Too Large} when its {@code Content-Length} exceeds the
+ * limit, before the body is read, and its connection is closed when a chunked body does.
+ */
+@Singleton
+public final class RequestSizeLimit
+    implements BeanCreatedEventListener<NettyServerCustomizer.Registry> {
+  public static final String MAX_SIZE_PROPERTY = "api.max-request-size";
+
+  private static final String HANDLER_NAME = "request-size-limit";
+  private static final String BATCH_SUFFIX = "/batch";
+
+  private final long maxSize;
+
+  public RequestSizeLimit(
+      @Property(name = MAX_SIZE_PROPERTY, defaultValue = "10MB") @ReadableBytes
+          final long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The request size must be positive: " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public NettyServerCustomizer.Registry onCreated(
+      @NotNull final BeanCreatedEvent<NettyServerCustomizer.Registry> event) {
+    NettyServerCustomizer.Registry registry = event.getBean();
+    registry.register(new Customizer(null));
+    return registry;
+  }
+
+  /**
+   * Tells whether a request is limited by {@code api.max-request-size}: all of them but the batch
+   * create requests.
+   *
+   * @param request the request
+   * @return {@code true} if the request is limited
+   */
+  static boolean isLimited(@NotNull final HttpRequest request) {
+    String uri = request.uri();
+    int query = uri.indexOf('?');
+    String path = query < 0 ? uri : uri.substring(0, query);
+    return !(HttpMethod.POST.equals(request.method()) && path.endsWith(BATCH_SUFFIX));
+  }
+
+  private final class Customizer implements NettyServerCustomizer {
+    // null for the customizer of the server, before it is specialized for a channel
+    private final @Nullable Channel channel;
+
+    private Customizer(@Nullable final Channel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public NettyServerCustomizer specializeForChannel(
+        @NotNull final Channel channel, @NotNull final ChannelRole role) {
+      return new Customizer(channel);
+    }
+
+    @Override
+    public void onStreamPipelineBuilt() {
+      if (channel == null
+          || channel.pipeline().get(ChannelPipelineCustomizer.HANDLER_MICRONAUT_INBOUND) == null) {
+        return;
+      }
+      channel
+          .pipeline()
+          .addBefore(
+              ChannelPipelineCustomizer.HANDLER_MICRONAUT_INBOUND, HANDLER_NAME, new Handler());
+    }
+  }
+
+  /** Counts the bytes of each request body, and rejects the ones over the limit. */
+  private final class Handler extends ChannelInboundHandlerAdapter {
+    private boolean limited;
+    private boolean discarding;
+    private long received;
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+      if (msg instanceof HttpRequest request) {
+        limited = isLimited(request);
+        discarding = false;
+        received = 0;
+        if (limited && HttpUtil.getContentLength(request, -1L) > maxSize) {
+          discarding = true;
+          ReferenceCountUtil.release(msg);
+          reject(ctx, request);
+          return;
+        }
+      }
+      if (msg instanceof HttpContent content) {
+        if (discarding) {
+          ReferenceCountUtil.release(msg);
+          return;
+        }
+        received += content.content().readableBytes();
+        if (limited && received > maxSize) {
+          // the request is already dispatched: the connection is the only way to stop it
+          discarding = true;
+          ReferenceCountUtil.release(msg);
+          ctx.close();
+          return;
+        }
+      }
+      ctx.fireChannelRead(msg);
+    }
+
+    private void reject(final ChannelHandlerContext ctx, final HttpRequest request) {
+      DefaultFullHttpResponse response =
+          new DefaultFullHttpResponse(
+              request.protocolVersion(), HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+      response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+      ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+}
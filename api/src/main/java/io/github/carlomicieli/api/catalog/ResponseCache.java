@@ -0,0 +1,329 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of the serialized responses of the read endpoints, on top of {@link HttpCaching}.
+ *
+ * <p>A response is cached under its path, with its query, and its {@link ResponseFormat}, together
+ * with its entity tag. The tags change whenever the entity, or the repository of a list, is saved:
+ * a cached response is only served while its tag is the current one, and the next request after a
+ * save serializes the new response and replaces it. A hit writes the cached bytes as they are,
+ * without building the views.
+ *
+ * <p>The cache holds at most {@code api.response-cache.max-size} bytes (64MB by default, {@code 0}
+ * disables it). Past that size, entries are evicted with the CLOCK algorithm: the ones served since
+ * the last sweep are kept for one more round. The responses larger than a sixteenth of the cache
+ * are never cached.
+ *
+ * <p>The cache publishes the {@code api.response.cache.requests} counters, tagged with the {@code
+ * hit} or {@code miss} result, the {@code api.response.cache.evictions} counter and the {@code
+ * api.response.cache.size} and {@code api.response.cache.hit.ratio} gauges.
+ */
+@Singleton
+public final class ResponseCache {
+  public static final String MAX_SIZE_PROPERTY = "api.response-cache.max-size";
+
+  // the approximate size of an entry besides its key and body: the entry, the map node and arrays
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private final JsonMapper jsonMapper;
+  private final long maxSize;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong size = new AtomicLong();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private @Nullable Iterator<Map.Entry<String, Entry>> hand;
+
+  public ResponseCache(
+      @NotNull final JsonMapper jsonMapper,
+      @NotNull final MeterRegistry meterRegistry,
+      @Property(name = MAX_SIZE_PROPERTY, defaultValue = "64MB") @ReadableBytes
+          final long maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("The cache size must not be negative: " + maxSize);
+    }
+    this.jsonMapper = Objects.requireNonNull(jsonMapper, "jsonMapper must not be null");
+    this.maxSize = maxSize;
+    registerMeters(Objects.requireNonNull(meterRegistry, "meterRegistry must not be null"));
+  }
+
+  /**
+   * Creates the response for an entity, as {@link HttpCaching#entity}, serving its JSON from the
+   * cache.
+   *
+   * @param request the request
+   * @param entity the entity, if it exists
+   * @param metadataOf the function extracting the entity metadata
+   * @param toView the function mapping the entity to its view, called on a cache miss
+   * @return the response
+   */
+  @CheckReturnValue
+  <T> @NotNull MutableHttpResponse<?> entity(
+      @NotNull final HttpRequest<?> request,
+      @NotNull final Optional<T> entity,
+      @NotNull final Function<T, Metadata> metadataOf,
+      @NotNull final Function<T, ?> toView) {
+    ResponseFormat format = ResponseFormat.negotiate(request);
+    return HttpCaching.entity(
+        request,
+        entity,
+        metadataOf,
+        (value, eTag) ->
+            get(request.getPath(), eTag, format, () -> HttpResponse.ok(toView.apply(value))));
+  }
+
+  /**
+   * Creates the response for a list, as {@link HttpCaching#collection}, serving its JSON from the
+   * cache.
+   *
+   * @param request the request
+   * @param version the version of the repository, read before the list
+   * @param response the supplier of the full response, called on a cache miss
+   * @return the response
+   */
+  @CheckReturnValue
+  @NotNull MutableHttpResponse<?> collection(
+      @NotNull final HttpRequest<?> request,
+      final long version,
+      @NotNull final Supplier<? extends MutableHttpResponse<?>> response) {
+    ResponseFormat format = ResponseFormat.negotiate(request);
+    return HttpCaching.collection(
+        request, version, eTag -> get(request.getUri().toString(), eTag, format, response));
+  }
+
+  /**
+   * Returns the cached response for the given key and entity tag. On a miss the response is built,
+   * and its body serialized and cached if it is a {@code 200 OK}; the other responses are returned
+   * as they are.
+   *
+   * @param key the cache key
+   * @param eTag the current entity tag of the response
+   * @param response the supplier of the response
+   * @return the response, with a serialized JSON body when it is a {@code 200 OK}
+   */
+  @CheckReturnValue
+  @NotNull MutableHttpResponse<?> get(
+      @NotNull final String key,
+      @NotNull final String eTag,
+      @NotNull final Supplier<? extends MutableHttpResponse<?>> response) {
+    return get(key, eTag, ResponseFormat.JSON, response);
+  }
+
+  /**
+   * Returns the cached response for the given key, entity tag and format, as {@link #get(String,
+   * String, Supplier)}. The representations in the binary formats are converted from the JSON one
+   * and cached apart.
+   *
+   * @param key the cache key
+   * @param eTag the current entity tag of the response
+   * @param format the format of the response body
+   * @param response the supplier of the response
+   * @return the response, with a serialized body in the given format when it is a {@code 200 OK}
+   */
+  @CheckReturnValue
+  @NotNull MutableHttpResponse<?> get(
+      @NotNull final String key,
+      @NotNull final String eTag,
+      @NotNull final ResponseFormat format,
+      @NotNull final Supplier<? extends MutableHttpResponse<?>> response) {
+    String formatKey = format == ResponseFormat.JSON ? key : key + " " + format.name();
+    Entry entry = entries.get(formatKey);
+    if (entry != null && entry.eTag.equals(eTag)) {
+      hits.increment();
+      entry.referenced = true;
+      return entry.toResponse();
+    }
+    misses.increment();
+    MutableHttpResponse<?> full = response.get();
+    if (full.status() != HttpStatus.OK || full.getBody().isEmpty()) {
+      return full;
+    }
+    Entry created =
+        new Entry(
+            eTag, format.mediaType(), serialize(full.getBody().get(), format), headersOf(full));
+    put(formatKey, created);
+    return created.toResponse();
+  }
+
+  /**
+   * Returns the number of bytes held by the cache, approximately.
+   *
+   * @return the cache size
+   */
+  long size() {
+    return size.get();
+  }
+
+  private void put(final String key, final Entry entry) {
+    long weight = weightOf(key, entry);
+    if (weight > maxSize / 16) {
+      return;
+    }
+    Entry previous = entries.put(key, entry);
+    long delta = previous == null ? weight : weight - weightOf(key, previous);
+    if (size.addAndGet(delta) > maxSize) {
+      evict();
+    }
+  }
+
+  private void evict() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      // two full rounds at most: the first one can only clear the reference bits
+      int remaining = 2 * entries.size() + 1;
+      while (size.get() > maxSize && remaining-- > 0) {
+        if (hand == null || !hand.hasNext()) {
+          hand = entries.entrySet().iterator();
+          if (!hand.hasNext()) {
+            return;
+          }
+        }
+        Map.Entry<String, Entry> candidate = hand.next();
+        Entry entry = candidate.getValue();
+        if (entry.referenced) {
+          entry.referenced = false;
+        } else if (entries.remove(candidate.getKey(), entry)) {
+          size.addAndGet(-weightOf(candidate.getKey(), entry));
+          evictions.increment();
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private byte[] serialize(final Object body, final ResponseFormat format) {
+    try {
+      byte[] json = body instanceof byte[] bytes ? bytes : jsonMapper.writeValueAsBytes(body);
+      return format.fromJson(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to serialize the response", e);
+    }
+  }
+
+  private static List<Map.Entry<String, String>> headersOf(final MutableHttpResponse<?> response) {
+    List<Map.Entry<String, String>> headers = new ArrayList<>();
+    response
+        .getHeaders()
+        .forEach(
+            (name, values) -> {
+              if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                values.forEach(value -> headers.add(Map.entry(name, value)));
+              }
+            });
+    return List.copyOf(headers);
+  }
+
+  private static long weightOf(final String key, final Entry entry) {
+    return ENTRY_OVERHEAD + 2L * key.length() + entry.body.length;
+  }
+
+  private void registerMeters(final MeterRegistry registry) {
+    FunctionCounter.builder("api.response.cache.requests", hits, LongAdder::sum)
+        .description("The requests served by the response cache")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("api.response.cache.requests", misses, LongAdder::sum)
+        .description("The requests served by the response cache")
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("api.response.cache.evictions", evictions, LongAdder::sum)
+        .description("The responses evicted from the response cache")
+        .register(registry);
+    Gauge.builder("api.response.cache.size", size, AtomicLong::get)
+        .description("The bytes held by the response cache")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("api.response.cache.hit.ratio", this, ResponseCache::hitRatio)
+        .description("The share of the requests served from the response cache")
+        .register(registry);
+  }
+
+  private double hitRatio() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0.0 : (double) hitCount / total;
+  }
+
+  private static final class Entry {
+    private final String eTag;
+    private final MediaType mediaType;
+    private final byte[] body;
+    private final List<Map.Entry<String, String>> headers;
+    private volatile boolean referenced = false;
+
+    private Entry(
+        final String eTag,
+        final MediaType mediaType,
+        final byte[] body,
+        final List<Map.Entry<String, String>> headers) {
+      this.eTag = eTag;
+      this.mediaType = mediaType;
+      this.body = body;
+      this.headers = headers;
+    }
+
+    private MutableHttpResponse<byte[]> toResponse() {
+      MutableHttpResponse<byte[]> response = HttpResponse.ok(body).contentType(mediaType);
+      for (Map.Entry<String, String> header : headers) {
+        response.header(header.getKey(), header.getValue());
+      }
+      return response;
+    }
+  }
+}
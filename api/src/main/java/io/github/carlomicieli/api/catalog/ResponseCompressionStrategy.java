@@ -0,0 +1,94 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.server.netty.HttpCompressionStrategy;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponse;
+import jakarta.inject.Singleton;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides which responses the server compresses, with the algorithm negotiated through the {@code
+ * Accept-Encoding} header: gzip, deflate or zstd.
+ *
+ * <p>As the default strategy, it compresses the text responses, streams included, of at least
+ * {@code micronaut.server.netty.compression-threshold} bytes (a negative threshold disables the
+ * compression) at {@code micronaut.server.netty.compression-level} for gzip and deflate. It also
+ * compresses the CBOR and Smile representations of the views: they only save the syntax of JSON,
+ * while the repeated values still compress well.
+ *
+ * <p>Every response that could be compressed, whatever its size and the encodings the client
+ * accepts, varies on {@code Accept-Encoding}: a shared cache must not serve a compressed copy to a
+ * client that cannot decode it.
+ */
+@Singleton
+@Replaces(HttpCompressionStrategy.class)
+public final class ResponseCompressionStrategy implements HttpCompressionStrategy {
+  private final int threshold;
+  private final int level;
+
+  public ResponseCompressionStrategy(@NotNull final NettyHttpServerConfiguration configuration) {
+    Objects.requireNonNull(configuration, "configuration must not be null");
+    this.threshold = configuration.getCompressionThreshold();
+    this.level = configuration.getCompressionLevel();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return threshold >= 0;
+  }
+
+  @Override
+  public boolean shouldCompress(@NotNull final HttpResponse response) {
+    if (!isEnabled()) {
+      return false;
+    }
+    HttpHeaders headers = response.headers();
+    String contentType = headers.get(HttpHeaderNames.CONTENT_TYPE);
+    if (contentType == null || !isCompressible(contentType)) {
+      return false;
+    }
+    // called for every response with a body, before the Accept-Encoding of the request is read
+    if (!headers.containsValue(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING, true)) {
+      headers.add(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+    }
+    Integer length = headers.getInt(HttpHeaderNames.CONTENT_LENGTH);
+    return length == null || length >= threshold;
+  }
+
+  @Override
+  public int getCompressionLevel() {
+    return level;
+  }
+
+  private static boolean isCompressible(final String contentType) {
+    MediaType mediaType = MediaType.of(contentType);
+    return mediaType.isTextBased()
+        || mediaType.getName().equals(ApiCatalog.APPLICATION_CBOR)
+        || mediaType.getName().equals(ApiCatalog.APPLICATION_SMILE);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The representations of the cached responses: JSON, or the same document in one of the binary JSON
+ * formats, CBOR or Smile, which encode the numbers and the lengths of the strings in binary and,
+ * for Smile, refer back to the field names already written. The format is negotiated through the
+ * {@code Accept} header, JSON being the default.
+ */
+enum ResponseFormat {
+  JSON(MediaType.APPLICATION_JSON_TYPE, null),
+  CBOR(MediaType.of(ApiCatalog.APPLICATION_CBOR), new CBORFactory()),
+  SMILE(MediaType.of(ApiCatalog.APPLICATION_SMILE), new SmileFactory());
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final MediaType mediaType;
+  private final @Nullable JsonFactory factory;
+
+  ResponseFormat(final MediaType mediaType, @Nullable final JsonFactory factory) {
+    this.mediaType = mediaType;
+    this.factory = factory;
+  }
+
+  /**
+   * Returns the format the client prefers, among the media types of its {@code Accept} header with
+   * the highest quality. The wildcards and the requests without the header get JSON.
+   *
+   * @param request the request
+   * @return the response format
+   */
+  @CheckReturnValue
+  static @NotNull ResponseFormat negotiate(@NotNull final HttpRequest<?> request) {
+    ResponseFormat best = JSON;
+    double bestQuality = 0.0;
+    for (MediaType accepted : request.accept()) {
+      double quality = accepted.getQualityAsNumber().doubleValue();
+      if (quality <= bestQuality) {
+        continue;
+      }
+      for (ResponseFormat format : values()) {
+        if (format.mediaType.matches(accepted)) {
+          best = format;
+          bestQuality = quality;
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the media type of this format.
+   *
+   * @return the media type
+   */
+  @CheckReturnValue
+  @NotNull MediaType mediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Returns the entity tag of this representation, given the tag of the JSON one: every format gets
+   * its own tag, so that a validator never matches the representation in another format.
+   *
+   * @param eTag the entity tag of the JSON representation
+   * @return the entity tag of this representation
+   */
+  @CheckReturnValue
+  @NotNull String tag(@NotNull final String eTag) {
+    if (this == JSON) {
+      return eTag;
+    }
+    return eTag.substring(0, eTag.length() - 1) + "+" + name().toLowerCase() + "\"";
+  }
+
+  /**
+   * Converts a JSON document to this format, token by token.
+   *
+   * @param json the JSON document
+   * @return the document in this format
+   * @throws IOException if the document is not valid JSON
+   */
+  @CheckReturnValue
+  byte @NotNull [] fromJson(final byte @NotNull [] json) throws IOException {
+    if (factory == null) {
+      return json;
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+    try (JsonParser parser = JSON_FACTORY.createParser(json);
+        JsonGenerator generator = factory.createGenerator(out)) {
+      while (parser.nextToken() != null) {
+        generator.copyCurrentEvent(parser);
+      }
+    }
+    return out.toByteArray();
+  }
+}
@@ -20,10 +20,18 @@
  */
 package io.github.carlomicieli.api.catalog;
 
+import io.github.carlomicieli.catalog.DuplicateIdException;
+import io.github.carlomicieli.catalog.Scale;
 import io.github.carlomicieli.catalog.ScaleCommand;
 import io.github.carlomicieli.catalog.ScaleCommandHandler;
 import io.github.carlomicieli.catalog.ScaleId;
+import io.github.carlomicieli.catalog.TrackGauge;
+import io.micronaut.core.annotation.Blocking;
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Consumes;
@@ -32,51 +40,225 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.annotation.QueryValue;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Controller(ApiCatalog.API_SCALES)
 public class ScaleController {
   private static final Logger LOG = LoggerFactory.getLogger(ScaleController.class);
   private final ScaleCommandHandler commandHandler;
+  private final Validator validator;
+  private final ResponseCache responseCache;
 
-  public ScaleController(final ScaleCommandHandler commandHandler) {
+  public ScaleController(
+      final ScaleCommandHandler commandHandler,
+      final Validator validator,
+      final ResponseCache responseCache) {
     this.commandHandler = Objects.requireNonNull(commandHandler, "commandHandler must not be null");
+    this.validator = Objects.requireNonNull(validator, "validator must not be null");
+    this.responseCache = Objects.requireNonNull(responseCache, "responseCache must not be null");
   }
 
   @Post
   @Consumes(MediaType.APPLICATION_JSON)
   HttpResponse<?> createScale(@Valid @Body ScaleRequest request) {
     LOG.info("POST {} {}", ApiCatalog.API_SCALES, request);
-    var command =
-        new ScaleCommand.CreateScale(request.name(), request.ratio(), request.trackGauge());
-    var scaleId = commandHandler.handle(command);
+    ScaleId scaleId;
+    try {
+      scaleId = commandHandler.handle(request.toCommand());
+    } catch (DuplicateIdException e) {
+      return HttpResponse.status(HttpStatus.CONFLICT);
+    }
     return HttpResponse.created(URI.create(ApiCatalog.API_SCALES + "/" + scaleId));
   }
 
-  @Get("/{id}")
+  /** Replaces the values of an existing scale, which keeps its id: a scale cannot be renamed. */
+  @Put("/{id}")
+  @Consumes(MediaType.APPLICATION_JSON)
+  HttpResponse<?> updateScale(@PathVariable final String id, @Valid @Body ScaleRequest request) {
+    LOG.info("PUT {}/{} {}", ApiCatalog.API_SCALES, id, request);
+    ScaleCommand.UpdateScale command;
+    try {
+      command = new ScaleCommand.UpdateScale(ScaleId.fromName(id), request.toCommand());
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    Optional<Scale> scale = commandHandler.handle(command);
+    return scale.isPresent() ? HttpResponse.noContent() : HttpResponse.notFound();
+  }
+
+  /**
+   * Creates many scales at once. The body is either a JSON array or a stream of JSON values, one
+   * per line.
+   */
+  @Post("/batch")
+  @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON_STREAM})
   @Produces(MediaType.APPLICATION_JSON)
-  HttpResponse<ScaleView> getScale(@PathVariable final String id) {
+  Mono<HttpResponse<BatchView>> createScales(@Body final Publisher<ScaleRequest> scaleRequests) {
+    return BatchRequests.collect(scaleRequests)
+        .map(
+            requests -> {
+              LOG.info("POST {}/batch ({} scales)", ApiCatalog.API_SCALES, requests.size());
+              return HttpResponse.ok(
+                  BatchRequests.create(
+                      requests,
+                      validator,
+                      ScaleRequest::toCommand,
+                      scales -> commandHandler.handle(new ScaleCommand.CreateScales(scales))));
+            });
+  }
+
+  @NonBlocking
+  @Get("/{id}")
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getScale(final HttpRequest<?> request, @PathVariable final String id) {
     LOG.info("GET {}/{}", ApiCatalog.API_SCALES, id);
     var scaleId = ScaleId.fromName(id);
     var command = new ScaleCommand.FindScaleById(scaleId);
-    return commandHandler
-        .handle(command)
-        .map(ScaleView::fromScale)
-        .map(HttpResponse::ok)
-        .orElse(HttpResponse.notFound());
+    return responseCache.entity(
+        request, commandHandler.handle(command), Scale::metadata, ScaleView::fromScale);
   }
 
   @Get
-  @Produces(MediaType.APPLICATION_JSON)
-  HttpResponse<List<ScaleView>> getScales() {
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getScales(
+      final HttpRequest<?> request,
+      @Nullable @QueryValue final String cursor,
+      @QueryValue(defaultValue = Pagination.DEFAULT_LIMIT) @Min(1) @Max(Pagination.MAX_LIMIT)
+          final int limit,
+      @Nullable @QueryValue(FieldSet.PARAMETER) final String fields) {
     LOG.info("GET {}", ApiCatalog.API_SCALES);
+    ScaleId after;
+    FieldSet fieldSet;
+    try {
+      after = Optional.ofNullable(Pagination.decodeCursor(cursor)).map(ScaleId::new).orElse(null);
+      fieldSet = FieldSet.parse(fields, ScaleView.FIELDS);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    return responseCache.collection(
+        request,
+        version(),
+        () -> {
+          var command = new ScaleCommand.FindAllScales(after, limit + 1);
+          List<Scale> scales = commandHandler.handle(command);
+          return Pagination.page(
+              ApiCatalog.API_SCALES,
+              Collections.singletonMap(FieldSet.PARAMETER, fields),
+              scales,
+              limit,
+              scale -> scale.id().value(),
+              scale -> ScaleView.fromScale(scale, fieldSet));
+        });
+  }
+
+  @NonBlocking
+  @Get("/nearest")
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getNearestScale(
+      final HttpRequest<?> request,
+      @QueryValue final double ratio,
+      @Nullable @QueryValue("track_gauge") final String trackGauge) {
+    LOG.info("GET {}/nearest", ApiCatalog.API_SCALES);
+    ScaleCommand.FindNearestScale command;
+    try {
+      command = new ScaleCommand.FindNearestScale(ratio, trackGaugeOrNull(trackGauge));
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    return responseCache.collection(
+        request,
+        version(),
+        () ->
+            commandHandler
+                .handle(command)
+                .map(ScaleView::fromScale)
+                .map(HttpResponse::ok)
+                .orElse(HttpResponse.notFound()));
+  }
+
+  @NonBlocking
+  @Get("/by-ratio")
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getScalesByRatio(
+      final HttpRequest<?> request,
+      @QueryValue final double from,
+      @QueryValue final double to,
+      @Nullable @QueryValue("track_gauge") final String trackGauge,
+      @Nullable @QueryValue(FieldSet.PARAMETER) final String fields) {
+    LOG.info("GET {}/by-ratio", ApiCatalog.API_SCALES);
+    ScaleCommand.FindScalesByRatio command;
+    FieldSet fieldSet;
+    try {
+      command = new ScaleCommand.FindScalesByRatio(from, to, trackGaugeOrNull(trackGauge));
+      fieldSet = FieldSet.parse(fields, ScaleView.FIELDS);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    return responseCache.collection(
+        request,
+        version(),
+        () ->
+            HttpResponse.ok(
+                commandHandler.handle(command).stream()
+                    .map(scale -> ScaleView.fromScale(scale, fieldSet))
+                    .toList()));
+  }
+
+  @NonBlocking
+  @Get("/by-track-gauge/{trackGauge}")
+  @Produces({MediaType.APPLICATION_JSON, ApiCatalog.APPLICATION_CBOR, ApiCatalog.APPLICATION_SMILE})
+  HttpResponse<?> getScalesByTrackGauge(
+      final HttpRequest<?> request,
+      @PathVariable final String trackGauge,
+      @Nullable @QueryValue(FieldSet.PARAMETER) final String fields) {
+    LOG.info("GET {}/by-track-gauge/{}", ApiCatalog.API_SCALES, trackGauge);
+    ScaleCommand.FindScalesByTrackGauge command;
+    FieldSet fieldSet;
+    try {
+      command = new ScaleCommand.FindScalesByTrackGauge(TrackGauge.parse(trackGauge));
+      fieldSet = FieldSet.parse(fields, ScaleView.FIELDS);
+    } catch (IllegalArgumentException e) {
+      return HttpResponse.badRequest();
+    }
+    return responseCache.collection(
+        request,
+        version(),
+        () ->
+            HttpResponse.ok(
+                commandHandler.handle(command).stream()
+                    .map(scale -> ScaleView.fromScale(scale, fieldSet))
+                    .toList()));
+  }
+
+  @Blocking
+  @Get("/stream")
+  @Produces({MediaType.APPLICATION_JSON_STREAM, MediaType.APPLICATION_JSON})
+  Publisher<ScaleView> streamScales() {
+    LOG.info("GET {}/stream", ApiCatalog.API_SCALES);
     var command = new ScaleCommand.FindAllScales();
-    var scales = commandHandler.handle(command).stream().map(ScaleView::fromScale).toList();
-    return HttpResponse.ok(scales);
+    return Flux.fromIterable(commandHandler.handle(command)).map(ScaleView::fromScale);
+  }
+
+  private long version() {
+    return commandHandler.handle(new ScaleCommand.FindScalesVersion());
+  }
+
+  private static @Nullable TrackGauge trackGaugeOrNull(@Nullable final String value) {
+    return value == null || value.isBlank() ? null : TrackGauge.parse(value);
   }
 }
@@ -20,16 +20,29 @@
  */
 package io.github.carlomicieli.api.catalog;
 
+import io.github.carlomicieli.catalog.ScaleCommand;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
 import io.micronaut.serde.config.naming.SnakeCaseStrategy;
 import io.soabase.recordbuilder.core.RecordBuilder;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
 @Introspected
 @Serdeable(naming = SnakeCaseStrategy.class)
 @RecordBuilder
 public record ScaleRequest(
-    @NotBlank @NotNull String name, @Positive @NotNull Float ratio, @NotBlank String trackGauge) {}
+    @NotBlank @NotNull String name, @Positive @NotNull Float ratio, @NotBlank String trackGauge) {
+
+  /**
+   * Creates the command to create the scale described by this request.
+   *
+   * @return the command to create the scale
+   */
+  @CheckReturnValue
+  public @NotNull ScaleCommand.CreateScale toCommand() {
+    return new ScaleCommand.CreateScale(name, ratio, trackGauge);
+  }
+}
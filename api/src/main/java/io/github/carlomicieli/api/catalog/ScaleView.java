@@ -24,6 +24,7 @@ import io.github.carlomicieli.catalog.Scale;
 import io.micronaut.serde.annotation.Serdeable;
 import io.micronaut.serde.config.naming.SnakeCaseStrategy;
 import io.soabase.recordbuilder.core.RecordBuilder;
+import java.util.Set;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
@@ -36,15 +37,40 @@ public record ScaleView(
     @NotNull String ratio,
     @NotNull String trackGauge,
     @NotNull MetadataView metadata) {
+  /** The fields that can be requested with a {@link FieldSet}, by their JSON names. */
+  static final Set<String> FIELDS =
+      Set.of("id", "name", "slug", "ratio", "track_gauge", "metadata");
+
   @CheckReturnValue
   public static @NotNull ScaleView fromScale(@NotNull final Scale scale) {
-    return ScaleViewBuilder.builder()
-        .id(scale.id().value())
-        .name(scale.name())
-        .ratio("1:" + scale.ratio())
-        .slug(scale.slug().toString())
-        .trackGauge(scale.trackGauge().name())
-        .metadata(MetadataView.fromMetadata(scale.metadata()))
-        .build();
+    return fromScale(scale, FieldSet.ALL);
+  }
+
+  /**
+   * Maps a scale to its view with only the requested fields, the others are left {@code null}.
+   *
+   * @param scale the scale
+   * @param fields the requested fields
+   * @return the view
+   */
+  @CheckReturnValue
+  static @NotNull ScaleView fromScale(@NotNull final Scale scale, @NotNull final FieldSet fields) {
+    var builder = ScaleViewBuilder.builder().id(scale.id().value());
+    if (fields.includes("name")) {
+      builder.name(scale.name());
+    }
+    if (fields.includes("ratio")) {
+      builder.ratio("1:" + scale.ratio());
+    }
+    if (fields.includes("slug")) {
+      builder.slug(scale.slug().toString());
+    }
+    if (fields.includes("track_gauge")) {
+      builder.trackGauge(scale.trackGauge().name());
+    }
+    if (fields.includes("metadata")) {
+      builder.metadata(MetadataView.fromMetadata(scale.metadata()));
+    }
+    return builder.build();
   }
 }
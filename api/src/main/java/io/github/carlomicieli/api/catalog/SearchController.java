@@ -0,0 +1,96 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.BrandCommand;
+import io.github.carlomicieli.catalog.BrandCommandHandler;
+import io.github.carlomicieli.catalog.RailwayCommand;
+import io.github.carlomicieli.catalog.RailwayCommandHandler;
+import io.github.carlomicieli.catalog.ScaleCommand;
+import io.github.carlomicieli.catalog.ScaleCommandHandler;
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Full-text search over the brand, railway and scale names (and the railway abbreviations). Each
+ * repository returns its best matches from its own index, and the results are merged by score.
+ */
+@Controller(ApiCatalog.API_SEARCH)
+public class SearchController {
+  static final String DEFAULT_LIMIT = "20";
+  static final int MAX_LIMIT = 100;
+
+  private static final Logger LOG = LoggerFactory.getLogger(SearchController.class);
+  private final BrandCommandHandler brandCommandHandler;
+  private final RailwayCommandHandler railwayCommandHandler;
+  private final ScaleCommandHandler scaleCommandHandler;
+
+  public SearchController(
+      final BrandCommandHandler brandCommandHandler,
+      final RailwayCommandHandler railwayCommandHandler,
+      final ScaleCommandHandler scaleCommandHandler) {
+    this.brandCommandHandler =
+        Objects.requireNonNull(brandCommandHandler, "brandCommandHandler must not be null");
+    this.railwayCommandHandler =
+        Objects.requireNonNull(railwayCommandHandler, "railwayCommandHandler must not be null");
+    this.scaleCommandHandler =
+        Objects.requireNonNull(scaleCommandHandler, "scaleCommandHandler must not be null");
+  }
+
+  /**
+   * Searches the catalog: every word of the query must be a word, or the beginning of a word, of
+   * the result, ignoring case and accents. The results are sorted by descending score.
+   */
+  @NonBlocking
+  @Get
+  @Produces(MediaType.APPLICATION_JSON)
+  List<SearchResultView> search(
+      @QueryValue final String q,
+      @QueryValue(defaultValue = DEFAULT_LIMIT) @Min(1) @Max(MAX_LIMIT) final int limit) {
+    LOG.info("GET {}?q={}", ApiCatalog.API_SEARCH, q);
+    Stream<SearchResultView> brands =
+        brandCommandHandler.handle(new BrandCommand.SearchBrands(q, limit)).stream()
+            .map(SearchResultView::fromBrand);
+    Stream<SearchResultView> railways =
+        railwayCommandHandler.handle(new RailwayCommand.SearchRailways(q, limit)).stream()
+            .map(SearchResultView::fromRailway);
+    Stream<SearchResultView> scales =
+        scaleCommandHandler.handle(new ScaleCommand.SearchScales(q, limit)).stream()
+            .map(SearchResultView::fromScale);
+    return Stream.of(brands, railways, scales)
+        .flatMap(results -> results)
+        .sorted(Comparator.comparingInt(SearchResultView::score).reversed())
+        .limit(limit)
+        .toList();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.Railway;
+import io.github.carlomicieli.catalog.Scale;
+import io.github.carlomicieli.catalog.SearchHit;
+import io.micronaut.serde.annotation.Serdeable;
+import io.soabase.recordbuilder.core.RecordBuilder;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A full-text search result: the {@code type} of the entity ({@code brand}, {@code railway} or
+ * {@code scale}), enough to show and link it, and its relevance.
+ */
+@RecordBuilder
+@Serdeable
+public record SearchResultView(
+    @NotNull String type,
+    @NotNull String id,
+    @NotNull String name,
+    @NotNull String slug,
+    int score) {
+  @CheckReturnValue
+  public static @NotNull SearchResultView fromBrand(@NotNull final SearchHit<Brand> hit) {
+    Brand brand = hit.value();
+    return SearchResultViewBuilder.builder()
+        .type("brand")
+        .id(brand.id().value())
+        .name(brand.name())
+        .slug(brand.slug().toString())
+        .score(hit.score())
+        .build();
+  }
+
+  @CheckReturnValue
+  public static @NotNull SearchResultView fromRailway(@NotNull final SearchHit<Railway> hit) {
+    Railway railway = hit.value();
+    return SearchResultViewBuilder.builder()
+        .type("railway")
+        .id(railway.id().value())
+        .name(railway.name())
+        .slug(railway.slug().toString())
+        .score(hit.score())
+        .build();
+  }
+
+  @CheckReturnValue
+  public static @NotNull SearchResultView fromScale(@NotNull final SearchHit<Scale> hit) {
+    Scale scale = hit.value();
+    return SearchResultViewBuilder.builder()
+        .type("scale")
+        .id(scale.id().value())
+        .name(scale.name())
+        .slug(scale.slug().toString())
+        .score(hit.score())
+        .build();
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import io.github.carlomicieli.api.catalog.BatchItemView;
+import io.github.carlomicieli.api.catalog.BatchRequests;
+import io.github.carlomicieli.api.catalog.BatchView;
+import io.github.carlomicieli.api.catalog.BrandRequest;
+import io.github.carlomicieli.api.catalog.RailwayRequest;
+import io.github.carlomicieli.api.catalog.ScaleRequest;
+import io.github.carlomicieli.catalog.BatchResult;
+import io.github.carlomicieli.catalog.BrandCommand;
+import io.github.carlomicieli.catalog.BrandCommandHandler;
+import io.github.carlomicieli.catalog.RailwayCommand;
+import io.github.carlomicieli.catalog.RailwayCommandHandler;
+import io.github.carlomicieli.catalog.ScaleCommand;
+import io.github.carlomicieli.catalog.ScaleCommandHandler;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.json.tree.JsonNode;
+import jakarta.inject.Singleton;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports brands, railways and scales from CSV or NDJSON files.
+ *
+ * <p>The import is a pipeline: the calling thread reads the records and groups them in batches, a
+ * pool of workers parses and validates the batches in parallel, and saves each of them with one
+ * batch create command. The reader blocks when {@link ImportOptions#maxPendingBatches()} batches
+ * are waiting for the workers, so the import runs in constant memory on files of any size.
+ *
+ * <p>The CSV columns are the JSON fields of the create requests, with a dot for the nested fields
+ * ({@code address.city}); the empty fields are left out.
+ */
+@Singleton
+public class CatalogImporter {
+  private static final Logger LOG = LoggerFactory.getLogger(CatalogImporter.class);
+
+  private final JsonMapper jsonMapper;
+  private final Validator validator;
+  private final BrandCommandHandler brandCommandHandler;
+  private final RailwayCommandHandler railwayCommandHandler;
+  private final ScaleCommandHandler scaleCommandHandler;
+
+  public CatalogImporter(
+      final JsonMapper jsonMapper,
+      final Validator validator,
+      final BrandCommandHandler brandCommandHandler,
+      final RailwayCommandHandler railwayCommandHandler,
+      final ScaleCommandHandler scaleCommandHandler) {
+    this.jsonMapper = Objects.requireNonNull(jsonMapper, "jsonMapper must not be null");
+    this.validator = Objects.requireNonNull(validator, "validator must not be null");
+    this.brandCommandHandler =
+        Objects.requireNonNull(brandCommandHandler, "brandCommandHandler must not be null");
+    this.railwayCommandHandler =
+        Objects.requireNonNull(railwayCommandHandler, "railwayCommandHandler must not be null");
+    this.scaleCommandHandler =
+        Objects.requireNonNull(scaleCommandHandler, "scaleCommandHandler must not be null");
+  }
+
+  /**
+   * Imports the entities in a UTF-8 file.
+   *
+   * @param file the file to import
+   * @param entity the entities in the file
+   * @param options the import options
+   * @return the import report
+   * @throws IOException if the file cannot be read, or it is malformed
+   */
+  public @NotNull ImportReport importFile(
+      @NotNull final Path file,
+      @NotNull final ImportEntity entity,
+      @NotNull final ImportOptions options)
+      throws IOException {
+    LOG.info("Importing the {} in {} ({})", entity, file, options.format());
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return importFrom(reader, entity, options);
+    }
+  }
+
+  /**
+   * Imports the entities read from a reader, which is consumed but not closed.
+   *
+   * @param reader the reader of the records
+   * @param entity the entities in the file
+   * @param options the import options
+   * @return the import report
+   * @throws IOException if the records cannot be read, or they are malformed
+   */
+  public @NotNull ImportReport importFrom(
+      @NotNull final Reader reader,
+      @NotNull final ImportEntity entity,
+      @NotNull final ImportOptions options)
+      throws IOException {
+    return switch (entity) {
+      case BRANDS ->
+          run(
+              reader,
+              options,
+              new Target<>(
+                  BrandRequest.class,
+                  BrandRequest::toCommand,
+                  brands -> brandCommandHandler.handle(new BrandCommand.CreateBrands(brands))));
+      case RAILWAYS ->
+          run(
+              reader,
+              options,
+              new Target<>(
+                  RailwayRequest.class,
+                  RailwayRequest::toCommand,
+                  railways ->
+                      railwayCommandHandler.handle(new RailwayCommand.CreateRailways(railways))));
+      case SCALES ->
+          run(
+              reader,
+              options,
+              new Target<>(
+                  ScaleRequest.class,
+                  ScaleRequest::toCommand,
+                  scales -> scaleCommandHandler.handle(new ScaleCommand.CreateScales(scales))));
+    };
+  }
+
+  private <Q, C, I> ImportReport run(
+      final Reader reader, final ImportOptions options, final Target<Q, C, I> target)
+      throws IOException {
+    ImportProgress progress = new ImportProgress();
+    Semaphore pendingBatches = new Semaphore(options.maxPendingBatches());
+    ExecutorService workers =
+        Executors.newFixedThreadPool(
+            options.parallelism(), Thread.ofPlatform().name("catalog-import-", 0).factory());
+    ScheduledExecutorService reporter =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("catalog-import-progress").daemon().factory());
+    long interval = options.progressInterval().toMillis();
+    reporter.scheduleAtFixedRate(
+        () -> LOG.info("Imported {}", progress.report()),
+        interval,
+        interval,
+        TimeUnit.MILLISECONDS);
+
+    RecordReader records = options.format().open(reader);
+    try {
+      List<ImportRecord> batch = new ArrayList<>(options.batchSize());
+      ImportRecord record;
+      while (progress.failure() == null && (record = records.next()) != null) {
+        batch.add(record);
+        if (batch.size() == options.batchSize()) {
+          submit(batch, target, progress, workers, pendingBatches);
+          batch = new ArrayList<>(options.batchSize());
+        }
+      }
+      if (!batch.isEmpty()) {
+        submit(batch, target, progress, workers, pendingBatches);
+      }
+    } finally {
+      reporter.shutdownNow();
+      workers.close();
+    }
+
+    Throwable failure = progress.failure();
+    if (failure != null) {
+      throw new IOException("The import failed", failure);
+    }
+    ImportReport report = progress.report();
+    LOG.info("Imported {}", report);
+    return report;
+  }
+
+  private <Q, C, I> void submit(
+      final List<ImportRecord> batch,
+      final Target<Q, C, I> target,
+      final ImportProgress progress,
+      final ExecutorService workers,
+      final Semaphore pendingBatches)
+      throws InterruptedIOException {
+    try {
+      pendingBatches.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("The import was interrupted");
+    }
+    workers.execute(
+        () -> {
+          try {
+            process(batch, target, progress);
+          } catch (RuntimeException e) {
+            progress.failed(e);
+          } finally {
+            pendingBatches.release();
+          }
+        });
+  }
+
+  private <Q, C, I> void process(
+      final List<ImportRecord> batch, final Target<Q, C, I> target, final ImportProgress progress) {
+    List<Q> requests = new ArrayList<>(batch.size());
+    List<ImportRecord> parsed = new ArrayList<>(batch.size());
+    for (ImportRecord record : batch) {
+      try {
+        requests.add(parse(record, target.requestType()));
+        parsed.add(record);
+      } catch (IOException | IllegalArgumentException e) {
+        progress.rejected(record.line(), "Unable to parse the record: " + e.getMessage());
+      }
+    }
+
+    BatchView result =
+        BatchRequests.create(requests, validator, target.toCommand(), target.createAll());
+    for (BatchItemView item : result.items()) {
+      if (item.error() == null) {
+        progress.created();
+      } else {
+        progress.rejected(parsed.get(item.index()).line(), item.error());
+      }
+    }
+  }
+
+  private <Q> Q parse(final ImportRecord record, final Class<Q> requestType) throws IOException {
+    return switch (record) {
+      case ImportRecord.Json json -> jsonMapper.readValue(json.json(), requestType);
+      case ImportRecord.Csv csv -> jsonMapper.readValueFromTree(toJson(csv), requestType);
+    };
+  }
+
+  private static JsonNode toJson(final ImportRecord.Csv csv) {
+    if (csv.fields().size() != csv.header().size()) {
+      throw new IllegalArgumentException(
+          "Expected %d fields, found %d".formatted(csv.header().size(), csv.fields().size()));
+    }
+    Map<String, Object> root = new LinkedHashMap<>();
+    for (int i = 0; i < csv.fields().size(); i++) {
+      String value = csv.fields().get(i);
+      if (value.isEmpty()) {
+        continue;
+      }
+      Map<String, Object> parent = root;
+      String[] path = csv.header().get(i).split("\\.");
+      for (int depth = 0; depth < path.length - 1; depth++) {
+        Object child = parent.computeIfAbsent(path[depth], key -> new LinkedHashMap<>());
+        if (!(child instanceof Map<?, ?>)) {
+          throw new IllegalArgumentException("Conflicting columns for " + path[depth]);
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> nested = (Map<String, Object>) child;
+        parent = nested;
+      }
+      parent.put(path[path.length - 1], value);
+    }
+    return toJsonNode(root);
+  }
+
+  private static JsonNode toJsonNode(final Object value) {
+    if (value instanceof Map<?, ?> map) {
+      Map<String, JsonNode> fields = new LinkedHashMap<>();
+      map.forEach((key, child) -> fields.put((String) key, toJsonNode(child)));
+      return JsonNode.createObjectNode(fields);
+    }
+    return JsonNode.createStringNode((String) value);
+  }
+
+  private record Target<Q, C, I>(
+      Class<Q> requestType,
+      Function<Q, C> toCommand,
+      Function<List<C>, List<BatchResult<I>>> createAll) {}
+}
@@ -0,0 +1,138 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the rows of a CSV file (RFC 4180), whose first row has the column names. The fields can be
+ * quoted, to contain commas, line breaks and escaped ({@code ""}) quotes. The blank lines are
+ * skipped.
+ *
+ * <p>The reader keeps only the current row in memory, no matter how large the file is.
+ */
+final class CsvReader implements RecordReader {
+  private static final int END = -1;
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private int position = 0;
+  private int limit = 0;
+  private long line = 1;
+  private long rowLine = 1;
+  private @Nullable List<String> header;
+
+  CsvReader(@NotNull final Reader reader) {
+    this.reader = Objects.requireNonNull(reader, "reader must not be null");
+  }
+
+  @Override
+  public @Nullable ImportRecord next() throws IOException {
+    if (header == null) {
+      header = nextRow();
+      if (header == null) {
+        return null;
+      }
+      header = header.stream().map(String::strip).toList();
+    }
+    List<String> fields = nextRow();
+    return fields == null ? null : new ImportRecord.Csv(rowLine, header, fields);
+  }
+
+  /**
+   * Reads the fields of the next non-blank row, and records the line where it starts.
+   *
+   * @return the fields, or {@code null} at the end of the file
+   * @throws IOException if the file cannot be read, or a quoted field is not terminated
+   */
+  @Nullable List<String> nextRow() throws IOException {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    rowLine = line;
+    boolean quoted = false;
+    int c = read();
+    while (true) {
+      if (quoted) {
+        if (c == END) {
+          throw new EOFException("Unterminated quoted field in the row at line " + rowLine);
+        } else if (c == '"') {
+          c = read();
+          if (c != '"') {
+            quoted = false;
+            continue;
+          }
+          field.append('"');
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == END) {
+        if (fields.isEmpty() && field.isEmpty()) {
+          if (c == END) {
+            return null;
+          }
+          line++;
+          rowLine = line;
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          fields.add(field.toString());
+          return fields;
+        }
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (position == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return END;
+      }
+    }
+    return buffer[position++];
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.util.Locale;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/** The entities that can be imported from a file. */
+public enum ImportEntity {
+  BRANDS,
+  RAILWAYS,
+  SCALES;
+
+  /**
+   * Parses an entity name, ignoring the case.
+   *
+   * @param value the entity name, like {@code brands}
+   * @return the entity
+   * @throws IllegalArgumentException if the value is not a known entity
+   */
+  @CheckReturnValue
+  public static @NotNull ImportEntity parse(@NotNull final String value) {
+    return ImportEntity.valueOf(value.strip().toUpperCase(Locale.ROOT));
+  }
+}
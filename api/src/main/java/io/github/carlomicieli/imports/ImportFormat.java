@@ -0,0 +1,72 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.io.Reader;
+import java.util.Locale;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/** The formats of the import files. */
+public enum ImportFormat {
+  /** Comma separated values, with the column names in the first row. */
+  CSV,
+  /** Newline delimited JSON: one JSON object per line. */
+  NDJSON;
+
+  /**
+   * Parses a format name, ignoring the case.
+   *
+   * @param value the format name, like {@code csv}
+   * @return the format
+   * @throws IllegalArgumentException if the value is not a known format
+   */
+  @CheckReturnValue
+  public static @NotNull ImportFormat parse(@NotNull final String value) {
+    return ImportFormat.valueOf(value.strip().toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Guesses the format of a file from its extension: {@code .csv} for CSV files, {@code .ndjson},
+   * {@code .jsonl} and {@code .json} for NDJSON files.
+   *
+   * @param fileName the file name
+   * @return the format
+   * @throws IllegalArgumentException if the extension is not a known one
+   */
+  @CheckReturnValue
+  public static @NotNull ImportFormat fromFileName(@NotNull final String fileName) {
+    String name = fileName.toLowerCase(Locale.ROOT);
+    if (name.endsWith(".csv")) {
+      return CSV;
+    } else if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+      return NDJSON;
+    }
+    throw new IllegalArgumentException("Unknown import file format: " + fileName);
+  }
+
+  @NotNull RecordReader open(@NotNull final Reader reader) {
+    return switch (this) {
+      case CSV -> new CsvReader(reader);
+      case NDJSON -> new NdjsonReader(reader);
+    };
+  }
+}
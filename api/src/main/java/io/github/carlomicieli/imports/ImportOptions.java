@@ -0,0 +1,72 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The options of an import.
+ *
+ * @param format the format of the file
+ * @param batchSize the number of records validated and saved together
+ * @param parallelism the number of batches processed in parallel
+ * @param maxPendingBatches the number of batches read ahead of the workers: the reader blocks when
+ *     they are all pending, so that the memory used is bounded whatever the file size
+ * @param progressInterval how often the progress is logged
+ */
+public record ImportOptions(
+    @NotNull ImportFormat format,
+    int batchSize,
+    int parallelism,
+    int maxPendingBatches,
+    @NotNull Duration progressInterval) {
+  public static final int DEFAULT_BATCH_SIZE = 1_000;
+  public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofSeconds(5);
+
+  public ImportOptions {
+    Objects.requireNonNull(format, "The import format cannot be null");
+    Objects.requireNonNull(progressInterval, "The progress interval cannot be null");
+    if (batchSize < 1 || parallelism < 1 || maxPendingBatches < 1) {
+      throw new IllegalArgumentException(
+          "The batch size, the parallelism and the pending batches must be positive");
+    }
+    if (progressInterval.isNegative() || progressInterval.isZero()) {
+      throw new IllegalArgumentException("The progress interval must be positive");
+    }
+  }
+
+  /**
+   * Returns the default options for the given format: batches of 1000 records, one worker per
+   * processor, and up to two pending batches per worker.
+   *
+   * @param format the format of the file
+   * @return the default options
+   */
+  @CheckReturnValue
+  public static @NotNull ImportOptions defaults(@NotNull final ImportFormat format) {
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    return new ImportOptions(
+        format, DEFAULT_BATCH_SIZE, parallelism, 2 * parallelism, DEFAULT_PROGRESS_INTERVAL);
+  }
+}
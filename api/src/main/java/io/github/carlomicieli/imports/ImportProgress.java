@@ -0,0 +1,88 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The counters of a running import, updated by the workers. Only the first errors are kept, so that
+ * a file full of invalid records does not fill the memory.
+ */
+final class ImportProgress {
+  static final int MAX_ERRORS = 100;
+
+  private final long startedAt = System.nanoTime();
+  private final LongAdder created = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final List<String> errors = new ArrayList<>();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  void created() {
+    created.increment();
+  }
+
+  void rejected(final long line, @NotNull final String reason) {
+    rejected.increment();
+    synchronized (errors) {
+      if (errors.size() < MAX_ERRORS) {
+        errors.add("line " + line + ": " + reason);
+      }
+    }
+  }
+
+  /**
+   * Records the first unexpected failure of a worker, which stops the import.
+   *
+   * @param throwable the failure
+   */
+  void failed(@NotNull final Throwable throwable) {
+    if (!failure.compareAndSet(null, throwable)) {
+      failure.get().addSuppressed(throwable);
+    }
+  }
+
+  @Nullable Throwable failure() {
+    return failure.get();
+  }
+
+  @CheckReturnValue
+  @NotNull ImportReport report() {
+    long createdCount = created.sum();
+    long rejectedCount = rejected.sum();
+    List<String> firstErrors;
+    synchronized (errors) {
+      firstErrors = List.copyOf(errors);
+    }
+    return new ImportReport(
+        createdCount + rejectedCount,
+        createdCount,
+        rejectedCount,
+        Duration.ofNanos(System.nanoTime() - startedAt),
+        firstErrors);
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/** A raw record read from an import file, not parsed yet. */
+sealed interface ImportRecord {
+  /**
+   * Returns the line of the file where the record starts.
+   *
+   * @return the line number, starting from 1
+   */
+  long line();
+
+  /**
+   * A JSON value read from a line of a NDJSON file.
+   *
+   * @param line the line number
+   * @param json the JSON value
+   */
+  record Json(long line, @NotNull String json) implements ImportRecord {
+    public Json {
+      Objects.requireNonNull(json, "The JSON value cannot be null");
+    }
+  }
+
+  /**
+   * A row of a CSV file.
+   *
+   * @param line the line where the row starts
+   * @param header the column names, from the first row of the file
+   * @param fields the fields of the row
+   */
+  record Csv(long line, @NotNull List<String> header, @NotNull List<String> fields)
+      implements ImportRecord {
+    public Csv {
+      Objects.requireNonNull(header, "The CSV header cannot be null");
+      Objects.requireNonNull(fields, "The CSV fields cannot be null");
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The outcome of an import.
+ *
+ * @param records the number of records read
+ * @param created the number of entities created
+ * @param rejected the number of records rejected
+ * @param elapsed the duration of the import
+ * @param errors the first errors, as {@code line N: reason}
+ */
+public record ImportReport(
+    long records,
+    long created,
+    long rejected,
+    @NotNull Duration elapsed,
+    @NotNull List<String> errors) {
+  public ImportReport {
+    Objects.requireNonNull(elapsed, "The elapsed time cannot be null");
+    errors = List.copyOf(errors);
+  }
+
+  /**
+   * Returns the number of records processed per second.
+   *
+   * @return the throughput
+   */
+  @CheckReturnValue
+  public double throughput() {
+    long nanos = Math.max(elapsed.toNanos(), 1);
+    return records * 1e9 / nanos;
+  }
+
+  @Override
+  public String toString() {
+    return "%d records: %d created, %d rejected in %d ms (%.0f records/s)"
+        .formatted(records, created, rejected, elapsed.toMillis(), throughput());
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import org.jetbrains.annotations.Nullable;
+
+/** Reads the records of an import file, one at a time. */
+interface RecordReader extends Closeable {
+  /**
+   * Reads the next record.
+   *
+   * @return the next record, or {@code null} at the end of the file
+   * @throws IOException if the file cannot be read, or it is malformed
+   */
+  @Nullable ImportRecord next() throws IOException;
+}
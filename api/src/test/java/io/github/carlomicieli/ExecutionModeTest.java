@@ -0,0 +1,79 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Execution mode")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@MicronautTest
+class ExecutionModeTest {
+  @Inject
+  @Client("/")
+  HttpClient client;
+
+  @Test
+  void it_should_run_the_blocking_routes_on_virtual_threads() {
+    assertThat(client.toBlocking().retrieve("/execution-mode/blocking")).isEqualTo("virtual");
+  }
+
+  @Test
+  void it_should_keep_the_non_blocking_routes_on_the_event_loop() {
+    assertThat(client.toBlocking().retrieve("/execution-mode/non-blocking")).isEqualTo("platform");
+  }
+
+  @Controller("/execution-mode")
+  @Requires(env = Environment.TEST)
+  static class ThreadController {
+    @Get("/blocking")
+    @Produces(MediaType.TEXT_PLAIN)
+    String blocking() {
+      return threadKind();
+    }
+
+    @NonBlocking
+    @Get("/non-blocking")
+    @Produces(MediaType.TEXT_PLAIN)
+    String nonBlocking() {
+      return threadKind();
+    }
+
+    private static String threadKind() {
+      return Thread.currentThread().isVirtual() ? "virtual" : "platform";
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.carlomicieli.catalog.CatalogItemCommand;
+import io.github.carlomicieli.catalog.CatalogItemCommandHandler;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName(ApiCatalog.API_AUTOCOMPLETE)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class AutocompleteControllerTest {
+  @Inject
+  @Client("/")
+  HttpClient client;
+
+  @Inject CatalogItemCommandHandler catalogItemCommandHandler;
+  @Inject CatalogAutocomplete autocomplete;
+
+  @Test
+  void it_should_suggest_brands_and_railways_by_prefix() {
+    List<AutocompleteView> brands = suggest("?q=Brand%203");
+    List<AutocompleteView> railways = suggest("?q=sn");
+
+    assertThat(brands)
+        .containsExactly(new AutocompleteView("brand", "trn:brand:brand-3", "Brand 3"));
+    assertThat(railways).extracting(AutocompleteView::name).containsExactly("SNCF");
+    assertThat(railways).extracting(AutocompleteView::type).containsExactly("railway");
+  }
+
+  @Test
+  void it_should_filter_the_suggestions_by_type() {
+    assertThat(suggest("?q=s&type=railway"))
+        .extracting(AutocompleteView::name)
+        .containsExactly("SBB", "SNCF");
+    assertThat(suggest("?q=s&type=brand")).isEmpty();
+  }
+
+  @Test
+  void it_should_suggest_the_brands_with_more_catalog_items_first() {
+    assertThat(suggest("?q=brand&type=brand&limit=1"))
+        .extracting(AutocompleteView::name)
+        .containsExactly("Brand 1");
+
+    for (String itemNumber : List.of("50001", "50002", "50003", "50004")) {
+      catalogItemCommandHandler.handle(
+          new CatalogItemCommand.CreateCatalogItem(
+              "Brand 5", itemNumber, "H0", "IV", "locomotives", "dc", 1));
+    }
+    // the tries are rebuilt in the background, the previous ones answer in the meantime
+    autocomplete.refresh().join();
+
+    assertThat(suggest("?q=brand&type=brand&limit=2"))
+        .extracting(AutocompleteView::name)
+        .containsExactly("Brand 5", "Brand 1");
+  }
+
+  @Test
+  void it_should_reject_invalid_types_and_limits() {
+    for (String query : List.of("?q=brand&limit=1000", "?q=brand&type=scale")) {
+      assertThatThrownBy(() -> suggest(query))
+          .isInstanceOf(HttpClientResponseException.class)
+          .satisfies(
+              e ->
+                  assertThat(((HttpClientResponseException) e).getStatus().getCode())
+                      .isEqualTo(HttpStatus.BAD_REQUEST.getCode()));
+    }
+  }
+
+  private List<AutocompleteView> suggest(final String query) {
+    return client
+        .toBlocking()
+        .retrieve(
+            HttpRequest.GET(ApiCatalog.API_AUTOCOMPLETE + query),
+            Argument.listOf(AutocompleteView.class));
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName("POST /api/{brands,railways,scales}/batch")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BatchRequestsTest {
+  @Test
+  void it_should_create_a_batch_of_brands(final BatchClient client) {
+    HttpResponse<BatchView> response =
+        client.createBrands(
+            List.of(
+                new BrandRequest("ACME", "INDUSTRIAL", "ACTIVE", null, null, null),
+                new BrandRequest("", null, null, null, null, null),
+                new BrandRequest("Roco", "UNKNOWN", null, null, null, null),
+                new BrandRequest("Rivarossi", null, null, null, null, null)));
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(response.body())
+        .isEqualTo(
+            new BatchView(
+                2,
+                2,
+                List.of(
+                    new BatchItemView(0, "trn:brand:acme", null),
+                    new BatchItemView(1, null, "name: must not be blank"),
+                    new BatchItemView(2, null, "kind: Invalid brand kind"),
+                    new BatchItemView(3, "trn:brand:rivarossi", null))));
+    assertThat(client.getBrand("acme").getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+  }
+
+  @Test
+  void it_should_create_a_batch_of_railways(final BatchClient client) {
+    BatchView batch =
+        client
+            .createRailways(
+                List.of(
+                    new RailwayRequest("BLS", "BLS", "CH", null, null, null, null),
+                    new RailwayRequest("XYZ", "XYZ", "not-a-country", null, null, null, null)))
+            .body();
+
+    assertThat(batch).isNotNull();
+    assertThat(batch.created()).isEqualTo(1);
+    assertThat(batch.items())
+        .containsExactly(
+            new BatchItemView(0, "trn:railway:bls", null),
+            new BatchItemView(1, null, "Unknown railway country: not-a-country"));
+  }
+
+  @Test
+  void it_should_create_a_stream_of_scales(final BatchClient client) {
+    String scales =
+        IntStream.range(0, 100)
+            .mapToObj(
+                i ->
+                    "{\"name\":\"Scale %d\",\"ratio\":%d,\"track_gauge\":\"%s\"}"
+                        .formatted(i, 100 + i, i % 10 == 0 ? "WIDE" : "STANDARD"))
+            .collect(Collectors.joining("\n"));
+
+    BatchView batch = client.createScales(scales).body();
+
+    assertThat(batch).isNotNull();
+    assertThat(batch.created()).isEqualTo(90);
+    assertThat(batch.rejected()).isEqualTo(10);
+    assertThat(batch.items()).hasSize(100);
+    assertThat(batch.items().get(1)).isEqualTo(new BatchItemView(1, "trn:scale:scale-1", null));
+    assertThat(batch.items().get(10))
+        .isEqualTo(new BatchItemView(10, null, "Unknown track gauge: WIDE"));
+  }
+
+  @Client("/api")
+  interface BatchClient {
+    @Post("/brands/batch")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<BatchView> createBrands(@Body final List<BrandRequest> brands);
+
+    @Get("/brands/{id}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<BrandView> getBrand(final String id);
+
+    @Post("/railways/batch")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<BatchView> createRailways(@Body final List<RailwayRequest> railways);
+
+    @Post("/scales/batch")
+    @Produces(MediaType.APPLICATION_JSON_STREAM)
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<BatchView> createScales(@Body final String scales);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.catalog.BatchResult;
+import io.github.carlomicieli.catalog.ScaleId;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BatchView")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BatchViewTest {
+  @Test
+  void it_should_create_the_item_views_from_the_batch_results() {
+    assertThat(BatchItemView.fromResult(0, new BatchResult.Created<>(ScaleId.fromName("H0"))))
+        .isEqualTo(new BatchItemView(0, "trn:scale:h0", null));
+    assertThat(BatchItemView.fromResult(1, new BatchResult.Rejected<>("invalid scale")))
+        .isEqualTo(new BatchItemView(1, null, "invalid scale"));
+  }
+
+  @Test
+  void it_should_count_the_created_and_rejected_items() {
+    List<BatchItemView> items =
+        List.of(
+            new BatchItemView(0, "trn:scale:h0", null),
+            new BatchItemView(1, null, "invalid scale"),
+            new BatchItemView(2, "trn:scale:n", null));
+
+    assertThat(BatchView.fromItems(items)).isEqualTo(new BatchView(2, 1, items));
+  }
+}
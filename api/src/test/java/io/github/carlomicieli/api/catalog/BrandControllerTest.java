@@ -24,6 +24,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.carlomicieli.catalog.BrandId;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
@@ -32,14 +34,17 @@ import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 @DisplayName("/api/brands")
@@ -62,6 +67,58 @@ class BrandControllerTest {
             activeBrandView("7"));
   }
 
+  @Test
+  void it_should_get_brands_one_page_at_a_time(final BrandsClient client) {
+    HttpResponse<List<BrandView>> firstPage = client.getBrandsPage(null, 4);
+    assertThat(firstPage.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(firstPage.body())
+        .extracting(BrandView::name)
+        .containsExactly("Brand 1", "Brand 2", "Brand 3", "Brand 4");
+
+    String next = firstPage.getHeaders().get(HttpHeaders.LINK);
+    assertThat(next).startsWith("</api/brands?cursor=").endsWith("&limit=4>; rel=\"next\"");
+
+    String cursor = next.substring(next.indexOf("cursor=") + 7, next.indexOf('&'));
+    HttpResponse<List<BrandView>> secondPage = client.getBrandsPage(cursor, 4);
+    assertThat(secondPage.body()).extracting(BrandView::name).startsWith("Brand 5", "Brand 6");
+  }
+
+  @Test
+  void it_should_reject_invalid_cursors(final BrandsClient client) {
+    assertThatThrownBy(() -> client.getBrandsPage("not-a-cursor", 4))
+        .isInstanceOf(HttpClientResponseException.class)
+        .satisfies(
+            e ->
+                assertThat(((HttpClientResponseException) e).getStatus().getCode())
+                    .isEqualTo(HttpStatus.BAD_REQUEST.getCode()));
+  }
+
+  @Test
+  void it_should_get_only_the_requested_brand_fields(final BrandsClient client) {
+    HttpResponse<List<Map<String, Object>>> firstPage = client.getBrandFields("name, slug", 4);
+    assertThat(firstPage.body())
+        .hasSize(4)
+        .allSatisfy(brand -> assertThat(brand).containsOnlyKeys("id", "name", "slug"))
+        .extracting(brand -> brand.get("name"))
+        .containsExactly("Brand 1", "Brand 2", "Brand 3", "Brand 4");
+    assertThat(firstPage.getHeaders().get(HttpHeaders.LINK))
+        .startsWith("</api/brands?fields=name%2C+slug&cursor=");
+  }
+
+  @Test
+  void it_should_reject_unknown_brand_fields(final BrandsClient client) {
+    assertThatThrownBy(() -> client.getBrandFields("name,website", 4))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+  }
+
+  @Test
+  void it_should_stream_all_brands(final BrandsClient client) {
+    List<BrandView> brands = client.streamBrands();
+    assertThat(brands).isNotEmpty().startsWith(brandView("1"), brandView("2"));
+  }
+
   private BrandView brandView(String id) {
     return new BrandView(
         BrandId.fromName("Brand " + id).value(),
@@ -122,6 +179,16 @@ class BrandControllerTest {
     assertThat(response.getHeaders().get("Location")).contains("/api/brands/trn:brand:brand-7");
   }
 
+  @Test
+  void it_should_return_CONFLICT_when_a_brand_with_the_same_slug_exists(final BrandsClient client) {
+    BrandRequest newBrand = new BrandRequest("brand 1", "BRASS_MODELS", null, null, null, null);
+
+    assertThatThrownBy(() -> client.postBrand(newBrand))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.CONFLICT.getCode());
+  }
+
   @Test
   void it_should_reject_to_create_invalid_brands(final BrandsClient client) {
     final String expected =
@@ -140,12 +207,70 @@ class BrandControllerTest {
             });
   }
 
+  /** The updates run last, after the tests that expect the entities as they were created. */
+  @Nested
+  @DisplayName("PUT /api/brands/{id}")
+  class Updates {
+    @Test
+    void it_should_update_existing_brands(final BrandsClient client) {
+      client.postBrand(new BrandRequest("Brand 8", "INDUSTRIAL", "ACTIVE", null, null, null));
+
+      HttpResponse<?> response =
+          client.putBrand(
+              "brand-8",
+              new BrandRequest("Brand 8", "BRASS_MODELS", "OUT_OF_BUSINESS", null, null, null));
+      assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NO_CONTENT.getCode());
+
+      BrandView brand = client.getBrandById("brand-8").body();
+      assertThat(brand).isNotNull();
+      assertThat(brand.kind()).isEqualTo("BRASS_MODELS");
+      assertThat(brand.status()).isEqualTo("OUT_OF_BUSINESS");
+      assertThat(brand.metadata().version()).isEqualTo(1);
+    }
+
+    @Test
+    void it_should_reject_to_rename_brands(final BrandsClient client) {
+      client.postBrand(new BrandRequest("Brand 9", "INDUSTRIAL", "ACTIVE", null, null, null));
+
+      assertThatThrownBy(
+              () ->
+                  client.putBrand(
+                      "brand-9",
+                      new BrandRequest("Brand 10", "INDUSTRIAL", "ACTIVE", null, null, null)))
+          .isInstanceOf(HttpClientResponseException.class)
+          .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+          .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+      assertThat(client.getBrandById("brand-10").getStatus().getCode())
+          .isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    }
+
+    @Test
+    void it_should_return_NOT_FOUND_when_the_brand_to_update_is_not_found(
+        final BrandsClient client) {
+      HttpResponse<?> response =
+          client.putBrand("not-found", new BrandRequest("Not found", null, null, null, null, null));
+      assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    }
+  }
+
   @Client("/api/brands")
   interface BrandsClient {
     @Get
     @Consumes(MediaType.APPLICATION_JSON)
     List<BrandView> getBrands();
 
+    @Get("{?cursor,limit}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<List<BrandView>> getBrandsPage(@Nullable final String cursor, final int limit);
+
+    @Get("{?fields,limit}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<List<Map<String, Object>>> getBrandFields(final String fields, final int limit);
+
+    @Get("/stream")
+    @Consumes(MediaType.APPLICATION_JSON)
+    List<BrandView> streamBrands();
+
     @Get("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     HttpResponse<BrandView> getBrandById(final String id);
@@ -154,5 +279,9 @@ class BrandControllerTest {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     HttpResponse<?> postBrand(@Body final BrandRequest brand);
+
+    @Put("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<?> putBrand(final String id, @Body final BrandRequest brand);
   }
 }
@@ -0,0 +1,108 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.CatalogEntity;
+import io.github.carlomicieli.catalog.CatalogExporter;
+import io.github.carlomicieli.catalog.CatalogItem;
+import io.github.carlomicieli.catalog.Railway;
+import io.github.carlomicieli.catalog.Scale;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.json.tree.JsonNode;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName(ApiCatalog.API_EXPORT)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogExportControllerTest {
+  @Inject
+  @Client("/")
+  HttpClient client;
+
+  @Inject JsonMapper jsonMapper;
+
+  @Inject CatalogExporter exporter;
+
+  @Test
+  void it_should_export_the_catalog_as_json_lines() throws IOException {
+    HttpResponse<byte[]> response =
+        client
+            .toBlocking()
+            .exchange(
+                HttpRequest.GET(ApiCatalog.API_EXPORT).accept(MediaType.APPLICATION_JSON_STREAM),
+                byte[].class);
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    String body = new String(response.body(), StandardCharsets.UTF_8);
+    List<String> types = new ArrayList<>();
+    for (String line : body.split("\n")) {
+      JsonNode node = jsonMapper.readValue(line, JsonNode.class);
+      types.add(node.get("type").getStringValue());
+      assertThat(node.get("value").get("id").getStringValue()).startsWith("trn:");
+    }
+    List<String> expected = exporter.entities().map(CatalogExportControllerTest::typeOf).toList();
+    assertThat(types).isNotEmpty().isEqualTo(expected);
+  }
+
+  @Test
+  void it_should_export_the_catalog_in_the_binary_format() throws IOException {
+    HttpResponse<byte[]> response =
+        client
+            .toBlocking()
+            .exchange(
+                HttpRequest.GET(ApiCatalog.API_EXPORT + "/binary")
+                    .accept(CatalogExporter.BINARY_MEDIA_TYPE),
+                byte[].class);
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    List<CatalogEntity> entities =
+        CatalogExporter.readBinary(new ByteArrayInputStream(response.body())).toList();
+    assertThat(entities).isNotEmpty().isEqualTo(exporter.entities().toList());
+  }
+
+  private static String typeOf(CatalogEntity entity) {
+    return switch (entity) {
+      case Brand ignored -> "brand";
+      case Railway ignored -> "railway";
+      case Scale ignored -> "scale";
+      case CatalogItem ignored -> "catalog_item";
+    };
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+@MicronautTest
+@DisplayName("CatalogHealthIndicator")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogHealthIndicatorTest {
+  @Inject CatalogHealthIndicator healthIndicator;
+
+  @Test
+  void it_should_report_the_catalog_UP_while_the_projections_work() {
+    HealthResult result = Mono.from(healthIndicator.getResult()).block();
+
+    assertThat(result).isNotNull();
+    assertThat(result.getName()).isEqualTo(CatalogHealthIndicator.NAME);
+    assertThat(result.getStatus()).isEqualTo(HealthStatus.UP);
+    assertThat(result.getDetails()).asInstanceOf(InstanceOfAssertFactories.MAP).isEmpty();
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName("/api/catalog-items")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemControllerTest {
+  @Test
+  void it_should_create_new_catalog_items(final CatalogItemClient client) {
+    CatalogItemRequest request =
+        new CatalogItemRequest("ACME", "60000", "H0", "IV", "LOCOMOTIVES", "AC", 1);
+    HttpResponse<?> response = client.createCatalogItem(request);
+    assertThat(response).isNotNull();
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.CREATED.getCode());
+    assertThat(response.getHeaders().get("Location"))
+        .contains("/api/catalog-items/trn:catalog-item:acme:60000");
+  }
+
+  @Test
+  void it_should_reject_invalid_catalog_item_requests(final CatalogItemClient client) {
+    CatalogItemRequest request =
+        new CatalogItemRequest("ACME", "", "H0", "IV", "LOCOMOTIVES", "STEAM", 1);
+    assertThatThrownBy(() -> client.createCatalogItem(request))
+        .isInstanceOf(HttpClientResponseException.class)
+        .hasMessageContaining(
+            "{\"field\":\"createCatalogItem.request.itemNumber\",\"message\":\"must not be blank\"}")
+        .hasMessageContaining(
+            "{\"field\":\"createCatalogItem.request.powerMethod\",\"message\":\"Invalid power method\"}");
+  }
+
+  @Test
+  void it_should_find_catalog_item_by_id(final CatalogItemClient client) {
+    CatalogItemView catalogItem = client.getCatalogItem("trn:catalog-item:brand-1:10001").body();
+    assertThat(catalogItem).isNotNull();
+    assertThat(catalogItem.id()).isEqualTo("trn:catalog-item:brand-1:10001");
+    assertThat(catalogItem.brandId()).isEqualTo("trn:brand:brand-1");
+    assertThat(catalogItem.epoch()).isEqualTo("III");
+  }
+
+  @Test
+  void it_should_return_NOT_FOUND_when_the_catalog_item_is_not_found(
+      final CatalogItemClient client) {
+    HttpResponse<?> response = client.getCatalogItem("trn:catalog-item:brand-1:99999");
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+
+    response = client.getCatalogItem("not-found");
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+  }
+
+  @Test
+  void it_should_find_the_catalog_items_matching_the_filter(final CatalogItemClient client) {
+    List<CatalogItemView> catalogItems =
+        client.getCatalogItems("Brand 1", "H0", null, null, null, null).body();
+    assertThat(catalogItems)
+        .extracting(CatalogItemView::itemNumber)
+        .containsExactly("10001", "10002");
+  }
+
+  @Test
+  void it_should_keep_the_filter_in_the_link_to_the_next_page(final CatalogItemClient client) {
+    HttpResponse<List<CatalogItemView>> response =
+        client.getCatalogItems("Brand 1", null, null, "locomotives", null, 1);
+    List<CatalogItemView> catalogItems = response.body();
+    String link = response.getHeaders().get("Link");
+    assertThat(catalogItems).extracting(CatalogItemView::itemNumber).containsExactly("10001");
+    assertThat(link)
+        .startsWith("</api/catalog-items?brand=Brand+1&category=locomotives&cursor=")
+        .endsWith("&limit=1>; rel=\"next\"");
+  }
+
+  @Test
+  void it_should_return_BAD_REQUEST_for_invalid_filters(final CatalogItemClient client) {
+    assertThatThrownBy(() -> client.getCatalogItems(null, null, "XII", null, null, null))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+  }
+
+  @Test
+  void it_should_search_the_catalog_items_with_the_facet_counts(final CatalogItemClient client) {
+    CatalogItemSearchView result =
+        client
+            .searchCatalogItems(List.of("Brand 1", "Brand 2"), List.of("LOCOMOTIVES"), null)
+            .body();
+    assertThat(result).isNotNull();
+    assertThat(result.total()).isEqualTo(3);
+    assertThat(result.items())
+        .extracting(CatalogItemView::itemNumber)
+        .containsExactly("10001", "10003", "20002");
+    assertThat(result.facets().get("brand"))
+        .containsEntry("trn:brand:brand-1", 2)
+        .containsEntry("trn:brand:brand-2", 1);
+    assertThat(result.facets().get("category"))
+        .containsEntry("LOCOMOTIVES", 3)
+        .containsEntry("PASSENGER_CARS", 1)
+        .containsEntry("FREIGHT_CARS", 1);
+  }
+
+  @Test
+  void it_should_keep_the_search_in_the_link_to_the_next_page(final CatalogItemClient client) {
+    HttpResponse<CatalogItemSearchView> response =
+        client.searchCatalogItems(List.of("Brand 1", "Brand 2"), List.of("LOCOMOTIVES"), 2);
+    String link = response.getHeaders().get("Link");
+    assertThat(link)
+        .startsWith(
+            "</api/catalog-items/search?brand=Brand+1&brand=Brand+2&category=LOCOMOTIVES&cursor=")
+        .endsWith("&limit=2>; rel=\"next\"");
+  }
+
+  @Test
+  void it_should_search_the_catalog_items_in_the_epoch_ranges(final CatalogItemClient client) {
+    CatalogItemSearchView result =
+        client
+            .searchCatalogItemsByEpoch(List.of("Brand 1", "Brand 2"), List.of("IIIb..IVb", "VI"))
+            .body();
+    assertThat(result).isNotNull();
+    assertThat(result.items())
+        .extracting(CatalogItemView::itemNumber)
+        .containsExactly("10002", "10003");
+    assertThat(result.facets().get("epoch"))
+        .containsEntry("III", 2)
+        .containsEntry("IV", 2)
+        .containsEntry("V", 1);
+  }
+
+  @Test
+  void it_should_return_BAD_REQUEST_for_invalid_epoch_ranges(final CatalogItemClient client) {
+    assertThatThrownBy(() -> client.searchCatalogItemsByEpoch(null, List.of("V..III")))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+  }
+
+  @Client("/api/catalog-items")
+  interface CatalogItemClient {
+    @Post
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<?> createCatalogItem(@Body CatalogItemRequest request);
+
+    @Get("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<CatalogItemView> getCatalogItem(String id);
+
+    @Get("{?brand,scale,epoch,category,power_method,limit}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<List<CatalogItemView>> getCatalogItems(
+        @Nullable @QueryValue String brand,
+        @Nullable @QueryValue String scale,
+        @Nullable @QueryValue String epoch,
+        @Nullable @QueryValue String category,
+        @Nullable @QueryValue("power_method") String powerMethod,
+        @Nullable @QueryValue Integer limit);
+
+    @Get("/search{?brand*,category*,limit}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<CatalogItemSearchView> searchCatalogItems(
+        @Nullable @QueryValue List<String> brand,
+        @Nullable @QueryValue List<String> category,
+        @Nullable @QueryValue Integer limit);
+
+    @Get("/search{?brand*,epoch*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<CatalogItemSearchView> searchCatalogItemsByEpoch(
+        @Nullable @QueryValue List<String> brand, @Nullable @QueryValue List<String> epoch);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.CatalogItem;
+import io.github.carlomicieli.catalog.CatalogItemBuilder;
+import io.github.carlomicieli.catalog.CatalogItemCategory;
+import io.github.carlomicieli.catalog.CatalogItemFacet;
+import io.github.carlomicieli.catalog.CatalogItemId;
+import io.github.carlomicieli.catalog.CatalogItemSearchResult;
+import io.github.carlomicieli.catalog.Epoch;
+import io.github.carlomicieli.catalog.ItemNumber;
+import io.github.carlomicieli.catalog.PowerMethod;
+import io.github.carlomicieli.catalog.ScaleId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemSearchView")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemSearchViewTest {
+  @Test
+  void it_should_create_a_new_catalog_item_search_view() {
+    CatalogItem catalogItem =
+        CatalogItemBuilder.builder()
+            .id(CatalogItemId.from("ACME", "60000"))
+            .brandId(BrandId.fromName("ACME"))
+            .scaleId(ScaleId.fromName("H0"))
+            .itemNumber(new ItemNumber("60000"))
+            .epoch(Epoch.IV)
+            .category(CatalogItemCategory.LOCOMOTIVES)
+            .powerMethod(PowerMethod.AC)
+            .metadata(Metadata.createdAt(ZonedDateTime.now()))
+            .build();
+    CatalogItemSearchResult result =
+        new CatalogItemSearchResult(
+            1,
+            List.of(catalogItem),
+            Map.of(
+                CatalogItemFacet.EPOCH, Map.of("IV", 1),
+                CatalogItemFacet.POWER_METHOD, Map.of("AC", 1)));
+
+    CatalogItemSearchView view = CatalogItemSearchView.fromSearchResult(result);
+
+    assertThat(view.total()).isEqualTo(1);
+    assertThat(view.items()).containsExactly(CatalogItemView.fromCatalogItem(catalogItem));
+    assertThat(view.facets())
+        .containsExactly(
+            Map.entry("epoch", Map.of("IV", 1)), Map.entry("power_method", Map.of("AC", 1)));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.CatalogItem;
+import io.github.carlomicieli.catalog.CatalogItemBuilder;
+import io.github.carlomicieli.catalog.CatalogItemCategory;
+import io.github.carlomicieli.catalog.CatalogItemId;
+import io.github.carlomicieli.catalog.Epoch;
+import io.github.carlomicieli.catalog.ItemNumber;
+import io.github.carlomicieli.catalog.PowerMethod;
+import io.github.carlomicieli.catalog.ScaleId;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemView")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemViewTest {
+  private static final ZonedDateTime NOW = ZonedDateTime.now();
+
+  @Test
+  void it_should_create_a_new_catalog_item_view() {
+    CatalogItem catalogItem =
+        CatalogItemBuilder.builder()
+            .id(CatalogItemId.from("ACME", "60000"))
+            .brandId(BrandId.fromName("ACME"))
+            .scaleId(ScaleId.fromName("H0"))
+            .itemNumber(new ItemNumber("60000"))
+            .epoch(new Epoch.Multiple(Epoch.IV, Epoch.V))
+            .category(CatalogItemCategory.LOCOMOTIVES)
+            .powerMethod(PowerMethod.AC)
+            .count(1)
+            .metadata(Metadata.createdAt(NOW))
+            .build();
+    CatalogItemView catalogItemView = CatalogItemView.fromCatalogItem(catalogItem);
+    assertThat(catalogItemView).isNotNull();
+    assertThat(catalogItemView.id()).isEqualTo("trn:catalog-item:acme:60000");
+    assertThat(catalogItemView.brandId()).isEqualTo("trn:brand:acme");
+    assertThat(catalogItemView.scaleId()).isEqualTo("trn:scale:h0");
+    assertThat(catalogItemView.itemNumber()).isEqualTo("60000");
+    assertThat(catalogItemView.epoch()).isEqualTo("IV/V");
+    assertThat(catalogItemView.category()).isEqualTo("LOCOMOTIVES");
+    assertThat(catalogItemView.powerMethod()).isEqualTo("AC");
+    assertThat(catalogItemView.count()).isEqualTo(1);
+    assertThat(catalogItemView.metadata().createdAt()).isEqualTo(NOW);
+  }
+}
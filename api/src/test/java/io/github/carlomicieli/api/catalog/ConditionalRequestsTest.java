@@ -0,0 +1,111 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName("Conditional requests")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ConditionalRequestsTest {
+  @Inject
+  @Client("/")
+  HttpClient client;
+
+  @Test
+  void it_should_return_not_modified_for_current_entities() {
+    HttpResponse<String> response = get(ApiCatalog.API_BRANDS + "/brand-1", null, null);
+    String eTag = response.getHeaders().get(HttpHeaders.ETAG);
+    String lastModified = response.getHeaders().get(HttpHeaders.LAST_MODIFIED);
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(eTag).isNotBlank();
+    assertThat(lastModified).endsWith("GMT");
+
+    HttpResponse<String> byETag = get(ApiCatalog.API_BRANDS + "/brand-1", eTag, null);
+    assertThat(byETag.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
+    assertThat(byETag.getBody(String.class)).isEmpty();
+    assertThat(byETag.getHeaders().get(HttpHeaders.ETAG)).isEqualTo(eTag);
+
+    HttpResponse<String> byDate = get(ApiCatalog.API_BRANDS + "/brand-1", null, lastModified);
+    assertThat(byDate.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
+
+    HttpResponse<String> stale = get(ApiCatalog.API_BRANDS + "/brand-1", "\"stale\"", null);
+    assertThat(stale.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+  }
+
+  @Test
+  void it_should_return_not_modified_for_lists_until_the_repository_changes() {
+    HttpResponse<String> response = get(ApiCatalog.API_SCALES + "?limit=1000", null, null);
+    String eTag = response.getHeaders().get(HttpHeaders.ETAG);
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(eTag).isNotBlank();
+
+    assertThat(get(ApiCatalog.API_SCALES + "?limit=1000", eTag, null).getStatus().getCode())
+        .isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
+
+    client
+        .toBlocking()
+        .exchange(
+            HttpRequest.POST(
+                ApiCatalog.API_SCALES,
+                "{\"name\":\"Conditional\",\"ratio\":1000,\"track_gauge\":\"STANDARD\"}"));
+
+    HttpResponse<String> modified = get(ApiCatalog.API_SCALES + "?limit=1000", eTag, null);
+    assertThat(modified.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(modified.getHeaders().get(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    assertThat(response.body()).doesNotContain("Conditional");
+    assertThat(modified.body()).contains("Conditional");
+  }
+
+  @Test
+  void it_should_tag_the_catalog_item_searches() {
+    HttpResponse<String> response = get(ApiCatalog.API_CATALOG_ITEMS + "/search", null, null);
+    String eTag = response.getHeaders().get(HttpHeaders.ETAG);
+
+    assertThat(get(ApiCatalog.API_CATALOG_ITEMS + "/search", eTag, null).getStatus().getCode())
+        .isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
+  }
+
+  private HttpResponse<String> get(String uri, String ifNoneMatch, String ifModifiedSince) {
+    var request = HttpRequest.GET(uri);
+    if (ifNoneMatch != null) {
+      request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    if (ifModifiedSince != null) {
+      request.header(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+    }
+    return client.toBlocking().exchange(request, String.class);
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName("Content negotiation")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ContentNegotiationTest {
+  private static final String BRANDS = ApiCatalog.API_BRANDS + "?limit=1000";
+
+  @Inject EmbeddedServer server;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  void it_should_compress_the_responses_with_the_negotiated_encoding() throws Exception {
+    HttpResponse<byte[]> plain = get(BRANDS, "application/json", null);
+    HttpResponse<byte[]> gzip = get(BRANDS, "application/json", "gzip");
+    HttpResponse<byte[]> deflate = get(BRANDS, "application/json", "deflate");
+    HttpResponse<byte[]> zstd = get(BRANDS, "application/json", "zstd");
+
+    assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    assertThat(gzip.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+    assertThat(deflate.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("deflate");
+    assertThat(zstd.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("zstd");
+    assertThat(gunzip(gzip.body())).isEqualTo(plain.body());
+    assertThat(inflate(deflate.body())).isEqualTo(plain.body());
+    assertThat(gzip.body().length).isLessThan(plain.body().length / 2);
+    assertThat(zstd.body().length).isLessThan(plain.body().length / 2);
+    assertThat(List.of(plain, gzip, deflate, zstd))
+        .allSatisfy(
+            response ->
+                assertThat(response.headers().allValues(HttpHeaders.VARY))
+                    .anySatisfy(vary -> assertThat(vary).contains(HttpHeaders.ACCEPT_ENCODING)));
+    assertThat(gzip.headers().firstValue(HttpHeaders.ETAG))
+        .isEqualTo(plain.headers().firstValue(HttpHeaders.ETAG))
+        .get()
+        .asString()
+        .startsWith("W/");
+  }
+
+  @Test
+  void it_should_not_compress_the_responses_below_the_threshold() {
+    HttpResponse<byte[]> brand =
+        get(ApiCatalog.API_BRANDS + "/brand-1", "application/json", "gzip");
+
+    assertThat(brand.body().length).isLessThan(1024);
+    assertThat(brand.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    assertThat(brand.headers().firstValue(HttpHeaders.VARY))
+        .contains(HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  @Test
+  void it_should_return_the_views_in_the_binary_formats() throws Exception {
+    HttpResponse<byte[]> json = get(BRANDS, "application/json", null);
+    HttpResponse<byte[]> cbor = get(BRANDS, ApiCatalog.APPLICATION_CBOR, null);
+    HttpResponse<byte[]> smile = get(BRANDS, ApiCatalog.APPLICATION_SMILE, null);
+
+    assertThat(cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE))
+        .contains(ApiCatalog.APPLICATION_CBOR);
+    assertThat(smile.headers().firstValue(HttpHeaders.CONTENT_TYPE))
+        .contains(ApiCatalog.APPLICATION_SMILE);
+    assertThat(toJson(new CBORFactory(), cbor.body()))
+        .isEqualTo(toJson(new JsonFactory(), json.body()));
+    assertThat(toJson(new SmileFactory(), smile.body()))
+        .isEqualTo(toJson(new JsonFactory(), json.body()));
+    assertThat(cbor.body().length).isLessThan(json.body().length);
+    assertThat(smile.body().length).isLessThan(json.body().length);
+  }
+
+  @Test
+  void it_should_tag_each_format_apart() {
+    HttpResponse<byte[]> json = get(ApiCatalog.API_BRANDS + "/brand-1", "application/json", null);
+    HttpResponse<byte[]> cbor =
+        get(ApiCatalog.API_BRANDS + "/brand-1", ApiCatalog.APPLICATION_CBOR, null);
+    HttpResponse<byte[]> preferred =
+        get(
+            ApiCatalog.API_BRANDS + "/brand-1",
+            "application/json;q=0.5, " + ApiCatalog.APPLICATION_SMILE,
+            null);
+
+    String eTag = json.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+    assertThat(cbor.headers().firstValue(HttpHeaders.ETAG)).isPresent().get().isNotEqualTo(eTag);
+    assertThat(cbor.headers().firstValue(HttpHeaders.VARY))
+        .contains(HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    assertThat(json.headers().firstValue(HttpHeaders.VARY))
+        .contains(HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    assertThat(preferred.headers().firstValue(HttpHeaders.CONTENT_TYPE))
+        .contains(ApiCatalog.APPLICATION_SMILE);
+  }
+
+  private HttpResponse<byte[]> get(final String path, final String accept, final String encoding) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(server.getURL() + path))
+            .header(HttpHeaders.ACCEPT, accept);
+    if (encoding != null) {
+      request.header(HttpHeaders.ACCEPT_ENCODING, encoding);
+    }
+    try {
+      return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AssertionError(e);
+    }
+  }
+
+  private static byte[] gunzip(final byte[] body) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static byte[] inflate(final byte[] body) throws IOException {
+    try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(body))) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static String toJson(final JsonFactory factory, final byte[] body) throws IOException {
+    StringWriter json = new StringWriter();
+    try (JsonParser parser = factory.createParser(body);
+        JsonGenerator generator = new JsonFactory().createGenerator(json)) {
+      while (parser.nextToken() != null) {
+        generator.copyCurrentEvent(parser);
+      }
+    }
+    return json.toString();
+  }
+}
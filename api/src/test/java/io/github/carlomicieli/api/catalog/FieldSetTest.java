@@ -0,0 +1,59 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FieldSet")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class FieldSetTest {
+  private static final Set<String> FIELDS = Set.of("id", "name", "slug", "metadata");
+
+  @Test
+  void it_should_include_all_the_fields_when_none_is_requested() {
+    assertThat(FieldSet.parse(null, FIELDS)).isSameAs(FieldSet.ALL);
+    assertThat(FieldSet.parse(" ", FIELDS)).isSameAs(FieldSet.ALL);
+    assertThat(FieldSet.ALL.includes("metadata")).isTrue();
+  }
+
+  @Test
+  void it_should_include_only_the_requested_fields_and_the_id() {
+    FieldSet fields = FieldSet.parse("name, slug,", FIELDS);
+    assertThat(fields.includes("id")).isTrue();
+    assertThat(fields.includes("name")).isTrue();
+    assertThat(fields.includes("slug")).isTrue();
+    assertThat(fields.includes("metadata")).isFalse();
+  }
+
+  @Test
+  void it_should_reject_unknown_fields() {
+    assertThatThrownBy(() -> FieldSet.parse("name,address", FIELDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unknown field: address");
+  }
+}
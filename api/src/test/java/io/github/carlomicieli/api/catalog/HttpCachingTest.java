@@ -0,0 +1,184 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HttpCaching")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HttpCachingTest {
+  private static final ZonedDateTime LAST_MODIFIED =
+      ZonedDateTime.of(2024, 5, 22, 19, 20, 38, 935_000_000, ZoneId.of("Europe/Rome"));
+  private static final Metadata METADATA =
+      new Metadata(2, LAST_MODIFIED.minusDays(1), LAST_MODIFIED);
+
+  @Test
+  void it_should_tag_entities_with_their_version_and_last_modification() {
+    String eTag = HttpCaching.entityTag(METADATA);
+
+    assertThat(eTag).startsWith("\"2-").endsWith("\"");
+    assertThat(HttpCaching.entityTag(METADATA.lastModifiedAt(LAST_MODIFIED.plusSeconds(1))))
+        .isNotEqualTo(eTag);
+  }
+
+  @Test
+  void it_should_tag_lists_with_the_repository_version() {
+    assertThat(HttpCaching.collectionTag(41)).isEqualTo(HttpCaching.collectionTag(41));
+    assertThat(HttpCaching.collectionTag(42)).isNotEqualTo(HttpCaching.collectionTag(41));
+  }
+
+  @Test
+  void it_should_match_the_if_none_match_header() {
+    String eTag = HttpCaching.entityTag(METADATA);
+
+    assertThat(HttpCaching.isNotModified(HttpRequest.GET("/"), eTag, LAST_MODIFIED)).isFalse();
+    assertThat(isNotModified(HttpHeaders.IF_NONE_MATCH, eTag, eTag)).isTrue();
+    assertThat(isNotModified(HttpHeaders.IF_NONE_MATCH, "W/" + eTag, eTag)).isTrue();
+    assertThat(isNotModified(HttpHeaders.IF_NONE_MATCH, "\"x\", " + eTag, eTag)).isTrue();
+    assertThat(isNotModified(HttpHeaders.IF_NONE_MATCH, "*", eTag)).isTrue();
+    assertThat(isNotModified(HttpHeaders.IF_NONE_MATCH, "\"x\"", eTag)).isFalse();
+  }
+
+  @Test
+  void it_should_compare_the_if_modified_since_header_with_the_last_modification() {
+    String eTag = HttpCaching.entityTag(METADATA);
+
+    assertThat(isNotModified(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 22 May 2024 17:20:38 GMT", eTag))
+        .isTrue();
+    assertThat(isNotModified(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 22 May 2024 17:20:37 GMT", eTag))
+        .isFalse();
+    assertThat(isNotModified(HttpHeaders.IF_MODIFIED_SINCE, "not a date", eTag)).isFalse();
+  }
+
+  @Test
+  void it_should_give_precedence_to_the_if_none_match_header() {
+    String eTag = HttpCaching.entityTag(METADATA);
+    HttpRequest<?> request =
+        HttpRequest.GET("/")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"x\"")
+            .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 22 May 2024 17:20:38 GMT");
+
+    assertThat(HttpCaching.isNotModified(request, eTag, LAST_MODIFIED)).isFalse();
+  }
+
+  @Test
+  void it_should_return_the_entity_view_with_its_validators() {
+    HttpResponse<?> response =
+        HttpCaching.entity(
+            HttpRequest.GET("/"),
+            Optional.of(METADATA),
+            m -> m,
+            (m, eTag) -> HttpResponse.ok("v" + m.version()));
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(response.body()).isEqualTo("v2");
+    assertThat(response.getHeaders().get(HttpHeaders.ETAG))
+        .isEqualTo("W/" + HttpCaching.entityTag(METADATA));
+    assertThat(response.getHeaders().get(HttpHeaders.VARY))
+        .isEqualTo(HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    assertThat(response.getHeaders().get(HttpHeaders.LAST_MODIFIED))
+        .isEqualTo("Wed, 22 May 2024 17:20:38 GMT");
+  }
+
+  @Test
+  void it_should_not_build_the_view_of_entities_not_modified() {
+    HttpRequest<?> request =
+        HttpRequest.GET("/").header(HttpHeaders.IF_NONE_MATCH, HttpCaching.entityTag(METADATA));
+
+    HttpResponse<?> response =
+        HttpCaching.entity(
+            request,
+            Optional.of(METADATA),
+            m -> m,
+            (m, eTag) -> {
+              throw new AssertionError("the view must not be built");
+            });
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
+    assertThat(response.getHeaders().get(HttpHeaders.ETAG))
+        .isEqualTo("W/" + HttpCaching.entityTag(METADATA));
+  }
+
+  @Test
+  void it_should_return_not_found_for_missing_entities() {
+    HttpResponse<?> response =
+        HttpCaching.entity(
+            HttpRequest.GET("/"),
+            Optional.<Metadata>empty(),
+            m -> m,
+            (m, eTag) -> HttpResponse.ok("v" + m.version()));
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    assertThat(response.getHeaders().contains(HttpHeaders.ETAG)).isFalse();
+  }
+
+  @Test
+  void it_should_not_build_lists_not_modified() {
+    AtomicBoolean built = new AtomicBoolean(false);
+    HttpRequest<?> request =
+        HttpRequest.GET("/").header(HttpHeaders.IF_NONE_MATCH, HttpCaching.collectionTag(7));
+
+    HttpResponse<?> notModified =
+        HttpCaching.collection(
+            request,
+            7,
+            eTag -> {
+              built.set(true);
+              return HttpResponse.ok("list");
+            });
+    HttpResponse<?> modified = HttpCaching.collection(request, 8, eTag -> HttpResponse.ok(eTag));
+
+    assertThat(built).isFalse();
+    assertThat(notModified.getStatus().getCode()).isEqualTo(HttpStatus.NOT_MODIFIED.getCode());
+    assertThat(modified.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(modified.body()).isEqualTo(HttpCaching.collectionTag(8));
+    assertThat(modified.getHeaders().get(HttpHeaders.ETAG))
+        .isEqualTo("W/" + HttpCaching.collectionTag(8));
+  }
+
+  @Test
+  void it_should_not_tag_error_responses() {
+    HttpResponse<?> response =
+        HttpCaching.collection(HttpRequest.GET("/"), 7, eTag -> HttpResponse.notFound());
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    assertThat(response.getHeaders().contains(HttpHeaders.ETAG)).isFalse();
+  }
+
+  private static boolean isNotModified(String header, String value, String eTag) {
+    return HttpCaching.isNotModified(
+        HttpRequest.GET("/").header(header, value), eTag, LAST_MODIFIED);
+  }
+}
@@ -32,14 +32,17 @@ import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 @DisplayName("/api/railways")
@@ -62,6 +65,16 @@ class RailwayControllerTest {
             railwayView("SBB", "sbb", CountryCode.CH));
   }
 
+  @Test
+  void it_should_return_only_the_requested_railway_fields(final RailwayClient client) {
+    var railways = client.getRailwayFields("abbreviation,country");
+    assertThat(railways)
+        .hasSize(6)
+        .allSatisfy(
+            railway -> assertThat(railway).containsOnlyKeys("id", "abbreviation", "country"))
+        .contains(Map.of("id", "trn:railway:fs", "abbreviation", "fs", "country", "IT"));
+  }
+
   private RailwayView railwayView(
       final String name, final String abbreviation, final CountryCode countryCode) {
     var slug = Slug.of(name);
@@ -121,12 +134,39 @@ class RailwayControllerTest {
         .isEqualTo("/api/railways/trn:railway:trenitalia");
   }
 
+  /** The updates run last, after the tests that expect the entities as they were created. */
+  @Nested
+  @DisplayName("PUT /api/railways/{id}")
+  class Updates {
+    @Test
+    void it_should_update_an_existing_railway(final RailwayClient client) {
+      client.createRailway(
+          new RailwayRequest("BLS", "BLS", CountryCode.CH.getAlpha2(), null, null, null, null));
+
+      var response =
+          client.updateRailway(
+              "bls",
+              new RailwayRequest(
+                  "BLS", "BLS", CountryCode.CH.getAlpha2(), null, null, "LIMITED_COMPANY", null));
+      assertThat(response.status().getCode()).isEqualTo(HttpStatus.NO_CONTENT.getCode());
+
+      var railway = client.getRailwayById("bls").body();
+      assertThat(railway).isNotNull();
+      assertThat(railway.organizationEntityType()).isEqualTo("LIMITED_COMPANY");
+      assertThat(railway.metadata().version()).isEqualTo(1);
+    }
+  }
+
   @Client("/api/railways")
   interface RailwayClient {
     @Get
     @Produces(MediaType.APPLICATION_JSON)
     List<RailwayView> getRailways();
 
+    @Get("{?fields}")
+    @Produces(MediaType.APPLICATION_JSON)
+    List<Map<String, Object>> getRailwayFields(final String fields);
+
     @Get("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     HttpResponse<RailwayView> getRailwayById(final String id);
@@ -135,5 +175,9 @@ class RailwayControllerTest {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     HttpResponse<?> createRailway(@Body final RailwayRequest request);
+
+    @Put("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<?> updateRailway(final String id, @Body final RailwayRequest request);
   }
 }
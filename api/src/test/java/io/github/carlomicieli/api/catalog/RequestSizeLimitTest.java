@@ -0,0 +1,103 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import jakarta.inject.Inject;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@Property(name = RequestSizeLimit.MAX_SIZE_PROPERTY, value = "1KB")
+@DisplayName("RequestSizeLimit")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RequestSizeLimitTest {
+  @Inject
+  @Client("/")
+  HttpClient client;
+
+  @Test
+  void it_should_reject_the_requests_larger_than_the_limit() {
+    String body = """
+        {"name": "%s", "kind": "INDUSTRIAL"}""".formatted("A".repeat(2048));
+
+    assertThatThrownBy(
+            () ->
+                client
+                    .toBlocking()
+                    .exchange(
+                        HttpRequest.POST(ApiCatalog.API_BRANDS, body)
+                            .contentType(MediaType.APPLICATION_JSON_TYPE)))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.REQUEST_ENTITY_TOO_LARGE.getCode());
+  }
+
+  @Test
+  void it_should_accept_batch_requests_larger_than_the_limit() {
+    String body =
+        IntStream.range(0, 50)
+            .mapToObj("{\"name\": \"Size Limit %d\", \"kind\": \"INDUSTRIAL\"}"::formatted)
+            .collect(Collectors.joining(",", "[", "]"));
+    assertThat(body.length()).isGreaterThan(1024);
+
+    HttpResponse<?> response =
+        client
+            .toBlocking()
+            .exchange(
+                HttpRequest.POST(ApiCatalog.API_BRANDS + "/batch", body)
+                    .contentType(MediaType.APPLICATION_JSON_TYPE));
+
+    assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+  }
+
+  @Test
+  void it_should_limit_every_request_but_the_batch_creates() {
+    assertThat(RequestSizeLimit.isLimited(request(HttpMethod.POST, "/api/brands"))).isTrue();
+    assertThat(RequestSizeLimit.isLimited(request(HttpMethod.PUT, "/api/brands/batch"))).isTrue();
+    assertThat(RequestSizeLimit.isLimited(request(HttpMethod.POST, "/api/brands/batch"))).isFalse();
+    assertThat(RequestSizeLimit.isLimited(request(HttpMethod.POST, "/api/scales/batch?dry=1")))
+        .isFalse();
+  }
+
+  private static io.netty.handler.codec.http.HttpRequest request(
+      final HttpMethod method, final String uri) {
+    return new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, uri);
+  }
+}
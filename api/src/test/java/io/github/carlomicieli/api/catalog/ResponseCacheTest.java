@@ -0,0 +1,140 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.json.JsonMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ResponseCache")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ResponseCacheTest {
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ResponseCache cache =
+      new ResponseCache(JsonMapper.createDefault(), meterRegistry, 64 * 1024);
+  private final AtomicInteger built = new AtomicInteger();
+
+  @Test
+  void it_should_serialize_the_response_once_for_each_entity_tag() {
+    HttpResponse<?> first = cache.get("/api/items", "\"1\"", () -> page("a", "b"));
+    HttpResponse<?> second = cache.get("/api/items", "\"1\"", () -> page("a", "b"));
+
+    assertThat(built).hasValue(1);
+    assertThat(bodyOf(first)).isEqualTo("[\"a\",\"b\"]").isEqualTo(bodyOf(second));
+    assertThat(second.getHeaders().get(HttpHeaders.LINK)).isEqualTo("</api/items?cursor=b>");
+    assertThat(second.getContentType()).isPresent();
+  }
+
+  @Test
+  void it_should_replace_the_responses_with_a_stale_entity_tag() {
+    cache.get("/api/items", "\"1\"", () -> page("a"));
+
+    HttpResponse<?> response = cache.get("/api/items", "\"2\"", () -> page("a", "b"));
+    HttpResponse<?> cached = cache.get("/api/items", "\"2\"", () -> page("x"));
+
+    assertThat(built).hasValue(2);
+    assertThat(bodyOf(response)).isEqualTo("[\"a\",\"b\"]").isEqualTo(bodyOf(cached));
+  }
+
+  @Test
+  void it_should_not_cache_the_error_responses() {
+    HttpResponse<?> first = cache.get("/api/items/x", "\"1\"", HttpResponse::notFound);
+    HttpResponse<?> second = cache.get("/api/items/x", "\"1\"", () -> page("x"));
+
+    assertThat(first.getStatus().getCode()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    assertThat(second.getStatus().getCode()).isEqualTo(HttpStatus.OK.getCode());
+    assertThat(bodyOf(second)).isEqualTo("[\"x\"]");
+  }
+
+  @Test
+  void it_should_stay_within_its_maximum_size() {
+    String value = "x".repeat(1000);
+    for (int i = 0; i < 500; i++) {
+      HttpResponse<?> unused = cache.get("/api/items/" + i, "\"1\"", () -> page(value));
+    }
+
+    assertThat(cache.size()).isPositive().isLessThanOrEqualTo(64 * 1024);
+    assertThat(meterRegistry.get("api.response.cache.evictions").functionCounter().count())
+        .isPositive();
+  }
+
+  @Test
+  void it_should_keep_the_responses_served_since_the_last_eviction() {
+    String value = "x".repeat(1000);
+    for (int i = 0; i < 500; i++) {
+      HttpResponse<?> unused = cache.get("/api/items/" + i, "\"1\"", () -> page(value));
+      HttpResponse<?> hot = cache.get("/api/items/hot", "\"1\"", () -> page("hot"));
+    }
+
+    assertThat(built).hasValue(501);
+  }
+
+  @Test
+  void it_should_not_cache_anything_when_disabled() {
+    ResponseCache disabled = new ResponseCache(JsonMapper.createDefault(), meterRegistry, 0);
+
+    HttpResponse<?> unused = disabled.get("/api/items", "\"1\"", () -> page("a"));
+    HttpResponse<?> response = disabled.get("/api/items", "\"1\"", () -> page("a"));
+
+    assertThat(built).hasValue(2);
+    assertThat(bodyOf(response)).isEqualTo("[\"a\"]");
+    assertThat(disabled.size()).isZero();
+  }
+
+  @Test
+  void it_should_publish_the_hit_ratio() {
+    for (int i = 0; i < 4; i++) {
+      HttpResponse<?> unused = cache.get("/api/items", "\"1\"", () -> page("a"));
+    }
+
+    assertThat(
+            meterRegistry
+                .get("api.response.cache.requests")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(3.0);
+    assertThat(meterRegistry.get("api.response.cache.hit.ratio").gauge().value()).isEqualTo(0.75);
+  }
+
+  private MutableHttpResponse<List<String>> page(String... values) {
+    built.incrementAndGet();
+    return HttpResponse.ok(List.of(values))
+        .header(HttpHeaders.LINK, "</api/items?cursor=" + values[values.length - 1] + ">");
+  }
+
+  private static String bodyOf(HttpResponse<?> response) {
+    return new String((byte[]) response.body(), StandardCharsets.UTF_8);
+  }
+}
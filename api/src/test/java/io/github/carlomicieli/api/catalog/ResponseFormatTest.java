@@ -0,0 +1,88 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ResponseFormat")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ResponseFormatTest {
+  @Test
+  void it_should_default_to_json() {
+    assertThat(negotiate(null)).isEqualTo(ResponseFormat.JSON);
+    assertThat(negotiate("*/*")).isEqualTo(ResponseFormat.JSON);
+    assertThat(negotiate("application/*")).isEqualTo(ResponseFormat.JSON);
+    assertThat(negotiate("text/html")).isEqualTo(ResponseFormat.JSON);
+  }
+
+  @Test
+  void it_should_pick_the_accepted_format_with_the_highest_quality() {
+    assertThat(negotiate("application/cbor")).isEqualTo(ResponseFormat.CBOR);
+    assertThat(negotiate("application/x-jackson-smile")).isEqualTo(ResponseFormat.SMILE);
+    assertThat(negotiate("application/json;q=0.5, application/cbor"))
+        .isEqualTo(ResponseFormat.CBOR);
+    assertThat(negotiate("application/cbor;q=0.5, application/json"))
+        .isEqualTo(ResponseFormat.JSON);
+    assertThat(negotiate("application/x-jackson-smile, application/cbor"))
+        .isEqualTo(ResponseFormat.SMILE);
+  }
+
+  @Test
+  void it_should_tag_each_format_apart() {
+    assertThat(ResponseFormat.JSON.tag("\"1-abc\"")).isEqualTo("\"1-abc\"");
+    assertThat(ResponseFormat.CBOR.tag("\"1-abc\"")).isEqualTo("\"1-abc+cbor\"");
+    assertThat(ResponseFormat.SMILE.tag("\"1-abc\"")).isEqualTo("\"1-abc+smile\"");
+  }
+
+  @Test
+  void it_should_convert_json_documents() throws Exception {
+    byte[] json = "[{\"name\":\"ACME\",\"count\":42}]".getBytes(StandardCharsets.UTF_8);
+
+    assertThat(ResponseFormat.JSON.fromJson(json)).isSameAs(json);
+    try (CBORParser parser = new CBORFactory().createParser(ResponseFormat.CBOR.fromJson(json))) {
+      assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+      assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+      assertThat(parser.nextFieldName()).isEqualTo("name");
+      assertThat(parser.nextTextValue()).isEqualTo("ACME");
+      assertThat(parser.nextFieldName()).isEqualTo("count");
+      assertThat(parser.nextIntValue(0)).isEqualTo(42);
+    }
+  }
+
+  private static ResponseFormat negotiate(final String accept) {
+    HttpRequest<?> request = HttpRequest.GET("/");
+    if (accept != null) {
+      request = HttpRequest.GET("/").header(HttpHeaders.ACCEPT, accept);
+    }
+    return ResponseFormat.negotiate(request);
+  }
+}
@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.carlomicieli.catalog.ScaleId;
 import io.github.carlomicieli.slug.Slug;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
@@ -33,15 +34,19 @@ import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 @MicronautTest
@@ -57,6 +62,16 @@ class ScaleControllerTest {
     assertThat(response.getHeaders().get("Location")).contains("/api/scales/trn:scale:h0e");
   }
 
+  @Test
+  void it_should_return_CONFLICT_when_a_scale_with_the_same_slug_exists(final ScaleClient client) {
+    ScaleRequest request = new ScaleRequest("h0", 87f, "STANDARD");
+
+    assertThatThrownBy(() -> client.createScale(request))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.CONFLICT.getCode());
+  }
+
   @Test
   void it_should_reject_invalid_scale_requests(final ScaleClient client) {
     ScaleRequest request = new ScaleRequest("", 0f, "STANDARD");
@@ -98,6 +113,50 @@ class ScaleControllerTest {
             scaleView("N", BigDecimal.valueOf(160)));
   }
 
+  @Test
+  void it_should_find_the_nearest_scale(final ScaleClient client) {
+    ScaleView scale = client.getNearestScale(150, null).body();
+    assertThat(scale).isNotNull();
+    assertThat(scale.name()).isEqualTo("N");
+
+    ScaleView narrowScale = client.getNearestScale(150, "narrow").body();
+    assertThat(narrowScale).isNotNull();
+    assertThat(narrowScale.trackGauge()).isEqualTo("NARROW");
+  }
+
+  @Test
+  void it_should_find_the_scales_by_ratio(final ScaleClient client) {
+    List<ScaleView> scales = client.getScalesByRatio(160, 87, "STANDARD").body();
+    assertThat(scales).extracting(ScaleView::name).containsExactly("H0", "N");
+  }
+
+  @Test
+  void it_should_find_the_scales_by_track_gauge(final ScaleClient client) {
+    List<ScaleView> scales = client.getScalesByTrackGauge("STANDARD").body();
+    assertThat(scales).extracting(ScaleView::name).containsExactly("1", "0", "H0", "N");
+  }
+
+  @Test
+  void it_should_return_only_the_requested_scale_fields(final ScaleClient client) {
+    List<Map<String, Object>> scales = client.getScaleFields("STANDARD", "name,track_gauge");
+    assertThat(scales)
+        .allSatisfy(scale -> assertThat(scale).containsOnlyKeys("id", "name", "track_gauge"))
+        .extracting(scale -> scale.get("name"))
+        .containsExactly("1", "0", "H0", "N");
+  }
+
+  @Test
+  void it_should_return_BAD_REQUEST_for_invalid_ratio_queries(final ScaleClient client) {
+    assertThatThrownBy(() -> client.getNearestScale(-1, null))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+    assertThatThrownBy(() -> client.getScalesByTrackGauge("WIDE"))
+        .isInstanceOf(HttpClientResponseException.class)
+        .extracting(e -> ((HttpClientResponseException) e).getStatus().getCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+  }
+
   private ScaleView scaleView(String name, BigDecimal ratio) {
     return ScaleViewBuilder.builder()
         .id(ScaleId.fromName(name).value())
@@ -127,12 +186,34 @@ class ScaleControllerTest {
         ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z"));
   }
 
+  /** The updates run last, after the tests that expect the entities as they were created. */
+  @Nested
+  @DisplayName("PUT /api/scales/{id}")
+  class Updates {
+    @Test
+    void it_should_update_existing_scales(final ScaleClient client) {
+      client.createScale(new ScaleRequest("TTm", 120f, "STANDARD"));
+
+      HttpResponse<?> response = client.updateScale("ttm", new ScaleRequest("TTm", 120f, "NARROW"));
+      assertThat(response.getStatus().getCode()).isEqualTo(HttpStatus.NO_CONTENT.getCode());
+
+      ScaleView scale = client.getScale("ttm").body();
+      assertThat(scale).isNotNull();
+      assertThat(scale.trackGauge()).isEqualTo("NARROW");
+      assertThat(scale.metadata().version()).isEqualTo(1);
+    }
+  }
+
   @Client("/api/scales")
   interface ScaleClient {
     @Post
     @Consumes(MediaType.APPLICATION_JSON)
     HttpResponse<?> createScale(@Body ScaleRequest request);
 
+    @Put("/{id}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    HttpResponse<?> updateScale(String id, @Body ScaleRequest request);
+
     @Get("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     HttpResponse<ScaleView> getScale(String id);
@@ -140,5 +221,25 @@ class ScaleControllerTest {
     @Get
     @Produces(MediaType.APPLICATION_JSON)
     HttpResponse<List<ScaleView>> getScales();
+
+    @Get("/nearest{?ratio,track_gauge}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<ScaleView> getNearestScale(
+        @QueryValue double ratio, @Nullable @QueryValue("track_gauge") String trackGauge);
+
+    @Get("/by-ratio{?from,to,track_gauge}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<List<ScaleView>> getScalesByRatio(
+        @QueryValue double from,
+        @QueryValue double to,
+        @Nullable @QueryValue("track_gauge") String trackGauge);
+
+    @Get("/by-track-gauge/{trackGauge}")
+    @Produces(MediaType.APPLICATION_JSON)
+    HttpResponse<List<ScaleView>> getScalesByTrackGauge(String trackGauge);
+
+    @Get("/by-track-gauge/{trackGauge}{?fields}")
+    @Produces(MediaType.APPLICATION_JSON)
+    List<Map<String, Object>> getScaleFields(String trackGauge, String fields);
   }
 }
@@ -0,0 +1,94 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.api.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@DisplayName(ApiCatalog.API_SEARCH)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SearchControllerTest {
+  @Inject
+  @Client("/")
+  HttpClient client;
+
+  @Test
+  void it_should_search_brands_railways_and_scales() {
+    List<SearchResultView> brands = search("?q=brand%203");
+    List<SearchResultView> railways = search("?q=sncf");
+    List<SearchResultView> scales = search("?q=h0");
+
+    assertThat(brands).extracting(SearchResultView::id).containsExactly("trn:brand:brand-3");
+    assertThat(brands).extracting(SearchResultView::type).containsExactly("brand");
+    assertThat(railways).extracting(SearchResultView::name).containsExactly("SNCF");
+    assertThat(railways).extracting(SearchResultView::type).containsExactly("railway");
+    assertThat(scales).extracting(SearchResultView::name).containsExactly("H0", "H0m");
+    assertThat(scales).extracting(SearchResultView::type).containsOnly("scale");
+  }
+
+  @Test
+  void it_should_rank_the_results_by_score() {
+    List<SearchResultView> results = search("?q=brand&limit=3");
+
+    assertThat(results).hasSize(3);
+    assertThat(results)
+        .extracting(SearchResultView::score)
+        .isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+  }
+
+  @Test
+  void it_should_return_no_results_when_nothing_matches() {
+    assertThat(search("?q=nothing-matches-this")).isEmpty();
+  }
+
+  @Test
+  void it_should_reject_invalid_limits() {
+    assertThatThrownBy(() -> search("?q=brand&limit=1000"))
+        .isInstanceOf(HttpClientResponseException.class)
+        .satisfies(
+            e ->
+                assertThat(((HttpClientResponseException) e).getStatus().getCode())
+                    .isEqualTo(HttpStatus.BAD_REQUEST.getCode()));
+  }
+
+  private List<SearchResultView> search(final String query) {
+    return client
+        .toBlocking()
+        .retrieve(
+            HttpRequest.GET(ApiCatalog.API_SEARCH + query),
+            Argument.listOf(SearchResultView.class));
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.github.carlomicieli.catalog.BrandCommand;
+import io.github.carlomicieli.catalog.BrandCommandHandler;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.Railway;
+import io.github.carlomicieli.catalog.RailwayCommand;
+import io.github.carlomicieli.catalog.RailwayCommandHandler;
+import io.github.carlomicieli.catalog.RailwayId;
+import io.github.carlomicieli.catalog.ScaleCommand;
+import io.github.carlomicieli.catalog.ScaleCommandHandler;
+import io.github.carlomicieli.catalog.ScaleId;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@MicronautTest
+@DisplayName("CatalogImporter")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogImporterTest {
+  @Inject CatalogImporter importer;
+  @Inject BrandCommandHandler brandCommandHandler;
+  @Inject RailwayCommandHandler railwayCommandHandler;
+  @Inject ScaleCommandHandler scaleCommandHandler;
+
+  @TempDir Path directory;
+
+  @Test
+  void it_should_import_brands_from_ndjson_files() throws IOException {
+    Path file = directory.resolve("brands.ndjson");
+    Files.writeString(
+        file,
+        """
+        {"name": "Roco", "kind": "INDUSTRIAL", "status": "ACTIVE"}
+        {"name": "", "kind": "INDUSTRIAL"}
+
+        {"name": "Lima", "kind":
+        {"name": "Rivarossi", "kind": "INDUSTRIAL", "address": {"country": "IT", "city": "Como", "street_address": "Via Pio XI"}}
+        """);
+
+    ImportReport report =
+        importer.importFile(file, ImportEntity.BRANDS, options(ImportFormat.NDJSON, 2));
+
+    assertThat(report.records()).isEqualTo(4);
+    assertThat(report.created()).isEqualTo(2);
+    assertThat(report.rejected()).isEqualTo(2);
+    assertThat(report.errors())
+        .hasSize(2)
+        .contains("line 2: name: must not be blank")
+        .anySatisfy(error -> assertThat(error).startsWith("line 4: Unable to parse the record"));
+    assertThat(brandCommandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("Roco"))))
+        .isPresent();
+    assertThat(
+            brandCommandHandler.handle(
+                new BrandCommand.FindBrandById(BrandId.fromName("Rivarossi"))))
+        .get()
+        .extracting(brand -> brand.address().city())
+        .isEqualTo("Como");
+  }
+
+  @Test
+  void it_should_import_railways_from_csv_files() throws IOException {
+    String csv =
+        """
+        name,abbreviation,country,address.street_address,address.city,address.country
+        BLS,BLS,CH,Genfergasse 11,Bern,CH
+        "Österreichische Bundesbahnen",ÖBB,AT,,,
+        Unknown,XYZ,,,,
+        Short,row
+        """;
+
+    ImportReport report =
+        importer.importFrom(
+            new StringReader(csv), ImportEntity.RAILWAYS, options(ImportFormat.CSV, 10));
+
+    assertThat(report.created()).isEqualTo(2);
+    assertThat(report.errors())
+        .containsExactlyInAnyOrder(
+            "line 4: country: must not be blank",
+            "line 5: Unable to parse the record: Expected 6 fields, found 2");
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.FindRailwayById(RailwayId.fromName("BLS"))))
+        .get()
+        .extracting(railway -> railway.address().city())
+        .isEqualTo("Bern");
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.FindRailwayById(
+                    RailwayId.fromName("Österreichische Bundesbahnen"))))
+        .get()
+        .extracting(Railway::country)
+        .isEqualTo(CountryCode.AT);
+  }
+
+  @Test
+  void it_should_import_large_files_in_batches() throws IOException {
+    String csv =
+        IntStream.range(0, 5_000)
+            .mapToObj(
+                i -> "Import %d,%d,%s".formatted(i, 10 + i % 200, i % 50 == 0 ? "" : "NARROW"))
+            .collect(Collectors.joining("\n", "name,ratio,track_gauge\n", "\n"));
+
+    ImportReport report =
+        importer.importFrom(
+            new StringReader(csv), ImportEntity.SCALES, options(ImportFormat.CSV, 128));
+
+    assertThat(report.records()).isEqualTo(5_000);
+    assertThat(report.created()).isEqualTo(4_900);
+    assertThat(report.rejected()).isEqualTo(100);
+    assertThat(report.errors()).hasSize(ImportProgress.MAX_ERRORS);
+    assertThat(report.throughput()).isPositive();
+    assertThat(
+            scaleCommandHandler.handle(
+                new ScaleCommand.FindScaleById(ScaleId.fromName("Import 4999"))))
+        .get()
+        .satisfies(
+            scale -> assertThat(scale.ratio()).isEqualByComparingTo(BigDecimal.valueOf(209)));
+  }
+
+  private static ImportOptions options(ImportFormat format, int batchSize) {
+    return new ImportOptions(format, batchSize, 2, 2, Duration.ofSeconds(1));
+  }
+}
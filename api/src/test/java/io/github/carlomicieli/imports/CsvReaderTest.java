@@ -0,0 +1,91 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CsvReader")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CsvReaderTest {
+  @Test
+  void it_should_read_the_rows_with_the_header() throws IOException {
+    List<ImportRecord> records = readAll("name,ratio\r\nH0,87\r\nN,160\r\n");
+
+    assertThat(records)
+        .containsExactly(
+            new ImportRecord.Csv(2, List.of("name", "ratio"), List.of("H0", "87")),
+            new ImportRecord.Csv(3, List.of("name", "ratio"), List.of("N", "160")));
+  }
+
+  @Test
+  void it_should_read_the_quoted_fields() throws IOException {
+    List<ImportRecord> records =
+        readAll("name,note\n\"ACME, Inc.\",\"a \"\"quoted\"\"\nnote\"\nRoco,\n");
+
+    assertThat(records)
+        .containsExactly(
+            new ImportRecord.Csv(
+                2, List.of("name", "note"), List.of("ACME, Inc.", "a \"quoted\"\nnote")),
+            new ImportRecord.Csv(4, List.of("name", "note"), List.of("Roco", "")));
+  }
+
+  @Test
+  void it_should_skip_the_blank_lines() throws IOException {
+    List<ImportRecord> records = readAll("\nname\n\nH0\n\r\nN");
+
+    assertThat(records).extracting(ImportRecord::line).containsExactly(4L, 6L);
+  }
+
+  @Test
+  void it_should_return_no_records_for_empty_files() throws IOException {
+    assertThat(readAll("")).isEmpty();
+    assertThat(readAll("name,ratio\n")).isEmpty();
+  }
+
+  @Test
+  void it_should_reject_unterminated_quoted_fields() {
+    assertThatThrownBy(() -> readAll("name\n\"ACME\nRoco\n"))
+        .isInstanceOf(EOFException.class)
+        .hasMessage("Unterminated quoted field in the row at line 2");
+  }
+
+  private static List<ImportRecord> readAll(String csv) throws IOException {
+    List<ImportRecord> records = new ArrayList<>();
+    try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+      ImportRecord record;
+      while ((record = reader.next()) != null) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+}
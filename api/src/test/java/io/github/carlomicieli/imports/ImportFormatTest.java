@@ -0,0 +1,59 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@DisplayName("ImportFormat")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ImportFormatTest {
+  @ParameterizedTest
+  @CsvSource({
+    "brands.csv, CSV",
+    "BRANDS.CSV, CSV",
+    "scales.ndjson, NDJSON",
+    "scales.jsonl, NDJSON",
+    "scales.json, NDJSON"
+  })
+  void it_should_guess_the_format_from_the_file_extension(String fileName, ImportFormat format) {
+    assertThat(ImportFormat.fromFileName(fileName)).isEqualTo(format);
+  }
+
+  @Test
+  void it_should_reject_unknown_file_extensions() {
+    assertThatIllegalArgumentException().isThrownBy(() -> ImportFormat.fromFileName("brands.xml"));
+  }
+
+  @Test
+  void it_should_parse_the_format_names_ignoring_the_case() {
+    assertThat(ImportFormat.parse("csv")).isEqualTo(ImportFormat.CSV);
+    assertThat(ImportFormat.parse(" NdJson ")).isEqualTo(ImportFormat.NDJSON);
+    assertThat(ImportEntity.parse("railways")).isEqualTo(ImportEntity.RAILWAYS);
+  }
+}
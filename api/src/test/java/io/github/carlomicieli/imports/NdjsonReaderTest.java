@@ -0,0 +1,44 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NdjsonReader")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NdjsonReaderTest {
+  @Test
+  void it_should_read_one_value_per_line_skipping_the_blank_lines() throws IOException {
+    try (NdjsonReader reader =
+        new NdjsonReader(new StringReader("{\"name\":\"H0\"}\n\n  \n{\"name\":\"N\"}"))) {
+      assertThat(reader.next()).isEqualTo(new ImportRecord.Json(1, "{\"name\":\"H0\"}"));
+      assertThat(reader.next()).isEqualTo(new ImportRecord.Json(4, "{\"name\":\"N\"}"));
+      assertThat(reader.next()).isNull();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+plugins {
+  id("buildlogic.java-common-conventions")
+  id("buildlogic.jmh-conventions")
+}
+
+val micronautVersion: String by project
+
+dependencies {
+  jmhImplementation(project(":api"))
+  jmhImplementation(project(":libs:catalog"))
+  jmhImplementation(project(":libs:common"))
+  jmhImplementation("io.micronaut.serde:micronaut-serde-jackson")
+  jmhImplementation("io.micrometer:micrometer-core")
+  jmhImplementation("io.micronaut:micronaut-runtime")
+  // the benchmarks can define beans, e.g. to stub a repository in an embedded server
+  jmhAnnotationProcessor(platform("io.micronaut.platform:micronaut-platform:${micronautVersion}"))
+  jmhAnnotationProcessor("io.micronaut:micronaut-inject-java")
+}
+
+jmh {
+  // the JFR recordings are saved next to the JSON results, they include the allocation samples
+  val recordings = layout.buildDirectory.dir("reports/jmh/jfr").get().asFile
+  profilers = listOf("gc", "jfr:dir=$recordings")
+}
+
+tasks.named<Jar>("jmhJar") {
+  // JMH runs the benchmarks with the runtime classpath next to this jar: bundling the dependencies
+  // too would make Micronaut load every bean twice, and keep a single copy of the service files
+  // that several dependencies provide
+  include(
+      "io/github/carlomicieli/benchmarks/**",
+      "META-INF/BenchmarkList",
+      "META-INF/CompilerHints",
+      "META-INF/micronaut/**/io.github.carlomicieli.benchmarks.*")
+}
@@ -0,0 +1,80 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.BrandCommand;
+import io.github.carlomicieli.catalog.BrandCommandHandler;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.BrandInMemoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** The dispatch of the brand commands, from the command to the repository and back. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BrandCommandHandlerBenchmark {
+  private BrandCommandHandler handler;
+  private BrandCommand.CreateBrand createBrand;
+  private BrandCommand.FindBrandById findBrandById;
+  private BrandCommand.FindAllBrands findAllBrands;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Clock clock = Clock.fixed(Instant.parse("2024-05-22T17:20:38Z"), ZoneOffset.UTC);
+    handler =
+        new BrandCommandHandler(new BrandInMemoryRepository(), clock, new SimpleMeterRegistry());
+    // the same name is saved over and over again, the repository size does not change
+    createBrand =
+        new BrandCommand.CreateBrand("ACME", "INDUSTRIAL", "ACTIVE", null, "LIMITED_COMPANY", null);
+    findBrandById = new BrandCommand.FindBrandById(BrandId.fromName("brand-3"));
+    findAllBrands = new BrandCommand.FindAllBrands(null, 10);
+  }
+
+  @Benchmark
+  public BrandId createBrand() {
+    return handler.handle(createBrand);
+  }
+
+  @Benchmark
+  public Optional<Brand> findBrandById() {
+    return handler.handle(findBrandById);
+  }
+
+  @Benchmark
+  public List<Brand> findAllBrands() {
+    return handler.handle(findAllBrands);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.github.carlomicieli.AddressBuilder;
+import io.github.carlomicieli.ContactInfoBuilder;
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.OrganizationEntityType;
+import io.github.carlomicieli.api.catalog.BrandView;
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.BrandBuilder;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.BrandKind;
+import io.github.carlomicieli.catalog.BrandStatus;
+import io.github.carlomicieli.slug.Slug;
+import io.micronaut.serde.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** The mapping of a brand to its view and the JSON serialization of the view. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BrandViewBenchmark {
+  private ObjectMapper.CloseableObjectMapper objectMapper;
+  private Brand brand;
+  private BrandView brandView;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    objectMapper = ObjectMapper.create(Map.of());
+    brand =
+        BrandBuilder.builder()
+            .id(BrandId.fromName("ACME"))
+            .name("ACME")
+            .slug(Slug.of("ACME"))
+            .kind(BrandKind.INDUSTRIAL)
+            .status(BrandStatus.ACTIVE)
+            .organizationEntityType(OrganizationEntityType.LIMITED_COMPANY)
+            .address(
+                AddressBuilder.builder()
+                    .country(CountryCode.IT)
+                    .city("Milano")
+                    .streetAddress("Viale Lombardia, 27")
+                    .postalCode("20131")
+                    .build())
+            .contactInfo(
+                ContactInfoBuilder.builder()
+                    .email("mail@acmetreni.com")
+                    .websiteUrl(URI.create("http://www.acmetreni.com"))
+                    .build())
+            .metadata(Metadata.createdAt(ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z")))
+            .build();
+    brandView = BrandView.fromBrand(brand);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    objectMapper.close();
+  }
+
+  @Benchmark
+  public BrandView fromBrand() {
+    return BrandView.fromBrand(brand);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return objectMapper.writeValueAsBytes(brandView);
+  }
+
+  @Benchmark
+  public byte[] fromBrandAndSerialize() throws IOException {
+    return objectMapper.writeValueAsBytes(BrandView.fromBrand(brand));
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The time to download 50k catalog items: paging through {@code /api/catalog-items} with the
+ * largest page size, against the NDJSON and the binary exports of the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CatalogExportBenchmark {
+  private static final int CATALOG_ITEMS = 50_000;
+  private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>; rel=\"next\"");
+
+  private ApplicationContext context;
+  private HttpClient client;
+  private URI baseUri;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    EmbeddedServer server =
+        ApplicationContext.run(
+            EmbeddedServer.class,
+            Map.of(
+                "micronaut.server.port",
+                -1,
+                "endpoints.all.enabled",
+                false,
+                "logger.levels.io.github.carlomicieli",
+                "WARN"));
+    context = server.getApplicationContext();
+    baseUri = server.getURI();
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    CatalogItems.seed(context, CATALOG_ITEMS);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    context.close();
+  }
+
+  @Benchmark
+  public long pageCatalogItems() throws IOException, InterruptedException {
+    long bytes = 0;
+    Optional<String> next = Optional.of("/api/catalog-items?limit=1000");
+    while (next.isPresent()) {
+      HttpResponse<InputStream> response =
+          client.send(
+              HttpRequest.newBuilder(baseUri.resolve(next.get())).build(),
+              HttpResponse.BodyHandlers.ofInputStream());
+      bytes += drain(response);
+      next = response.headers().firstValue("Link").map(CatalogExportBenchmark::nextLink);
+    }
+    return bytes;
+  }
+
+  @Benchmark
+  public long exportJson() throws IOException, InterruptedException {
+    return drain(
+        client.send(
+            HttpRequest.newBuilder(baseUri.resolve("/api/export")).build(),
+            HttpResponse.BodyHandlers.ofInputStream()));
+  }
+
+  @Benchmark
+  public long exportBinary() throws IOException, InterruptedException {
+    return drain(
+        client.send(
+            HttpRequest.newBuilder(baseUri.resolve("/api/export/binary")).build(),
+            HttpResponse.BodyHandlers.ofInputStream()));
+  }
+
+  private static long drain(final HttpResponse<InputStream> response) throws IOException {
+    try (InputStream body = response.body()) {
+      return body.transferTo(OutputStream.nullOutputStream());
+    }
+  }
+
+  private static String nextLink(final String header) {
+    Matcher matcher = NEXT_LINK.matcher(header);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+}
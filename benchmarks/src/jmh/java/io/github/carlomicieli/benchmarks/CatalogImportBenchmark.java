@@ -0,0 +1,96 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.github.carlomicieli.imports.CatalogImporter;
+import io.github.carlomicieli.imports.ImportEntity;
+import io.github.carlomicieli.imports.ImportFormat;
+import io.github.carlomicieli.imports.ImportOptions;
+import io.github.carlomicieli.imports.ImportReport;
+import io.micronaut.context.ApplicationContext;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** The time to import 100k brands from a CSV or a NDJSON file, into the in-memory repository. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogImportBenchmark {
+  private static final int RECORDS = 100_000;
+
+  @Param({"CSV", "NDJSON"})
+  private ImportFormat format;
+
+  private ApplicationContext context;
+  private CatalogImporter importer;
+  private String file;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = ApplicationContext.run(Map.of("logger.levels.io.github.carlomicieli", "WARN"));
+    importer = context.getBean(CatalogImporter.class);
+    file =
+        switch (format) {
+          case CSV ->
+              IntStream.range(0, RECORDS)
+                  .mapToObj(i -> "Brand %d,INDUSTRIAL,ACTIVE,IT,Milano,Via Roma %d".formatted(i, i))
+                  .collect(
+                      Collectors.joining(
+                          "\n",
+                          "name,kind,status,address.country,address.city,address.street_address\n",
+                          "\n"));
+          case NDJSON ->
+              IntStream.range(0, RECORDS)
+                  .mapToObj(
+                      i ->
+                          """
+                          {"name":"Brand %d","kind":"INDUSTRIAL","status":"ACTIVE",\
+                          "address":{"country":"IT","city":"Milano","street_address":"Via Roma %d"}}"""
+                              .formatted(i, i))
+                  .collect(Collectors.joining("\n", "", "\n"));
+        };
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public ImportReport importBrands() throws IOException {
+    return importer.importFrom(
+        new StringReader(file), ImportEntity.BRANDS, ImportOptions.defaults(format));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.CatalogItemBuilder;
+import io.github.carlomicieli.catalog.CatalogItemCategory;
+import io.github.carlomicieli.catalog.CatalogItemId;
+import io.github.carlomicieli.catalog.CatalogItemRepository;
+import io.github.carlomicieli.catalog.Epoch;
+import io.github.carlomicieli.catalog.ItemNumber;
+import io.github.carlomicieli.catalog.PowerMethod;
+import io.github.carlomicieli.catalog.ScaleId;
+import io.micronaut.context.ApplicationContext;
+import java.time.ZonedDateTime;
+
+/** The catalog items seeded by the HTTP benchmarks. */
+final class CatalogItems {
+  private CatalogItems() {}
+
+  /**
+   * Saves the given number of ACME locomotives in the catalog item repository of the context.
+   *
+   * @param context the application context
+   * @param count the number of catalog items
+   */
+  static void seed(final ApplicationContext context, final int count) {
+    CatalogItemRepository repository = context.getBean(CatalogItemRepository.class);
+    Metadata metadata = Metadata.createdAt(ZonedDateTime.now());
+    for (int i = 0; i < count; i++) {
+      String itemNumber = String.valueOf(100_000 + i);
+      repository.save(
+          CatalogItemBuilder.builder()
+              .id(CatalogItemId.from("ACME", itemNumber))
+              .brandId(BrandId.fromName("ACME"))
+              .scaleId(ScaleId.fromName("H0"))
+              .itemNumber(new ItemNumber(itemNumber))
+              .epoch(Epoch.IV)
+              .category(CatalogItemCategory.LOCOMOTIVES)
+              .powerMethod(PowerMethod.DC)
+              .count(1)
+              .metadata(metadata)
+              .build());
+    }
+  }
+}
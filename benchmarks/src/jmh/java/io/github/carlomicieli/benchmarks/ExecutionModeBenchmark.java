@@ -0,0 +1,122 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A load test of the brands API in front of a {@link SlowBrandRepository}, comparing the request
+ * latency percentiles when the routes run on the event loop ({@code MANUAL}) and when the blocking
+ * ones run on virtual threads ({@code AUTO}).
+ *
+ * <p>Every benchmark thread is a client waiting for its response before sending the next request: 8
+ * clients list the brands, going through the slow repository, while other 8 look brands up by id,
+ * which is served from memory, on the same server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class ExecutionModeBenchmark {
+  @Param({"MANUAL", "AUTO"})
+  private String threadSelection;
+
+  @Param({"0ms", "20ms"})
+  private String repositoryDelay;
+
+  private ApplicationContext context;
+  private HttpClient client;
+  private HttpRequest listBrands;
+  private HttpRequest brandById;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    EmbeddedServer server =
+        ApplicationContext.run(
+            EmbeddedServer.class,
+            Map.of(
+                "micronaut.server.port",
+                -1,
+                "micronaut.server.thread-selection",
+                threadSelection,
+                "endpoints.all.port",
+                freePort(),
+                "logger.levels.io.github.carlomicieli",
+                "WARN",
+                SlowBrandRepository.DELAY_PROPERTY,
+                repositoryDelay));
+    context = server.getApplicationContext();
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    listBrands = HttpRequest.newBuilder(server.getURI().resolve("/api/brands?limit=5")).build();
+    brandById = HttpRequest.newBuilder(server.getURI().resolve("/api/brands/brand-3")).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    context.close();
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(8)
+  public int listBrands() throws IOException, InterruptedException {
+    return client.send(listBrands, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(8)
+  public int brandById() throws IOException, InterruptedException {
+    return client.send(brandById, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private static int freePort() throws IOException {
+    try (var socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.github.carlomicieli.catalog.Epoch;
+import io.github.carlomicieli.length.Length;
+import io.github.carlomicieli.length.MeasureUnit;
+import io.github.carlomicieli.slug.Slug;
+import io.github.carlomicieli.trn.TRN;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** The parsing of the value objects every request goes through. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParsingBenchmark {
+  private String trn = "trn:catalog-item:acme:60392";
+  private String slug = "acme-h0";
+  private String name = "Märklin Modellbahnen";
+  private String epoch = "IIIa";
+  private String multipleEpoch = "IV/V";
+  private BigDecimal length = new BigDecimal("165.5");
+
+  @Benchmark
+  public TRN trnOf() {
+    return TRN.of(trn);
+  }
+
+  @Benchmark
+  public Slug slugOfSlug() {
+    return Slug.of(slug);
+  }
+
+  @Benchmark
+  public Slug slugOfName() {
+    return Slug.of(name);
+  }
+
+  @Benchmark
+  public Epoch epochParse() {
+    return Epoch.parse(epoch);
+  }
+
+  @Benchmark
+  public Epoch epochParseMultiple() {
+    return Epoch.parse(multipleEpoch);
+  }
+
+  @Benchmark
+  public Length lengthOf() {
+    return Length.of(length, MeasureUnit.MILLIMETERS);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.BrandInMemoryRepository;
+import io.github.carlomicieli.catalog.BrandRepository;
+import io.github.carlomicieli.catalog.Railway;
+import io.github.carlomicieli.catalog.RailwayId;
+import io.github.carlomicieli.catalog.RailwayInMemoryRepository;
+import io.github.carlomicieli.catalog.RailwayRepository;
+import io.github.carlomicieli.catalog.Scale;
+import io.github.carlomicieli.catalog.ScaleId;
+import io.github.carlomicieli.catalog.ScaleInMemoryRepository;
+import io.github.carlomicieli.catalog.ScaleRepository;
+import io.github.carlomicieli.slug.Slug;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** The lookups of the in-memory repositories, with the data they are seeded with. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RepositoryBenchmark {
+  private BrandRepository brandRepository;
+  private RailwayRepository railwayRepository;
+  private ScaleRepository scaleRepository;
+
+  private BrandId brandId;
+  private Slug brandSlug;
+  private RailwayId railwayId;
+  private ScaleId scaleId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    brandRepository = new BrandInMemoryRepository();
+    railwayRepository = new RailwayInMemoryRepository();
+    scaleRepository = new ScaleInMemoryRepository();
+
+    brandId = BrandId.fromName("brand-3");
+    brandSlug = Slug.of("brand-3");
+    railwayId = RailwayId.fromName("FS");
+    scaleId = ScaleId.fromName("H0");
+  }
+
+  @Benchmark
+  public Optional<Brand> findBrandById() {
+    return brandRepository.findById(brandId);
+  }
+
+  @Benchmark
+  public Optional<Brand> findBrandBySlug() {
+    return brandRepository.findBySlug(brandSlug);
+  }
+
+  @Benchmark
+  public List<Brand> findAllBrands() {
+    return brandRepository.findAll();
+  }
+
+  @Benchmark
+  public Optional<Railway> findRailwayById() {
+    return railwayRepository.findById(railwayId);
+  }
+
+  @Benchmark
+  public List<Railway> findAllRailways() {
+    return railwayRepository.findAll();
+  }
+
+  @Benchmark
+  public Optional<Scale> findScaleById() {
+    return scaleRepository.findById(scaleId);
+  }
+
+  @Benchmark
+  public List<Scale> findAllScales() {
+    return scaleRepository.findAll();
+  }
+}
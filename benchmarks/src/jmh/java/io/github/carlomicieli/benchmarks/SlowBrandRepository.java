@@ -0,0 +1,107 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import io.github.carlomicieli.catalog.Brand;
+import io.github.carlomicieli.catalog.BrandId;
+import io.github.carlomicieli.catalog.BrandInMemoryRepository;
+import io.github.carlomicieli.catalog.BrandRepository;
+import io.github.carlomicieli.catalog.SearchHit;
+import io.github.carlomicieli.slug.Slug;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link BrandRepository} that stands for a remote store: listing and saving brands block the
+ * calling thread for a fixed delay. Lookups and searches are not delayed, as both catalog
+ * repositories serve them from memory.
+ */
+@Singleton
+@Replaces(BrandInMemoryRepository.class)
+@Requires(property = SlowBrandRepository.DELAY_PROPERTY)
+public final class SlowBrandRepository implements BrandRepository {
+  public static final String DELAY_PROPERTY = "benchmarks.slow-repository.delay";
+
+  private final BrandRepository delegate = new BrandInMemoryRepository();
+  private final Duration delay;
+
+  public SlowBrandRepository(@Property(name = DELAY_PROPERTY) @NotNull final Duration delay) {
+    this.delay = delay;
+  }
+
+  @Override
+  public @NotNull List<Brand> findAll() {
+    pause();
+    return delegate.findAll();
+  }
+
+  @Override
+  public @NotNull List<Brand> findAll(@Nullable final BrandId after, final int limit) {
+    pause();
+    return delegate.findAll(after, limit);
+  }
+
+  @Override
+  public @NotNull Optional<Brand> findById(@NotNull final BrandId brandId) {
+    return delegate.findById(brandId);
+  }
+
+  @Override
+  public @NotNull Optional<Brand> findBySlug(@NotNull final Slug slug) {
+    return delegate.findBySlug(slug);
+  }
+
+  @Override
+  public @NotNull BrandId save(@NotNull final Brand brand) {
+    pause();
+    return delegate.save(brand);
+  }
+
+  @Override
+  public @NotNull List<SearchHit<Brand>> search(@NotNull final String query, final int limit) {
+    return delegate.search(query, limit);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public long version() {
+    return delegate.version();
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.benchmarks;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.github.carlomicieli.Address;
+import io.github.carlomicieli.ContactInfo;
+import io.github.carlomicieli.catalog.BrandCommand;
+import io.github.carlomicieli.catalog.BrandCommandHandler;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GET requests for a page of a thousand brands with all their fields and with a sparse fieldset,
+ * with the response cache disabled, so that every request maps and serializes the views. The setup
+ * prints the size of the response body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class SparseFieldsetBenchmark {
+  private static final int BRANDS = 1_000;
+
+  @Param({"", "name,slug"})
+  private String fields;
+
+  private ApplicationContext context;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    EmbeddedServer server =
+        ApplicationContext.run(
+            EmbeddedServer.class,
+            Map.of(
+                "micronaut.server.port",
+                -1,
+                "endpoints.all.enabled",
+                false,
+                "api.response-cache.max-size",
+                0,
+                "logger.levels.io.github.carlomicieli",
+                "WARN"));
+    context = server.getApplicationContext();
+    seed(context.getBean(BrandCommandHandler.class));
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    request =
+        HttpRequest.newBuilder(
+                server.getURI().resolve("/api/brands?limit=" + BRANDS + "&fields=" + fields))
+            .build();
+
+    byte[] body = client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+    System.out.printf("%nfields=%s: %d bytes%n", fields, body.length);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    context.close();
+  }
+
+  @Benchmark
+  public int get() throws IOException, InterruptedException {
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private static void seed(final BrandCommandHandler commandHandler) {
+    List<BrandCommand.CreateBrand> brands = new ArrayList<>(BRANDS);
+    for (int i = 0; i < BRANDS; i++) {
+      brands.add(
+          new BrandCommand.CreateBrand(
+              "Brand " + (1000 + i),
+              "INDUSTRIAL",
+              "ACTIVE",
+              new Address(
+                  CountryCode.DE,
+                  "Göppingen",
+                  "Stuttgarter Straße " + i,
+                  null,
+                  null,
+                  String.valueOf(73033 + i)),
+              "LIMITED_COMPANY",
+              new ContactInfo(
+                  "mail@brand" + i + ".com",
+                  "+49 7161 " + (600000 + i),
+                  URI.create("https://www.brand" + i + ".com"))));
+    }
+    commandHandler.handle(new BrandCommand.CreateBrands(brands));
+  }
+}
@@ -8,6 +8,7 @@ repositories {
 
 dependencies {
     implementation(libs.git.versioning.plugin)
+    implementation(libs.jmh.plugin)
     implementation(libs.micronaut.aot.plugin)
     implementation(libs.micronaut.plugin)
     implementation(libs.shadow.plugin)
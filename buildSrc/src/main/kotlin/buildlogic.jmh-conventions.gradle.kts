@@ -0,0 +1,28 @@
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+val versionCatalog = extensions.getByType<VersionCatalogsExtension>().named("libs")
+dependencies {
+    versionCatalog.findLibrary("jetbrains-annotations").ifPresent {
+        add("jmhCompileOnly", it)
+    }
+    versionCatalog.findLibrary("record-builder").ifPresent {
+        add("jmhCompileOnly", it)
+    }
+}
+
+jmh {
+    versionCatalog.findVersion("jmh").ifPresent {
+        jmhVersion = it.requiredVersion
+    }
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    // e.g. -Pjmh.includes=TRNBenchmark, to run only the matching benchmarks
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = it.split(',') }
+}
@@ -1,6 +1,11 @@
-plugins { id("buildlogic.micronaut-library-conventions") }
+plugins {
+  id("buildlogic.micronaut-library-conventions")
+  id("buildlogic.jmh-conventions")
+}
 
 dependencies {
   implementation(project(":libs:common"))
   api(libs.nv.i18n)
+  implementation("io.micrometer:micrometer-core")
+  implementation(libs.roaring.bitmap)
 }
@@ -0,0 +1,107 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares the batch create commands with one create command per entity. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchCreateBenchmark {
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2024-05-22T17:20:38.935152086Z"), ZoneOffset.UTC);
+
+  @Param({"1000", "10000"})
+  private int size;
+
+  private List<BrandCommand.CreateBrand> createBrands;
+  private List<ScaleCommand.CreateScale> createScales;
+  private BrandCommandHandler brandCommandHandler;
+  private ScaleCommandHandler scaleCommandHandler;
+
+  @Setup(Level.Trial)
+  public void setUpCommands() {
+    createBrands =
+        IntStream.range(0, size)
+            .mapToObj(
+                i ->
+                    new BrandCommand.CreateBrand(
+                        "Brand " + i, "INDUSTRIAL", null, null, null, null))
+            .toList();
+    createScales =
+        IntStream.range(0, size)
+            .mapToObj(i -> new ScaleCommand.CreateScale("Scale " + i, 10 + i % 200, "STANDARD"))
+            .toList();
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpRepositories() {
+    brandCommandHandler =
+        new BrandCommandHandler(new BrandInMemoryRepository(), CLOCK, new SimpleMeterRegistry());
+    scaleCommandHandler =
+        new ScaleCommandHandler(new ScaleInMemoryRepository(), CLOCK, new SimpleMeterRegistry());
+  }
+
+  @Benchmark
+  public List<BrandId> createBrandsOneByOne() {
+    List<BrandId> brandIds = new ArrayList<>(size);
+    for (BrandCommand.CreateBrand createBrand : createBrands) {
+      brandIds.add(brandCommandHandler.handle(createBrand));
+    }
+    return brandIds;
+  }
+
+  @Benchmark
+  public List<BatchResult<BrandId>> createBrands() {
+    return brandCommandHandler.handle(new BrandCommand.CreateBrands(createBrands));
+  }
+
+  @Benchmark
+  public List<ScaleId> createScalesOneByOne() {
+    List<ScaleId> scaleIds = new ArrayList<>(size);
+    for (ScaleCommand.CreateScale createScale : createScales) {
+      scaleIds.add(scaleCommandHandler.handle(createScale));
+    }
+    return scaleIds;
+  }
+
+  @Benchmark
+  public List<BatchResult<ScaleId>> createScales() {
+    return scaleCommandHandler.handle(new ScaleCommand.CreateScales(createScales));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.slug.Slug;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares the lookups of the list-based and the hash-indexed brand repositories. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BrandRepositoryBenchmark {
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z");
+
+  @Param({"10000", "100000", "1000000"})
+  private int size;
+
+  @Param({"list", "hash"})
+  private String repository;
+
+  private BrandRepository brandRepository;
+  private BrandId[] brandIds;
+  private Slug[] slugs;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    brandRepository =
+        switch (repository) {
+          case "list" -> new ListBrandRepository();
+          case "hash" -> new BrandInMemoryRepository();
+          default -> throw new IllegalArgumentException("Unknown repository: " + repository);
+        };
+    brandIds = new BrandId[size];
+    slugs = new Slug[size];
+    for (int i = 0; i < size; i++) {
+      Slug slug = Slug.of("acme-" + i);
+      Brand brand =
+          BrandBuilder.builder()
+              .id(new BrandId("trn:brand:" + slug))
+              .name("ACME " + i)
+              .slug(slug)
+              .kind(BrandKind.INDUSTRIAL)
+              .metadata(Metadata.createdAt(NOW))
+              .build();
+      brandIds[i] = brandRepository.save(brand);
+      slugs[i] = slug;
+    }
+  }
+
+  @Benchmark
+  public Optional<Brand> findById() {
+    return brandRepository.findById(brandIds[ThreadLocalRandom.current().nextInt(size)]);
+  }
+
+  @Benchmark
+  public Optional<Brand> findBySlug() {
+    return brandRepository.findBySlug(slugs[ThreadLocalRandom.current().nextInt(size)]);
+  }
+}
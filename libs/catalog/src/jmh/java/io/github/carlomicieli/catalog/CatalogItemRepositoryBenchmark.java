@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the filtered queries of the catalog item repository, walking the most selective
+ * secondary index, with a scan of every catalog item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogItemRepositoryBenchmark {
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z");
+  private static final int BRANDS = 100;
+  private static final int LIMIT = 100;
+  private static final List<String> SCALES = List.of("H0", "N", "TT", "Z", "0", "1");
+
+  @Param({"10000", "100000"})
+  private int size;
+
+  private CatalogItemInMemoryRepository repository;
+  private CatalogItemFilter selective;
+  private CatalogItemFilter broad;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    repository = new CatalogItemInMemoryRepository();
+    List<CatalogItemCategory> categories = List.of(CatalogItemCategory.values());
+    for (int i = 0; i < size; i++) {
+      String brand = "Brand " + (i % BRANDS);
+      String itemNumber = String.valueOf(100000 + i);
+      repository.save(
+          CatalogItemBuilder.builder()
+              .id(CatalogItemId.from(brand, itemNumber))
+              .brandId(BrandId.fromName(brand))
+              .scaleId(ScaleId.fromName(SCALES.get(i % SCALES.size())))
+              .itemNumber(new ItemNumber(itemNumber))
+              .epoch(Epoch.ALL.get(i % Epoch.ALL.size()))
+              .category(categories.get(i % categories.size()))
+              .powerMethod(i % 2 == 0 ? PowerMethod.AC : PowerMethod.DC)
+              .count(1)
+              .metadata(Metadata.createdAt(NOW))
+              .build());
+    }
+    selective =
+        CatalogItemFilterBuilder.builder()
+            .brandId(BrandId.fromName("Brand 42"))
+            .scaleId(ScaleId.fromName("H0"))
+            .category(CatalogItemCategory.LOCOMOTIVES)
+            .build();
+    broad =
+        CatalogItemFilterBuilder.builder()
+            .scaleId(ScaleId.fromName("H0"))
+            .powerMethod(PowerMethod.AC)
+            .build();
+  }
+
+  @Benchmark
+  public List<CatalogItem> selectiveIndexed() {
+    return repository.findAll(selective, null, LIMIT);
+  }
+
+  @Benchmark
+  public List<CatalogItem> selectiveScan() {
+    return scan(selective);
+  }
+
+  @Benchmark
+  public List<CatalogItem> broadIndexed() {
+    return repository.findAll(broad, null, LIMIT);
+  }
+
+  @Benchmark
+  public List<CatalogItem> broadScan() {
+    return scan(broad);
+  }
+
+  private List<CatalogItem> scan(final CatalogItemFilter filter) {
+    return repository.findAll().stream().filter(filter::matches).limit(LIMIT).toList();
+  }
+}
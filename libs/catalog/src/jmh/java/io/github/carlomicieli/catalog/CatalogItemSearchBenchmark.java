@@ -0,0 +1,114 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures the faceted searches, with the facet counts, on the catalog item bitmap index. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogItemSearchBenchmark {
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z");
+  private static final int BRANDS = 100;
+  private static final int LIMIT = 20;
+  private static final List<String> SCALES = List.of("H0", "N", "TT", "Z", "0", "1");
+
+  @Param({"100000", "1000000"})
+  private int size;
+
+  private CatalogItemBitmapIndex index;
+  private CatalogItemQuery selective;
+  private CatalogItemQuery disjunctive;
+  private CatalogItemQuery epochRange;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    index = new CatalogItemBitmapIndex();
+    List<CatalogItemCategory> categories = List.of(CatalogItemCategory.values());
+    for (int i = 0; i < size; i++) {
+      String brand = "Brand " + (i % BRANDS);
+      String itemNumber = String.valueOf(1000000 + i);
+      index.put(
+          CatalogItemBuilder.builder()
+              .id(CatalogItemId.from(brand, itemNumber))
+              .brandId(BrandId.fromName(brand))
+              .scaleId(ScaleId.fromName(SCALES.get(i % SCALES.size())))
+              .itemNumber(new ItemNumber(itemNumber))
+              .epoch(Epoch.ALL.get(i % Epoch.ALL.size()))
+              .category(categories.get(i % categories.size()))
+              .powerMethod(i % 2 == 0 ? PowerMethod.AC : PowerMethod.DC)
+              .count(1)
+              .metadata(Metadata.createdAt(NOW))
+              .build());
+    }
+    selective =
+        CatalogItemQueryBuilder.builder()
+            .brandIds(Set.of(BrandId.fromName("Brand 42")))
+            .scaleIds(Set.of(ScaleId.fromName("H0")))
+            .categories(Set.of(CatalogItemCategory.LOCOMOTIVES))
+            .build();
+    disjunctive =
+        CatalogItemQueryBuilder.builder()
+            .scaleIds(Set.of(ScaleId.fromName("H0"), ScaleId.fromName("N")))
+            .epochs(Set.of(Epoch.III, Epoch.IV))
+            .powerMethods(Set.of(PowerMethod.AC))
+            .build();
+    epochRange =
+        CatalogItemQueryBuilder.builder()
+            .epochRanges(Set.of(new EpochRange(Epoch.III, Epoch.IVb)))
+            .categories(Set.of(CatalogItemCategory.LOCOMOTIVES))
+            .build();
+  }
+
+  @Benchmark
+  public CatalogItemSearchResult all() {
+    return index.search(CatalogItemQuery.ALL, null, LIMIT);
+  }
+
+  @Benchmark
+  public CatalogItemSearchResult selective() {
+    return index.search(selective, null, LIMIT);
+  }
+
+  @Benchmark
+  public CatalogItemSearchResult disjunctive() {
+    return index.search(disjunctive, null, LIMIT);
+  }
+
+  @Benchmark
+  public CatalogItemSearchResult epochRange() {
+    return index.search(epochRange, null, LIMIT);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.slug.Slug;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the startup of the brands journal: 100000 brands, each updated 9 times, so one million
+ * events. With snapshots only the events after the last one are replayed, without snapshots the
+ * whole journal is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EventJournalBenchmark {
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z");
+  private static final int BRANDS = 100_000;
+  private static final int UPDATES = 9;
+
+  @Param({"300000", "2147483647"})
+  private int snapshotInterval;
+
+  private Path directory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("brands");
+    // the snapshots are taken from the read model, so it must be a complete one
+    BrandRepository writeRepository = new BrandInMemoryRepository(directory.toString());
+    try (EventJournal<BrandId, Brand> journal = open(writeRepository)) {
+      List<CatalogEvent<Brand>> created = new ArrayList<>(BRANDS);
+      for (int i = 0; i < BRANDS; i++) {
+        created.add(
+            new CatalogEvent.Created<>(
+                BrandBuilder.builder()
+                    .id(new BrandId("trn:brand:acme-" + i))
+                    .name("ACME " + i)
+                    .slug(Slug.of("acme-" + i))
+                    .kind(BrandKind.INDUSTRIAL)
+                    .status(BrandStatus.ACTIVE)
+                    .metadata(Metadata.createdAt(NOW))
+                    .build()));
+      }
+      journal.append(created);
+
+      for (int update = 1; update <= UPDATES; update++) {
+        List<CatalogEvent<Brand>> updated = new ArrayList<>(BRANDS);
+        for (CatalogEvent<Brand> event : created) {
+          Brand brand = event.entity();
+          updated.add(
+              new CatalogEvent.Updated<>(
+                  BrandBuilder.builder(brand)
+                      .name(brand.name() + " v" + update)
+                      .metadata(brand.metadata().lastModifiedAt(NOW))
+                      .build()));
+        }
+        journal.append(updated);
+        created = updated;
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public BrandRepository open() {
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    EventJournal<BrandId, Brand> journal = open(brandRepository);
+    journal.close();
+    return brandRepository;
+  }
+
+  private EventJournal<BrandId, Brand> open(final BrandRepository brandRepository) {
+    return EventJournal.open(
+        directory,
+        "brands",
+        Brand::id,
+        CatalogCodecs.BRAND,
+        snapshotInterval,
+        new EventJournal.ReadModel<>(
+            brandRepository::saveAll, brandRepository::findById, brandRepository::findAll));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.slug.Slug;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the replay of a log with one million brands, decoding the records on the reading thread
+ * or in parallel batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FileStoreBenchmark {
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z");
+  private static final int BRANDS = 1_000_000;
+
+  @Param({"1", "4"})
+  private int parallelism;
+
+  private Path directory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("brands");
+    try (FileStore<BrandId, Brand> store = openStore()) {
+      List<Brand> brands = new ArrayList<>(BRANDS);
+      for (int i = 0; i < BRANDS; i++) {
+        brands.add(
+            BrandBuilder.builder()
+                .id(new BrandId("trn:brand:acme-" + i))
+                .name("ACME " + i)
+                .slug(Slug.of("acme-" + i))
+                .kind(BrandKind.INDUSTRIAL)
+                .status(BrandStatus.ACTIVE)
+                .metadata(Metadata.createdAt(NOW))
+                .build());
+      }
+      store.putAll(brands);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public int open() {
+    try (FileStore<BrandId, Brand> store = openStore()) {
+      return store.size();
+    }
+  }
+
+  private FileStore<BrandId, Brand> openStore() {
+    return new FileStore<>(
+        directory.resolve("brands.log"), Brand::id, CatalogCodecs.BRAND, parallelism);
+  }
+}
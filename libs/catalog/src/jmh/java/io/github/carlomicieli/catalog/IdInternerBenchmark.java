@@ -0,0 +1,68 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.slug.Slug;
+import io.github.carlomicieli.trn.TRN;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the cost of building the ids for the path variables the controllers receive, with and
+ * without the interning cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdInternerBenchmark {
+  @Param({"100", "4000"})
+  private int names;
+
+  private String[] brandNames;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    brandNames = new String[names];
+    for (int i = 0; i < names; i++) {
+      brandNames[i] = "ACME " + i;
+    }
+  }
+
+  @Benchmark
+  public BrandId cached() {
+    return BrandId.fromName(brandNames[ThreadLocalRandom.current().nextInt(names)]);
+  }
+
+  @Benchmark
+  public BrandId uncached() {
+    String name = brandNames[ThreadLocalRandom.current().nextInt(names)];
+    return new BrandId(new TRN("brand", Slug.of(name).toString()).toString());
+  }
+}
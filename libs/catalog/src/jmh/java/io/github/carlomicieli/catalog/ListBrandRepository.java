@@ -0,0 +1,84 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.slug.Slug;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/** The original list-based brand repository, kept as a baseline for the benchmarks. */
+final class ListBrandRepository implements BrandRepository {
+  private final List<Brand> brands = new ArrayList<>();
+
+  @Override
+  public @NotNull List<Brand> findAll() {
+    return List.copyOf(brands);
+  }
+
+  @Override
+  public @NotNull List<Brand> findAll(@Nullable final BrandId after, final int limit) {
+    return brands.stream()
+        .filter(brand -> after == null || brand.id().compareTo(after) > 0)
+        .sorted(Comparator.comparing(Brand::id))
+        .limit(limit)
+        .toList();
+  }
+
+  @Override
+  public @NotNull Optional<Brand> findById(final @NotNull BrandId brandId) {
+    return brands.stream().filter(brand -> brand.id().equals(brandId)).findAny();
+  }
+
+  @Override
+  public @NotNull Optional<Brand> findBySlug(final @NotNull Slug slug) {
+    return brands.stream().filter(brand -> brand.slug().equals(slug)).findAny();
+  }
+
+  @Override
+  public @NotNull BrandId save(@NotNull final Brand brand) {
+    brands.add(brand);
+    return brand.id();
+  }
+
+  @Override
+  public @NotNull List<SearchHit<Brand>> search(@NotNull final String query, final int limit) {
+    String slug = Slug.slugify(query);
+    return brands.stream()
+        .filter(brand -> brand.slug().value().contains(slug))
+        .limit(limit)
+        .map(brand -> new SearchHit<>(brand, 1))
+        .toList();
+  }
+
+  @Override
+  public int size() {
+    return brands.size();
+  }
+
+  @Override
+  public long version() {
+    return brands.size();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.slug.Slug;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Typeahead suggestions from a prefix trie of names made of random syllables, compared with
+ * filtering the whole list by prefix and sorting the matches by popularity, as a client holding the
+ * list would do. The sample mode reports the latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrefixTrieBenchmark {
+  private static final String[] SYLLABLES = {
+    "ro", "co", "ma", "er", "kli", "n", "li", "pi", "ko", "ri", "va", "ros", "si", "bem", "fle",
+    "isch", "man", "lo", "ar", "nold", "jou", "ef", "tri", "x", "bra", "wa", "gen", "ba", "hn",
+    "fer", "ro", "vie", "sta", "to", "el", "ec", "tren", "ac", "me", "hor", "nby"
+  };
+  private static final int LIMIT = 10;
+
+  @Param({"100000"})
+  private int size;
+
+  @Param({"r", "roco", "roco ma", "élec"})
+  private String prefix;
+
+  private PrefixTrie<String> trie;
+  private List<PrefixTrie.Entry<String>> entries;
+  private String[] slugs;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    entries = new ArrayList<>(size);
+    slugs = new String[size];
+    for (int i = 0; i < size; i++) {
+      String name = name(random);
+      entries.add(new PrefixTrie.Entry<>(name, random.nextInt(1000), List.of(name)));
+      slugs[i] = Slug.slugify(name);
+    }
+    trie = PrefixTrie.of(entries);
+  }
+
+  @Benchmark
+  public List<String> suggest() {
+    return trie.suggest(prefix, LIMIT);
+  }
+
+  @Benchmark
+  public List<String> filter() {
+    String slug = Slug.slugify(prefix);
+    List<PrefixTrie.Entry<String>> matches = new ArrayList<>();
+    for (int i = 0; i < slugs.length; i++) {
+      if (slugs[i].startsWith(slug) || slugs[i].contains("-" + slug)) {
+        matches.add(entries.get(i));
+      }
+    }
+    return matches.stream()
+        .sorted(Comparator.comparingLong(PrefixTrie.Entry<String>::popularity).reversed())
+        .limit(LIMIT)
+        .map(PrefixTrie.Entry::value)
+        .toList();
+  }
+
+  private static String name(final Random random) {
+    StringBuilder name = new StringBuilder();
+    int words = 1 + random.nextInt(3);
+    for (int w = 0; w < words; w++) {
+      if (w > 0) {
+        name.append(' ');
+      }
+      int syllables = 1 + random.nextInt(4);
+      for (int s = 0; s < syllables; s++) {
+        name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+      }
+    }
+    return name.substring(0, 1).toUpperCase() + name.substring(1);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.slug.Slug;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares the lookups on the scale ratio index with a scan of all the scales. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScaleRatioIndexBenchmark {
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z");
+  private static final double RATIO = 87.3;
+
+  @Param({"10", "1000"})
+  private int size;
+
+  private ScaleRatioIndex index;
+  private List<Scale> scales;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    scales = new ArrayList<>(size);
+    TrackGauge[] trackGauges = TrackGauge.values();
+    for (int i = 0; i < size; i++) {
+      String name = "Scale " + i;
+      scales.add(
+          ScaleBuilder.builder()
+              .id(ScaleId.fromName(name))
+              .name(name)
+              .slug(Slug.of(name))
+              .ratio(BigDecimal.valueOf(10 + i * 200L / size))
+              .trackGauge(trackGauges[i % trackGauges.length])
+              .metadata(Metadata.createdAt(NOW))
+              .build());
+    }
+    index = new ScaleRatioIndex();
+    index.putAll(scales);
+  }
+
+  @Benchmark
+  public Optional<Scale> nearest() {
+    return index.nearest(RATIO, TrackGauge.NARROW);
+  }
+
+  @Benchmark
+  public Optional<Scale> nearestScan() {
+    return scales.stream()
+        .filter(scale -> scale.trackGauge() == TrackGauge.NARROW)
+        .min(
+            Comparator.comparingDouble(
+                scale -> Math.abs(Math.log(scale.ratio().doubleValue() / RATIO))));
+  }
+
+  @Benchmark
+  public List<Scale> between() {
+    return index.byRatioBetween(160, 87, null);
+  }
+
+  @Benchmark
+  public List<Scale> betweenScan() {
+    return scales.stream()
+        .filter(
+            scale ->
+                scale.ratio().compareTo(BigDecimal.valueOf(87)) >= 0
+                    && scale.ratio().compareTo(BigDecimal.valueOf(160)) <= 0)
+        .sorted(Comparator.comparing(Scale::ratio))
+        .toList();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.slug.Slug;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Full-text searches on a text index of a million names, made of random syllables, compared with a
+ * scan of the slugs. The sample mode reports the latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextIndexBenchmark {
+  private static final String[] SYLLABLES = {
+    "ro", "co", "ma", "er", "kli", "n", "li", "pi", "ko", "ri", "va", "ros", "si", "bem", "fle",
+    "isch", "man", "lo", "ar", "nold", "jou", "ef", "tri", "x", "bra", "wa", "gen", "ba", "hn",
+    "fer", "ro", "vie", "sta", "to", "el", "ec", "tren", "ac", "me", "hor", "nby"
+  };
+  private static final int LIMIT = 20;
+
+  @Param({"1000000"})
+  private int size;
+
+  @Param({"ro", "roco", "ro ma", "roco ma", "élec"})
+  private String query;
+
+  private TextIndex<Integer> index;
+  private String[] slugs;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    index = new TextIndex<>();
+    slugs = new String[size];
+    for (int i = 0; i < size; i++) {
+      String name = name(random);
+      index.put(i, name);
+      slugs[i] = Slug.slugify(name);
+    }
+  }
+
+  @Benchmark
+  public List<SearchHit<Integer>> search() {
+    return index.search(query, LIMIT, Optional::of);
+  }
+
+  @Benchmark
+  public int scan() {
+    String[] terms = Slug.slugify(query).split("-");
+    int matches = 0;
+    for (String slug : slugs) {
+      boolean match = true;
+      for (String term : terms) {
+        match &= slug.startsWith(term) || slug.contains("-" + term);
+      }
+      if (match && ++matches == LIMIT) {
+        break;
+      }
+    }
+    return matches;
+  }
+
+  private static String name(final Random random) {
+    StringBuilder name = new StringBuilder();
+    int words = 1 + random.nextInt(3);
+    for (int w = 0; w < words; w++) {
+      if (w > 0) {
+        name.append(' ');
+      }
+      int syllables = 1 + random.nextInt(4);
+      for (int s = 0; s < syllables; s++) {
+        name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+      }
+    }
+    return name.substring(0, 1).toUpperCase() + name.substring(1);
+  }
+}
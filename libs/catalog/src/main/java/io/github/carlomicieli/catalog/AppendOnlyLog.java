@@ -0,0 +1,235 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An append-only log of binary records, written through a memory-mapped file.
+ *
+ * <p>The file starts with a magic number, followed by the records: each one is its length, the
+ * CRC32C checksum of its payload and the payload. The mapped region is grown (doubling it) when it
+ * is full, and the unused tail of the file is left filled with zeros: the first record with a zero
+ * length, or a wrong checksum, marks the end of the log.
+ *
+ * <p>The records are in the page cache as soon as they are appended, so they survive a crash of the
+ * process; they are forced to the storage device by {@link #force()}. A record torn by a crash of
+ * the machine is detected by its checksum and dropped, together with everything after it, when the
+ * log is opened again.
+ *
+ * <p>The whole log is mapped at once, so it cannot grow beyond 2 GB.
+ */
+final class AppendOnlyLog implements Closeable {
+  private static final long MAGIC = 0x54524e4c4f473031L; // "TRNLOG01"
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int MIN_CAPACITY = 1 << 20;
+
+  private final Path path;
+  private final CRC32C checksum = new CRC32C();
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int position;
+  private long records;
+
+  private AppendOnlyLog(@NotNull final Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Opens (or creates) the log at the given path, passing each record it contains to the given
+   * consumer, in the order they were appended.
+   *
+   * <p>The buffer passed to the consumer is a read-only view of the mapped file, reused for all the
+   * records: it must not be retained after the consumer returns.
+   *
+   * @param path the log file
+   * @param replay the consumer for the records already in the log
+   * @return the log, ready to append new records
+   * @throws IOException if the file cannot be opened, or it is not a log
+   */
+  static @NotNull AppendOnlyLog open(
+      @NotNull final Path path, @NotNull final Consumer<ByteBuffer> replay) throws IOException {
+    Objects.requireNonNull(path, "path must not be null");
+    Objects.requireNonNull(replay, "replay must not be null");
+    AppendOnlyLog log = new AppendOnlyLog(path);
+    log.load(replay);
+    return log;
+  }
+
+  /**
+   * Appends a record to this log.
+   *
+   * @param payload the record payload, from its position to its limit
+   * @throws IOException if the log cannot be grown
+   */
+  synchronized void append(@NotNull final ByteBuffer payload) throws IOException {
+    int length = payload.remaining();
+    if (length == 0) {
+      throw new IllegalArgumentException("The log records cannot be empty");
+    }
+
+    ensureCapacity(RECORD_HEADER_SIZE + length);
+    checksum.reset();
+    checksum.update(payload.duplicate());
+    buffer.put(position + RECORD_HEADER_SIZE, payload, payload.position(), length);
+    buffer.putInt(position + Integer.BYTES, (int) checksum.getValue());
+    // the length goes last: a record is not in the log until its length is written
+    buffer.putInt(position, length);
+    position += RECORD_HEADER_SIZE + length;
+    records++;
+  }
+
+  /**
+   * Replaces the content of this log with the given records.
+   *
+   * <p>The records are written to a new file, which is forced to the storage device and then
+   * atomically moved over this log: a crash leaves either the old or the new log in place.
+   *
+   * @param payloads the records of the new log
+   * @throws IOException if the new log cannot be written
+   */
+  synchronized void rewrite(@NotNull final Stream<ByteBuffer> payloads) throws IOException {
+    Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+    Files.deleteIfExists(compacted);
+    try (AppendOnlyLog target = open(compacted, ignored -> {})) {
+      for (ByteBuffer payload : (Iterable<ByteBuffer>) payloads::iterator) {
+        target.append(payload);
+      }
+      target.force();
+    }
+
+    Files.move(
+        compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    channel.close();
+    load(ignored -> {});
+  }
+
+  /**
+   * Returns the number of records in this log.
+   *
+   * @return the number of records
+   */
+  synchronized long records() {
+    return records;
+  }
+
+  /**
+   * Returns the number of bytes used by this log.
+   *
+   * @return the log size in bytes
+   */
+  synchronized long size() {
+    return position;
+  }
+
+  /**
+   * Forces the records appended so far to the storage device.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  synchronized void force() throws IOException {
+    buffer.force();
+    channel.force(true);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      force();
+      channel.close();
+    }
+  }
+
+  private void load(@NotNull final Consumer<ByteBuffer> replay) throws IOException {
+    channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    long size = channel.size();
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("The log is too big to be mapped: " + path);
+    }
+
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MIN_CAPACITY));
+    if (size == 0) {
+      buffer.putLong(0, MAGIC);
+    } else if (buffer.getLong(0) != MAGIC) {
+      throw new IOException("Not a catalog log: " + path);
+    }
+
+    position = Long.BYTES;
+    records = 0L;
+    int capacity = buffer.capacity();
+    ByteBuffer payload = buffer.asReadOnlyBuffer();
+    while (position + RECORD_HEADER_SIZE <= capacity) {
+      int length = buffer.getInt(position);
+      if (length == 0) {
+        return;
+      }
+      if (length < 0 || length > capacity - position - RECORD_HEADER_SIZE) {
+        break;
+      }
+
+      int start = position + RECORD_HEADER_SIZE;
+      payload.limit(start + length).position(start);
+      checksum.reset();
+      checksum.update(payload);
+      if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) {
+        break;
+      }
+
+      replay.accept(payload.position(start));
+      position += RECORD_HEADER_SIZE + length;
+      records++;
+    }
+
+    // a torn record: clear it, and whatever follows, so that the records appended from here on are
+    // not followed by anything that looks like a record
+    for (int i = position; i < capacity; i++) {
+      buffer.put(i, (byte) 0);
+    }
+  }
+
+  private void ensureCapacity(final int length) throws IOException {
+    long required = (long) position + length;
+    if (required <= buffer.capacity()) {
+      return;
+    }
+    if (required > Integer.MAX_VALUE) {
+      throw new IOException("The log is full: " + path);
+    }
+
+    long capacity = Math.min(Integer.MAX_VALUE, Math.max(2L * buffer.capacity(), required));
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The outcome of one item of a batch command: the item was either created, or rejected with the
+ * reason why.
+ *
+ * @param <T> the type of the created value
+ */
+public sealed interface BatchResult<T> {
+  /**
+   * The item was created.
+   *
+   * @param value the created value
+   * @param <T> the type of the created value
+   */
+  record Created<T>(@NotNull T value) implements BatchResult<T> {
+    public Created {
+      Objects.requireNonNull(value, "The created value cannot be null");
+    }
+  }
+
+  /**
+   * The item was rejected.
+   *
+   * @param reason the reason why the item was rejected
+   * @param <T> the type of the created value
+   */
+  record Rejected<T>(@NotNull String reason) implements BatchResult<T> {
+    public Rejected {
+      Objects.requireNonNull(reason, "The rejection reason cannot be null");
+    }
+  }
+
+  /**
+   * Maps the created value, leaving a rejection as it is.
+   *
+   * @param mapper the function to apply to the created value
+   * @return the mapped result
+   * @param <U> the type of the mapped value
+   */
+  @CheckReturnValue
+  default <U> @NotNull BatchResult<U> map(@NotNull final Function<T, U> mapper) {
+    return switch (this) {
+      case Created<T> created -> new Created<>(mapper.apply(created.value()));
+      case Rejected<T> rejected -> new Rejected<>(rejected.reason());
+    };
+  }
+
+  /**
+   * Creates a value, turning the validation errors, the {@link IllegalArgumentException}s raised by
+   * the factory, into a rejection. Any other exception is a bug, and it is propagated.
+   *
+   * @param factory the function creating the value
+   * @return the created value, or the rejection
+   * @param <T> the type of the created value
+   */
+  @CheckReturnValue
+  static <T> @NotNull BatchResult<T> of(@NotNull final Supplier<T> factory) {
+    try {
+      return new Created<>(factory.get());
+    } catch (IllegalArgumentException e) {
+      return new Rejected<>(Objects.requireNonNullElse(e.getMessage(), e.toString()));
+    }
+  }
+
+  /**
+   * Rejects the items of a batch with the same id as an earlier item, so that a batch creates at
+   * most one value for each id: the first one.
+   *
+   * @param results the results of a batch
+   * @param idOf the function extracting the id of a value
+   * @return the results, with the later duplicates rejected
+   * @param <T> the type of the created values
+   * @param <ID> the id type
+   */
+  @CheckReturnValue
+  static <T, ID> @NotNull List<BatchResult<T>> rejectDuplicates(
+      @NotNull final List<BatchResult<T>> results, @NotNull final Function<T, ID> idOf) {
+    Set<ID> ids = new HashSet<>();
+    List<BatchResult<T>> unique = new ArrayList<>(results.size());
+    for (BatchResult<T> result : results) {
+      if (result instanceof Created<T> created && !ids.add(idOf.apply(created.value()))) {
+        unique.add(new Rejected<>("Duplicate id in the batch: " + idOf.apply(created.value())));
+      } else {
+        unique.add(result);
+      }
+    }
+    return unique;
+  }
+
+  /**
+   * Rejects the created items of a batch whose id is taken by an existing value.
+   *
+   * @param results the results of a batch
+   * @param idOf the function extracting the id of a value
+   * @param taken the ids taken by existing values
+   * @return the results, with the items with a taken id rejected
+   * @param <T> the type of the created values
+   * @param <ID> the id type
+   */
+  @CheckReturnValue
+  static <T, ID> @NotNull List<BatchResult<T>> rejectTaken(
+      @NotNull final List<BatchResult<T>> results,
+      @NotNull final Function<T, ID> idOf,
+      @NotNull final Set<ID> taken) {
+    if (taken.isEmpty()) {
+      return results;
+    }
+    return results.stream()
+        .map(
+            result ->
+                result instanceof Created<T> created && taken.contains(idOf.apply(created.value()))
+                    ? new Rejected<T>("Id already in use: " + idOf.apply(created.value()))
+                    : result)
+        .toList();
+  }
+
+  /**
+   * Collects the created values of a batch, skipping the rejected items.
+   *
+   * @param results the results of a batch
+   * @return the created values, in the batch order
+   * @param <T> the type of the created values
+   */
+  @CheckReturnValue
+  static <T> @NotNull List<T> created(@NotNull final List<BatchResult<T>> results) {
+    return results.stream()
+        .<T>mapMulti(
+            (result, downstream) -> {
+              if (result instanceof Created<T> created) {
+                downstream.accept(created.value());
+              }
+            })
+        .toList();
+  }
+}
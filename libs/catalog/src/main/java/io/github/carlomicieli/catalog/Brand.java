@@ -54,7 +54,8 @@ public record Brand(
     @Nullable Address address,
     @Nullable OrganizationEntityType organizationEntityType,
     @Nullable ContactInfo contactInfo,
-    @NotNull Metadata metadata) {
+    @NotNull Metadata metadata)
+    implements CatalogEntity {
   public Brand {
     requireNonNull(id, "Brand id cannot be null");
     requireNonNull(name, "Brand name cannot be null");
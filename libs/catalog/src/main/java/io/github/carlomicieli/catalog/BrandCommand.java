@@ -23,6 +23,7 @@ package io.github.carlomicieli.catalog;
 import io.github.carlomicieli.Address;
 import io.github.carlomicieli.ContactInfo;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,6 +48,38 @@ public sealed interface BrandCommand<R> {
       @Nullable ContactInfo contactInfo)
       implements BrandCommand<BrandId> {}
 
+  /**
+   * The command to create many brands at once: the brands are validated independently, and the
+   * valid ones are saved in one step.
+   *
+   * @param brands the brands to create
+   */
+  record CreateBrands(@NotNull List<CreateBrand> brands)
+      implements BrandCommand<List<BatchResult<BrandId>>> {
+    public CreateBrands {
+      brands = List.copyOf(brands);
+    }
+  }
+
+  /**
+   * The command to update an existing brand: the brand keeps its id, and every other value is
+   * replaced. The id and the slug are derived from the name, so the new name can only differ from
+   * the current one by case, accents or punctuation.
+   *
+   * @param brandId the brand id
+   * @param brand the new values of the brand
+   */
+  record UpdateBrand(@NotNull BrandId brandId, @NotNull CreateBrand brand)
+      implements BrandCommand<Optional<Brand>> {
+    public UpdateBrand {
+      Objects.requireNonNull(brandId, "The brand id cannot be null");
+      Objects.requireNonNull(brand, "The brand cannot be null");
+      if (!BrandId.fromName(brand.name()).equals(brandId)) {
+        throw new IllegalArgumentException("The brand " + brandId + " cannot be renamed");
+      }
+    }
+  }
+
   /**
    * The command to find an existing brand by its id.
    *
@@ -54,6 +87,45 @@ public sealed interface BrandCommand<R> {
    */
   record FindBrandById(@NotNull BrandId brandId) implements BrandCommand<Optional<Brand>> {}
 
-  /** The command to find all brands. */
-  record FindAllBrands() implements BrandCommand<List<Brand>> {}
+  /**
+   * The command to find all brands, sorted by id, one page at a time.
+   *
+   * @param after the id of the last brand in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of brands to return
+   */
+  record FindAllBrands(@Nullable BrandId after, int limit) implements BrandCommand<List<Brand>> {
+    public FindAllBrands {
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+
+    public FindAllBrands() {
+      this(null, Integer.MAX_VALUE);
+    }
+  }
+
+  /**
+   * The command to find the version of the brands, which changes whenever brands are saved.
+   *
+   * @see BrandRepository#version()
+   */
+  record FindBrandsVersion() implements BrandCommand<Long> {}
+
+  /**
+   * The command to search the brands by name, ranked by relevance.
+   *
+   * @param query the query
+   * @param limit the maximum number of brands to return
+   * @see BrandRepository#search(String, int)
+   */
+  record SearchBrands(@NotNull String query, int limit)
+      implements BrandCommand<List<SearchHit<Brand>>> {
+    public SearchBrands {
+      Objects.requireNonNull(query, "The query cannot be null");
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+  }
 }
@@ -25,9 +25,15 @@ import static java.util.Objects.requireNonNull;
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.OrganizationEntityType;
 import io.github.carlomicieli.slug.Slug;
+import io.github.carlomicieli.util.Strings;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -37,46 +43,113 @@ import org.slf4j.LoggerFactory;
 public class BrandCommandHandler {
   private static final Logger LOG = LoggerFactory.getLogger(BrandCommandHandler.class);
   private final BrandRepository brandRepository;
+  private final EventJournal<BrandId, Brand> journal;
   private final Clock clock;
+  private final CommandMetrics metrics;
 
   public BrandCommandHandler(
       @NotNull final BrandRepository brandRepository,
-      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock) {
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
+    this(
+        brandRepository,
+        EventJournal.inMemory(
+            "brands",
+            Brand::id,
+            new EventJournal.ReadModel<>(
+                brandRepository::saveAll, brandRepository::findById, brandRepository::findAll)),
+        clock,
+        meterRegistry);
+  }
+
+  @Inject
+  BrandCommandHandler(
+      @NotNull final BrandRepository brandRepository,
+      @Named("brands") @NotNull final EventJournal<BrandId, Brand> journal,
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
     this.brandRepository = requireNonNull(brandRepository, "brandRepository must not be null");
+    this.journal = requireNonNull(journal, "journal must not be null");
     this.clock = requireNonNull(clock, "clock must not be null");
+    this.metrics =
+        new CommandMetrics(
+            requireNonNull(meterRegistry, "meterRegistry must not be null"), "brands");
+    metrics.repositorySize("brands", brandRepository, BrandRepository::size);
+    metrics.internerStats("brands", BrandId::internerStats);
   }
 
   @CheckReturnValue
-  @SuppressWarnings("unchecked")
   public <R> @NotNull R handle(@NotNull final BrandCommand<R> command) {
+    return metrics.record(command, () -> dispatch(command));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> R dispatch(final BrandCommand<R> command) {
     switch (command) {
       case BrandCommand.CreateBrand createBrand -> {
-        Brand brand =
-            BrandBuilder.builder()
-                .id(BrandId.fromName(createBrand.name()))
-                .name(createBrand.name())
-                .slug(Slug.of(createBrand.name()))
-                .kind(kindFromString(createBrand.kind()))
-                .status(statusFromString(createBrand.status()))
-                .address(createBrand.address())
-                .organizationEntityType(
-                    organizationEntityTypeFromString(createBrand.organizationEntityType()))
-                .contactInfo(createBrand.contactInfo())
-                .metadata(Metadata.createdAt(ZonedDateTime.now(clock)))
-                .build();
-        return (R) brandRepository.save(brand);
+        Brand brand = brandOf(createBrand, Metadata.createdAt(ZonedDateTime.now(clock)));
+        if (!journal.create(List.of(brand)).isEmpty()) {
+          throw new DuplicateIdException(brand.id());
+        }
+        return (R) brand.id();
+      }
+      case BrandCommand.CreateBrands createBrands -> {
+        Metadata metadata = Metadata.createdAt(ZonedDateTime.now(clock));
+        List<BatchResult<Brand>> brands =
+            BatchResult.rejectDuplicates(
+                createBrands.brands().parallelStream()
+                    .map(createBrand -> BatchResult.of(() -> brandOf(createBrand, metadata)))
+                    .toList(),
+                Brand::id);
+        Set<BrandId> taken = journal.create(BatchResult.created(brands));
+        return (R)
+            BatchResult.rejectTaken(brands, Brand::id, taken).stream()
+                .map(result -> result.map(Brand::id))
+                .toList();
+      }
+      case BrandCommand.UpdateBrand updateBrand -> {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        return (R)
+            journal.update(
+                updateBrand.brandId(),
+                brand -> brandOf(updateBrand.brand(), brand.metadata().lastModifiedAt(now)));
       }
       case BrandCommand.FindBrandById findBrandById -> {
         return (R) brandRepository.findById(findBrandById.brandId());
       }
-      case BrandCommand.FindAllBrands ignored -> {
-        return (R) brandRepository.findAll();
+      case BrandCommand.FindAllBrands findAllBrands -> {
+        return (R) brandRepository.findAll(findAllBrands.after(), findAllBrands.limit());
+      }
+      case BrandCommand.FindBrandsVersion findBrandsVersion -> {
+        return (R) Long.valueOf(brandRepository.version());
+      }
+      case BrandCommand.SearchBrands searchBrands -> {
+        return (R) brandRepository.search(searchBrands.query(), searchBrands.limit());
       }
       case null, default -> throw new IllegalArgumentException("Unknown command: " + command);
     }
   }
 
+  private Brand brandOf(final BrandCommand.CreateBrand createBrand, final Metadata metadata) {
+    Strings.requireNonBlank(createBrand.name(), "The brand name cannot be blank");
+    return BrandBuilder.builder()
+        .id(BrandId.fromName(createBrand.name()))
+        .name(createBrand.name())
+        .slug(Slug.of(createBrand.name()))
+        .kind(kindFromString(createBrand.kind()))
+        .status(statusFromString(createBrand.status()))
+        .address(createBrand.address())
+        .organizationEntityType(
+            organizationEntityTypeFromString(createBrand.organizationEntityType()))
+        .contactInfo(createBrand.contactInfo())
+        .metadata(metadata)
+        .build();
+  }
+
   private BrandStatus statusFromString(final String status) {
+    if (status == null) {
+      return null;
+    }
     for (var value : BrandStatus.values()) {
       if (value.name().equalsIgnoreCase(status)) {
         return value;
@@ -88,6 +161,9 @@ public class BrandCommandHandler {
   }
 
   private BrandKind kindFromString(final String kind) {
+    if (kind == null) {
+      return null;
+    }
     for (var value : BrandKind.values()) {
       if (value.name().equalsIgnoreCase(kind)) {
         return value;
@@ -99,6 +175,9 @@ public class BrandCommandHandler {
   }
 
   private OrganizationEntityType organizationEntityTypeFromString(final String entityType) {
+    if (entityType == null) {
+      return null;
+    }
     for (var value : OrganizationEntityType.values()) {
       if (value.name().equalsIgnoreCase(entityType)) {
         return value;
@@ -27,13 +27,18 @@ import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
 /** A <strong>Brand ID</strong> is a unique identifier for a brand. */
-public record BrandId(@NotNull String value) {
+public record BrandId(@NotNull String value) implements Comparable<BrandId> {
+  private static final int INTERNER_CAPACITY = 8192;
   private static final String NAMESPACE = "brand";
+  private static final IdInterner<String, BrandId> INTERNER =
+      new IdInterner<>(INTERNER_CAPACITY, BrandId::create);
 
   public BrandId {
     Objects.requireNonNull(value, "The brand ID value cannot be null");
-    TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid brand ID value: " + value);
-    value = trn.toString();
+    if (!TRN.isCanonical(value, NAMESPACE)) {
+      TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid brand ID value: " + value);
+      value = trn.toString();
+    }
   }
 
   private BrandId(@NotNull TRN trn) {
@@ -43,15 +48,47 @@ public record BrandId(@NotNull String value) {
   /**
    * Creates a new {@code BrandId} from the given name.
    *
+   * <p>Ids are interned: the same name, as long as it stays in the cache, always returns the same
+   * instance.
+   *
    * @param name the brand name
-   * @return a new {@code BrandId} instance
+   * @return a {@code BrandId} instance
    */
   @CheckReturnValue
   public static @NotNull BrandId fromName(@NotNull final String name) {
+    return INTERNER.intern(name);
+  }
+
+  /**
+   * Returns the hit and miss counters of the cache behind {@link #fromName(String)}.
+   *
+   * @return the cache statistics
+   */
+  @CheckReturnValue
+  public static @NotNull IdInterner.Stats internerStats() {
+    return INTERNER.stats();
+  }
+
+  private static @NotNull BrandId create(@NotNull final String name) {
     TRN brandTrn = new TRN(NAMESPACE, Slug.of(name).toString());
     return new BrandId(brandTrn);
   }
 
+  @Override
+  public boolean equals(final Object other) {
+    return this == other || (other instanceof BrandId that && value.equals(that.value));
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public int compareTo(@NotNull final BrandId other) {
+    return this == other ? 0 : value.compareTo(other.value);
+  }
+
   @Override
   public String toString() {
     return value;
@@ -22,38 +22,115 @@ package io.github.carlomicieli.catalog;
 
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.slug.Slug;
+import io.micronaut.context.annotation.Property;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * An in-memory {@link BrandRepository} backed by concurrent hash indexes.
+ *
+ * <p>Lookups by id and by slug are constant time and never block. Writes are serialized, so that
+ * the indexes are always updated together and concurrent {@code save} calls are linearizable. The
+ * brands are sorted by id and listed from a snapshot that is only rebuilt after a write changed
+ * them. The names are indexed for full-text searches, see {@link TextIndex}.
+ */
 @Singleton
 public final class BrandInMemoryRepository implements BrandRepository {
-  private final List<Brand> brands = brands().collect(Collectors.toCollection(ArrayList::new));
+  private final SnapshotStore<BrandId, Brand> brands = new SnapshotStore<>(Brand::id);
+  private final Map<Slug, BrandId> brandIdsBySlug = new ConcurrentHashMap<>();
+  private final TextIndex<BrandId> nameIndex = new TextIndex<>();
+
+  public BrandInMemoryRepository() {
+    this(null);
+  }
+
+  /**
+   * Creates the read model of the brands journal, see {@link CatalogJournals}. The repository
+   * starts with some sample brands when the journal is kept in memory, and empty when it is loaded
+   * from a directory.
+   *
+   * @param directory the journal directory, or {@code null} when the journal is kept in memory
+   */
+  @Inject
+  public BrandInMemoryRepository(
+      @Property(name = FileStore.DIRECTORY_PROPERTY) @Nullable final String directory) {
+    if (directory == null) {
+      brands().forEach(this::save);
+    }
+  }
 
   @Override
   public @NotNull List<Brand> findAll() {
-    return List.copyOf(brands);
+    return brands.values();
+  }
+
+  @Override
+  public int size() {
+    return brands.size();
+  }
+
+  @Override
+  public long version() {
+    return brands.version();
+  }
+
+  @Override
+  public @NotNull List<Brand> findAll(@Nullable final BrandId after, final int limit) {
+    return brands.values(after, limit);
   }
 
   @Override
   public @NotNull Optional<Brand> findById(final @NotNull BrandId brandId) {
-    return brands.stream().filter(brand -> brand.id().equals(brandId)).findAny();
+    return brands.get(brandId);
+  }
+
+  @Override
+  public @NotNull Optional<Brand> findBySlug(final @NotNull Slug slug) {
+    return Optional.ofNullable(brandIdsBySlug.get(slug)).flatMap(brands::get);
+  }
+
+  @Override
+  public @NotNull List<SearchHit<Brand>> search(@NotNull final String query, final int limit) {
+    return nameIndex.search(query, limit, brands::get);
   }
 
   @Override
-  public @NotNull BrandId save(@NotNull final Brand brand) {
-    brands.add(brand);
+  public synchronized @NotNull BrandId save(@NotNull final Brand brand) {
+    Objects.requireNonNull(brand, "brand must not be null");
+    indexSlug(brands.put(brand), brand);
     return brand.id();
   }
 
-  private Stream<Brand> brands() {
+  @Override
+  public synchronized @NotNull List<BrandId> saveAll(@NotNull final Collection<Brand> batch) {
+    List<Brand> batchBrands = List.copyOf(batch);
+    List<Brand> previous = brands.putAll(batchBrands);
+    for (int i = 0; i < batchBrands.size(); i++) {
+      indexSlug(previous.get(i), batchBrands.get(i));
+    }
+    return batchBrands.stream().map(Brand::id).toList();
+  }
+
+  private void indexSlug(@Nullable final Brand previous, @NotNull final Brand brand) {
+    if (previous != null && !previous.slug().equals(brand.slug())) {
+      brandIdsBySlug.remove(previous.slug(), previous.id());
+    }
+    brandIdsBySlug.put(brand.slug(), brand.id());
+    nameIndex.put(brand.id(), brand.name());
+  }
 
+  private static Stream<Brand> brands() {
     return IntStream.range(1, 7)
         .boxed()
         .map(
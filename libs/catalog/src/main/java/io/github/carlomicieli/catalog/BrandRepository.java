@@ -20,10 +20,13 @@
  */
 package io.github.carlomicieli.catalog;
 
+import io.github.carlomicieli.slug.Slug;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /** A repository for {@link Brand} entities. */
 public interface BrandRepository {
@@ -35,6 +38,16 @@ public interface BrandRepository {
   @CheckReturnValue
   @NotNull List<Brand> findAll();
 
+  /**
+   * Finds a page of brands, sorted by id, using keyset pagination.
+   *
+   * @param after the id of the last brand in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of brands to return
+   * @return a list of at most {@code limit} brands
+   */
+  @CheckReturnValue
+  @NotNull List<Brand> findAll(@Nullable final BrandId after, final int limit);
+
   /**
    * Finds a brand by its id.
    *
@@ -45,7 +58,16 @@ public interface BrandRepository {
   @NotNull Optional<Brand> findById(@NotNull final BrandId brandId);
 
   /**
-   * Saves a new brand.
+   * Finds a brand by its slug.
+   *
+   * @param slug the brand slug
+   * @return an optional brand
+   */
+  @CheckReturnValue
+  @NotNull Optional<Brand> findBySlug(@NotNull final Slug slug);
+
+  /**
+   * Saves a brand, replacing the brand with the same id if it already exists.
    *
    * @param brand the brand to save
    * @return the brand id
@@ -53,5 +75,44 @@ public interface BrandRepository {
   @CheckReturnValue
   @NotNull BrandId save(@NotNull final Brand brand);
 
+  /**
+   * Saves brands in one step, replacing the brands with the same ids if they already exist.
+   *
+   * @param brands the brands to save
+   * @return the ids of the saved brands, in the same order
+   */
+  @CheckReturnValue
+  default @NotNull List<BrandId> saveAll(@NotNull final Collection<Brand> brands) {
+    return brands.stream().map(this::save).toList();
+  }
+
+  /**
+   * Searches the brands by name: every word of the query must be a word, or the beginning of a
+   * word, of the brand, ignoring case and accents.
+   *
+   * @param query the query
+   * @param limit the maximum number of brands to return
+   * @return the best matching brands, in descending order of score
+   */
+  @CheckReturnValue
+  @NotNull List<SearchHit<Brand>> search(@NotNull final String query, final int limit);
+
+  /**
+   * Returns the number of brands in the repository, without copying them.
+   *
+   * @return the number of brands
+   */
+  @CheckReturnValue
+  int size();
+
+  /**
+   * Returns the version of the repository content, which changes whenever brands are saved. Two
+   * equal versions of the same repository instance mean that nothing was saved in between.
+   *
+   * @return the content version
+   */
+  @CheckReturnValue
+  long version();
+
   BrandRepository INSTANCE = new BrandInMemoryRepository();
 }
@@ -0,0 +1,283 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.github.carlomicieli.Address;
+import io.github.carlomicieli.AddressBuilder;
+import io.github.carlomicieli.ContactInfo;
+import io.github.carlomicieli.ContactInfoBuilder;
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.MetadataBuilder;
+import io.github.carlomicieli.OrganizationEntityType;
+import io.github.carlomicieli.slug.Slug;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The binary codecs for the catalog entities stored in the append-only log.
+ *
+ * <p>The fields are written in declaration order. Adding a field to an entity requires a new codec
+ * able to read the records written by the previous one.
+ */
+final class CatalogCodecs {
+  private static final byte ABSENT = 0;
+  private static final byte PRESENT = 1;
+
+  private static final byte ACTIVE_RAILWAY = 1;
+  private static final byte INACTIVE_RAILWAY = 2;
+
+  static final RecordCodec<Brand> BRAND =
+      new RecordCodec<>() {
+        @Override
+        public void encode(@NotNull final Brand brand, @NotNull final RecordOutput output) {
+          output.writeString(brand.id().value());
+          output.writeString(brand.name());
+          output.writeString(brand.slug().value());
+          output.writeEnum(brand.kind());
+          output.writeEnum(brand.status());
+          writeAddress(brand.address(), output);
+          output.writeEnum(brand.organizationEntityType());
+          writeContactInfo(brand.contactInfo(), output);
+          writeMetadata(brand.metadata(), output);
+        }
+
+        @Override
+        public @NotNull Brand decode(@NotNull final RecordInput input) {
+          return BrandBuilder.builder()
+              .id(new BrandId(input.readRequiredString()))
+              .name(input.readRequiredString())
+              .slug(new Slug(input.readRequiredString()))
+              .kind(input.readEnum(BrandKind.class))
+              .status(input.readEnum(BrandStatus.class))
+              .address(readAddress(input))
+              .organizationEntityType(input.readEnum(OrganizationEntityType.class))
+              .contactInfo(readContactInfo(input))
+              .metadata(readMetadata(input))
+              .build();
+        }
+      };
+
+  static final RecordCodec<Railway> RAILWAY =
+      new RecordCodec<>() {
+        @Override
+        public void encode(@NotNull final Railway railway, @NotNull final RecordOutput output) {
+          output.writeString(railway.id().value());
+          output.writeString(railway.name());
+          output.writeString(railway.slug().value());
+          output.writeString(railway.abbreviation());
+          output.writeEnum(railway.country());
+          writePeriodOfActivity(railway.periodOfActivity(), output);
+          writeAddress(railway.address(), output);
+          output.writeEnum(railway.organizationEntityType());
+          writeContactInfo(railway.contactInfo(), output);
+          writeMetadata(railway.metadata(), output);
+        }
+
+        @Override
+        public @NotNull Railway decode(@NotNull final RecordInput input) {
+          return RailwayBuilder.builder()
+              .id(new RailwayId(input.readRequiredString()))
+              .name(input.readRequiredString())
+              .slug(new Slug(input.readRequiredString()))
+              .abbreviation(input.readRequiredString())
+              .country(input.readEnum(CountryCode.class))
+              .periodOfActivity(readPeriodOfActivity(input))
+              .address(readAddress(input))
+              .organizationEntityType(input.readEnum(OrganizationEntityType.class))
+              .contactInfo(readContactInfo(input))
+              .metadata(readMetadata(input))
+              .build();
+        }
+      };
+
+  static final RecordCodec<Scale> SCALE =
+      new RecordCodec<>() {
+        @Override
+        public void encode(@NotNull final Scale scale, @NotNull final RecordOutput output) {
+          output.writeString(scale.id().value());
+          output.writeString(scale.name());
+          output.writeString(scale.slug().value());
+          output.writeString(scale.ratio().toString());
+          output.writeEnum(scale.trackGauge());
+          writeAddress(scale.address(), output);
+          writeMetadata(scale.metadata(), output);
+        }
+
+        @Override
+        public @NotNull Scale decode(@NotNull final RecordInput input) {
+          return ScaleBuilder.builder()
+              .id(new ScaleId(input.readRequiredString()))
+              .name(input.readRequiredString())
+              .slug(new Slug(input.readRequiredString()))
+              .ratio(new BigDecimal(input.readRequiredString()))
+              .trackGauge(input.readEnum(TrackGauge.class))
+              .address(readAddress(input))
+              .metadata(readMetadata(input))
+              .build();
+        }
+      };
+
+  static final RecordCodec<CatalogItem> CATALOG_ITEM =
+      new RecordCodec<>() {
+        @Override
+        public void encode(@NotNull final CatalogItem item, @NotNull final RecordOutput output) {
+          output.writeString(item.id().value());
+          output.writeString(item.brandId().value());
+          output.writeString(item.scaleId().value());
+          output.writeString(item.itemNumber().value());
+          output.writeString(item.epoch().toString());
+          output.writeEnum(item.category());
+          output.writeEnum(item.powerMethod());
+          Integer count = item.count();
+          output.writeBoolean(count != null);
+          if (count != null) {
+            output.writeInt(count);
+          }
+          writeMetadata(item.metadata(), output);
+        }
+
+        @Override
+        public @NotNull CatalogItem decode(@NotNull final RecordInput input) {
+          return CatalogItemBuilder.builder()
+              .id(new CatalogItemId(input.readRequiredString()))
+              .brandId(new BrandId(input.readRequiredString()))
+              .scaleId(new ScaleId(input.readRequiredString()))
+              .itemNumber(new ItemNumber(input.readRequiredString()))
+              .epoch(Epoch.parse(input.readRequiredString()))
+              .category(input.readEnum(CatalogItemCategory.class))
+              .powerMethod(input.readEnum(PowerMethod.class))
+              .count(input.readBoolean() ? input.readInt() : null)
+              .metadata(readMetadata(input))
+              .build();
+        }
+      };
+
+  private CatalogCodecs() {}
+
+  private static void writeAddress(
+      @Nullable final Address address, @NotNull final RecordOutput output) {
+    if (address == null) {
+      output.writeByte(ABSENT);
+      return;
+    }
+
+    output.writeByte(PRESENT);
+    output.writeEnum(address.country());
+    output.writeString(address.city());
+    output.writeString(address.streetAddress());
+    output.writeString(address.extendedAddress());
+    output.writeString(address.region());
+    output.writeString(address.postalCode());
+  }
+
+  private static @Nullable Address readAddress(@NotNull final RecordInput input) {
+    if (input.readByte() == ABSENT) {
+      return null;
+    }
+
+    return AddressBuilder.builder()
+        .country(input.readEnum(CountryCode.class))
+        .city(input.readString())
+        .streetAddress(input.readString())
+        .extendedAddress(input.readString())
+        .region(input.readString())
+        .postalCode(input.readString())
+        .build();
+  }
+
+  private static void writeContactInfo(
+      @Nullable final ContactInfo contactInfo, @NotNull final RecordOutput output) {
+    if (contactInfo == null) {
+      output.writeByte(ABSENT);
+      return;
+    }
+
+    output.writeByte(PRESENT);
+    output.writeString(contactInfo.email());
+    output.writeString(contactInfo.phone());
+    URI websiteUrl = contactInfo.websiteUrl();
+    output.writeString(websiteUrl != null ? websiteUrl.toString() : null);
+  }
+
+  private static @Nullable ContactInfo readContactInfo(@NotNull final RecordInput input) {
+    if (input.readByte() == ABSENT) {
+      return null;
+    }
+
+    String email = input.readString();
+    String phone = input.readString();
+    String websiteUrl = input.readString();
+    return ContactInfoBuilder.builder()
+        .email(email)
+        .phone(phone)
+        .websiteUrl(websiteUrl != null ? URI.create(websiteUrl) : null)
+        .build();
+  }
+
+  private static void writeMetadata(
+      @NotNull final Metadata metadata, @NotNull final RecordOutput output) {
+    output.writeInt(metadata.version());
+    output.writeDateTime(metadata.createdAt());
+    output.writeDateTime(metadata.lastModifiedAt());
+  }
+
+  private static @NotNull Metadata readMetadata(@NotNull final RecordInput input) {
+    return MetadataBuilder.builder()
+        .version(input.readInt())
+        .createdAt(input.readDateTime())
+        .lastModifiedAt(input.readDateTime())
+        .build();
+  }
+
+  private static void writePeriodOfActivity(
+      @Nullable final RailwayPeriodOfActivity periodOfActivity,
+      @NotNull final RecordOutput output) {
+    switch (periodOfActivity) {
+      case null -> output.writeByte(ABSENT);
+      case RailwayPeriodOfActivity.ActiveRailway active -> {
+        output.writeByte(ACTIVE_RAILWAY);
+        output.writeLong(active.operatingSince().toEpochDay());
+      }
+      case RailwayPeriodOfActivity.InactiveRailway inactive -> {
+        output.writeByte(INACTIVE_RAILWAY);
+        output.writeLong(inactive.operatingSince().toEpochDay());
+        output.writeLong(inactive.operatingUntil().toEpochDay());
+      }
+    }
+  }
+
+  private static @Nullable RailwayPeriodOfActivity readPeriodOfActivity(
+      @NotNull final RecordInput input) {
+    return switch (input.readByte()) {
+      case ABSENT -> null;
+      case ACTIVE_RAILWAY ->
+          RailwayPeriodOfActivity.activeRailway(LocalDate.ofEpochDay(input.readLong()));
+      case INACTIVE_RAILWAY ->
+          RailwayPeriodOfActivity.inactiveRailway(
+              LocalDate.ofEpochDay(input.readLong()), LocalDate.ofEpochDay(input.readLong()));
+      default -> throw new IllegalStateException("Unknown railway period of activity");
+    };
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A change of a catalog entity, as recorded by the write model: the commands append their events to
+ * the {@link EventJournal} of the entity type, and the read models are projected from them.
+ *
+ * <p>Every event carries the whole state of the entity after the change; its metadata version tells
+ * the position of the change in the history of the entity.
+ *
+ * @param <T> the entity type
+ */
+public sealed interface CatalogEvent<T extends CatalogEntity> {
+  /**
+   * Returns the state of the entity after this event.
+   *
+   * @return the entity
+   */
+  @NotNull T entity();
+
+  /**
+   * The event of a new entity, or of an entity created again with the same id.
+   *
+   * @param entity the created entity
+   * @param <T> the entity type
+   */
+  record Created<T extends CatalogEntity>(@NotNull T entity) implements CatalogEvent<T> {
+    public Created {
+      Objects.requireNonNull(entity, "The entity cannot be null");
+    }
+  }
+
+  /**
+   * The event of a change to an existing entity.
+   *
+   * @param entity the entity after the change
+   * @param <T> the entity type
+   */
+  record Updated<T extends CatalogEntity>(@NotNull T entity) implements CatalogEvent<T> {
+    public Updated {
+      Objects.requireNonNull(entity, "The entity cannot be null");
+    }
+  }
+}
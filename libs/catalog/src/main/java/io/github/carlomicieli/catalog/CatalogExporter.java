@@ -0,0 +1,249 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.util.ChunkedEncoder;
+import jakarta.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Exports the whole catalog: the brands, the railway companies, the scales and the catalog items,
+ * in this order, each sorted by id.
+ *
+ * <p>The export walks the current snapshots of the repositories and encodes the entities one chunk
+ * at a time, when the chunk is requested: its memory use does not depend on the catalog size.
+ *
+ * <p>The binary format starts with the {@code TRNC} magic and a version byte. Then every entity is
+ * a record with its type (1 for brands, 2 for railways, 3 for scales and 4 for catalog items), the
+ * length of its payload as a big endian int, and the payload, in the format of the catalog logs. A
+ * {@code 0} byte ends the export.
+ */
+@Singleton
+public class CatalogExporter {
+  /** The media type of the binary format. */
+  public static final String BINARY_MEDIA_TYPE = "application/x-trains-catalog";
+
+  /** The default size of the chunks, in bytes. */
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private static final byte[] MAGIC = {'T', 'R', 'N', 'C'};
+  private static final byte VERSION = 1;
+  private static final byte END = 0;
+  private static final byte BRAND = 1;
+  private static final byte RAILWAY = 2;
+  private static final byte SCALE = 3;
+  private static final byte CATALOG_ITEM = 4;
+
+  private final BrandRepository brandRepository;
+  private final RailwayRepository railwayRepository;
+  private final ScaleRepository scaleRepository;
+  private final CatalogItemRepository catalogItemRepository;
+
+  public CatalogExporter(
+      final BrandRepository brandRepository,
+      final RailwayRepository railwayRepository,
+      final ScaleRepository scaleRepository,
+      final CatalogItemRepository catalogItemRepository) {
+    this.brandRepository = Objects.requireNonNull(brandRepository, "brandRepository is required");
+    this.railwayRepository =
+        Objects.requireNonNull(railwayRepository, "railwayRepository is required");
+    this.scaleRepository = Objects.requireNonNull(scaleRepository, "scaleRepository is required");
+    this.catalogItemRepository =
+        Objects.requireNonNull(catalogItemRepository, "catalogItemRepository is required");
+  }
+
+  /**
+   * Returns every entity of the catalog, from the current snapshots of the repositories.
+   *
+   * @return the catalog entities
+   */
+  @CheckReturnValue
+  public @NotNull Stream<CatalogEntity> entities() {
+    return Stream.<List<? extends CatalogEntity>>of(
+            brandRepository.findAll(),
+            railwayRepository.findAll(),
+            scaleRepository.findAll(),
+            catalogItemRepository.findAll())
+        .flatMap(List::stream);
+  }
+
+  /**
+   * Encodes the catalog in the binary format, lazily, in chunks of about the given size.
+   *
+   * @param chunkSize the size of the chunks, in bytes
+   * @return the chunks
+   */
+  @CheckReturnValue
+  public @NotNull Iterator<byte[]> binaryChunks(final int chunkSize) {
+    RecordOutput output = new RecordOutput(1024);
+    byte[] header = Arrays.copyOf(MAGIC, MAGIC.length + 1);
+    header[MAGIC.length] = VERSION;
+    return new ChunkedEncoder<CatalogEntity>(
+        entities().iterator(),
+        (entity, chunk) -> writeRecord(entity, output, chunk),
+        header,
+        new byte[] {END},
+        chunkSize);
+  }
+
+  /**
+   * Writes the catalog in the binary format.
+   *
+   * @param out the stream to write to, which is not closed
+   * @throws IOException if the catalog cannot be written
+   */
+  public void writeBinary(@NotNull final OutputStream out) throws IOException {
+    Iterator<byte[]> chunks = binaryChunks(DEFAULT_CHUNK_SIZE);
+    while (chunks.hasNext()) {
+      out.write(chunks.next());
+    }
+  }
+
+  /**
+   * Reads a catalog written in the binary format. The entities are decoded lazily, as the stream is
+   * consumed; a malformed or truncated export fails with an {@link UncheckedIOException}.
+   *
+   * @param in the stream to read from
+   * @return the catalog entities
+   * @throws IOException if the stream does not start with the header of the binary format
+   */
+  @CheckReturnValue
+  public static @NotNull Stream<CatalogEntity> readBinary(@NotNull final InputStream in)
+      throws IOException {
+    DataInputStream input = new DataInputStream(in);
+    byte[] magic = input.readNBytes(MAGIC.length);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("Not a catalog export");
+    }
+    int version = input.read();
+    if (version != VERSION) {
+      throw new IOException("Unsupported catalog export version: " + version);
+    }
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            new RecordIterator(input), Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  private static void writeRecord(
+      final CatalogEntity entity, final RecordOutput output, final ByteArrayOutputStream chunk) {
+    output.clear();
+    byte type =
+        switch (entity) {
+          case Brand brand -> {
+            CatalogCodecs.BRAND.encode(brand, output);
+            yield BRAND;
+          }
+          case Railway railway -> {
+            CatalogCodecs.RAILWAY.encode(railway, output);
+            yield RAILWAY;
+          }
+          case Scale scale -> {
+            CatalogCodecs.SCALE.encode(scale, output);
+            yield SCALE;
+          }
+          case CatalogItem catalogItem -> {
+            CatalogCodecs.CATALOG_ITEM.encode(catalogItem, output);
+            yield CATALOG_ITEM;
+          }
+        };
+    ByteBuffer payload = output.toByteBuffer();
+    int length = payload.remaining();
+    chunk.write(type);
+    chunk.write(length >>> 24);
+    chunk.write(length >>> 16);
+    chunk.write(length >>> 8);
+    chunk.write(length);
+    chunk.write(payload.array(), payload.arrayOffset() + payload.position(), length);
+  }
+
+  /** Decodes the records of a binary export, up to the end byte. */
+  private static final class RecordIterator implements Iterator<CatalogEntity> {
+    private final DataInputStream input;
+    private final RecordInput record = new RecordInput(ByteBuffer.allocate(0));
+    private @Nullable CatalogEntity next;
+    private boolean finished = false;
+
+    RecordIterator(final DataInputStream input) {
+      this.input = input;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !finished) {
+        next = read();
+      }
+      return next != null;
+    }
+
+    @Override
+    public CatalogEntity next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      CatalogEntity entity = next;
+      next = null;
+      return entity;
+    }
+
+    private @Nullable CatalogEntity read() {
+      try {
+        int type = input.read();
+        if (type == END) {
+          finished = true;
+          return null;
+        } else if (type == -1) {
+          throw new EOFException("The catalog export is truncated");
+        }
+        byte[] payload = input.readNBytes(input.readInt());
+        record.reset(ByteBuffer.wrap(payload));
+        return switch (type) {
+          case BRAND -> CatalogCodecs.BRAND.decode(record);
+          case RAILWAY -> CatalogCodecs.RAILWAY.decode(record);
+          case SCALE -> CatalogCodecs.SCALE.decode(record);
+          case CATALOG_ITEM -> CatalogCodecs.CATALOG_ITEM.decode(record);
+          default -> throw new IOException("Unknown record type: " + type);
+        };
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to read the catalog export", e);
+      }
+    }
+  }
+}
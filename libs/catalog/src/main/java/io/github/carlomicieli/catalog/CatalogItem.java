@@ -50,7 +50,7 @@ public record CatalogItem(
     @NotNull PowerMethod powerMethod,
     @Nullable Integer count,
     @NotNull Metadata metadata)
-    implements CatalogItemBuilder.With {
+    implements CatalogEntity, CatalogItemBuilder.With {
   public CatalogItem {
     Objects.requireNonNull(id, "Catalog item id cannot be null");
     Objects.requireNonNull(brandId, "Brand id cannot be null");
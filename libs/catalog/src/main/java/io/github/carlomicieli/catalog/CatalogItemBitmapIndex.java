@@ -0,0 +1,251 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.roaringbitmap.BatchIterator;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * The faceted search index of the catalog items.
+ *
+ * <p>Every item gets a dense ordinal when it is first indexed, and each value of each facet keeps a
+ * compressed bitmap of the ordinals of the items with that value. A search is a union of the
+ * bitmaps of the values selected for a facet, intersected across the facets. The matching items are
+ * listed in ordinal order.
+ *
+ * <p>The facet counts are the cardinalities of the intersections of the matches with the value
+ * bitmaps, which costs a pass over the containers of every value. When the matches are few compared
+ * to the values of a facet, they are counted one by one instead, reading the value of each item
+ * from a column of value codes indexed by ordinal.
+ *
+ * <p>Bitmaps are not thread safe: searches share a read lock, updates take the write lock.
+ */
+final class CatalogItemBitmapIndex {
+  /**
+   * The number of matches, per facet value, below which counting the matches one by one is cheaper
+   * than intersecting them with every value bitmap: an intersection walks up to 1024 words for each
+   * of the 65536-wide chunks the matches span.
+   */
+  private static final int SCAN_THRESHOLD_PER_VALUE = 2048;
+
+  private static final int BATCH_SIZE = 256;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<CatalogItemId, Integer> ordinals = new HashMap<>();
+  private final List<CatalogItem> items = new ArrayList<>();
+  private final RoaringBitmap all = new RoaringBitmap();
+  private final Map<CatalogItemFacet, Column> columns = new EnumMap<>(CatalogItemFacet.class);
+
+  CatalogItemBitmapIndex() {
+    for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+      columns.put(facet, new Column());
+    }
+  }
+
+  /**
+   * Indexes a catalog item, replacing the previous version of the item with the same id.
+   *
+   * @param item the catalog item
+   */
+  void put(@NotNull final CatalogItem item) {
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinals.get(item.id());
+      boolean replace = ordinal != null;
+      if (replace) {
+        items.set(ordinal, item);
+      } else {
+        ordinal = items.size();
+        ordinals.put(item.id(), ordinal);
+        items.add(item);
+        all.add(ordinal);
+      }
+      for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+        columns.get(facet).set(ordinal, facet.valueOf(item), replace);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the catalog items.
+   *
+   * @param query the search
+   * @param after the id of the last item in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of items to return
+   * @return the matching items, in the order they were first indexed, and the facet counts
+   * @throws IllegalArgumentException if {@code after} is not an indexed item or the limit is not
+   *     positive
+   */
+  @CheckReturnValue
+  @NotNull CatalogItemSearchResult search(
+      @NotNull final CatalogItemQuery query, @Nullable final CatalogItemId after, final int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+
+    lock.readLock().lock();
+    try {
+      Map<CatalogItemFacet, RoaringBitmap> selections = new EnumMap<>(CatalogItemFacet.class);
+      for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+        Set<String> values = query.values(facet);
+        if (!values.isEmpty()) {
+          selections.put(facet, columns.get(facet).union(values));
+        }
+      }
+
+      RoaringBitmap matches = intersection(selections, null);
+      Map<CatalogItemFacet, Map<String, Integer>> counts = new EnumMap<>(CatalogItemFacet.class);
+      for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+        RoaringBitmap base =
+            selections.containsKey(facet) ? intersection(selections, facet) : matches;
+        counts.put(facet, columns.get(facet).counts(base, base == all));
+      }
+      return new CatalogItemSearchResult(
+          matches.getCardinality(), page(matches, after, limit), counts);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Intersects the selections of all the facets but {@code excluded}. The result may be one of the
+   * index bitmaps, and must not be modified.
+   */
+  private RoaringBitmap intersection(
+      final Map<CatalogItemFacet, RoaringBitmap> selections,
+      @Nullable final CatalogItemFacet excluded) {
+    List<RoaringBitmap> required = new ArrayList<>(selections.size());
+    selections.forEach(
+        (facet, selection) -> {
+          if (facet != excluded) {
+            required.add(selection);
+          }
+        });
+    return switch (required.size()) {
+      case 0 -> all;
+      case 1 -> required.getFirst();
+      default -> FastAggregation.and(required.iterator());
+    };
+  }
+
+  private List<CatalogItem> page(
+      final RoaringBitmap matches, @Nullable final CatalogItemId after, final int limit) {
+    PeekableIntIterator iterator = matches.getIntIterator();
+    if (after != null) {
+      Integer ordinal = ordinals.get(after);
+      if (ordinal == null) {
+        throw new IllegalArgumentException("Unknown catalog item: " + after);
+      }
+      iterator.advanceIfNeeded(ordinal + 1);
+    }
+    List<CatalogItem> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+    while (iterator.hasNext() && page.size() < limit) {
+      page.add(items.get(iterator.next()));
+    }
+    return page;
+  }
+
+  /**
+   * The values of a facet: a dictionary of value codes, their bitmaps and the code of each item.
+   */
+  private static final class Column {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<RoaringBitmap> bitmaps = new ArrayList<>();
+    private int[] codeOf = new int[1024];
+
+    void set(final int ordinal, final String value, final boolean replace) {
+      Integer code = codes.get(value);
+      if (code == null) {
+        code = values.size();
+        codes.put(value, code);
+        values.add(value);
+        bitmaps.add(new RoaringBitmap());
+      }
+      if (replace) {
+        bitmaps.get(codeOf[ordinal]).remove(ordinal);
+      } else if (ordinal == codeOf.length) {
+        codeOf = Arrays.copyOf(codeOf, codeOf.length * 2);
+      }
+      codeOf[ordinal] = code;
+      bitmaps.get(code).add(ordinal);
+    }
+
+    RoaringBitmap union(final Set<String> selected) {
+      List<RoaringBitmap> union = new ArrayList<>(selected.size());
+      for (String value : selected) {
+        Integer code = codes.get(value);
+        if (code != null) {
+          union.add(bitmaps.get(code));
+        }
+      }
+      return union.size() == 1 ? union.getFirst() : FastAggregation.or(union.iterator());
+    }
+
+    Map<String, Integer> counts(final RoaringBitmap base, final boolean all) {
+      int[] counts = new int[values.size()];
+      if (all) {
+        for (int code = 0; code < counts.length; code++) {
+          counts[code] = bitmaps.get(code).getCardinality();
+        }
+      } else if (base.getLongCardinality() < (long) counts.length * SCAN_THRESHOLD_PER_VALUE) {
+        BatchIterator iterator = base.getBatchIterator();
+        int[] batch = new int[BATCH_SIZE];
+        while (iterator.hasNext()) {
+          int size = iterator.nextBatch(batch);
+          for (int i = 0; i < size; i++) {
+            counts[codeOf[batch[i]]]++;
+          }
+        }
+      } else {
+        for (int code = 0; code < counts.length; code++) {
+          counts[code] = RoaringBitmap.andCardinality(base, bitmaps.get(code));
+        }
+      }
+
+      Map<String, Integer> valueCounts = new TreeMap<>();
+      for (int code = 0; code < counts.length; code++) {
+        if (counts[code] > 0) {
+          valueCounts.put(values.get(code), counts[code]);
+        }
+      }
+      return Collections.unmodifiableMap(valueCounts);
+    }
+  }
+}
@@ -20,6 +20,8 @@
  */
 package io.github.carlomicieli.catalog;
 
+import org.jetbrains.annotations.NotNull;
+
 /** The catalog item categories */
 public enum CatalogItemCategory {
   ELECTRIC_MULTIPLE_UNITS,
@@ -29,4 +31,20 @@ public enum CatalogItemCategory {
   RAILCARS,
   STARTER_SETS,
   TRAIN_SETS;
+
+  /**
+   * Parses a catalog item category, ignoring the case.
+   *
+   * @param value the catalog item category name
+   * @return the catalog item category
+   * @throws IllegalArgumentException if the value is not a valid catalog item category
+   */
+  public static @NotNull CatalogItemCategory parse(@NotNull final String value) {
+    for (CatalogItemCategory candidate : values()) {
+      if (candidate.name().equalsIgnoreCase(value)) {
+        return candidate;
+      }
+    }
+    throw new IllegalArgumentException("Invalid catalog item category value: " + value);
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public sealed interface CatalogItemCommand<R> {
+  /**
+   * Creates a new catalog item.
+   *
+   * @param brand the brand name
+   * @param itemNumber the item number, unique for the brand
+   * @param scale the scale name
+   * @param epoch the epoch
+   * @param category the item category
+   * @param powerMethod the power method
+   * @param count the number of pieces in the item
+   */
+  record CreateCatalogItem(
+      @NotNull String brand,
+      @NotNull String itemNumber,
+      @NotNull String scale,
+      @NotNull String epoch,
+      @NotNull String category,
+      @NotNull String powerMethod,
+      @Nullable Integer count)
+      implements CatalogItemCommand<CatalogItemId> {}
+
+  /**
+   * The command to find a catalog item by its unique identifier.
+   *
+   * @param id the unique identifier
+   */
+  record FindCatalogItemById(@NotNull CatalogItemId id)
+      implements CatalogItemCommand<Optional<CatalogItem>> {}
+
+  /**
+   * The command to find the catalog items matching a filter, sorted by id, one page at a time.
+   *
+   * @param filter the criteria the catalog items must match
+   * @param after the id of the last catalog item in the previous page, or {@code null} for the
+   *     first page
+   * @param limit the maximum number of catalog items to return
+   */
+  record FindCatalogItems(
+      @NotNull CatalogItemFilter filter, @Nullable CatalogItemId after, int limit)
+      implements CatalogItemCommand<List<CatalogItem>> {
+    public FindCatalogItems {
+      Objects.requireNonNull(filter, "The filter cannot be null");
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+
+    public FindCatalogItems() {
+      this(CatalogItemFilter.ALL, null, Integer.MAX_VALUE);
+    }
+  }
+
+  /**
+   * The command to search the catalog items, one page at a time, counting the matches for every
+   * facet value.
+   *
+   * @param query the search
+   * @param after the id of the last catalog item in the previous page, or {@code null} for the
+   *     first page
+   * @param limit the maximum number of catalog items to return
+   */
+  record SearchCatalogItems(
+      @NotNull CatalogItemQuery query, @Nullable CatalogItemId after, int limit)
+      implements CatalogItemCommand<CatalogItemSearchResult> {
+    public SearchCatalogItems {
+      Objects.requireNonNull(query, "The query cannot be null");
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+  }
+
+  /**
+   * The command to find the version of the catalog items, which changes whenever catalog items are
+   * saved.
+   *
+   * @see CatalogItemRepository#version()
+   */
+  record FindCatalogItemsVersion() implements CatalogItemCommand<Long> {}
+}
@@ -0,0 +1,94 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Singleton;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+@Singleton
+public class CatalogItemCommandHandler {
+  private final CatalogItemRepository catalogItemRepository;
+  private final Clock clock;
+  private final CommandMetrics metrics;
+
+  public CatalogItemCommandHandler(
+      @NotNull final CatalogItemRepository catalogItemRepository,
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
+    this.catalogItemRepository =
+        Objects.requireNonNull(catalogItemRepository, "catalogItemRepository must not be null");
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    this.metrics =
+        new CommandMetrics(
+            Objects.requireNonNull(meterRegistry, "meterRegistry must not be null"),
+            "catalog-items");
+    metrics.repositorySize("catalog-items", catalogItemRepository, CatalogItemRepository::size);
+  }
+
+  @CheckReturnValue
+  public <R> @NotNull R handle(@NotNull final CatalogItemCommand<R> command) {
+    return metrics.record(command, () -> dispatch(command));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> R dispatch(final CatalogItemCommand<R> command) {
+    switch (command) {
+      case CatalogItemCommand.CreateCatalogItem createCatalogItem -> {
+        CatalogItem catalogItem =
+            CatalogItemBuilder.builder()
+                .id(CatalogItemId.from(createCatalogItem.brand(), createCatalogItem.itemNumber()))
+                .brandId(BrandId.fromName(createCatalogItem.brand()))
+                .scaleId(ScaleId.fromName(createCatalogItem.scale()))
+                .itemNumber(new ItemNumber(createCatalogItem.itemNumber()))
+                .epoch(Epoch.parse(createCatalogItem.epoch()))
+                .category(CatalogItemCategory.parse(createCatalogItem.category()))
+                .powerMethod(PowerMethod.parse(createCatalogItem.powerMethod()))
+                .count(createCatalogItem.count())
+                .metadata(Metadata.createdAt(ZonedDateTime.now(clock)))
+                .build();
+        return (R) catalogItemRepository.save(catalogItem);
+      }
+      case CatalogItemCommand.FindCatalogItemById findCatalogItemById -> {
+        return (R) catalogItemRepository.findById(findCatalogItemById.id());
+      }
+      case CatalogItemCommand.FindCatalogItems findCatalogItems -> {
+        return (R)
+            catalogItemRepository.findAll(
+                findCatalogItems.filter(), findCatalogItems.after(), findCatalogItems.limit());
+      }
+      case CatalogItemCommand.SearchCatalogItems searchCatalogItems -> {
+        return (R)
+            catalogItemRepository.search(
+                searchCatalogItems.query(), searchCatalogItems.after(), searchCatalogItems.limit());
+      }
+      case CatalogItemCommand.FindCatalogItemsVersion findCatalogItemsVersion -> {
+        return (R) Long.valueOf(catalogItemRepository.version());
+      }
+      case null, default -> throw new IllegalArgumentException("Unknown command: " + command);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/** The catalog item fields the search results are counted by. */
+public enum CatalogItemFacet {
+  BRAND(item -> item.brandId().value()),
+  SCALE(item -> item.scaleId().value()),
+  EPOCH(item -> item.epoch().toString()),
+  CATEGORY(item -> item.category().name()),
+  POWER_METHOD(item -> item.powerMethod().name());
+
+  private final Function<CatalogItem, String> valueOf;
+
+  CatalogItemFacet(final Function<CatalogItem, String> valueOf) {
+    this.valueOf = valueOf;
+  }
+
+  /**
+   * Returns the value of this facet for a catalog item, as it is reported in the facet counts.
+   *
+   * @param item the catalog item
+   * @return the facet value
+   */
+  @CheckReturnValue
+  public @NotNull String valueOf(@NotNull final CatalogItem item) {
+    return valueOf.apply(item);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link CatalogItemRepository} persisted to an append-only log, {@code catalog-items.log} in the
+ * directory set by the {@code catalog.store.directory} property. The secondary and the faceted
+ * search indexes are kept in memory and rebuilt when the log is loaded. The directory is locked by
+ * a {@link StoreLock} before the log is opened.
+ */
+@Singleton
+@Requires(property = FileStore.DIRECTORY_PROPERTY)
+public final class CatalogItemFileRepository implements CatalogItemRepository, AutoCloseable {
+  private final FileStore<CatalogItemId, CatalogItem> catalogItems;
+  private final CatalogItemIndexes indexes = new CatalogItemIndexes();
+  private final CatalogItemBitmapIndex bitmapIndex = new CatalogItemBitmapIndex();
+
+  public CatalogItemFileRepository(@NotNull final String directory) {
+    this(Path.of(directory));
+  }
+
+  @Inject
+  CatalogItemFileRepository(@NotNull final StoreLock storeLock) {
+    this(storeLock.directory());
+  }
+
+  private CatalogItemFileRepository(@NotNull final Path directory) {
+    this.catalogItems =
+        new FileStore<>(
+            directory.resolve("catalog-items.log"), CatalogItem::id, CatalogCodecs.CATALOG_ITEM);
+    catalogItems.forEach(indexes::add);
+    catalogItems.values().forEach(bitmapIndex::put);
+  }
+
+  @Override
+  public synchronized @NotNull CatalogItemId save(@NotNull final CatalogItem catalogItem) {
+    Objects.requireNonNull(catalogItem, "catalogItem must not be null");
+    indexes.update(catalogItems.put(catalogItem), catalogItem);
+    bitmapIndex.put(catalogItem);
+    return catalogItem.id();
+  }
+
+  @Override
+  public @NotNull Optional<CatalogItem> findById(@NotNull final CatalogItemId id) {
+    return catalogItems.get(id);
+  }
+
+  @Override
+  public @NotNull List<CatalogItem> findAll() {
+    return catalogItems.values();
+  }
+
+  @Override
+  public int size() {
+    return catalogItems.size();
+  }
+
+  @Override
+  public long version() {
+    return catalogItems.version();
+  }
+
+  @Override
+  public @NotNull List<CatalogItem> findAll(@Nullable final CatalogItemId after, final int limit) {
+    return catalogItems.values(after, limit);
+  }
+
+  @Override
+  public @NotNull List<CatalogItem> findAll(
+      @NotNull final CatalogItemFilter filter,
+      @Nullable final CatalogItemId after,
+      final int limit) {
+    return filter.isEmpty()
+        ? catalogItems.values(after, limit)
+        : indexes.find(filter, after, limit, catalogItems::get);
+  }
+
+  @Override
+  public @NotNull CatalogItemSearchResult search(
+      @NotNull final CatalogItemQuery query, @Nullable final CatalogItemId after, final int limit) {
+    return bitmapIndex.search(query, after, limit);
+  }
+
+  /** Compacts the log, if most of its records are stale. */
+  @Scheduled(
+      fixedDelay = "${" + FileStore.COMPACTION_INTERVAL_PROPERTY + ":10m}",
+      initialDelay = "${" + FileStore.COMPACTION_INTERVAL_PROPERTY + ":10m}")
+  public void compact() {
+    catalogItems.compactIfNeeded();
+  }
+
+  @Override
+  @PreDestroy
+  public void close() {
+    catalogItems.close();
+  }
+}
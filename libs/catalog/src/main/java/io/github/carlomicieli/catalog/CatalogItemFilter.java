@@ -0,0 +1,76 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.soabase.recordbuilder.core.RecordBuilder;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The criteria to select catalog items: an item matches when it satisfies all the criteria that are
+ * set, the {@code null} ones match any item.
+ *
+ * @param brandId the brand of the items
+ * @param scaleId the scale of the items
+ * @param epoch the epoch of the items
+ * @param category the category of the items
+ * @param powerMethod the power method of the items
+ */
+@RecordBuilder
+public record CatalogItemFilter(
+    @Nullable BrandId brandId,
+    @Nullable ScaleId scaleId,
+    @Nullable Epoch epoch,
+    @Nullable CatalogItemCategory category,
+    @Nullable PowerMethod powerMethod) {
+  /** The filter matching every catalog item. */
+  public static final CatalogItemFilter ALL = new CatalogItemFilter(null, null, null, null, null);
+
+  /**
+   * Checks whether no criteria are set.
+   *
+   * @return {@code true} if this filter matches every catalog item
+   */
+  @CheckReturnValue
+  public boolean isEmpty() {
+    return brandId == null
+        && scaleId == null
+        && epoch == null
+        && category == null
+        && powerMethod == null;
+  }
+
+  /**
+   * Checks whether the given catalog item satisfies all the criteria.
+   *
+   * @param item the catalog item
+   * @return {@code true} if the item matches this filter
+   */
+  @CheckReturnValue
+  public boolean matches(@NotNull final CatalogItem item) {
+    return (brandId == null || brandId.equals(item.brandId()))
+        && (scaleId == null || scaleId.equals(item.scaleId()))
+        && (epoch == null || epoch.equals(item.epoch()))
+        && (category == null || category == item.category())
+        && (powerMethod == null || powerMethod == item.powerMethod());
+  }
+}
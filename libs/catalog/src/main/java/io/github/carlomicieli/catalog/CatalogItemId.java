@@ -26,13 +26,15 @@ import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
 /** A <strong>Catalog item ID</strong> is a unique identifier for a catalog item. */
-public record CatalogItemId(@NotNull String value) {
+public record CatalogItemId(@NotNull String value) implements Comparable<CatalogItemId> {
   private static final String NAMESPACE = "catalog-item";
 
   public CatalogItemId {
     Objects.requireNonNull(value, "The catalog item ID value cannot be null");
-    TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid catalog item ID value: " + value);
-    value = trn.toString();
+    if (!TRN.isCanonical(value, NAMESPACE)) {
+      TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid catalog item ID value: " + value);
+      value = trn.toString();
+    }
   }
 
   private CatalogItemId(@NotNull final TRN trn) {
@@ -53,6 +55,11 @@ public record CatalogItemId(@NotNull String value) {
     return new CatalogItemId(trn);
   }
 
+  @Override
+  public int compareTo(@NotNull final CatalogItemId other) {
+    return value.compareTo(other.value);
+  }
+
   @Override
   public String toString() {
     return value;
@@ -0,0 +1,128 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.Metadata;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An in-memory {@link CatalogItemRepository}, listing the catalog items sorted by id.
+ *
+ * <p>Writes are serialized, so that the secondary indexes are updated together with the store.
+ */
+@Singleton
+@Requires(missingProperty = FileStore.DIRECTORY_PROPERTY)
+public final class CatalogItemInMemoryRepository implements CatalogItemRepository {
+  private final SnapshotStore<CatalogItemId, CatalogItem> catalogItems =
+      new SnapshotStore<>(CatalogItem::id);
+  private final CatalogItemIndexes indexes = new CatalogItemIndexes();
+  private final CatalogItemBitmapIndex bitmapIndex = new CatalogItemBitmapIndex();
+
+  public CatalogItemInMemoryRepository() {
+    initCatalogItems().forEach(this::save);
+  }
+
+  @Override
+  public synchronized @NotNull CatalogItemId save(@NotNull final CatalogItem catalogItem) {
+    Objects.requireNonNull(catalogItem, "catalogItem must not be null");
+    indexes.update(catalogItems.put(catalogItem), catalogItem);
+    bitmapIndex.put(catalogItem);
+    return catalogItem.id();
+  }
+
+  @Override
+  public @NotNull Optional<CatalogItem> findById(@NotNull final CatalogItemId id) {
+    return catalogItems.get(id);
+  }
+
+  @Override
+  public @NotNull List<CatalogItem> findAll() {
+    return catalogItems.values();
+  }
+
+  @Override
+  public int size() {
+    return catalogItems.size();
+  }
+
+  @Override
+  public long version() {
+    return catalogItems.version();
+  }
+
+  @Override
+  public @NotNull List<CatalogItem> findAll(@Nullable final CatalogItemId after, final int limit) {
+    return catalogItems.values(after, limit);
+  }
+
+  @Override
+  public @NotNull List<CatalogItem> findAll(
+      @NotNull final CatalogItemFilter filter,
+      @Nullable final CatalogItemId after,
+      final int limit) {
+    return filter.isEmpty()
+        ? catalogItems.values(after, limit)
+        : indexes.find(filter, after, limit, catalogItems::get);
+  }
+
+  @Override
+  public @NotNull CatalogItemSearchResult search(
+      @NotNull final CatalogItemQuery query, @Nullable final CatalogItemId after, final int limit) {
+    return bitmapIndex.search(query, after, limit);
+  }
+
+  private static Stream<CatalogItem> initCatalogItems() {
+    return Stream.of(
+        catalogItem("Brand 1", "10001", "H0", Epoch.III, CatalogItemCategory.LOCOMOTIVES),
+        catalogItem("Brand 1", "10002", "H0", Epoch.IV, CatalogItemCategory.PASSENGER_CARS),
+        catalogItem("Brand 1", "10003", "N", Epoch.IV, CatalogItemCategory.LOCOMOTIVES),
+        catalogItem("Brand 2", "20001", "H0", Epoch.III, CatalogItemCategory.FREIGHT_CARS),
+        catalogItem("Brand 2", "20002", "H0", Epoch.V, CatalogItemCategory.LOCOMOTIVES),
+        catalogItem("Brand 3", "30001", "N", Epoch.V, CatalogItemCategory.RAILCARS));
+  }
+
+  private static CatalogItem catalogItem(
+      final String brand,
+      final String itemNumber,
+      final String scale,
+      final Epoch epoch,
+      final CatalogItemCategory category) {
+    return CatalogItemBuilder.builder()
+        .id(CatalogItemId.from(brand, itemNumber))
+        .brandId(BrandId.fromName(brand))
+        .scaleId(ScaleId.fromName(scale))
+        .itemNumber(new ItemNumber(itemNumber))
+        .epoch(epoch)
+        .category(category)
+        .powerMethod(PowerMethod.DC)
+        .count(1)
+        .metadata(Metadata.createdAt(ZonedDateTime.parse("2024-05-22T17:20:38.935152086Z")))
+        .build();
+  }
+}
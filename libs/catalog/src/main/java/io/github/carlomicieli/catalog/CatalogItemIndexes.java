@@ -0,0 +1,156 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The secondary indexes of the catalog items, on their brand, scale, epoch, category and power
+ * method.
+ *
+ * <p>A query only walks the ids of the most selective criterion, in id order, and checks the other
+ * criteria on the items read from the store: its cost depends on the number of items matching that
+ * criterion, not on the size of the catalog. A hash lookup and a few field comparisons per
+ * candidate are cheaper than probing the postings of the other criteria, that are skip lists sorted
+ * by id; the check also keeps the results consistent while the indexes trail the store.
+ */
+final class CatalogItemIndexes {
+  private static final Comparator<Candidates> BY_COUNT = Comparator.comparingInt(Candidates::count);
+
+  private final SecondaryIndex<BrandId, CatalogItemId> byBrand = new SecondaryIndex<>();
+  private final SecondaryIndex<ScaleId, CatalogItemId> byScale = new SecondaryIndex<>();
+  private final SecondaryIndex<Epoch, CatalogItemId> byEpoch = new SecondaryIndex<>();
+  private final SecondaryIndex<CatalogItemCategory, CatalogItemId> byCategory =
+      new SecondaryIndex<>();
+  private final SecondaryIndex<PowerMethod, CatalogItemId> byPowerMethod = new SecondaryIndex<>();
+
+  /**
+   * Indexes a catalog item, replacing the entries of its previous version.
+   *
+   * @param previous the previous version of the item, or {@code null} for a new item
+   * @param item the item to index
+   */
+  void update(@Nullable final CatalogItem previous, @NotNull final CatalogItem item) {
+    if (previous != null) {
+      remove(previous);
+    }
+    add(item);
+  }
+
+  /**
+   * Indexes a new catalog item.
+   *
+   * @param item the item to index
+   */
+  void add(@NotNull final CatalogItem item) {
+    CatalogItemId id = item.id();
+    byBrand.add(item.brandId(), id);
+    byScale.add(item.scaleId(), id);
+    byEpoch.add(item.epoch(), id);
+    byCategory.add(item.category(), id);
+    byPowerMethod.add(item.powerMethod(), id);
+  }
+
+  private void remove(@NotNull final CatalogItem item) {
+    CatalogItemId id = item.id();
+    byBrand.remove(item.brandId(), id);
+    byScale.remove(item.scaleId(), id);
+    byEpoch.remove(item.epoch(), id);
+    byCategory.remove(item.category(), id);
+    byPowerMethod.remove(item.powerMethod(), id);
+  }
+
+  /**
+   * Finds a page of the catalog items matching a filter, sorted by id.
+   *
+   * @param filter the filter, with at least one criterion set
+   * @param after the id of the last item in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of items to return
+   * @param lookup the function reading the items from the repository store
+   * @return the matching items
+   */
+  @CheckReturnValue
+  @NotNull List<CatalogItem> find(
+      @NotNull final CatalogItemFilter filter,
+      @Nullable final CatalogItemId after,
+      final int limit,
+      @NotNull final Function<CatalogItemId, Optional<CatalogItem>> lookup) {
+    if (filter.isEmpty()) {
+      throw new IllegalArgumentException("The filter must have at least one criterion");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+
+    Candidates smallest = Collections.min(candidates(filter), BY_COUNT);
+    if (smallest.count() == 0) {
+      return List.of();
+    }
+
+    NavigableSet<CatalogItemId> ids = smallest.ids();
+    List<CatalogItem> items = new ArrayList<>(Math.min(limit, smallest.count()));
+    for (CatalogItemId id : after != null ? ids.tailSet(after, false) : ids) {
+      Optional<CatalogItem> item = lookup.apply(id).filter(filter::matches);
+      if (item.isPresent()) {
+        items.add(item.get());
+        if (items.size() == limit) {
+          break;
+        }
+      }
+    }
+    return items;
+  }
+
+  private List<Candidates> candidates(final CatalogItemFilter filter) {
+    List<Candidates> candidates = new ArrayList<>(5);
+    if (filter.brandId() != null) {
+      candidates.add(Candidates.of(byBrand, filter.brandId()));
+    }
+    if (filter.scaleId() != null) {
+      candidates.add(Candidates.of(byScale, filter.scaleId()));
+    }
+    if (filter.epoch() != null) {
+      candidates.add(Candidates.of(byEpoch, filter.epoch()));
+    }
+    if (filter.category() != null) {
+      candidates.add(Candidates.of(byCategory, filter.category()));
+    }
+    if (filter.powerMethod() != null) {
+      candidates.add(Candidates.of(byPowerMethod, filter.powerMethod()));
+    }
+    return candidates;
+  }
+
+  private record Candidates(NavigableSet<CatalogItemId> ids, int count) {
+    static <K> Candidates of(final SecondaryIndex<K, CatalogItemId> index, final K key) {
+      return new Candidates(index.ids(key), index.count(key));
+    }
+  }
+}
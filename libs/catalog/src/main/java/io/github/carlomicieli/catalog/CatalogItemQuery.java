@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.soabase.recordbuilder.core.RecordBuilder;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A faceted search over the catalog items: an item matches when, for every facet with some values
+ * selected, it has one of those values. The values of a facet are alternatives (OR), the facets are
+ * all required (AND); a facet with no values selected matches any item.
+ *
+ * @param brandIds the selected brands
+ * @param scaleIds the selected scales
+ * @param epochs the selected epochs
+ * @param epochRanges the selected epoch ranges, the epochs in any of them are selected along with
+ *     {@code epochs}
+ * @param categories the selected categories
+ * @param powerMethods the selected power methods
+ */
+@RecordBuilder
+public record CatalogItemQuery(
+    @NotNull Set<BrandId> brandIds,
+    @NotNull Set<ScaleId> scaleIds,
+    @NotNull Set<Epoch> epochs,
+    @NotNull Set<EpochRange> epochRanges,
+    @NotNull Set<CatalogItemCategory> categories,
+    @NotNull Set<PowerMethod> powerMethods) {
+  /** The query matching every catalog item. */
+  public static final CatalogItemQuery ALL =
+      new CatalogItemQuery(Set.of(), Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+
+  public CatalogItemQuery {
+    brandIds = copyOf(brandIds);
+    scaleIds = copyOf(scaleIds);
+    epochs = copyOf(epochs);
+    epochRanges = copyOf(epochRanges);
+    categories = copyOf(categories);
+    powerMethods = copyOf(powerMethods);
+  }
+
+  /**
+   * Returns the values selected for a facet, in the form reported by {@link
+   * CatalogItemFacet#valueOf(CatalogItem)}.
+   *
+   * @param facet the facet
+   * @return the selected values, empty if the facet matches any item
+   */
+  @CheckReturnValue
+  public @NotNull Set<String> values(@NotNull final CatalogItemFacet facet) {
+    return switch (facet) {
+      case BRAND -> map(brandIds, BrandId::value);
+      case SCALE -> map(scaleIds, ScaleId::value);
+      case EPOCH -> epochValues();
+      case CATEGORY -> map(categories, CatalogItemCategory::name);
+      case POWER_METHOD -> map(powerMethods, PowerMethod::name);
+    };
+  }
+
+  private Set<String> epochValues() {
+    if (epochRanges.isEmpty()) {
+      return map(epochs, Epoch::toString);
+    }
+
+    int mask = 0;
+    for (EpochRange range : epochRanges) {
+      mask |= range.mask();
+    }
+    Set<String> values = new HashSet<>(map(epochs, Epoch::toString));
+    for (List<Epoch> group : List.of(Epoch.ALL, Epoch.COMBINED)) {
+      for (Epoch epoch : group) {
+        if ((epoch.mask() & mask) != 0) {
+          values.add(epoch.toString());
+        }
+      }
+    }
+    return Collections.unmodifiableSet(values);
+  }
+
+  private static <T> Set<T> copyOf(@Nullable final Set<T> values) {
+    return values == null ? Set.of() : Set.copyOf(values);
+  }
+
+  private static <T> Set<String> map(final Set<T> values, final Function<T, String> mapper) {
+    return values.stream().map(mapper).collect(Collectors.toUnmodifiableSet());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.List;
+import java.util.Optional;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A repository for {@link CatalogItem} entities, with secondary indexes on their brand, scale,
+ * epoch, category and power method.
+ */
+public interface CatalogItemRepository {
+  /**
+   * Saves a catalog item, replacing the item with the same id if it already exists.
+   *
+   * @param catalogItem the catalog item to save
+   * @return the unique identifier of the saved item
+   */
+  @CheckReturnValue
+  @NotNull CatalogItemId save(@NotNull final CatalogItem catalogItem);
+
+  /**
+   * Finds a catalog item by its unique identifier.
+   *
+   * @param id the unique identifier
+   * @return an {@link Optional} containing the catalog item, if found
+   */
+  @CheckReturnValue
+  @NotNull Optional<CatalogItem> findById(@NotNull final CatalogItemId id);
+
+  /**
+   * Finds all the catalog items.
+   *
+   * @return a list of all the catalog items
+   */
+  @CheckReturnValue
+  @NotNull List<CatalogItem> findAll();
+
+  /**
+   * Finds a page of catalog items, sorted by id, using keyset pagination.
+   *
+   * @param after the id of the last item in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of items to return
+   * @return a list of at most {@code limit} catalog items
+   */
+  @CheckReturnValue
+  @NotNull List<CatalogItem> findAll(@Nullable final CatalogItemId after, final int limit);
+
+  /**
+   * Finds a page of the catalog items matching a filter, sorted by id, using keyset pagination. The
+   * criteria are resolved through the secondary indexes, without scanning the whole catalog.
+   *
+   * @param filter the criteria the items must match
+   * @param after the id of the last item in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of items to return
+   * @return a list of at most {@code limit} catalog items
+   */
+  @CheckReturnValue
+  @NotNull List<CatalogItem> findAll(
+      @NotNull final CatalogItemFilter filter,
+      @Nullable final CatalogItemId after,
+      final int limit);
+
+  /**
+   * Searches the catalog items, counting the matches for every facet value.
+   *
+   * @param query the search
+   * @param after the id of the last item in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of items to return
+   * @return a page of the matching items, with the facet counts
+   */
+  @CheckReturnValue
+  @NotNull CatalogItemSearchResult search(
+      @NotNull final CatalogItemQuery query, @Nullable final CatalogItemId after, final int limit);
+
+  /**
+   * Returns the number of catalog items in the repository, without copying them.
+   *
+   * @return the number of catalog items
+   */
+  @CheckReturnValue
+  int size();
+
+  /**
+   * Returns the version of the repository content, which changes whenever catalog items are saved.
+   * Two equal versions of the same repository instance mean that nothing was saved in between.
+   *
+   * @return the content version
+   */
+  @CheckReturnValue
+  long version();
+}
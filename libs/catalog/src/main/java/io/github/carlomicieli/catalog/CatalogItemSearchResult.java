@@ -0,0 +1,49 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A page of the catalog items matching a search, with the facet counts.
+ *
+ * <p>The count of a facet value is the number of items that would match if that value were selected
+ * instead of the current selection for the same facet: the selection of a facet never narrows its
+ * own counts, so the alternatives stay visible.
+ *
+ * @param total the number of matching catalog items
+ * @param items the catalog items in this page
+ * @param facets the number of matching items for each value of each facet, values with no matches
+ *     are left out
+ */
+public record CatalogItemSearchResult(
+    int total,
+    @NotNull List<CatalogItem> items,
+    @NotNull Map<CatalogItemFacet, Map<String, Integer>> facets) {
+  public CatalogItemSearchResult {
+    items = List.copyOf(items);
+    facets = Collections.unmodifiableMap(new EnumMap<>(facets));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Property;
+import jakarta.inject.Named;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The journals of the brands, railways and scales, projected to their repositories.
+ *
+ * <p>The journals are stored in the directory set by the {@code catalog.store.directory} property,
+ * with a snapshot every {@code catalog.journal.snapshot-interval} events (10000 by default). When
+ * the directory is not set, they are kept in memory only. The directory is locked by a {@link
+ * StoreLock} before the journals are opened.
+ *
+ * <p>The journals are created on startup, so that their repositories are filled before any request
+ * reads them, whether through a command handler or directly.
+ */
+@Factory
+class CatalogJournals {
+  @Context
+  @Named("brands")
+  @Bean(preDestroy = "close")
+  EventJournal<BrandId, Brand> brands(
+      @NotNull final BrandRepository repository,
+      @Nullable final StoreLock storeLock,
+      @Property(name = EventJournal.SNAPSHOT_INTERVAL_PROPERTY, defaultValue = "10000")
+          final int snapshotInterval) {
+    return journal(
+        "brands",
+        Brand::id,
+        CatalogCodecs.BRAND,
+        new EventJournal.ReadModel<>(
+            repository::saveAll, repository::findById, repository::findAll),
+        storeLock,
+        snapshotInterval);
+  }
+
+  @Context
+  @Named("railways")
+  @Bean(preDestroy = "close")
+  EventJournal<RailwayId, Railway> railways(
+      @NotNull final RailwayRepository repository,
+      @Nullable final StoreLock storeLock,
+      @Property(name = EventJournal.SNAPSHOT_INTERVAL_PROPERTY, defaultValue = "10000")
+          final int snapshotInterval) {
+    return journal(
+        "railways",
+        Railway::id,
+        CatalogCodecs.RAILWAY,
+        new EventJournal.ReadModel<>(
+            repository::saveAll, repository::findById, repository::findAll),
+        storeLock,
+        snapshotInterval);
+  }
+
+  @Context
+  @Named("scales")
+  @Bean(preDestroy = "close")
+  EventJournal<ScaleId, Scale> scales(
+      @NotNull final ScaleRepository repository,
+      @Nullable final StoreLock storeLock,
+      @Property(name = EventJournal.SNAPSHOT_INTERVAL_PROPERTY, defaultValue = "10000")
+          final int snapshotInterval) {
+    return journal(
+        "scales",
+        Scale::id,
+        CatalogCodecs.SCALE,
+        new EventJournal.ReadModel<>(
+            repository::saveAll, repository::findById, repository::findAll),
+        storeLock,
+        snapshotInterval);
+  }
+
+  private static <ID extends Comparable<? super ID>, T extends CatalogEntity>
+      EventJournal<ID, T> journal(
+          final String name,
+          final Function<T, ID> idOf,
+          final RecordCodec<T> codec,
+          final EventJournal.ReadModel<ID, T> readModel,
+          @Nullable final StoreLock storeLock,
+          final int snapshotInterval) {
+    if (storeLock == null) {
+      return EventJournal.inMemory(name, idOf, readModel);
+    }
+    return EventJournal.open(storeLock.directory(), name, idOf, codec, snapshotInterval, readModel);
+  }
+}
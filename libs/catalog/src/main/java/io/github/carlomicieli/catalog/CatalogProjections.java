@@ -0,0 +1,64 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The state of the projections of the brand, railway and scale journals to their repositories.
+ *
+ * <p>A failed projection leaves its repository behind the journal for good, and the journal rejects
+ * every command from then on: only a restart, which replays the journal, recovers from it.
+ */
+@Singleton
+public final class CatalogProjections {
+  private final List<EventJournal<?, ?>> journals;
+
+  CatalogProjections(
+      @Named("brands") @NotNull final EventJournal<BrandId, Brand> brands,
+      @Named("railways") @NotNull final EventJournal<RailwayId, Railway> railways,
+      @Named("scales") @NotNull final EventJournal<ScaleId, Scale> scales) {
+    this.journals = List.of(brands, railways, scales);
+  }
+
+  /**
+   * Returns the exceptions that stopped the projections, keyed by journal name.
+   *
+   * @return the failed projections, empty when every projection is working
+   */
+  @CheckReturnValue
+  public @NotNull Map<String, RuntimeException> failures() {
+    Map<String, RuntimeException> failures = new LinkedHashMap<>();
+    for (EventJournal<?, ?> journal : journals) {
+      RuntimeException failure = journal.projectionFailure();
+      if (failure != null) {
+        failures.put(journal.name(), failure);
+      }
+    }
+    return failures;
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The meters published by a command handler.
+ *
+ * <p>Every command is timed by a {@code catalog.commands} timer, tagged with the handler name, the
+ * command type and its outcome ({@code success} or {@code error}). The timers publish the 50th,
+ * 95th and 99th percentiles and a latency histogram, their counts are the number of commands
+ * handled. The timers are created on the first command of each type and then looked up by class, so
+ * that the hot path never builds tags or goes through the registry.
+ */
+final class CommandMetrics {
+  static final String COMMANDS_TIMER = "catalog.commands";
+  static final String REPOSITORY_SIZE_GAUGE = "catalog.repository.size";
+  static final String INTERNER_HITS_GAUGE = "catalog.id.interner.hits";
+  static final String INTERNER_MISSES_GAUGE = "catalog.id.interner.misses";
+  static final String INTERNER_HIT_RATIO_GAUGE = "catalog.id.interner.hit.ratio";
+
+  private final MeterRegistry registry;
+  private final Clock clock;
+  private final String handler;
+  private final Map<Class<?>, Timers> timers = new ConcurrentHashMap<>();
+
+  CommandMetrics(@NotNull final MeterRegistry registry, @NotNull final String handler) {
+    this.registry = Objects.requireNonNull(registry, "registry must not be null");
+    this.clock = registry.config().clock();
+    this.handler = Objects.requireNonNull(handler, "handler must not be null");
+  }
+
+  /**
+   * Runs a command, recording its latency and outcome.
+   *
+   * <p>{@code null} commands are not timed, they are passed through and rejected by the handler.
+   *
+   * @param command the command being handled
+   * @param action the action handling the command
+   * @param <R> the result type
+   * @return the action result
+   */
+  <R> R record(@Nullable final Object command, @NotNull final Supplier<R> action) {
+    if (command == null) {
+      return action.get();
+    }
+
+    Timers commandTimers = timers.computeIfAbsent(command.getClass(), this::timersFor);
+    long start = clock.monotonicTime();
+    try {
+      R result = action.get();
+      commandTimers.success.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (RuntimeException ex) {
+      commandTimers.error.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+      throw ex;
+    }
+  }
+
+  /**
+   * Registers a {@code catalog.repository.size} gauge for the repository used by the handler.
+   *
+   * @param entity the name of the entities stored in the repository
+   * @param repository the repository
+   * @param size the function returning the number of entities in the repository
+   * @param <S> the repository type
+   */
+  <S> void repositorySize(
+      @NotNull final String entity,
+      @NotNull final S repository,
+      @NotNull final ToDoubleFunction<S> size) {
+    Gauge.builder(REPOSITORY_SIZE_GAUGE, repository, size)
+        .description("The number of entities stored in a catalog repository")
+        .tag("entity", entity)
+        .register(registry);
+  }
+
+  /**
+   * Registers the {@code catalog.id.interner.*} gauges for the cache interning the ids of the
+   * entities handled: the number of hits and misses, and the hit ratio.
+   *
+   * @param entity the name of the entities whose ids are interned
+   * @param stats the function returning the current statistics of the cache
+   */
+  void internerStats(
+      @NotNull final String entity, @NotNull final Supplier<IdInterner.Stats> stats) {
+    // the suppliers are method references nobody else holds, a weak reference would drop them
+    Gauge.builder(INTERNER_HITS_GAUGE, stats, s -> s.get().hits())
+        .description("The number of id lookups served from the interning cache")
+        .tag("entity", entity)
+        .strongReference(true)
+        .register(registry);
+    Gauge.builder(INTERNER_MISSES_GAUGE, stats, s -> s.get().misses())
+        .description("The number of id lookups that had to build a new id")
+        .tag("entity", entity)
+        .strongReference(true)
+        .register(registry);
+    Gauge.builder(INTERNER_HIT_RATIO_GAUGE, stats, s -> s.get().hitRatio())
+        .description("The fraction of id lookups served from the interning cache")
+        .tag("entity", entity)
+        .strongReference(true)
+        .register(registry);
+  }
+
+  private Timers timersFor(final Class<?> commandType) {
+    return new Timers(
+        timer(commandType.getSimpleName(), "success"), timer(commandType.getSimpleName(), "error"));
+  }
+
+  private Timer timer(final String command, final String outcome) {
+    return Timer.builder(COMMANDS_TIMER)
+        .description("The time spent handling catalog commands")
+        .tag("handler", handler)
+        .tag("command", command)
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private record Timers(Timer success, Timer error) {}
+}
@@ -22,6 +22,7 @@ package io.github.carlomicieli.catalog;
 
 import java.util.List;
 import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
@@ -47,33 +48,62 @@ import org.jetbrains.annotations.Unmodifiable;
  * will differ country to country.
  */
 public sealed interface Epoch {
-  Epoch I = new Single("I");
-  Epoch II = new Single("II");
-  Epoch IIa = new Single("IIa");
-  Epoch IIb = new Single("IIb");
-  Epoch III = new Single("III");
-  Epoch IIIa = new Single("IIIa");
-  Epoch IIIb = new Single("IIIb");
-  Epoch IV = new Single("IV");
-  Epoch IVa = new Single("IVa");
-  Epoch IVb = new Single("IVb");
-  Epoch V = new Single("V");
-  Epoch Va = new Single("Va");
-  Epoch Vb = new Single("Vb");
-  Epoch Vm = new Single("Vm");
-  Epoch VI = new Single("VI");
+  Epoch I = Single.I;
+  Epoch II = Single.II;
+  Epoch IIa = Single.IIa;
+  Epoch IIb = Single.IIb;
+  Epoch III = Single.III;
+  Epoch IIIa = Single.IIIa;
+  Epoch IIIb = Single.IIIb;
+  Epoch IV = Single.IV;
+  Epoch IVa = Single.IVa;
+  Epoch IVb = Single.IVb;
+  Epoch V = Single.V;
+  Epoch Va = Single.Va;
+  Epoch Vb = Single.Vb;
+  Epoch Vm = Single.Vm;
+  Epoch VI = Single.VI;
+
+  Epoch IV_V = new Multiple(IV, V);
+  Epoch V_VI = new Multiple(V, VI);
 
   @Unmodifiable
   List<Epoch> ALL = List.of(I, II, IIa, IIb, III, IIIa, IIIb, IV, IVa, IVb, V, Va, Vb, Vm, VI);
 
-  record Single(@NotNull String value) implements Epoch {
-    public Single {
-      Objects.requireNonNull(value, "Epoch value cannot be null");
-    }
+  /** The combined epochs, for the models produced across the transition between two epochs. */
+  @Unmodifiable List<Epoch> COMBINED = List.of(IV_V, V_VI);
+
+  /**
+   * Returns the epochs as a bitmask, with one bit for every single epoch in chronological order: a
+   * combined epoch has the bits of both its epochs.
+   *
+   * @return the bitmask
+   */
+  @CheckReturnValue
+  int mask();
+
+  enum Single implements Epoch {
+    I,
+    II,
+    IIa,
+    IIb,
+    III,
+    IIIa,
+    IIIb,
+    IV,
+    IVa,
+    IVb,
+    V,
+    Va,
+    Vb,
+    Vm,
+    VI;
+
+    private final int mask = 1 << ordinal();
 
     @Override
-    public String toString() {
-      return value;
+    public int mask() {
+      return mask;
     }
   }
 
@@ -83,6 +113,11 @@ public sealed interface Epoch {
       Objects.requireNonNull(second, "Second epoch value cannot be null");
     }
 
+    @Override
+    public int mask() {
+      return first.mask() | second.mask();
+    }
+
     @Override
     public String toString() {
       return first + "/" + second;
@@ -101,12 +136,12 @@ public sealed interface Epoch {
       case "IV" -> Epoch.IV;
       case "IVa" -> Epoch.IVa;
       case "IVb" -> Epoch.IVb;
-      case "IV/V" -> new Multiple(Epoch.IV, Epoch.V);
+      case "IV/V" -> Epoch.IV_V;
       case "V" -> Epoch.V;
       case "Va" -> Epoch.Va;
       case "Vb" -> Epoch.Vb;
       case "Vm" -> Epoch.Vm;
-      case "V/VI" -> new Multiple(Epoch.V, Epoch.VI);
+      case "V/VI" -> Epoch.V_VI;
       case "VI" -> Epoch.VI;
       default -> throw new IllegalArgumentException("Invalid epoch value: " + value);
     };
@@ -0,0 +1,100 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A range of epochs, from one epoch through another one (both included), in chronological order.
+ *
+ * <p>The range is held as the bitmask of the single epochs it spans, an epoch is in the range when
+ * the two masks overlap: a combined epoch, like {@code IV/V}, is included when any of its two
+ * epochs is.
+ *
+ * @param from the first epoch in the range
+ * @param to the last epoch in the range
+ */
+public record EpochRange(@NotNull Epoch from, @NotNull Epoch to) {
+  private static final String SEPARATOR = "..";
+
+  public EpochRange {
+    Objects.requireNonNull(from, "Epoch range start cannot be null");
+    Objects.requireNonNull(to, "Epoch range end cannot be null");
+    if (lowestBit(from) > highestBit(to)) {
+      throw new IllegalArgumentException("Invalid epoch range: " + from + SEPARATOR + to);
+    }
+  }
+
+  /**
+   * Returns the bitmask of the single epochs in this range.
+   *
+   * @return the bitmask
+   */
+  @CheckReturnValue
+  public int mask() {
+    return (-1 << lowestBit(from)) & (-1 >>> (Integer.SIZE - 1 - highestBit(to)));
+  }
+
+  /**
+   * Checks whether an epoch falls in this range.
+   *
+   * @param epoch the epoch
+   * @return {@code true} if the epoch, or any of its epochs when combined, is in this range
+   */
+  @CheckReturnValue
+  public boolean includes(@NotNull final Epoch epoch) {
+    return (epoch.mask() & mask()) != 0;
+  }
+
+  /**
+   * Parses an epoch range, in the {@code from..to} form; a single epoch is the range with that
+   * epoch only.
+   *
+   * @param value the string value
+   * @return the epoch range
+   * @throws IllegalArgumentException if the value is not a valid epoch range
+   */
+  public static @NotNull EpochRange parse(@NotNull final String value) {
+    int index = value.indexOf(SEPARATOR);
+    if (index < 0) {
+      Epoch epoch = Epoch.parse(value);
+      return new EpochRange(epoch, epoch);
+    }
+    return new EpochRange(
+        Epoch.parse(value.substring(0, index)),
+        Epoch.parse(value.substring(index + SEPARATOR.length())));
+  }
+
+  @Override
+  public String toString() {
+    return from + SEPARATOR + to;
+  }
+
+  private static int lowestBit(final Epoch epoch) {
+    return Integer.numberOfTrailingZeros(epoch.mask());
+  }
+
+  private static int highestBit(final Epoch epoch) {
+    return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(epoch.mask());
+  }
+}
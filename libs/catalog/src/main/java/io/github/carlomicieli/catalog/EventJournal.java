@@ -0,0 +1,664 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The event-sourced write model of an entity type.
+ *
+ * <p>The commands append their {@link CatalogEvent}s to the journal. The changed entities are
+ * projected to a {@link ReadModel}, like a repository, on a background thread: the events appended
+ * while a batch is projected are projected together in the next one, so that the read model has a
+ * single writer and follows the order of the journal. A command returns once its own events are
+ * projected, waiting outside of the journal lock, so that the other commands keep appending in the
+ * meantime: a write is visible to every query as soon as its command completes, and the queries
+ * read the read model directly, without ever waiting. The journal keeps no copy of the entities:
+ * the read model is the only in-memory state.
+ *
+ * <p>When the projection fails the read model misses some events, and it is never updated again:
+ * the journal then rejects every command, without appending its events, until the process is
+ * restarted and the journal replayed. The failure is reported by {@link #projectionFailure()}.
+ *
+ * <p>When the journal is opened from a directory, each event is written, with its sequence number,
+ * to the current segment: an {@link AppendOnlyLog} named {@code <name>-<first sequence>.journal},
+ * which survives a crash of the process as soon as the event is appended. Every {@code
+ * snapshotInterval} events a new segment is started, and the latest states are written in the
+ * background to {@code <name>.snapshot}, together with the sequence of the last event they include;
+ * the segments before the snapshot are then deleted. On startup the journal loads the snapshot and
+ * replays the segments written after it, so that both the replay time and the disk usage are
+ * bounded by the snapshot interval rather than by the whole history. The snapshot records are
+ * decoded in parallel by a {@link RecordReplay}.
+ *
+ * <p>A directory with the {@code <name>.log} of a {@link FileStore}, and no journal yet, is
+ * migrated: the entities in the log become the first snapshot, and the log is deleted.
+ *
+ * @param <ID> the entity id type
+ * @param <T> the entity type
+ */
+final class EventJournal<ID extends Comparable<? super ID>, T extends CatalogEntity>
+    implements Closeable {
+  /** The configuration property with the number of events between two snapshots. */
+  static final String SNAPSHOT_INTERVAL_PROPERTY = "catalog.journal.snapshot-interval";
+
+  private static final Logger LOG = LoggerFactory.getLogger(EventJournal.class);
+  private static final byte CREATED = 1;
+  private static final byte UPDATED = 2;
+  private static final Executor BACKGROUND = task -> Thread.ofVirtual().start(task);
+
+  private final @Nullable Path directory;
+  private final String name;
+  private final Function<T, ID> idOf;
+  private final @Nullable RecordCodec<T> codec;
+  private final int snapshotInterval;
+  private final ReadModel<ID, T> readModel;
+  private final RecordOutput output = new RecordOutput(512);
+  private @Nullable AppendOnlyLog segment;
+  private volatile long sequence;
+  private long snapshotSequence;
+  private CompletableFuture<Void> snapshot = CompletableFuture.completedFuture(null);
+
+  private final Object snapshotLock = new Object();
+  private long writtenSnapshotSequence = -1L;
+
+  private final Object projectionLock = new Object();
+  private List<Pending<T>> pending = new ArrayList<>();
+  private boolean projecting = false;
+  private volatile long projectedSequence;
+  private volatile @Nullable RuntimeException projectionFailure;
+
+  /**
+   * The read model of a journal.
+   *
+   * @param projection applies the changed entities, in the order of the journal
+   * @param findById finds the latest projected state of an entity
+   * @param findAll finds the latest projected state of all entities
+   * @param <ID> the entity id type
+   * @param <T> the entity type
+   */
+  record ReadModel<ID, T>(
+      @NotNull Consumer<List<T>> projection,
+      @NotNull Function<ID, Optional<T>> findById,
+      @NotNull Supplier<List<T>> findAll) {
+    ReadModel {
+      Objects.requireNonNull(projection, "projection must not be null");
+      Objects.requireNonNull(findById, "findById must not be null");
+      Objects.requireNonNull(findAll, "findAll must not be null");
+    }
+  }
+
+  private record Pending<T>(List<T> entities, long sequence) {}
+
+  private EventJournal(
+      @Nullable final Path directory,
+      @NotNull final String name,
+      @NotNull final Function<T, ID> idOf,
+      @Nullable final RecordCodec<T> codec,
+      final int snapshotInterval,
+      @NotNull final ReadModel<ID, T> readModel) {
+    if (snapshotInterval <= 0) {
+      throw new IllegalArgumentException("The snapshot interval must be positive");
+    }
+    this.directory = directory;
+    this.name = Objects.requireNonNull(name, "name must not be null");
+    this.idOf = Objects.requireNonNull(idOf, "idOf must not be null");
+    this.codec = codec;
+    this.snapshotInterval = snapshotInterval;
+    this.readModel = Objects.requireNonNull(readModel, "readModel must not be null");
+  }
+
+  /**
+   * Creates a journal kept in memory only, projected to a read model with its initial content.
+   *
+   * @param name the journal name
+   * @param idOf the function extracting the entity id
+   * @param readModel the read model
+   * @return the journal
+   */
+  @CheckReturnValue
+  static <ID extends Comparable<? super ID>, T extends CatalogEntity> @NotNull
+      EventJournal<ID, T> inMemory(
+          @NotNull final String name,
+          @NotNull final Function<T, ID> idOf,
+          @NotNull final ReadModel<ID, T> readModel) {
+    return new EventJournal<>(null, name, idOf, null, Integer.MAX_VALUE, readModel);
+  }
+
+  /**
+   * Opens (or creates) the journal with the given name in a directory, and projects the entities it
+   * contains to an empty read model, before returning.
+   *
+   * @param directory the journal directory
+   * @param name the journal name, the prefix of its files
+   * @param idOf the function extracting the entity id
+   * @param codec the entity codec
+   * @param snapshotInterval the number of events between two snapshots
+   * @param readModel the read model
+   * @return the journal
+   */
+  @CheckReturnValue
+  static <ID extends Comparable<? super ID>, T extends CatalogEntity> @NotNull
+      EventJournal<ID, T> open(
+          @NotNull final Path directory,
+          @NotNull final String name,
+          @NotNull final Function<T, ID> idOf,
+          @NotNull final RecordCodec<T> codec,
+          final int snapshotInterval,
+          @NotNull final ReadModel<ID, T> readModel) {
+    Objects.requireNonNull(directory, "directory must not be null");
+    Objects.requireNonNull(codec, "codec must not be null");
+    EventJournal<ID, T> journal =
+        new EventJournal<>(directory, name, idOf, codec, snapshotInterval, readModel);
+    try {
+      journal.load();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to open the journal " + name + " in " + directory, e);
+    }
+    return journal;
+  }
+
+  /**
+   * Appends a {@link CatalogEvent.Created} event for each of the given entities whose id is free,
+   * in order, and returns once they are projected. The ids are checked against the read model, once
+   * the events before them are projected, and no other event is appended between the check and the
+   * new events: an id is never created twice.
+   *
+   * @param entities the entities to create, with distinct ids
+   * @return the ids already taken by an existing entity, whose entities were not created
+   * @throws IllegalArgumentException if two entities have the same id
+   * @throws IllegalStateException if the projection failed
+   */
+  @CheckReturnValue
+  @NotNull Set<ID> create(@NotNull final List<T> entities) {
+    Set<ID> ids = new HashSet<>();
+    Set<ID> taken = new HashSet<>();
+    long at;
+    synchronized (this) {
+      awaitProjection(sequence);
+      List<CatalogEvent<T>> events = new ArrayList<>(entities.size());
+      for (T entity : entities) {
+        ID id = idOf.apply(entity);
+        if (!ids.add(id)) {
+          throw new IllegalArgumentException("Duplicate id: " + id);
+        }
+        if (readModel.findById().apply(id).isPresent()) {
+          taken.add(id);
+        } else {
+          events.add(new CatalogEvent.Created<>(entity));
+        }
+      }
+      at = appendLocked(events);
+    }
+    awaitProjection(at);
+    return taken;
+  }
+
+  /**
+   * Appends the given events to this journal as they are, in order, and returns once they are
+   * projected. Unlike {@link #create(List)}, it does not check that the created ids are free. A
+   * crash while appending keeps the events appended up to that point.
+   *
+   * @param events the events to append
+   * @return the sequence number of the last event
+   * @throws IllegalStateException if the projection failed
+   */
+  long append(@NotNull final List<? extends CatalogEvent<T>> events) {
+    long at;
+    synchronized (this) {
+      at = appendLocked(events);
+    }
+    awaitProjection(at);
+    return at;
+  }
+
+  /**
+   * Changes the latest state of an entity, appending an {@link CatalogEvent.Updated} event, and
+   * returns once it is projected. The current state is read from the read model, once the events
+   * before it are projected, and no other event is appended between reading the entity and
+   * appending its new state.
+   *
+   * @param id the entity id
+   * @param change the function returning the new state of the entity, with the same id
+   * @return the new state of the entity, or empty if no entity has the given id
+   * @throws IllegalStateException if the projection failed
+   */
+  @NotNull Optional<T> update(@NotNull final ID id, @NotNull final UnaryOperator<T> change) {
+    T updated;
+    long at;
+    synchronized (this) {
+      awaitProjection(sequence);
+      Optional<T> current = readModel.findById().apply(id);
+      if (current.isEmpty()) {
+        return Optional.empty();
+      }
+
+      updated = change.apply(current.get());
+      if (!idOf.apply(updated).equals(id)) {
+        throw new IllegalArgumentException("An update cannot change the entity id: " + id);
+      }
+      write(new CatalogEvent.Updated<>(updated));
+      at = sequence;
+      enqueue(List.of(updated));
+      snapshotIfNeeded();
+    }
+    awaitProjection(at);
+    return Optional.of(updated);
+  }
+
+  /**
+   * Waits until the events appended so far are projected to the read model. It returns immediately
+   * when the projection is up to date, as it always is once the commands that appended the events
+   * returned.
+   *
+   * @throws IllegalStateException if the projection failed
+   */
+  void awaitProjection() {
+    awaitProjection(sequence);
+  }
+
+  /**
+   * Returns the name of this journal.
+   *
+   * @return the journal name
+   */
+  @CheckReturnValue
+  @NotNull String name() {
+    return name;
+  }
+
+  /**
+   * Returns the exception that stopped the projection of this journal, if any.
+   *
+   * @return the projection failure, {@code null} while the projection is working
+   */
+  @CheckReturnValue
+  @Nullable RuntimeException projectionFailure() {
+    return projectionFailure;
+  }
+
+  /**
+   * Returns the sequence number of the last event appended to this journal.
+   *
+   * @return the last sequence number, {@code 0} if the journal is empty
+   */
+  @CheckReturnValue
+  long sequence() {
+    return sequence;
+  }
+
+  /**
+   * Starts a new segment and writes a snapshot of the latest states in the background, deleting the
+   * segments it covers. It does nothing for a journal kept in memory, or when no event was appended
+   * since the last snapshot.
+   *
+   * @return the completion of the snapshot
+   */
+  synchronized @NotNull CompletableFuture<Void> snapshot() {
+    if (segment == null || sequence == snapshotSequence) {
+      return snapshot;
+    }
+
+    // the read model is a consistent snapshot once it includes every event appended so far
+    long at = sequence;
+    awaitProjection(at);
+    List<T> values = readModel.findAll().get();
+    try {
+      segment.close();
+      segment = AppendOnlyLog.open(segmentPath(at + 1), ignored -> {});
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to start a new segment of the journal " + name, e);
+    }
+    snapshotSequence = at;
+    snapshot =
+        CompletableFuture.runAsync(() -> writeSnapshot(values, at), BACKGROUND)
+            .whenComplete(
+                (ignored, e) -> {
+                  if (e != null) {
+                    LOG.error("Unable to write the snapshot of the journal {}", name, e);
+                  }
+                });
+    return snapshot;
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      awaitProjection(sequence);
+    } catch (IllegalStateException e) {
+      LOG.warn("Closing the journal {} with a failed projection", name);
+    }
+    snapshot.exceptionally(e -> null).join();
+    if (segment != null) {
+      try {
+        segment.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to close the journal " + name, e);
+      }
+    }
+  }
+
+  private long appendLocked(final List<? extends CatalogEvent<T>> events) {
+    // the events appended after a failure would never be projected
+    failIfProjectionFailed();
+    List<T> changed = new ArrayList<>(events.size());
+    for (CatalogEvent<T> event : events) {
+      changed.add(write(event));
+    }
+    if (!changed.isEmpty()) {
+      enqueue(changed);
+      snapshotIfNeeded();
+    }
+    return sequence;
+  }
+
+  private @NotNull T write(@NotNull final CatalogEvent<T> event) {
+    T entity = event.entity();
+    if (segment != null && codec != null) {
+      output.clear();
+      output.writeByte(
+          switch (event) {
+            case CatalogEvent.Created<T> created -> CREATED;
+            case CatalogEvent.Updated<T> updated -> UPDATED;
+          });
+      output.writeLong(sequence + 1);
+      codec.encode(entity, output);
+      try {
+        segment.append(output.toByteBuffer());
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to append to the journal " + name, e);
+      }
+    }
+    sequence++;
+    return entity;
+  }
+
+  private void snapshotIfNeeded() {
+    if (segment != null && sequence - snapshotSequence >= snapshotInterval) {
+      snapshot();
+    }
+  }
+
+  private void enqueue(final List<T> changed) {
+    synchronized (projectionLock) {
+      pending.add(new Pending<>(changed, sequence));
+      if (!projecting) {
+        projecting = true;
+        Thread.ofVirtual().name("catalog-projection-" + name).start(this::project);
+      }
+    }
+  }
+
+  /** Projects the pending events in batches, until there are no more. */
+  private void project() {
+    while (true) {
+      List<Pending<T>> batch;
+      synchronized (projectionLock) {
+        // after a failure the read model is missing some events, and it is never updated again
+        if (pending.isEmpty() || projectionFailure != null) {
+          projecting = false;
+          return;
+        }
+        batch = pending;
+        pending = new ArrayList<>();
+      }
+
+      List<T> changed = new ArrayList<>();
+      batch.forEach(events -> changed.addAll(events.entities()));
+      RuntimeException failure = null;
+      try {
+        readModel.projection().accept(changed);
+      } catch (RuntimeException e) {
+        LOG.error("Unable to project {} events of the journal {}", changed.size(), name, e);
+        failure = e;
+      }
+      synchronized (projectionLock) {
+        if (failure == null) {
+          projectedSequence = batch.getLast().sequence();
+        } else {
+          projectionFailure = failure;
+        }
+        projectionLock.notifyAll();
+      }
+    }
+  }
+
+  private void awaitProjection(final long target) {
+    if (projectedSequence >= target) {
+      return;
+    }
+    synchronized (projectionLock) {
+      while (projectedSequence < target) {
+        failIfProjectionFailed();
+        try {
+          projectionLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted waiting for the journal " + name, e);
+        }
+      }
+    }
+  }
+
+  private void failIfProjectionFailed() {
+    RuntimeException failure = projectionFailure;
+    if (failure != null) {
+      throw new IllegalStateException("The projection of the journal " + name + " failed", failure);
+    }
+  }
+
+  private void load() throws IOException {
+    Files.createDirectories(directory);
+    long start = System.nanoTime();
+    // the entities are kept only until they are projected
+    Map<ID, T> entities = new HashMap<>();
+    Path snapshotPath = directory.resolve(name + ".snapshot");
+    Path legacyLog = directory.resolve(name + ".log");
+    List<Path> segments = segments();
+    if (Files.exists(snapshotPath)) {
+      readSnapshot(snapshotPath, entities);
+    } else if (segments.isEmpty() && Files.exists(legacyLog)) {
+      migrate(legacyLog, entities);
+    }
+
+    RecordInput input = new RecordInput(ByteBuffer.allocate(0));
+    Consumer<ByteBuffer> replay =
+        payload -> {
+          input.reset(payload);
+          input.readByte();
+          long eventSequence = input.readLong();
+          T entity = codec.decode(input);
+          if (eventSequence > snapshotSequence) {
+            entities.put(idOf.apply(entity), entity);
+            sequence = eventSequence;
+          }
+        };
+    for (int i = 0; i < segments.size(); i++) {
+      boolean last = i == segments.size() - 1;
+      // a segment is covered by the snapshot when the next one starts right after it
+      if (!last && firstSequence(segments.get(i + 1)) <= snapshotSequence + 1) {
+        Files.delete(segments.get(i));
+        continue;
+      }
+      AppendOnlyLog log = AppendOnlyLog.open(segments.get(i), replay);
+      if (last) {
+        segment = log;
+      } else {
+        log.close();
+      }
+    }
+    if (segment == null) {
+      segment = AppendOnlyLog.open(segmentPath(sequence + 1), ignored -> {});
+    }
+
+    if (!entities.isEmpty()) {
+      readModel.projection().accept(List.copyOf(entities.values()));
+    }
+    projectedSequence = sequence;
+    LOG.info(
+        "Loaded {} {} from the snapshot at event {} and {} later events in {} ms",
+        entities.size(),
+        name,
+        snapshotSequence,
+        sequence - snapshotSequence,
+        (System.nanoTime() - start) / 1_000_000L);
+  }
+
+  private void readSnapshot(final Path path, final Map<ID, T> entities) throws IOException {
+    RecordInput input = new RecordInput(ByteBuffer.allocate(0));
+    RecordReplay<T> replay = new RecordReplay<>(codec, Runtime.getRuntime().availableProcessors());
+    // the first record is the sequence of the last event in the snapshot
+    snapshotSequence = -1L;
+    AppendOnlyLog log =
+        AppendOnlyLog.open(
+            path,
+            payload -> {
+              if (snapshotSequence < 0) {
+                input.reset(payload);
+                snapshotSequence = input.readLong();
+              } else {
+                replay.accept(payload);
+              }
+            });
+    log.close();
+    if (snapshotSequence < 0) {
+      throw new IOException("The snapshot is empty: " + path);
+    }
+    for (T entity : replay.records()) {
+      entities.put(idOf.apply(entity), entity);
+    }
+    sequence = snapshotSequence;
+    writtenSnapshotSequence = snapshotSequence;
+  }
+
+  private void migrate(final Path path, final Map<ID, T> entities) throws IOException {
+    RecordInput input = new RecordInput(ByteBuffer.allocate(0));
+    AppendOnlyLog log =
+        AppendOnlyLog.open(
+            path,
+            payload -> {
+              input.reset(payload);
+              T entity = codec.decode(input);
+              entities.put(idOf.apply(entity), entity);
+            });
+    log.close();
+    writeSnapshot(List.copyOf(entities.values()), 0L);
+    Files.delete(path);
+    LOG.info("Migrated {} {} from {} to the journal", entities.size(), name, path);
+  }
+
+  private void writeSnapshot(final List<T> values, final long at) {
+    synchronized (snapshotLock) {
+      if (at <= writtenSnapshotSequence) {
+        return;
+      }
+
+      long start = System.nanoTime();
+      Path target = directory.resolve(name + ".snapshot");
+      Path temporary = directory.resolve(name + ".snapshot.tmp");
+      RecordOutput snapshotOutput = new RecordOutput(512);
+      try {
+        Files.deleteIfExists(temporary);
+        try (AppendOnlyLog log = AppendOnlyLog.open(temporary, ignored -> {})) {
+          snapshotOutput.writeLong(at);
+          log.append(snapshotOutput.toByteBuffer());
+          for (T value : values) {
+            snapshotOutput.clear();
+            codec.encode(value, snapshotOutput);
+            log.append(snapshotOutput.toByteBuffer());
+          }
+        }
+        Files.move(
+            temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // the segments before the snapshot are never replayed again
+        for (Path covered : segments()) {
+          if (firstSequence(covered) <= at) {
+            Files.delete(covered);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to write the snapshot " + target, e);
+      }
+      writtenSnapshotSequence = at;
+      LOG.info(
+          "Wrote the snapshot of {} {} at event {} in {} ms",
+          values.size(),
+          name,
+          at,
+          (System.nanoTime() - start) / 1_000_000L);
+    }
+  }
+
+  private List<Path> segments() throws IOException {
+    Pattern pattern = segmentPattern();
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> pattern.matcher(file.getFileName().toString()).matches())
+          .sorted(Comparator.comparingLong(this::firstSequence))
+          .toList();
+    }
+  }
+
+  private long firstSequence(final Path segment) {
+    Matcher matcher = segmentPattern().matcher(segment.getFileName().toString());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Not a segment of the journal " + name + ": " + segment);
+    }
+    return Long.parseLong(matcher.group(1));
+  }
+
+  private Pattern segmentPattern() {
+    return Pattern.compile(Pattern.quote(name) + "-(\\d{19})\\.journal");
+  }
+
+  private Path segmentPath(final long firstSequence) {
+    return directory.resolve(String.format("%s-%019d.journal", name, firstSequence));
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SnapshotStore} persisted to an {@link AppendOnlyLog}.
+ *
+ * <p>Every write is appended to the log before it is applied to the in-memory store; on startup the
+ * in-memory store is rebuilt replaying the log. Reads are served by the in-memory store only and
+ * never touch the file.
+ *
+ * <p>Each write of an entity appends a full copy of it, so the log is compacted, rewriting only the
+ * latest version of each entity, once at least half of its records are stale.
+ *
+ * <p>On more than one processor the records are decoded in parallel by a {@link RecordReplay}.
+ *
+ * @param <ID> the entity id type
+ * @param <T> the entity type
+ */
+public final class FileStore<ID extends Comparable<? super ID>, T> implements Closeable {
+  /** The configuration property with the directory of the catalog logs. */
+  public static final String DIRECTORY_PROPERTY = "catalog.store.directory";
+
+  /** The configuration property with the delay between two compaction checks. */
+  static final String COMPACTION_INTERVAL_PROPERTY = "catalog.store.compaction-interval";
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileStore.class);
+  private static final long MIN_STALE_RECORDS = 1024L;
+
+  private final SnapshotStore<ID, T> store;
+  private final RecordCodec<T> codec;
+  private final AppendOnlyLog log;
+  private final RecordOutput output = new RecordOutput(512);
+
+  FileStore(
+      @NotNull final Path path,
+      @NotNull final Function<T, ID> idOf,
+      @NotNull final RecordCodec<T> codec) {
+    this(path, idOf, codec, Runtime.getRuntime().availableProcessors());
+  }
+
+  FileStore(
+      @NotNull final Path path,
+      @NotNull final Function<T, ID> idOf,
+      @NotNull final RecordCodec<T> codec,
+      final int parallelism) {
+    Objects.requireNonNull(idOf, "idOf must not be null");
+    this.codec = Objects.requireNonNull(codec, "codec must not be null");
+    try {
+      Files.createDirectories(path.toAbsolutePath().getParent());
+      long start = System.nanoTime();
+      // the records are decoded first, to size the store index once
+      RecordReplay<T> replay = new RecordReplay<>(codec, parallelism);
+      this.log = AppendOnlyLog.open(path, replay);
+      List<T> records = replay.records();
+      this.store = new SnapshotStore<>(idOf, records.size());
+      records.forEach(store::put);
+      LOG.info(
+          "Loaded {} records ({} entities) from {} in {} ms",
+          records.size(),
+          store.size(),
+          path,
+          (System.nanoTime() - start) / 1_000_000L);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to open the log " + path, e);
+    }
+  }
+
+  @CheckReturnValue
+  @NotNull Optional<T> get(@NotNull final ID id) {
+    return store.get(id);
+  }
+
+  @CheckReturnValue
+  @NotNull List<T> values() {
+    return store.values();
+  }
+
+  @CheckReturnValue
+  @NotNull List<T> values(@Nullable final ID after, final int limit) {
+    return store.values(after, limit);
+  }
+
+  /**
+   * Performs the given action for each entity, in no particular order.
+   *
+   * @param action the action to perform
+   */
+  void forEach(@NotNull final Consumer<T> action) {
+    store.forEach(action);
+  }
+
+  @CheckReturnValue
+  int size() {
+    return store.size();
+  }
+
+  @CheckReturnValue
+  long version() {
+    return store.version();
+  }
+
+  /**
+   * Appends the given entity to the log and stores it, replacing the entity with the same id.
+   *
+   * @param entity the entity to store
+   * @return the entity previously stored with the same id, or {@code null}
+   */
+  synchronized @Nullable T put(@NotNull final T entity) {
+    Objects.requireNonNull(entity, "entity must not be null");
+    try {
+      log.append(encode(entity));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to append to the log", e);
+    }
+    return store.put(entity);
+  }
+
+  /**
+   * Appends the given entities to the log and stores them in one step, replacing the entities with
+   * the same ids. A crash while appending keeps the entities appended up to that point.
+   *
+   * @param batch the entities to store
+   * @return the entities previously stored with the same ids, or {@code null}s, in batch order
+   */
+  synchronized @NotNull List<@Nullable T> putAll(@NotNull final Collection<T> batch) {
+    batch.forEach(entity -> Objects.requireNonNull(entity, "entity must not be null"));
+    try {
+      for (T entity : batch) {
+        log.append(encode(entity));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to append to the log", e);
+    }
+    return store.putAll(batch);
+  }
+
+  /** Compacts the log, if at least half of its records are stale. */
+  synchronized void compactIfNeeded() {
+    long stale = log.records() - store.size();
+    if (stale >= MIN_STALE_RECORDS && stale >= store.size()) {
+      compact();
+    }
+  }
+
+  /** Rewrites the log with only the latest version of each entity. */
+  synchronized void compact() {
+    long records = log.records();
+    try {
+      log.rewrite(store.values().stream().map(this::encode));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to compact the log", e);
+    }
+    LOG.info("Compacted the log from {} to {} records", records, log.records());
+  }
+
+  @CheckReturnValue
+  synchronized long records() {
+    return log.records();
+  }
+
+  @Override
+  public void close() {
+    try {
+      log.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to close the log", e);
+    }
+  }
+
+  private @NotNull ByteBuffer encode(@NotNull final T entity) {
+    output.clear();
+    codec.encode(entity, output);
+    return output.toByteBuffer();
+  }
+}
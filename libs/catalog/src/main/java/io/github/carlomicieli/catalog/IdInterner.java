@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A bounded, thread-safe cache that maps a raw input to the canonical instance built from it.
+ *
+ * <p>The cache is a fixed-size, direct-mapped table: every key goes to exactly one slot, chosen by
+ * its hash code, and a miss simply overwrites whatever was in that slot. Reads and writes never
+ * lock, the memory used never grows past the configured capacity and the entries a workload keeps
+ * asking for stay cached, while the colliding ones keep evicting each other.
+ *
+ * <p>The factory must be a pure function: under contention two threads can build a value for the
+ * same key, and only one of the two instances is kept in the table.
+ *
+ * @param <K> the raw input type
+ * @param <V> the canonical instance type
+ */
+public final class IdInterner<K, V> {
+  private final Function<K, V> factory;
+  private final AtomicReferenceArray<Entry<K, V>> table;
+  private final int shift;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  IdInterner(final int capacity, @NotNull final Function<K, V> factory) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+    }
+    this.factory = Objects.requireNonNull(factory, "factory must not be null");
+    // at least two slots, a shift by 32 bits would be a no-op
+    int size = Math.max(2, Integer.highestOneBit(capacity));
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.table = new AtomicReferenceArray<>(size);
+    this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(size);
+  }
+
+  /**
+   * Returns the canonical instance for the given key, creating it on a cache miss.
+   *
+   * @param key the raw input
+   * @return the canonical instance
+   */
+  @CheckReturnValue
+  @NotNull V intern(@NotNull final K key) {
+    Objects.requireNonNull(key, "key must not be null");
+    // Fibonacci hashing: keys that only differ in their last characters have close hash codes,
+    // the multiplication spreads them over the whole table.
+    int index = (key.hashCode() * 0x9E3779B9) >>> shift;
+    Entry<K, V> entry = table.get(index);
+    if (entry != null && entry.key.equals(key)) {
+      hits.increment();
+      return entry.value;
+    }
+
+    misses.increment();
+    V value = factory.apply(key);
+    table.set(index, new Entry<>(key, value));
+    return value;
+  }
+
+  /**
+   * Returns the number of slots of this cache.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return table.length();
+  }
+
+  /**
+   * Returns a point-in-time view of the cache hits and misses.
+   *
+   * @return the cache statistics
+   */
+  @CheckReturnValue
+  public @NotNull Stats stats() {
+    return new Stats(hits.sum(), misses.sum());
+  }
+
+  /**
+   * The hit and miss counters of an {@link IdInterner}.
+   *
+   * @param hits the number of lookups served from the cache
+   * @param misses the number of lookups that had to build a new instance
+   */
+  public record Stats(long hits, long misses) {
+    /**
+     * Returns the fraction of lookups served from the cache, or {@code 0} when there were none.
+     *
+     * @return the hit ratio
+     */
+    public double hitRatio() {
+      long total = hits + misses;
+      return total == 0L ? 0.0 : (double) hits / total;
+    }
+  }
+
+  private record Entry<K, V>(@NotNull K key, @NotNull V value) {}
+}
@@ -20,9 +20,27 @@
  */
 package io.github.carlomicieli.catalog;
 
+import org.jetbrains.annotations.NotNull;
+
 /** The rolling stock power method */
 public enum PowerMethod {
   AC,
   DC,
   TRIX_EXPRESS;
+
+  /**
+   * Parses a power method, ignoring the case.
+   *
+   * @param value the power method name
+   * @return the power method
+   * @throws IllegalArgumentException if the value is not a valid power method
+   */
+  public static @NotNull PowerMethod parse(@NotNull final String value) {
+    for (PowerMethod candidate : values()) {
+      if (candidate.name().equalsIgnoreCase(value)) {
+        return candidate;
+      }
+    }
+    throw new IllegalArgumentException("Invalid power method value: " + value);
+  }
 }
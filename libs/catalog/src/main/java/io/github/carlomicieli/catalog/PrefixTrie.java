@@ -0,0 +1,377 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.slug.Slug;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable radix trie for typeahead suggestions over short texts, like names and abbreviations.
+ *
+ * <p>The texts are normalized with the {@link Slug} rules, so that lookups ignore case, accents and
+ * punctuation. A value is found by a prefix of any of its texts, or of the same texts starting from
+ * any of their words: {@code "Piko Spielwaren"} is suggested for both {@code "pi"} and {@code
+ * "spiel"}.
+ *
+ * <p>The trie is stored in a handful of flat arrays: the edge labels are ranges of a single {@code
+ * char[]}, and the children of a node are numbered consecutively and sorted by their first
+ * character. Every node keeps the {@value #MAX_SUGGESTIONS} most popular values below it, so that a
+ * lookup is a walk down the prefix and a copy of the suggestions of the node it ends in, whatever
+ * the number of values. Rebuilding is the only way to change the content.
+ *
+ * @param <T> the value type
+ */
+public final class PrefixTrie<T> {
+  /** The maximum number of suggestions for a single prefix. */
+  public static final int MAX_SUGGESTIONS = 16;
+
+  private static final int[] NO_SUGGESTIONS = new int[0];
+
+  private final Object[] values;
+  private final char[] labels;
+  private final int[] labelStarts;
+  private final int[] labelEnds;
+  private final int[] firstChildren;
+  private final int[] childCounts;
+  private final int[] suggestionStarts;
+  private final int[] suggestions;
+
+  /**
+   * A value to suggest, with the texts it is found by.
+   *
+   * @param value the value
+   * @param popularity how often the value is picked, the most popular values are suggested first
+   * @param texts the texts, like the name and the abbreviation, blank texts are ignored
+   * @param <T> the value type
+   */
+  public record Entry<T>(@NotNull T value, long popularity, @NotNull List<String> texts) {
+    public Entry {
+      Objects.requireNonNull(value, "The value cannot be null");
+      texts = List.copyOf(texts);
+    }
+  }
+
+  private PrefixTrie(
+      final Object[] values,
+      final char[] labels,
+      final int[] labelStarts,
+      final int[] labelEnds,
+      final int[] firstChildren,
+      final int[] childCounts,
+      final int[] suggestionStarts,
+      final int[] suggestions) {
+    this.values = values;
+    this.labels = labels;
+    this.labelStarts = labelStarts;
+    this.labelEnds = labelEnds;
+    this.firstChildren = firstChildren;
+    this.childCounts = childCounts;
+    this.suggestionStarts = suggestionStarts;
+    this.suggestions = suggestions;
+  }
+
+  /**
+   * Builds a trie from its entries. The values with the same popularity are suggested in the order
+   * of the entries.
+   *
+   * @param entries the entries
+   * @param <T> the value type
+   * @return the trie
+   */
+  @CheckReturnValue
+  public static <T> @NotNull PrefixTrie<T> of(@NotNull final List<Entry<T>> entries) {
+    // the values are numbered by rank, so that the best suggestions are the lowest numbers
+    List<Entry<T>> ranked = new ArrayList<>(entries);
+    ranked.sort(Comparator.comparingLong(Entry<T>::popularity).reversed());
+
+    List<Key> keys = new ArrayList<>();
+    Object[] values = new Object[ranked.size()];
+    for (int rank = 0; rank < values.length; rank++) {
+      Entry<T> entry = ranked.get(rank);
+      values[rank] = entry.value();
+      for (String key : keys(entry.texts())) {
+        keys.add(new Key(key, rank));
+      }
+    }
+    keys.sort(Comparator.comparing(Key::text).thenComparingInt(Key::rank));
+    return new Builder(keys).build(values);
+  }
+
+  /**
+   * Returns the most popular values with a text starting with the prefix, the most popular first.
+   *
+   * @param prefix the prefix
+   * @param limit the maximum number of values to return, up to {@value #MAX_SUGGESTIONS}
+   * @return the suggestions, empty if the prefix is blank or nothing starts with it
+   */
+  @CheckReturnValue
+  public @NotNull List<T> suggest(@NotNull final String prefix, final int limit) {
+    Objects.requireNonNull(prefix, "The prefix cannot be null");
+    if (limit <= 0) {
+      throw new IllegalArgumentException("The limit must be positive");
+    }
+
+    int node = find(Slug.slugify(prefix));
+    if (node < 0) {
+      return List.of();
+    }
+
+    int start = suggestionStarts[node];
+    int count = Math.min(suggestionStarts[node + 1] - start, limit);
+    List<T> result = new ArrayList<>(count);
+    for (int i = start; i < start + count; i++) {
+      @SuppressWarnings("unchecked")
+      T value = (T) values[suggestions[i]];
+      result.add(value);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of values in this trie.
+   *
+   * @return the number of values
+   */
+  @CheckReturnValue
+  public int size() {
+    return values.length;
+  }
+
+  private int find(final String key) {
+    if (key.isEmpty() || labelStarts.length == 0) {
+      return -1;
+    }
+
+    int node = 0;
+    int i = 0;
+    while (true) {
+      for (int p = labelStarts[node]; p < labelEnds[node]; p++, i++) {
+        if (i == key.length()) {
+          return node;
+        }
+        if (labels[p] != key.charAt(i)) {
+          return -1;
+        }
+      }
+      if (i == key.length()) {
+        return node;
+      }
+      node = child(node, key.charAt(i));
+      if (node < 0) {
+        return -1;
+      }
+    }
+  }
+
+  private int child(final int node, final char c) {
+    int low = firstChildren[node];
+    int high = low + childCounts[node] - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char first = labels[labelStarts[middle]];
+      if (first < c) {
+        low = middle + 1;
+      } else if (first > c) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  private static Set<String> keys(final List<String> texts) {
+    Set<String> keys = new LinkedHashSet<>();
+    for (String text : texts) {
+      if (text == null || text.isBlank()) {
+        continue;
+      }
+      String slug = Slug.slugify(text);
+      int start = 0;
+      while (true) {
+        keys.add(slug.substring(start));
+        int hyphen = slug.indexOf('-', start);
+        if (hyphen < 0) {
+          break;
+        }
+        start = hyphen + 1;
+      }
+    }
+    keys.remove("");
+    return keys;
+  }
+
+  private record Key(String text, int rank) {}
+
+  /** Lays out the nodes breadth first, so that the children of a node are numbered in a row. */
+  private static final class Builder {
+    private final List<Key> keys;
+    private final StringBuilder labels = new StringBuilder();
+    private int[] labelStarts = new int[16];
+    private int[] labelEnds = new int[16];
+    private int[] firstChildren = new int[16];
+    private int[] childCounts = new int[16];
+    private int[][] ranks = new int[16][];
+    private int nodes;
+
+    private record Pending(int node, int from, int to, int depth) {}
+
+    Builder(final List<Key> keys) {
+      this.keys = keys;
+    }
+
+    <T> PrefixTrie<T> build(final Object[] values) {
+      if (keys.isEmpty()) {
+        return new PrefixTrie<>(
+            values,
+            new char[0],
+            NO_SUGGESTIONS,
+            NO_SUGGESTIONS,
+            NO_SUGGESTIONS,
+            NO_SUGGESTIONS,
+            new int[] {0},
+            NO_SUGGESTIONS);
+      }
+
+      ArrayDeque<Pending> pending = new ArrayDeque<>();
+      pending.add(new Pending(allocate(), 0, keys.size(), 0));
+      while (!pending.isEmpty()) {
+        expand(pending.poll(), pending);
+      }
+
+      // children are numbered after their parents, so the suggestions can be merged bottom up
+      for (int node = nodes - 1; node >= 0; node--) {
+        int[] merged = ranks[node];
+        for (int child = firstChildren[node];
+            child < firstChildren[node] + childCounts[node];
+            child++) {
+          merged = merge(merged, ranks[child]);
+        }
+        ranks[node] = merged;
+      }
+
+      int[] suggestionStarts = new int[nodes + 1];
+      for (int node = 0; node < nodes; node++) {
+        suggestionStarts[node + 1] = suggestionStarts[node] + ranks[node].length;
+      }
+      int[] suggestions = new int[suggestionStarts[nodes]];
+      for (int node = 0; node < nodes; node++) {
+        System.arraycopy(ranks[node], 0, suggestions, suggestionStarts[node], ranks[node].length);
+      }
+
+      char[] chars = new char[labels.length()];
+      labels.getChars(0, chars.length, chars, 0);
+      return new PrefixTrie<>(
+          values,
+          chars,
+          Arrays.copyOf(labelStarts, nodes),
+          Arrays.copyOf(labelEnds, nodes),
+          Arrays.copyOf(firstChildren, nodes),
+          Arrays.copyOf(childCounts, nodes),
+          suggestionStarts,
+          suggestions);
+    }
+
+    private void expand(final Pending node, final ArrayDeque<Pending> pending) {
+      // the label runs to the longest prefix the keys of the node have in common
+      String first = keys.get(node.from()).text();
+      String last = keys.get(node.to() - 1).text();
+      int end = node.depth();
+      while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+        end++;
+      }
+      labelStarts[node.node()] = labels.length();
+      labels.append(first, node.depth(), end);
+      labelEnds[node.node()] = labels.length();
+
+      // the keys ending here sort first, the others are grouped by their next character
+      int from = node.from();
+      List<Integer> terminal = new ArrayList<>();
+      while (from < node.to() && keys.get(from).text().length() == end) {
+        terminal.add(keys.get(from).rank());
+        from++;
+      }
+      ranks[node.node()] = top(terminal);
+
+      firstChildren[node.node()] = nodes;
+      while (from < node.to()) {
+        char c = keys.get(from).text().charAt(end);
+        int to = from + 1;
+        while (to < node.to() && keys.get(to).text().charAt(end) == c) {
+          to++;
+        }
+        pending.add(new Pending(allocate(), from, to, end));
+        childCounts[node.node()]++;
+        from = to;
+      }
+    }
+
+    private int allocate() {
+      if (nodes == labelStarts.length) {
+        int capacity = nodes * 2;
+        labelStarts = Arrays.copyOf(labelStarts, capacity);
+        labelEnds = Arrays.copyOf(labelEnds, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        childCounts = Arrays.copyOf(childCounts, capacity);
+        ranks = Arrays.copyOf(ranks, capacity);
+      }
+      return nodes++;
+    }
+
+    private static int[] top(final List<Integer> ranks) {
+      return ranks.stream()
+          .mapToInt(Integer::intValue)
+          .sorted()
+          .distinct()
+          .limit(MAX_SUGGESTIONS)
+          .toArray();
+    }
+
+    /** Merges two sorted lists of ranks, without duplicates, up to the maximum suggestions. */
+    private static int[] merge(final int[] a, final int[] b) {
+      int[] merged = new int[Math.min(a.length + b.length, MAX_SUGGESTIONS)];
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      while (k < merged.length && (i < a.length || j < b.length)) {
+        int next;
+        if (j == b.length || (i < a.length && a[i] <= b[j])) {
+          next = a[i++];
+        } else {
+          next = b[j++];
+        }
+        if (k == 0 || merged[k - 1] != next) {
+          merged[k++] = next;
+        }
+      }
+      return k == merged.length ? merged : Arrays.copyOf(merged, k);
+    }
+  }
+}
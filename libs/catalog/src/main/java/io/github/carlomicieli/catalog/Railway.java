@@ -56,7 +56,8 @@ public record Railway(
     @Nullable Address address,
     @Nullable OrganizationEntityType organizationEntityType,
     @Nullable ContactInfo contactInfo,
-    @NotNull Metadata metadata) {
+    @NotNull Metadata metadata)
+    implements CatalogEntity {
   public Railway {
     Objects.requireNonNull(id, "The railway id cannot be null");
     Objects.requireNonNull(name, "The railway name cannot be null");
@@ -23,6 +23,7 @@ package io.github.carlomicieli.catalog;
 import io.github.carlomicieli.Address;
 import io.github.carlomicieli.ContactInfo;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -49,6 +50,38 @@ public sealed interface RailwayCommand<R> {
       @Nullable ContactInfo contactInfo)
       implements RailwayCommand<RailwayId> {}
 
+  /**
+   * Creates many railway companies at once: the railways are validated independently, and the valid
+   * ones are saved in one step.
+   *
+   * @param railways the railway companies to create
+   */
+  record CreateRailways(@NotNull List<CreateRailway> railways)
+      implements RailwayCommand<List<BatchResult<RailwayId>>> {
+    public CreateRailways {
+      railways = List.copyOf(railways);
+    }
+  }
+
+  /**
+   * The command to update an existing railway company: the railway keeps its id, and every other
+   * value is replaced. The id and the slug are derived from the name, so the new name can only
+   * differ from the current one by case, accents or punctuation.
+   *
+   * @param id the unique identifier
+   * @param railway the new values of the railway company
+   */
+  record UpdateRailway(@NotNull RailwayId id, @NotNull CreateRailway railway)
+      implements RailwayCommand<Optional<Railway>> {
+    public UpdateRailway {
+      Objects.requireNonNull(id, "The railway id cannot be null");
+      Objects.requireNonNull(railway, "The railway cannot be null");
+      if (!RailwayId.fromName(railway.name()).equals(id)) {
+        throw new IllegalArgumentException("The railway " + id + " cannot be renamed");
+      }
+    }
+  }
+
   /**
    * The command to find a railway company by its unique identifier.
    *
@@ -56,6 +89,48 @@ public sealed interface RailwayCommand<R> {
    */
   record FindRailwayById(@NotNull RailwayId id) implements RailwayCommand<Optional<Railway>> {}
 
-  /** The command to find all the railway companies. */
-  record FindAllRailways() implements RailwayCommand<List<Railway>> {}
+  /**
+   * The command to find all the railway companies, sorted by id, one page at a time.
+   *
+   * @param after the id of the last railway company in the previous page, or {@code null} for the
+   *     first page
+   * @param limit the maximum number of railway companies to return
+   */
+  record FindAllRailways(@Nullable RailwayId after, int limit)
+      implements RailwayCommand<List<Railway>> {
+    public FindAllRailways {
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+
+    public FindAllRailways() {
+      this(null, Integer.MAX_VALUE);
+    }
+  }
+
+  /**
+   * The command to find the version of the railway companies, which changes whenever railway
+   * companies are saved.
+   *
+   * @see RailwayRepository#version()
+   */
+  record FindRailwaysVersion() implements RailwayCommand<Long> {}
+
+  /**
+   * The command to search the railway companies by name or abbreviation, ranked by relevance.
+   *
+   * @param query the query
+   * @param limit the maximum number of railway companies to return
+   * @see RailwayRepository#search(String, int)
+   */
+  record SearchRailways(@NotNull String query, int limit)
+      implements RailwayCommand<List<SearchHit<Railway>>> {
+    public SearchRailways {
+      Objects.requireNonNull(query, "The query cannot be null");
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+  }
 }
@@ -24,10 +24,16 @@ import com.neovisionaries.i18n.CountryCode;
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.OrganizationEntityType;
 import io.github.carlomicieli.slug.Slug;
+import io.github.carlomicieli.util.Strings;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -38,45 +44,124 @@ import org.slf4j.LoggerFactory;
 public final class RailwayCommandHandler {
   private static final Logger LOG = LoggerFactory.getLogger(RailwayCommandHandler.class);
   private final RailwayRepository railwayRepository;
+  private final EventJournal<RailwayId, Railway> journal;
   private final Clock clock;
+  private final CommandMetrics metrics;
 
   public RailwayCommandHandler(
       @NotNull final RailwayRepository railwayRepository,
-      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock) {
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
+    this(
+        railwayRepository,
+        EventJournal.inMemory(
+            "railways",
+            Railway::id,
+            new EventJournal.ReadModel<>(
+                railwayRepository::saveAll,
+                railwayRepository::findById,
+                railwayRepository::findAll)),
+        clock,
+        meterRegistry);
+  }
+
+  @Inject
+  RailwayCommandHandler(
+      @NotNull final RailwayRepository railwayRepository,
+      @Named("railways") @NotNull final EventJournal<RailwayId, Railway> journal,
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
     this.railwayRepository =
         Objects.requireNonNull(railwayRepository, "The railway repository cannot be null");
+    this.journal = Objects.requireNonNull(journal, "The journal cannot be null");
     this.clock = Objects.requireNonNull(clock, "The clock cannot be null");
+    this.metrics =
+        new CommandMetrics(
+            Objects.requireNonNull(meterRegistry, "The meter registry cannot be null"), "railways");
+    metrics.repositorySize("railways", railwayRepository, RailwayRepository::size);
+    metrics.internerStats("railways", RailwayId::internerStats);
   }
 
-  @SuppressWarnings("unchecked")
   @CheckReturnValue
   public <R> @NotNull R handle(@NotNull RailwayCommand<R> command) {
+    return metrics.record(command, () -> dispatch(command));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> R dispatch(final RailwayCommand<R> command) {
     return switch (command) {
       case RailwayCommand.CreateRailway createRailway -> {
-        var railway =
-            RailwayBuilder.builder()
-                .id(RailwayId.fromName(createRailway.name()))
-                .name(createRailway.name())
-                .slug(Slug.of(createRailway.name()))
-                .abbreviation(createRailway.abbreviation())
-                .country(CountryCode.getByCodeIgnoreCase(createRailway.country()))
-                .periodOfActivity(createRailway.periodOfActivity())
-                .address(createRailway.address())
-                .organizationEntityType(
-                    organizationEntityTypeFromString(createRailway.organizationEntityType()))
-                .contactInfo(createRailway.contactInfo())
-                .metadata(Metadata.createdAt(ZonedDateTime.now(clock)))
-                .build();
-        yield (R) railwayRepository.save(railway);
+        var railway = railwayOf(createRailway, Metadata.createdAt(ZonedDateTime.now(clock)));
+        if (!journal.create(List.of(railway)).isEmpty()) {
+          throw new DuplicateIdException(railway.id());
+        }
+        yield (R) railway.id();
+      }
+      case RailwayCommand.CreateRailways createRailways -> {
+        Metadata metadata = Metadata.createdAt(ZonedDateTime.now(clock));
+        List<BatchResult<Railway>> railways =
+            BatchResult.rejectDuplicates(
+                createRailways.railways().parallelStream()
+                    .map(createRailway -> BatchResult.of(() -> railwayOf(createRailway, metadata)))
+                    .toList(),
+                Railway::id);
+        Set<RailwayId> taken = journal.create(BatchResult.created(railways));
+        yield (R)
+            BatchResult.rejectTaken(railways, Railway::id, taken).stream()
+                .map(result -> result.map(Railway::id))
+                .toList();
+      }
+      case RailwayCommand.UpdateRailway updateRailway -> {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        yield (R)
+            journal.update(
+                updateRailway.id(),
+                railway ->
+                    railwayOf(updateRailway.railway(), railway.metadata().lastModifiedAt(now)));
       }
 
       case RailwayCommand.FindRailwayById findRailwayById ->
           (R) railwayRepository.findById(findRailwayById.id());
-      case RailwayCommand.FindAllRailways ignored -> (R) railwayRepository.findAll();
+      case RailwayCommand.FindAllRailways findAllRailways ->
+          (R) railwayRepository.findAll(findAllRailways.after(), findAllRailways.limit());
+      case RailwayCommand.FindRailwaysVersion findRailwaysVersion ->
+          (R) Long.valueOf(railwayRepository.version());
+      case RailwayCommand.SearchRailways searchRailways ->
+          (R) railwayRepository.search(searchRailways.query(), searchRailways.limit());
     };
   }
 
+  private Railway railwayOf(
+      final RailwayCommand.CreateRailway createRailway, final Metadata metadata) {
+    Strings.requireNonBlank(createRailway.name(), "The railway name cannot be blank");
+    Strings.requireNonBlank(
+        createRailway.abbreviation(), "The railway abbreviation cannot be blank");
+    CountryCode country =
+        createRailway.country() == null
+            ? null
+            : CountryCode.getByCodeIgnoreCase(createRailway.country());
+    if (country == null) {
+      throw new IllegalArgumentException("Unknown railway country: " + createRailway.country());
+    }
+    return RailwayBuilder.builder()
+        .id(RailwayId.fromName(createRailway.name()))
+        .name(createRailway.name())
+        .slug(Slug.of(createRailway.name()))
+        .abbreviation(createRailway.abbreviation())
+        .country(country)
+        .periodOfActivity(createRailway.periodOfActivity())
+        .address(createRailway.address())
+        .organizationEntityType(
+            organizationEntityTypeFromString(createRailway.organizationEntityType()))
+        .contactInfo(createRailway.contactInfo())
+        .metadata(metadata)
+        .build();
+  }
+
   private OrganizationEntityType organizationEntityTypeFromString(@Nullable String entityType) {
+    if (entityType == null) {
+      return null;
+    }
     for (var value : OrganizationEntityType.values()) {
       if (value.name().equalsIgnoreCase(entityType)) {
         return value;
@@ -27,13 +27,18 @@ import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
 /** A <strong>Railway ID</strong> is a unique identifier for a railway. */
-public record RailwayId(@NotNull String value) {
+public record RailwayId(@NotNull String value) implements Comparable<RailwayId> {
+  private static final int INTERNER_CAPACITY = 8192;
   private static final String NAMESPACE = "railway";
+  private static final IdInterner<String, RailwayId> INTERNER =
+      new IdInterner<>(INTERNER_CAPACITY, RailwayId::create);
 
   public RailwayId {
     Objects.requireNonNull(value, "The railway ID value cannot be null");
-    TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid railway ID value: " + value);
-    value = trn.toString();
+    if (!TRN.isCanonical(value, NAMESPACE)) {
+      TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid railway ID value: " + value);
+      value = trn.toString();
+    }
   }
 
   private RailwayId(@NotNull TRN trn) {
@@ -43,15 +48,47 @@ public record RailwayId(@NotNull String value) {
   /**
    * Creates a new {@code RailwayId} from the given name.
    *
+   * <p>Ids are interned: the same name, as long as it stays in the cache, always returns the same
+   * instance.
+   *
    * @param name the name of the railway
-   * @return a new {@code RailwayId} instance
+   * @return a {@code RailwayId} instance
    */
   @CheckReturnValue
   public static @NotNull RailwayId fromName(@NotNull final String name) {
+    return INTERNER.intern(name);
+  }
+
+  /**
+   * Returns the hit and miss counters of the cache behind {@link #fromName(String)}.
+   *
+   * @return the cache statistics
+   */
+  @CheckReturnValue
+  public static @NotNull IdInterner.Stats internerStats() {
+    return INTERNER.stats();
+  }
+
+  private static @NotNull RailwayId create(@NotNull final String name) {
     TRN trn = new TRN(NAMESPACE, Slug.of(name).toString());
     return new RailwayId(trn);
   }
 
+  @Override
+  public boolean equals(final Object other) {
+    return this == other || (other instanceof RailwayId that && value.equals(that.value));
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public int compareTo(@NotNull final RailwayId other) {
+    return this == other ? 0 : value.compareTo(other.value);
+  }
+
   @Override
   public String toString() {
     return value;
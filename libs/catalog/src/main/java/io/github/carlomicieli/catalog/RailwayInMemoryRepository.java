@@ -23,41 +23,92 @@ package io.github.carlomicieli.catalog;
 import com.neovisionaries.i18n.CountryCode;
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.slug.Slug;
+import io.micronaut.context.annotation.Property;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * An in-memory {@link RailwayRepository}, listing the railways sorted by id. The names and
+ * abbreviations are indexed for full-text searches, see {@link TextIndex}.
+ */
 @Singleton
-public class RailwayInMemoryRepository implements RailwayRepository {
-  private final List<Railway> railways =
-      initRailways().collect(Collectors.toCollection(ArrayList::new));
+public final class RailwayInMemoryRepository implements RailwayRepository {
+  private final SnapshotStore<RailwayId, Railway> railways = new SnapshotStore<>(Railway::id);
+  private final TextIndex<RailwayId> nameIndex = new TextIndex<>();
+
+  public RailwayInMemoryRepository() {
+    this(null);
+  }
+
+  /**
+   * Creates the read model of the railways journal, see {@link CatalogJournals}. The repository
+   * starts with some sample railways when the journal is kept in memory, and empty when it is
+   * loaded from a directory.
+   *
+   * @param directory the journal directory, or {@code null} when the journal is kept in memory
+   */
+  @Inject
+  public RailwayInMemoryRepository(
+      @Property(name = FileStore.DIRECTORY_PROPERTY) @Nullable final String directory) {
+    if (directory == null) {
+      initRailways().forEach(this::save);
+    }
+  }
 
   @Override
-  public @NotNull RailwayId save(@NotNull final Railway railway) {
-    railways.add(railway);
+  public synchronized @NotNull RailwayId save(@NotNull final Railway railway) {
+    railways.put(railway);
+    nameIndex.put(railway.id(), railway.name(), railway.abbreviation());
     return railway.id();
   }
 
+  @Override
+  public synchronized @NotNull List<RailwayId> saveAll(@NotNull final Collection<Railway> batch) {
+    List<Railway> batchRailways = List.copyOf(batch);
+    railways.putAll(batchRailways);
+    batchRailways.forEach(
+        railway -> nameIndex.put(railway.id(), railway.name(), railway.abbreviation()));
+    return batchRailways.stream().map(Railway::id).toList();
+  }
+
   @Override
   public @NotNull Optional<Railway> findById(@NotNull final RailwayId id) {
-    return railways().filter(railway -> railway.id().equals(id)).findAny();
+    return railways.get(id);
   }
 
   @Override
   public @NotNull List<Railway> findAll() {
-    return List.copyOf(railways);
+    return railways.values();
+  }
+
+  @Override
+  public @NotNull List<SearchHit<Railway>> search(@NotNull final String query, final int limit) {
+    return nameIndex.search(query, limit, railways::get);
+  }
+
+  @Override
+  public int size() {
+    return railways.size();
   }
 
-  private Stream<Railway> railways() {
-    return railways.stream();
+  @Override
+  public long version() {
+    return railways.version();
+  }
+
+  @Override
+  public @NotNull List<Railway> findAll(@Nullable final RailwayId after, final int limit) {
+    return railways.values(after, limit);
   }
 
-  private Stream<Railway> initRailways() {
+  private static Stream<Railway> initRailways() {
     return Stream.of(
         RailwayBuilder.builder()
             .id(RailwayId.fromName("FS"))
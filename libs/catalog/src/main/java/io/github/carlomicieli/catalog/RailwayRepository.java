@@ -20,15 +20,17 @@
  */
 package io.github.carlomicieli.catalog;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /** A repository for {@link Railway} entities. */
 public interface RailwayRepository {
   /**
-   * Saves a new railway entity.
+   * Saves a railway entity, replacing the entity with the same id if it already exists.
    *
    * @param railway the railway entity to save
    * @return the unique identifier of the saved entity
@@ -36,6 +38,18 @@ public interface RailwayRepository {
   @CheckReturnValue
   @NotNull RailwayId save(@NotNull final Railway railway);
 
+  /**
+   * Saves railway entities in one step, replacing the railway entities with the same ids if they
+   * already exist.
+   *
+   * @param railways the railway entities to save
+   * @return the ids of the saved railway entities, in the same order
+   */
+  @CheckReturnValue
+  default @NotNull List<RailwayId> saveAll(@NotNull final Collection<Railway> railways) {
+    return railways.stream().map(this::save).toList();
+  }
+
   /**
    * Finds a railway entity by its unique identifier.
    *
@@ -53,5 +67,44 @@ public interface RailwayRepository {
   @CheckReturnValue
   @NotNull List<Railway> findAll();
 
+  /**
+   * Finds a page of railway entities, sorted by id, using keyset pagination.
+   *
+   * @param after the id of the last entity in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of entities to return
+   * @return a list of at most {@code limit} railway entities
+   */
+  @CheckReturnValue
+  @NotNull List<Railway> findAll(@Nullable final RailwayId after, final int limit);
+
+  /**
+   * Searches the railways by name or abbreviation: every word of the query must be a word, or the
+   * beginning of a word, of the railway, ignoring case and accents.
+   *
+   * @param query the query
+   * @param limit the maximum number of railways to return
+   * @return the best matching railways, in descending order of score
+   */
+  @CheckReturnValue
+  @NotNull List<SearchHit<Railway>> search(@NotNull final String query, final int limit);
+
+  /**
+   * Returns the number of railways in the repository, without copying them.
+   *
+   * @return the number of railways
+   */
+  @CheckReturnValue
+  int size();
+
+  /**
+   * Returns the version of the repository content, which changes whenever railway entities are
+   * saved. Two equal versions of the same repository instance mean that nothing was saved in
+   * between.
+   *
+   * @return the content version
+   */
+  @CheckReturnValue
+  long version();
+
   RailwayRepository INSTANCE = new RailwayInMemoryRepository();
 }
@@ -0,0 +1,46 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Encodes and decodes the records of a type in the binary format of the catalog log.
+ *
+ * @param <T> the record type
+ */
+interface RecordCodec<T> {
+  /**
+   * Writes the given value.
+   *
+   * @param value the value to encode
+   * @param output the buffer to write to
+   */
+  void encode(@NotNull T value, @NotNull RecordOutput output);
+
+  /**
+   * Reads a value written by {@link #encode(Object, RecordOutput)}.
+   *
+   * @param input the buffer to read from
+   * @return the decoded value
+   */
+  @NotNull T decode(@NotNull RecordInput input);
+}
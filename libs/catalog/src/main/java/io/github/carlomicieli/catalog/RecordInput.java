@@ -0,0 +1,191 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads a record written by a {@link RecordOutput}.
+ *
+ * <p>An input can be reused for many records, see {@link #reset(ByteBuffer)}: the last date time
+ * read is then shared by all the following records with the same value, which is common when the
+ * entities were created together.
+ *
+ * <p>The enum constants and the time zone ids are matched against the encoded bytes, so that
+ * reading them allocates nothing.
+ */
+final class RecordInput {
+  // the constants of each enum type, with their names encoded as the record strings are
+  private static final ClassValue<EnumConstants> ENUM_CONSTANTS =
+      new ClassValue<>() {
+        @Override
+        protected EnumConstants computeValue(final Class<?> type) {
+          Enum<?>[] values = (Enum<?>[]) type.getEnumConstants();
+          byte[][] names = new byte[values.length][];
+          for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name().getBytes(StandardCharsets.UTF_8);
+          }
+          return new EnumConstants(values, names);
+        }
+      };
+
+  private record EnumConstants(Enum<?>[] values, byte[][] names) {}
+
+  private ByteBuffer buffer;
+  private byte[] scratch = new byte[0];
+  private @Nullable ZonedDateTime lastDateTime;
+
+  RecordInput(@NotNull final ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Moves this input to the next record. A record that is not on the heap (for instance, in a
+   * mapped file) is copied, at once, to a buffer reused for all the records.
+   *
+   * @param buffer the next record
+   */
+  void reset(@NotNull final ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      this.buffer = buffer;
+      return;
+    }
+
+    int length = buffer.remaining();
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, 2 * scratch.length)];
+    }
+    buffer.get(buffer.position(), scratch, 0, length);
+    this.buffer = ByteBuffer.wrap(scratch, 0, length);
+  }
+
+  byte readByte() {
+    return buffer.get();
+  }
+
+  boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  int readInt() {
+    return buffer.getInt();
+  }
+
+  long readLong() {
+    return buffer.getLong();
+  }
+
+  @Nullable String readString() {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+
+    if (buffer.hasArray()) {
+      int offset = buffer.arrayOffset() + buffer.position();
+      buffer.position(buffer.position() + length);
+      return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+    }
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @NotNull String readRequiredString() {
+    String value = readString();
+    if (value == null) {
+      throw new IllegalStateException("Unexpected null value at position " + buffer.position());
+    }
+    return value;
+  }
+
+  @Nullable ZonedDateTime readDateTime() {
+    if (!readBoolean()) {
+      return null;
+    }
+
+    long epochSecond = readLong();
+    int nano = readInt();
+    ZonedDateTime last = lastDateTime;
+    ZoneId zone;
+    if (last != null && skipString(last.getZone().getId())) {
+      if (last.toEpochSecond() == epochSecond && last.getNano() == nano) {
+        return last;
+      }
+      zone = last.getZone();
+    } else {
+      zone = ZoneId.of(readRequiredString());
+    }
+    lastDateTime = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), zone);
+    return lastDateTime;
+  }
+
+  <E extends Enum<E>> @Nullable E readEnum(@NotNull final Class<E> enumType) {
+    if (!buffer.hasArray()) {
+      String name = readString();
+      return name != null ? Enum.valueOf(enumType, name) : null;
+    }
+
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] array = buffer.array();
+    int from = buffer.arrayOffset() + buffer.position();
+    buffer.position(buffer.position() + length);
+    EnumConstants constants = ENUM_CONSTANTS.get(enumType);
+    for (int i = 0; i < constants.names().length; i++) {
+      byte[] name = constants.names()[i];
+      if (Arrays.equals(array, from, from + length, name, 0, name.length)) {
+        return enumType.cast(constants.values()[i]);
+      }
+    }
+    return Enum.valueOf(enumType, new String(array, from, length, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Skips the next string if it is equal to the given ASCII one, comparing it without decoding it.
+   *
+   * @param value the expected string
+   * @return {@code true} if the string was skipped, {@code false} if it is left to be read
+   */
+  private boolean skipString(@NotNull final String value) {
+    int position = buffer.position();
+    if (buffer.getInt(position) != value.length()) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (buffer.get(position + Integer.BYTES + i) != value.charAt(i)) {
+        return false;
+      }
+    }
+    buffer.position(position + Integer.BYTES + value.length());
+    return true;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A growable buffer to encode a record in the binary format of the catalog log.
+ *
+ * <p>Strings are written as their UTF-8 length followed by the bytes, with a length of {@code -1}
+ * for {@code null}; enums are written by name and date times as their instant and zone id.
+ */
+final class RecordOutput {
+  private ByteBuffer buffer;
+
+  RecordOutput(final int initialCapacity) {
+    this.buffer = ByteBuffer.allocate(initialCapacity);
+  }
+
+  /** Discards the content of this buffer, to encode a new record. */
+  void clear() {
+    buffer.clear();
+  }
+
+  /**
+   * Returns a view of the bytes written since the last {@link #clear()}.
+   *
+   * @return the encoded record
+   */
+  @NotNull ByteBuffer toByteBuffer() {
+    return buffer.duplicate().flip();
+  }
+
+  void writeByte(final int value) {
+    ensureCapacity(Byte.BYTES);
+    buffer.put((byte) value);
+  }
+
+  void writeBoolean(final boolean value) {
+    writeByte(value ? 1 : 0);
+  }
+
+  void writeInt(final int value) {
+    ensureCapacity(Integer.BYTES);
+    buffer.putInt(value);
+  }
+
+  void writeLong(final long value) {
+    ensureCapacity(Long.BYTES);
+    buffer.putLong(value);
+  }
+
+  void writeString(@Nullable final String value) {
+    if (value == null) {
+      writeInt(-1);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeInt(bytes.length);
+    ensureCapacity(bytes.length);
+    buffer.put(bytes);
+  }
+
+  void writeDateTime(@Nullable final ZonedDateTime value) {
+    writeBoolean(value != null);
+    if (value != null) {
+      writeLong(value.toEpochSecond());
+      writeInt(value.getNano());
+      writeString(value.getZone().getId());
+    }
+  }
+
+  void writeEnum(@Nullable final Enum<?> value) {
+    writeString(value != null ? value.name() : null);
+  }
+
+  private void ensureCapacity(final int length) {
+    if (buffer.remaining() < length) {
+      int capacity = Math.max(buffer.capacity() * 2, buffer.position() + length);
+      buffer = ByteBuffer.allocate(capacity).put(buffer.flip());
+    }
+  }
+}
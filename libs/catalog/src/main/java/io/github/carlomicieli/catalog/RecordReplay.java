@@ -0,0 +1,137 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decodes the records of a log while it is read. With a parallelism of one they are decoded one at
+ * a time, straight from the log; otherwise they are copied out of it in batches, each batch is
+ * decoded on its own virtual thread, and up to {@code 2 * parallelism} batches are decoded at the
+ * same time.
+ *
+ * @param <T> the record type
+ */
+final class RecordReplay<T> implements Consumer<ByteBuffer> {
+  private static final int BATCH_RECORDS = 8192;
+  private static final Executor DECODERS = task -> Thread.ofVirtual().start(task);
+
+  private final RecordCodec<T> codec;
+  private final boolean parallel;
+  private final Semaphore decoding;
+  private final List<T> decoded = new ArrayList<>();
+  private final List<CompletableFuture<List<T>>> batches = new ArrayList<>();
+  private final RecordInput input = new RecordInput(ByteBuffer.allocate(0));
+  private byte[] bytes = new byte[64 * 1024];
+  private int size;
+  private int[] lengths = new int[BATCH_RECORDS];
+  private int count;
+
+  RecordReplay(@NotNull final RecordCodec<T> codec, final int parallelism) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("The replay parallelism must be positive");
+    }
+    this.codec = codec;
+    this.parallel = parallelism > 1;
+    this.decoding = new Semaphore(2 * parallelism);
+  }
+
+  @Override
+  public void accept(final ByteBuffer payload) {
+    if (!parallel) {
+      input.reset(payload);
+      decoded.add(codec.decode(input));
+      return;
+    }
+
+    int length = payload.remaining();
+    if (bytes.length - size < length) {
+      bytes = Arrays.copyOf(bytes, Math.max(size + length, 2 * bytes.length));
+    }
+    payload.get(payload.position(), bytes, size, length);
+    size += length;
+    lengths[count++] = length;
+    if (count == BATCH_RECORDS) {
+      submit();
+    }
+  }
+
+  /**
+   * Returns the decoded records, in the order of the log.
+   *
+   * @return the records
+   */
+  List<T> records() {
+    if (!parallel) {
+      return decoded;
+    }
+
+    submit();
+    for (CompletableFuture<List<T>> batch : batches) {
+      try {
+        decoded.addAll(batch.join());
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+      }
+    }
+    return decoded;
+  }
+
+  private void submit() {
+    if (count == 0) {
+      return;
+    }
+    byte[] batchBytes = bytes;
+    int[] batchLengths = lengths;
+    int batchCount = count;
+    decoding.acquireUninterruptibly();
+    batches.add(
+        CompletableFuture.supplyAsync(() -> decode(batchBytes, batchLengths, batchCount), DECODERS)
+            .whenComplete((ignored, e) -> decoding.release()));
+    // the next batch starts with the capacity this one needed
+    bytes = new byte[batchBytes.length];
+    size = 0;
+    lengths = new int[BATCH_RECORDS];
+    count = 0;
+  }
+
+  private List<T> decode(final byte[] batchBytes, final int[] batchLengths, final int batchCount) {
+    RecordInput batchInput = new RecordInput(ByteBuffer.allocate(0));
+    ByteBuffer record = ByteBuffer.wrap(batchBytes);
+    List<T> values = new ArrayList<>(batchCount);
+    int offset = 0;
+    for (int i = 0; i < batchCount; i++) {
+      batchInput.reset(record.limit(offset + batchLengths[i]).position(offset));
+      values.add(codec.decode(batchInput));
+      offset += batchLengths[i];
+    }
+    return values;
+  }
+}
@@ -49,7 +49,8 @@ public record Scale(
     @NotNull BigDecimal ratio,
     @NotNull TrackGauge trackGauge,
     @Nullable Address address,
-    @NotNull Metadata metadata) {
+    @NotNull Metadata metadata)
+    implements CatalogEntity {
   public Scale {
     requireNonNull(id, "Scale id cannot be null");
     requireNonNull(name, "Scale name cannot be null");
@@ -21,8 +21,10 @@
 package io.github.carlomicieli.catalog;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public sealed interface ScaleCommand<R> {
   /**
@@ -35,6 +37,38 @@ public sealed interface ScaleCommand<R> {
   record CreateScale(@NotNull String name, float ratio, @NotNull String trackGauge)
       implements ScaleCommand<ScaleId> {}
 
+  /**
+   * The command to create many scales at once: the scales are validated independently, and the
+   * valid ones are saved in one step.
+   *
+   * @param scales the scales to create
+   */
+  record CreateScales(@NotNull List<CreateScale> scales)
+      implements ScaleCommand<List<BatchResult<ScaleId>>> {
+    public CreateScales {
+      scales = List.copyOf(scales);
+    }
+  }
+
+  /**
+   * The command to update an existing scale: the scale keeps its identifier, and every other value
+   * is replaced. The identifier and the slug are derived from the name, so the new name can only
+   * differ from the current one by case, accents or punctuation.
+   *
+   * @param id the scale identifier
+   * @param scale the new values of the scale
+   */
+  record UpdateScale(@NotNull ScaleId id, @NotNull CreateScale scale)
+      implements ScaleCommand<Optional<Scale>> {
+    public UpdateScale {
+      Objects.requireNonNull(id, "The scale id cannot be null");
+      Objects.requireNonNull(scale, "The scale cannot be null");
+      if (!ScaleId.fromName(scale.name()).equals(id)) {
+        throw new IllegalArgumentException("The scale " + id + " cannot be renamed");
+      }
+    }
+  }
+
   /**
    * The command to get a scale by its identifier.
    *
@@ -42,6 +76,91 @@ public sealed interface ScaleCommand<R> {
    */
   record FindScaleById(@NotNull ScaleId id) implements ScaleCommand<Optional<Scale>> {}
 
-  /** The command to find all scales. */
-  record FindAllScales() implements ScaleCommand<List<Scale>> {}
+  /**
+   * The command to find all scales, sorted by id, one page at a time.
+   *
+   * @param after the id of the last scale in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of scales to return
+   */
+  record FindAllScales(@Nullable ScaleId after, int limit) implements ScaleCommand<List<Scale>> {
+    public FindAllScales {
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+
+    public FindAllScales() {
+      this(null, Integer.MAX_VALUE);
+    }
+  }
+
+  /**
+   * The command to find the scale with the ratio nearest to the given one.
+   *
+   * @param ratio the ratio, {@code 87} for 1:87
+   * @param trackGauge the track gauge of the scale, or {@code null} for any track gauge
+   */
+  record FindNearestScale(double ratio, @Nullable TrackGauge trackGauge)
+      implements ScaleCommand<Optional<Scale>> {
+    public FindNearestScale {
+      requirePositive(ratio);
+    }
+  }
+
+  /**
+   * The command to find the scales with a ratio in a range, both ends included, sorted by ratio.
+   *
+   * @param from one end of the ratio range
+   * @param to the other end of the ratio range
+   * @param trackGauge the track gauge of the scales, or {@code null} for any track gauge
+   */
+  record FindScalesByRatio(double from, double to, @Nullable TrackGauge trackGauge)
+      implements ScaleCommand<List<Scale>> {
+    public FindScalesByRatio {
+      requirePositive(from);
+      requirePositive(to);
+    }
+  }
+
+  /**
+   * The command to find the scales with a track gauge, sorted by ratio.
+   *
+   * @param trackGauge the track gauge
+   */
+  record FindScalesByTrackGauge(@NotNull TrackGauge trackGauge)
+      implements ScaleCommand<List<Scale>> {
+    public FindScalesByTrackGauge {
+      Objects.requireNonNull(trackGauge, "Track gauge cannot be null");
+    }
+  }
+
+  private static void requirePositive(final double ratio) {
+    if (!(ratio > 0) || Double.isInfinite(ratio)) {
+      throw new IllegalArgumentException("The ratio must be a positive number");
+    }
+  }
+
+  /**
+   * The command to find the version of the scales, which changes whenever scales are saved.
+   *
+   * @see ScaleRepository#version()
+   */
+  record FindScalesVersion() implements ScaleCommand<Long> {}
+
+  /**
+   * The command to search the scales by name, ranked by relevance.
+   *
+   * @param query the query
+   * @param limit the maximum number of scales to return
+   * @see ScaleRepository#search(String, int)
+   */
+  record SearchScales(@NotNull String query, int limit)
+      implements ScaleCommand<List<SearchHit<Scale>>> {
+    public SearchScales {
+      Objects.requireNonNull(query, "The query cannot be null");
+      if (limit <= 0) {
+        throw new IllegalArgumentException("The limit must be positive");
+      }
+    }
+  }
 }
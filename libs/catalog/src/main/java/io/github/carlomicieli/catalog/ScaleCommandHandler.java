@@ -22,11 +22,17 @@ package io.github.carlomicieli.catalog;
 
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.slug.Slug;
+import io.github.carlomicieli.util.Strings;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -36,42 +42,118 @@ import org.slf4j.LoggerFactory;
 public class ScaleCommandHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ScaleCommandHandler.class);
   private final ScaleRepository scaleRepository;
+  private final EventJournal<ScaleId, Scale> journal;
   private final Clock clock;
+  private final CommandMetrics metrics;
 
   public ScaleCommandHandler(
       @NotNull final ScaleRepository scaleRepository,
-      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock) {
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
+    this(
+        scaleRepository,
+        EventJournal.inMemory(
+            "scales",
+            Scale::id,
+            new EventJournal.ReadModel<>(
+                scaleRepository::saveAll, scaleRepository::findById, scaleRepository::findAll)),
+        clock,
+        meterRegistry);
+  }
+
+  @Inject
+  ScaleCommandHandler(
+      @NotNull final ScaleRepository scaleRepository,
+      @Named("scales") @NotNull final EventJournal<ScaleId, Scale> journal,
+      @SuppressWarnings("MnInjectionPoints") @NotNull final Clock clock,
+      @NotNull final MeterRegistry meterRegistry) {
     this.scaleRepository =
         Objects.requireNonNull(scaleRepository, "scaleRepository must not be null");
+    this.journal = Objects.requireNonNull(journal, "journal must not be null");
     this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    this.metrics =
+        new CommandMetrics(
+            Objects.requireNonNull(meterRegistry, "meterRegistry must not be null"), "scales");
+    metrics.repositorySize("scales", scaleRepository, ScaleRepository::size);
+    metrics.internerStats("scales", ScaleId::internerStats);
   }
 
   @CheckReturnValue
-  @SuppressWarnings("unchecked")
   public <R> @NotNull R handle(@NotNull final ScaleCommand<R> command) {
+    return metrics.record(command, () -> dispatch(command));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> R dispatch(final ScaleCommand<R> command) {
     switch (command) {
       case ScaleCommand.CreateScale createScale -> {
-        Scale scale =
-            ScaleBuilder.builder()
-                .id(ScaleId.fromName(createScale.name()))
-                .name(createScale.name())
-                .slug(Slug.of(createScale.name()))
-                .ratio(BigDecimal.valueOf(createScale.ratio()))
-                .trackGauge(trackGaugeFromString(createScale.trackGauge()))
-                .metadata(Metadata.createdAt(ZonedDateTime.now(clock)))
-                .build();
-        return (R) scaleRepository.save(scale);
+        Scale scale = scaleOf(createScale, Metadata.createdAt(ZonedDateTime.now(clock)));
+        if (!journal.create(List.of(scale)).isEmpty()) {
+          throw new DuplicateIdException(scale.id());
+        }
+        return (R) scale.id();
+      }
+      case ScaleCommand.CreateScales createScales -> {
+        Metadata metadata = Metadata.createdAt(ZonedDateTime.now(clock));
+        List<BatchResult<Scale>> scales =
+            BatchResult.rejectDuplicates(
+                createScales.scales().parallelStream()
+                    .map(createScale -> BatchResult.of(() -> scaleOf(createScale, metadata)))
+                    .toList(),
+                Scale::id);
+        Set<ScaleId> taken = journal.create(BatchResult.created(scales));
+        return (R)
+            BatchResult.rejectTaken(scales, Scale::id, taken).stream()
+                .map(result -> result.map(Scale::id))
+                .toList();
+      }
+      case ScaleCommand.UpdateScale updateScale -> {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        return (R)
+            journal.update(
+                updateScale.id(),
+                scale -> scaleOf(updateScale.scale(), scale.metadata().lastModifiedAt(now)));
       }
       case ScaleCommand.FindScaleById findScaleById -> {
         return (R) scaleRepository.findById(findScaleById.id());
       }
-      case ScaleCommand.FindAllScales ignored -> {
-        return (R) scaleRepository.findAll();
+      case ScaleCommand.FindAllScales findAllScales -> {
+        return (R) scaleRepository.findAll(findAllScales.after(), findAllScales.limit());
+      }
+      case ScaleCommand.FindNearestScale findNearestScale -> {
+        return (R)
+            scaleRepository.findNearest(findNearestScale.ratio(), findNearestScale.trackGauge());
+      }
+      case ScaleCommand.FindScalesByRatio findScalesByRatio -> {
+        return (R)
+            scaleRepository.findByRatioBetween(
+                findScalesByRatio.from(), findScalesByRatio.to(), findScalesByRatio.trackGauge());
+      }
+      case ScaleCommand.FindScalesByTrackGauge findScalesByTrackGauge -> {
+        return (R) scaleRepository.findByTrackGauge(findScalesByTrackGauge.trackGauge());
+      }
+      case ScaleCommand.FindScalesVersion findScalesVersion -> {
+        return (R) Long.valueOf(scaleRepository.version());
+      }
+      case ScaleCommand.SearchScales searchScales -> {
+        return (R) scaleRepository.search(searchScales.query(), searchScales.limit());
       }
       case null, default -> throw new IllegalArgumentException("Unknown command: " + command);
     }
   }
 
+  private Scale scaleOf(final ScaleCommand.CreateScale createScale, final Metadata metadata) {
+    Strings.requireNonBlank(createScale.name(), "The scale name cannot be blank");
+    return ScaleBuilder.builder()
+        .id(ScaleId.fromName(createScale.name()))
+        .name(createScale.name())
+        .slug(Slug.of(createScale.name()))
+        .ratio(BigDecimal.valueOf(createScale.ratio()))
+        .trackGauge(trackGaugeFromString(createScale.trackGauge()))
+        .metadata(metadata)
+        .build();
+  }
+
   private @NotNull TrackGauge trackGaugeFromString(final String trackGauge) {
     for (var value : TrackGauge.values()) {
       if (value.name().equalsIgnoreCase(trackGauge)) {
@@ -27,13 +27,18 @@ import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
 /** A <strong>Scale ID</strong> is a unique identifier for a scale. */
-public record ScaleId(@NotNull String value) {
+public record ScaleId(@NotNull String value) implements Comparable<ScaleId> {
+  private static final int INTERNER_CAPACITY = 8192;
   private static final String NAMESPACE = "scale";
+  private static final IdInterner<String, ScaleId> INTERNER =
+      new IdInterner<>(INTERNER_CAPACITY, ScaleId::create);
 
   public ScaleId {
     Objects.requireNonNull(value, "The scale ID value cannot be null");
-    TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid scale ID value: " + value);
-    value = trn.toString();
+    if (!TRN.isCanonical(value, NAMESPACE)) {
+      TRN trn = TRN.requireValid(value, NAMESPACE, "Invalid scale ID value: " + value);
+      value = trn.toString();
+    }
   }
 
   private ScaleId(@NotNull TRN trn) {
@@ -43,15 +48,47 @@ public record ScaleId(@NotNull String value) {
   /**
    * Creates a new {@code ScaleId} from the given name.
    *
+   * <p>Ids are interned: the same name, as long as it stays in the cache, always returns the same
+   * instance.
+   *
    * @param name the name of the scale
-   * @return a new {@code ScaleId} instance
+   * @return a {@code ScaleId} instance
    */
   @CheckReturnValue
   public static @NotNull ScaleId fromName(@NotNull final String name) {
+    return INTERNER.intern(name);
+  }
+
+  /**
+   * Returns the hit and miss counters of the cache behind {@link #fromName(String)}.
+   *
+   * @return the cache statistics
+   */
+  @CheckReturnValue
+  public static @NotNull IdInterner.Stats internerStats() {
+    return INTERNER.stats();
+  }
+
+  private static @NotNull ScaleId create(@NotNull final String name) {
     TRN trn = new TRN(NAMESPACE, Slug.of(name).toString());
     return new ScaleId(trn);
   }
 
+  @Override
+  public boolean equals(final Object other) {
+    return this == other || (other instanceof ScaleId that && value.equals(that.value));
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public int compareTo(@NotNull final ScaleId other) {
+    return this == other ? 0 : value.compareTo(other.value);
+  }
+
   @Override
   public String toString() {
     return value;
@@ -22,37 +22,112 @@ package io.github.carlomicieli.catalog;
 
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.slug.Slug;
+import io.micronaut.context.annotation.Property;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * An in-memory {@link ScaleRepository}, listing the scales sorted by id. The scales are also
+ * indexed by ratio, see {@link ScaleRatioIndex}, and by name, see {@link TextIndex}.
+ */
 @Singleton
 public final class ScaleInMemoryRepository implements ScaleRepository {
-  private final List<Scale> scales = scales().collect(Collectors.toCollection(ArrayList::new));
+  private final SnapshotStore<ScaleId, Scale> scales = new SnapshotStore<>(Scale::id);
+  private final ScaleRatioIndex ratioIndex = new ScaleRatioIndex();
+  private final TextIndex<ScaleId> nameIndex = new TextIndex<>();
+
+  public ScaleInMemoryRepository() {
+    this(null);
+  }
+
+  /**
+   * Creates the read model of the scales journal, see {@link CatalogJournals}. The repository
+   * starts with some sample scales when the journal is kept in memory, and empty when it is loaded
+   * from a directory.
+   *
+   * @param directory the journal directory, or {@code null} when the journal is kept in memory
+   */
+  @Inject
+  public ScaleInMemoryRepository(
+      @Property(name = FileStore.DIRECTORY_PROPERTY) @Nullable final String directory) {
+    if (directory == null) {
+      scales().forEach(this::save);
+    }
+  }
 
   @Override
-  public @NotNull ScaleId save(@NotNull final Scale scale) {
-    scales.add(scale);
+  public synchronized @NotNull ScaleId save(@NotNull final Scale scale) {
+    scales.put(scale);
+    ratioIndex.put(scale);
+    nameIndex.put(scale.id(), scale.name());
     return scale.id();
   }
 
+  @Override
+  public synchronized @NotNull List<ScaleId> saveAll(@NotNull final Collection<Scale> batch) {
+    List<Scale> batchScales = List.copyOf(batch);
+    scales.putAll(batchScales);
+    ratioIndex.putAll(batchScales);
+    batchScales.forEach(scale -> nameIndex.put(scale.id(), scale.name()));
+    return batchScales.stream().map(Scale::id).toList();
+  }
+
   @Override
   public @NotNull Optional<Scale> findById(@NotNull final ScaleId id) {
-    return scales.stream().filter(s -> s.id().equals(id)).findFirst();
+    return scales.get(id);
   }
 
   @Override
   public @NotNull List<Scale> findAll() {
-    return List.copyOf(scales);
+    return scales.values();
+  }
+
+  @Override
+  public @NotNull List<SearchHit<Scale>> search(@NotNull final String query, final int limit) {
+    return nameIndex.search(query, limit, scales::get);
+  }
+
+  @Override
+  public int size() {
+    return scales.size();
+  }
+
+  @Override
+  public long version() {
+    return scales.version();
+  }
+
+  @Override
+  public @NotNull List<Scale> findAll(@Nullable final ScaleId after, final int limit) {
+    return scales.values(after, limit);
+  }
+
+  @Override
+  public @NotNull Optional<Scale> findNearest(
+      final double ratio, @Nullable final TrackGauge trackGauge) {
+    return ratioIndex.nearest(ratio, trackGauge);
+  }
+
+  @Override
+  public @NotNull List<Scale> findByRatioBetween(
+      final double from, final double to, @Nullable final TrackGauge trackGauge) {
+    return ratioIndex.byRatioBetween(from, to, trackGauge);
+  }
+
+  @Override
+  public @NotNull List<Scale> findByTrackGauge(@NotNull final TrackGauge trackGauge) {
+    return ratioIndex.byTrackGauge(trackGauge);
   }
 
-  private Stream<Scale> scales() {
+  private static Stream<Scale> scales() {
     return Stream.of(
         ScaleBuilder.builder()
             .id(ScaleId.fromName("1"))
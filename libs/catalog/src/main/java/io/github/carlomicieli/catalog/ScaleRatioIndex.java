@@ -0,0 +1,203 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The index of the scales by ratio, for all the scales and for the scales of each track gauge.
+ *
+ * <p>Each group keeps the ratios in a sorted {@code double[]}, next to the scales in the same
+ * order, and a query is a binary search on the ratios. The groups are an immutable snapshot: a
+ * write only drops it, and the first read after the writes rebuilds it once, so that a bulk import
+ * of {@code n} scales sorts them once instead of {@code n} times. The other reads never block.
+ */
+final class ScaleRatioIndex {
+  private static final Comparator<Scale> BY_RATIO =
+      Comparator.comparing(Scale::ratio).thenComparing(Scale::id);
+
+  private final Map<ScaleId, Scale> scales = new HashMap<>();
+  // null when the scales changed after the last read
+  private volatile @Nullable Snapshot snapshot = Snapshot.of(List.of());
+
+  /**
+   * Indexes a scale, replacing the previous version of the scale with the same id.
+   *
+   * @param scale the scale
+   */
+  synchronized void put(@NotNull final Scale scale) {
+    Objects.requireNonNull(scale, "scale must not be null");
+    scales.put(scale.id(), scale);
+    snapshot = null;
+  }
+
+  /**
+   * Indexes the given scales.
+   *
+   * @param scales the scales
+   */
+  synchronized void putAll(@NotNull final Collection<Scale> scales) {
+    scales.forEach(scale -> this.scales.put(scale.id(), scale));
+    snapshot = null;
+  }
+
+  /**
+   * Finds the scale with the ratio nearest to the given one, in proportion: 1:120 is nearer to
+   * 1:160 than to 1:87. The scale with the lower ratio wins a tie, and the lowest id among the
+   * scales with the same ratio.
+   *
+   * @param ratio the ratio
+   * @param trackGauge the track gauge of the scale, or {@code null} for any track gauge
+   * @return the nearest scale, empty if there are no scales
+   */
+  @CheckReturnValue
+  @NotNull Optional<Scale> nearest(final double ratio, @Nullable final TrackGauge trackGauge) {
+    return snapshot().group(trackGauge).nearest(ratio);
+  }
+
+  /**
+   * Finds the scales with a ratio in the given range, both included, sorted by ratio.
+   *
+   * @param from one end of the range
+   * @param to the other end of the range
+   * @param trackGauge the track gauge of the scales, or {@code null} for any track gauge
+   * @return the scales in the range
+   */
+  @CheckReturnValue
+  @NotNull List<Scale> byRatioBetween(
+      final double from, final double to, @Nullable final TrackGauge trackGauge) {
+    return snapshot().group(trackGauge).between(Math.min(from, to), Math.max(from, to));
+  }
+
+  /**
+   * Finds the scales with the given track gauge, sorted by ratio.
+   *
+   * @param trackGauge the track gauge
+   * @return the scales
+   */
+  @CheckReturnValue
+  @NotNull List<Scale> byTrackGauge(@NotNull final TrackGauge trackGauge) {
+    return snapshot()
+        .group(Objects.requireNonNull(trackGauge, "trackGauge must not be null"))
+        .scales();
+  }
+
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    return current != null ? current : rebuild();
+  }
+
+  private synchronized Snapshot rebuild() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      current = Snapshot.of(scales.values());
+      snapshot = current;
+    }
+    return current;
+  }
+
+  private record Snapshot(Group all, Map<TrackGauge, Group> byTrackGauge) {
+    static Snapshot of(final Collection<Scale> scales) {
+      List<Scale> sorted = scales.stream().sorted(BY_RATIO).toList();
+      Map<TrackGauge, Group> byTrackGauge = new EnumMap<>(TrackGauge.class);
+      for (TrackGauge trackGauge : TrackGauge.values()) {
+        byTrackGauge.put(
+            trackGauge,
+            Group.of(sorted.stream().filter(s -> s.trackGauge() == trackGauge).toList()));
+      }
+      return new Snapshot(Group.of(sorted), byTrackGauge);
+    }
+
+    Group group(@Nullable final TrackGauge trackGauge) {
+      return trackGauge == null ? all : byTrackGauge.get(trackGauge);
+    }
+  }
+
+  private record Group(double[] ratios, List<Scale> scales) {
+    static Group of(final List<Scale> sorted) {
+      double[] ratios = new double[sorted.size()];
+      for (int i = 0; i < ratios.length; i++) {
+        ratios[i] = sorted.get(i).ratio().doubleValue();
+      }
+      return new Group(ratios, sorted);
+    }
+
+    Optional<Scale> nearest(final double ratio) {
+      if (ratios.length == 0) {
+        return Optional.empty();
+      }
+      int above = lowerBound(ratio);
+      if (above == ratios.length) {
+        return Optional.of(scales.get(lowerBound(ratios[above - 1])));
+      }
+      if (above == 0 || ratios[above] / ratio < ratio / ratios[above - 1]) {
+        return Optional.of(scales.get(above));
+      }
+      return Optional.of(scales.get(lowerBound(ratios[above - 1])));
+    }
+
+    List<Scale> between(final double min, final double max) {
+      int from = lowerBound(min);
+      int to = upperBound(max);
+      return from < to ? scales.subList(from, to) : List.of();
+    }
+
+    /** The index of the first ratio not lower than the given one. */
+    private int lowerBound(final double ratio) {
+      int low = 0;
+      int high = ratios.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (ratios[middle] < ratio) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /** The index of the first ratio greater than the given one. */
+    private int upperBound(final double ratio) {
+      int low = 0;
+      int high = ratios.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (ratios[middle] <= ratio) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+}
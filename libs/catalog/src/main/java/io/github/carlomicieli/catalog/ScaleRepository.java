@@ -20,15 +20,17 @@
  */
 package io.github.carlomicieli.catalog;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /** A repository for {@link Scale} entities. */
 public interface ScaleRepository {
   /**
-   * Saves a new scale entity.
+   * Saves a scale entity, replacing the entity with the same id if it already exists.
    *
    * @param scale the scale entity to save
    * @return the unique identifier of the saved entity
@@ -36,6 +38,18 @@ public interface ScaleRepository {
   @CheckReturnValue
   @NotNull ScaleId save(@NotNull final Scale scale);
 
+  /**
+   * Saves scale entities in one step, replacing the scale entities with the same ids if they
+   * already exist.
+   *
+   * @param scales the scale entities to save
+   * @return the ids of the saved scale entities, in the same order
+   */
+  @CheckReturnValue
+  default @NotNull List<ScaleId> saveAll(@NotNull final Collection<Scale> scales) {
+    return scales.stream().map(this::save).toList();
+  }
+
   /**
    * Finds a scale entity by its unique identifier.
    *
@@ -53,5 +67,74 @@ public interface ScaleRepository {
   @CheckReturnValue
   @NotNull List<Scale> findAll();
 
+  /**
+   * Finds a page of scale entities, sorted by id, using keyset pagination.
+   *
+   * @param after the id of the last entity in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of entities to return
+   * @return a list of at most {@code limit} scale entities
+   */
+  @CheckReturnValue
+  @NotNull List<Scale> findAll(@Nullable final ScaleId after, final int limit);
+
+  /**
+   * Finds the scale with the ratio nearest to the given one, in proportion.
+   *
+   * @param ratio the ratio, {@code 87} for 1:87
+   * @param trackGauge the track gauge of the scale, or {@code null} for any track gauge
+   * @return an {@link Optional} containing the nearest scale, empty if there are no scales
+   */
+  @CheckReturnValue
+  @NotNull Optional<Scale> findNearest(final double ratio, @Nullable final TrackGauge trackGauge);
+
+  /**
+   * Finds the scales with a ratio between the given ones, both included, sorted by ratio.
+   *
+   * @param from one end of the ratio range
+   * @param to the other end of the ratio range
+   * @param trackGauge the track gauge of the scales, or {@code null} for any track gauge
+   * @return the scales in the range
+   */
+  @CheckReturnValue
+  @NotNull List<Scale> findByRatioBetween(
+      final double from, final double to, @Nullable final TrackGauge trackGauge);
+
+  /**
+   * Finds the scales with the given track gauge, sorted by ratio.
+   *
+   * @param trackGauge the track gauge
+   * @return the scales with the track gauge
+   */
+  @CheckReturnValue
+  @NotNull List<Scale> findByTrackGauge(@NotNull final TrackGauge trackGauge);
+
+  /**
+   * Searches the scales by name: every word of the query must be a word, or the beginning of a
+   * word, of the scale, ignoring case and accents.
+   *
+   * @param query the query
+   * @param limit the maximum number of scales to return
+   * @return the best matching scales, in descending order of score
+   */
+  @CheckReturnValue
+  @NotNull List<SearchHit<Scale>> search(@NotNull final String query, final int limit);
+
+  /**
+   * Returns the number of scales in the repository, without copying them.
+   *
+   * @return the number of scales
+   */
+  @CheckReturnValue
+  int size();
+
+  /**
+   * Returns the version of the repository content, which changes whenever scales are saved. Two
+   * equal versions of the same repository instance mean that nothing was saved in between.
+   *
+   * @return the content version
+   */
+  @CheckReturnValue
+  long version();
+
   ScaleRepository INSTANCE = new ScaleInMemoryRepository();
 }
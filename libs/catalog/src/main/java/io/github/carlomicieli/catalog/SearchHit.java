@@ -0,0 +1,42 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A result of a full-text search, with its relevance.
+ *
+ * <p>Every word of the query adds to the score, the more the better it matches a word of the
+ * result: an exact match is worth more than a prefix, and a match on the first word more than one
+ * on the following words. Scores of different searches are comparable, so that the results of
+ * different repositories can be merged.
+ *
+ * @param value the matching value
+ * @param score the relevance, higher is better
+ * @param <T> the value type
+ */
+public record SearchHit<T>(@NotNull T value, int score) {
+  public SearchHit {
+    Objects.requireNonNull(value, "The search hit value cannot be null");
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A secondary index, mapping each key to the ids of the entities with that key.
+ *
+ * <p>The ids of a key are kept sorted, so that the matches of a query can be listed in id order and
+ * paged through with the same keyset cursor as the primary store. Reads never block; writes are
+ * expected to be serialized by the owning repository, which keeps the index in step with its store.
+ *
+ * @param <K> the key type
+ * @param <ID> the entity id type
+ */
+final class SecondaryIndex<K, ID extends Comparable<? super ID>> {
+  private final Map<K, Postings<ID>> postings = new ConcurrentHashMap<>();
+
+  /**
+   * Adds an entity to the index.
+   *
+   * @param key the entity key
+   * @param id the entity id
+   */
+  void add(@NotNull final K key, @NotNull final ID id) {
+    Postings<ID> keyPostings = postings.computeIfAbsent(key, k -> new Postings<>());
+    if (keyPostings.ids().add(id)) {
+      keyPostings.size().incrementAndGet();
+    }
+  }
+
+  /**
+   * Removes an entity from the index.
+   *
+   * @param key the entity key
+   * @param id the entity id
+   */
+  void remove(@NotNull final K key, @NotNull final ID id) {
+    Postings<ID> keyPostings = postings.get(key);
+    if (keyPostings != null && keyPostings.ids().remove(id)) {
+      keyPostings.size().decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the sorted ids of the entities with the given key, as a live view of the index.
+   *
+   * @param key the key
+   * @return the entity ids
+   */
+  @CheckReturnValue
+  @NotNull NavigableSet<ID> ids(@NotNull final K key) {
+    Postings<ID> keyPostings = postings.get(Objects.requireNonNull(key, "key must not be null"));
+    return keyPostings != null ? keyPostings.ids() : Collections.emptyNavigableSet();
+  }
+
+  /**
+   * Returns the number of entities with the given key, in constant time.
+   *
+   * @param key the key
+   * @return the number of entities
+   */
+  @CheckReturnValue
+  int count(@NotNull final K key) {
+    Postings<ID> keyPostings = postings.get(Objects.requireNonNull(key, "key must not be null"));
+    return keyPostings != null ? keyPostings.size().get() : 0;
+  }
+
+  // the size of a skip list set is linear, the postings keep their own counter
+  private record Postings<ID>(NavigableSet<ID> ids, AtomicInteger size) {
+    Postings() {
+      this(new ConcurrentSkipListSet<>(), new AtomicInteger());
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A thread-safe, in-memory store for entities keyed by their id.
+ *
+ * <p>Lookups by id go through a concurrent hash index and never block. The full content is
+ * published to readers as an immutable, versioned snapshot sorted by id: the snapshot is rebuilt,
+ * at most once, by the first read after a write that actually changed the content, and it is shared
+ * by all the readers until the next change.
+ *
+ * @param <ID> the entity id type
+ * @param <T> the entity type
+ */
+final class SnapshotStore<ID extends Comparable<? super ID>, T> {
+  private final Function<T, ID> idOf;
+  private final Map<ID, T> entities;
+  private volatile long version = 0L;
+  private volatile Snapshot<ID, T> snapshot = new Snapshot<ID, T>(0L, List.of(), List.of());
+
+  SnapshotStore(@NotNull final Function<T, ID> idOf) {
+    this(idOf, 16);
+  }
+
+  SnapshotStore(@NotNull final Function<T, ID> idOf, final int expectedSize) {
+    this.idOf = Objects.requireNonNull(idOf, "idOf must not be null");
+    this.entities = new ConcurrentHashMap<>(expectedSize);
+  }
+
+  /**
+   * Returns the entity with the given id.
+   *
+   * @param id the entity id
+   * @return an {@link Optional} containing the entity, if found
+   */
+  @CheckReturnValue
+  @NotNull Optional<T> get(@NotNull final ID id) {
+    return Optional.ofNullable(entities.get(id));
+  }
+
+  /**
+   * Stores the given entity, replacing the entity with the same id if it already exists.
+   *
+   * @param entity the entity to store
+   * @return the entity previously stored with the same id, or {@code null}
+   */
+  synchronized @Nullable T put(@NotNull final T entity) {
+    Objects.requireNonNull(entity, "entity must not be null");
+    T previous = entities.put(idOf.apply(entity), entity);
+    if (!entity.equals(previous)) {
+      version++;
+    }
+    return previous;
+  }
+
+  /**
+   * Stores the given entities in one step, replacing the entities with the same ids: the store
+   * version changes at most once, so that the readers rebuild the snapshot once for the whole
+   * batch.
+   *
+   * @param batch the entities to store
+   * @return the entities previously stored with the same ids, or {@code null}s, in batch order
+   */
+  synchronized @NotNull List<@Nullable T> putAll(@NotNull final Collection<T> batch) {
+    List<T> previous = new ArrayList<>(batch.size());
+    boolean changed = false;
+    for (T entity : batch) {
+      Objects.requireNonNull(entity, "entity must not be null");
+      T replaced = entities.put(idOf.apply(entity), entity);
+      changed |= !entity.equals(replaced);
+      previous.add(replaced);
+    }
+    if (changed) {
+      version++;
+    }
+    return previous;
+  }
+
+  /**
+   * Returns all the entities sorted by id, as an immutable list shared by all the readers until the
+   * store content changes.
+   *
+   * @return all the entities
+   */
+  @CheckReturnValue
+  @NotNull List<T> values() {
+    return snapshot().values();
+  }
+
+  /**
+   * Returns a page of entities sorted by id, starting after the given id (keyset pagination). The
+   * page is an immutable view over the current snapshot.
+   *
+   * @param after the id of the last entity in the previous page, or {@code null} for the first page
+   * @param limit the maximum number of entities to return
+   * @return the entities in the page
+   */
+  @CheckReturnValue
+  @NotNull List<T> values(@Nullable final ID after, final int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    Snapshot<ID, T> current = snapshot();
+    int size = current.values().size();
+    int from = after != null ? current.indexAfter(after) : 0;
+    int to = (int) Math.min((long) from + limit, size);
+    return from == 0 && to == size ? current.values() : current.values().subList(from, to);
+  }
+
+  /**
+   * Performs the given action for each entity, in no particular order and without building a
+   * snapshot.
+   *
+   * @param action the action to perform
+   */
+  void forEach(@NotNull final Consumer<T> action) {
+    entities.values().forEach(action);
+  }
+
+  /**
+   * Returns the number of entities in the store.
+   *
+   * @return the number of entities
+   */
+  @CheckReturnValue
+  int size() {
+    return entities.size();
+  }
+
+  /**
+   * Returns the store version, which is incremented by every write that changes the store content.
+   *
+   * @return the store version
+   */
+  @CheckReturnValue
+  long version() {
+    return version;
+  }
+
+  private Snapshot<ID, T> snapshot() {
+    Snapshot<ID, T> current = snapshot;
+    return current.version() == version ? current : refresh();
+  }
+
+  private synchronized Snapshot<ID, T> refresh() {
+    if (snapshot.version() != version) {
+      List<T> values = entities.values().stream().sorted(Comparator.comparing(idOf)).toList();
+      snapshot = new Snapshot<>(version, values, values.stream().map(idOf).toList());
+    }
+    return snapshot;
+  }
+
+  private record Snapshot<ID extends Comparable<? super ID>, T>(
+      long version, List<T> values, List<ID> ids) {
+    int indexAfter(final ID id) {
+      int index = Collections.binarySearch(ids, id);
+      return index >= 0 ? index + 1 : -(index + 1);
+    }
+  }
+}
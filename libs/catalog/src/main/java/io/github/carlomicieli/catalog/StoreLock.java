@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An exclusive lock on the directory set by the {@code catalog.store.directory} property, so that
+ * the server and the import command never replay and append to the same journals and logs at the
+ * same time.
+ *
+ * <p>The lock is taken with {@link FileChannel#tryLock()} on the {@code catalog.lock} file of the
+ * directory, before any journal or log is opened, and fails fast when another process holds it. The
+ * operating system releases it when the process exits, even when it crashes, so the lock file left
+ * behind never blocks the next start.
+ */
+@Singleton
+@Requires(property = FileStore.DIRECTORY_PROPERTY)
+final class StoreLock implements AutoCloseable {
+  static final String LOCK_FILE = "catalog.lock";
+
+  private final Path directory;
+  private final FileChannel channel;
+
+  @Inject
+  StoreLock(@Property(name = FileStore.DIRECTORY_PROPERTY) @NotNull final String directory) {
+    this(Path.of(directory));
+  }
+
+  StoreLock(@NotNull final Path directory) {
+    this.directory = Objects.requireNonNull(directory, "directory must not be null");
+    Path lockFile = directory.resolve(LOCK_FILE);
+    try {
+      Files.createDirectories(directory);
+      this.channel =
+          FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to open the lock file " + lockFile, e);
+    }
+    if (!tryLock()) {
+      close();
+      throw new IllegalStateException(
+          "The catalog store " + directory + " is in use by another process");
+    }
+  }
+
+  /**
+   * Returns the locked directory.
+   *
+   * @return the store directory
+   */
+  @CheckReturnValue
+  @NotNull Path directory() {
+    return directory;
+  }
+
+  @Override
+  @PreDestroy
+  public void close() {
+    // closing the channel releases the lock
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to release the lock of " + directory, e);
+    }
+  }
+
+  private boolean tryLock() {
+    try {
+      FileLock lock = channel.tryLock();
+      return lock != null;
+    } catch (OverlappingFileLockException e) {
+      // held by another context of this same process
+      return false;
+    } catch (IOException e) {
+      close();
+      throw new UncheckedIOException("Unable to lock " + directory, e);
+    }
+  }
+}
@@ -0,0 +1,498 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import io.github.carlomicieli.slug.Slug;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An inverted index for full-text searches over short texts, like names and abbreviations.
+ *
+ * <p>The texts are normalized with the {@link Slug} rules, so that searches ignore case, accents
+ * and punctuation, and split in words. Every prefix of a word, from two to {@value
+ * #MAX_PREFIX_LENGTH} characters, is a term: a one-character word only matches itself, while the
+ * query words longer than that are looked up by their first {@value #MAX_PREFIX_LENGTH} characters
+ * and checked against the indexed words.
+ *
+ * <p>The documents are numbered in the order they are first indexed. The postings of each term are
+ * a sorted {@code long[]}, where each entry packs the document number, the length of the document
+ * and the weight of the term in the document (see {@link SearchHit}): a search intersects the
+ * postings of the query words and ranks the documents in a bounded heap without touching them, so
+ * that it only reads memory sequentially. Writes are serialized and replace the postings they
+ * change with new arrays, except for appends past the published size; reads never block.
+ *
+ * <p>The documents where a term is a whole word and the ones where it is only the prefix of a word
+ * are kept in separate postings. An exact match always outscores a prefix, so that the long
+ * postings of the short prefixes are only read when there are not enough better matches. The best
+ * {@value #CACHED_RANKS} ranks of the postings longer than {@value #CACHED_RANKS_MIN_POSTINGS}
+ * entries are computed by the first query of that word alone, and kept until the next write of the
+ * term.
+ *
+ * @param <ID> the document id type
+ */
+final class TextIndex<ID> {
+  static final int MIN_PREFIX_LENGTH = 2;
+  static final int MAX_PREFIX_LENGTH = 10;
+  static final int MAX_QUERY_WORDS = 8;
+
+  // entry bits: 63-32 document number, 31-16 complement of the document length, 3-0 weight
+  private static final int MAX_WEIGHT = 15;
+  private static final int EXACT_WEIGHT = 8;
+  private static final int MAX_PREFIX_WEIGHT = 7;
+  private static final int MAX_LENGTH = 0xFFFF;
+  private static final int CACHED_RANKS = 128;
+  private static final int CACHED_RANKS_MIN_POSTINGS = 1024;
+
+  private final Map<ID, Integer> ordinals = new HashMap<>();
+  private final Map<String, Postings> words = new ConcurrentHashMap<>();
+  private final Map<String, Postings> prefixes = new ConcurrentHashMap<>();
+  private volatile Document<?>[] documents = new Document<?>[16];
+
+  /**
+   * Indexes a document, replacing the texts previously indexed with the same id.
+   *
+   * @param id the document id
+   * @param texts the texts of the document, the first one is the main one
+   */
+  synchronized void put(@NotNull final ID id, @NotNull final String... texts) {
+    Objects.requireNonNull(id, "id must not be null");
+    String[][] textWords = new String[texts.length][];
+    int length = 0;
+    for (int i = 0; i < texts.length; i++) {
+      textWords[i] = words(texts[i]);
+      length += String.join("", textWords[i]).length();
+    }
+
+    Integer ordinal = ordinals.get(id);
+    if (ordinal == null) {
+      ordinal = ordinals.size();
+      if (ordinal == Integer.MAX_VALUE) {
+        throw new IllegalStateException("The text index is full");
+      }
+      ordinals.put(id, ordinal);
+    } else {
+      Document<?> previous = documents[ordinal];
+      if (Arrays.deepEquals(previous.words(), textWords)) {
+        return;
+      }
+      for (Map.Entry<String, Integer> term : terms(previous.words()).entrySet()) {
+        remove(postingsOf(term.getValue()), term.getKey(), ordinal);
+      }
+    }
+    store(ordinal, new Document<>(id, textWords));
+
+    long document = (long) ordinal << 32 | (long) (MAX_LENGTH - Math.min(length, MAX_LENGTH)) << 16;
+    terms(textWords).forEach((term, weight) -> add(postingsOf(weight), term, document | weight));
+  }
+
+  /**
+   * Searches the documents matching every word of the query, as an exact word or as the prefix of a
+   * word.
+   *
+   * @param query the query
+   * @param limit the maximum number of results
+   * @param lookup the function returning the value for a document id
+   * @return the best matching values, in descending order of score; the shorter documents come
+   *     first when the score is the same, then the ones indexed first
+   * @param <T> the value type
+   */
+  @CheckReturnValue
+  <T> @NotNull List<SearchHit<T>> search(
+      @NotNull final String query,
+      final int limit,
+      @NotNull final Function<? super ID, Optional<T>> lookup) {
+    String[] queryWords = queryWords(query);
+    if (queryWords.length == 0 || limit <= 0) {
+      return List.of();
+    }
+
+    Term[] terms = new Term[queryWords.length];
+    for (int i = 0; i < terms.length; i++) {
+      String word = queryWords[i];
+      String key = word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word;
+      terms[i] =
+          new Term(
+              word,
+              words.getOrDefault(key, Postings.EMPTY),
+              prefixes.getOrDefault(key, Postings.EMPTY));
+      if (terms[i].size() == 0) {
+        return List.of();
+      }
+    }
+    Arrays.sort(terms, (a, b) -> Integer.compare(a.size(), b.size()));
+
+    Document<?>[] documents = this.documents;
+    long[] ranks =
+        terms.length == 1 && terms[0].word().length() <= MAX_PREFIX_LENGTH
+            ? best(terms[0], limit)
+            : intersect(terms, limit, documents);
+    List<SearchHit<T>> hits = new ArrayList<>(ranks.length);
+    for (long rank : ranks) {
+      @SuppressWarnings("unchecked")
+      ID id = (ID) documents[Integer.MAX_VALUE - (int) rank].id();
+      int score = (int) (rank >>> 48);
+      lookup.apply(id).ifPresent(value -> hits.add(new SearchHit<>(value, score)));
+    }
+    return hits;
+  }
+
+  /**
+   * Returns the number of documents in the index.
+   *
+   * @return the number of documents
+   */
+  @CheckReturnValue
+  synchronized int size() {
+    return ordinals.size();
+  }
+
+  /** The best ranks of a term alone: the exact matches always come before the prefixes. */
+  private static long[] best(final Term term, final int limit) {
+    long[] exact = term.words().best(limit);
+    if (exact.length == limit) {
+      return exact;
+    }
+    long[] prefix = term.prefixes().best(limit - exact.length);
+    long[] ranks = Arrays.copyOf(exact, exact.length + prefix.length);
+    System.arraycopy(prefix, 0, ranks, exact.length, prefix.length);
+    return ranks;
+  }
+
+  /** The best ranks of the documents matching every term, starting from the shortest postings. */
+  private static long[] intersect(
+      final Term[] terms, final int limit, final Document<?>[] documents) {
+    TopK top = new TopK(limit);
+    int otherWeights = MAX_WEIGHT * (terms.length - 1);
+    Term first = terms[0];
+    for (Postings postings : new Postings[] {first.words(), first.prefixes()}) {
+      // the longer words are checked against the documents, and may match whole words there
+      if (postings == first.prefixes()
+          && first.word().length() <= MAX_PREFIX_LENGTH
+          && rank(MAX_PREFIX_WEIGHT + otherWeights, (long) MAX_LENGTH << 16) <= top.min()) {
+        break;
+      }
+      int[] wordCursors = new int[terms.length];
+      int[] prefixCursors = new int[terms.length];
+      candidates:
+      for (int i = 0; i < postings.size(); i++) {
+        long entry = postings.entries()[i];
+        int ordinal = (int) (entry >>> 32);
+        int score = weight(entry, first.word(), documents);
+        // skips the documents that cannot make it to the top, even matching the other words best
+        if (score == 0 || rank(score + otherWeights, entry) <= top.min()) {
+          continue;
+        }
+        for (int j = 1; j < terms.length; j++) {
+          long other = find(terms[j].words(), wordCursors, j, ordinal);
+          if (other < 0) {
+            // the prefix postings are read only if a prefix match can make it to the top
+            int bound = score + MAX_PREFIX_WEIGHT + MAX_WEIGHT * (terms.length - 1 - j);
+            if (terms[j].word().length() <= MAX_PREFIX_LENGTH && rank(bound, entry) <= top.min()) {
+              continue candidates;
+            }
+            other = find(terms[j].prefixes(), prefixCursors, j, ordinal);
+          }
+          int weight = other < 0 ? 0 : weight(other, terms[j].word(), documents);
+          if (weight == 0) {
+            continue candidates;
+          }
+          score += weight;
+        }
+        top.offer(rank(score, entry));
+      }
+    }
+    return top.sorted();
+  }
+
+  /**
+   * The rank of a document: the higher, the better. It packs the score, the complement of the
+   * document length and the complement of the document number, so that the shorter documents come
+   * first when the score is the same, then the ones indexed first.
+   */
+  private static long rank(final int score, final long entry) {
+    return (long) score << 48 | (entry & 0xFFFF0000L) << 16 | (Integer.MAX_VALUE - (entry >>> 32));
+  }
+
+  /** The entry of a document in the postings, or {@code -1}, moving the cursor of the postings. */
+  private static long find(
+      final Postings postings, final int[] cursors, final int index, final int ordinal) {
+    int cursor = advance(postings, cursors[index], ordinal);
+    cursors[index] = cursor;
+    if (cursor < postings.size() && (int) (postings.entries()[cursor] >>> 32) == ordinal) {
+      return postings.entries()[cursor];
+    }
+    return -1;
+  }
+
+  private Map<String, Postings> postingsOf(final int weight) {
+    return (weight & EXACT_WEIGHT) != 0 ? words : prefixes;
+  }
+
+  private void store(final int ordinal, final Document<ID> document) {
+    if (ordinal == documents.length) {
+      documents = Arrays.copyOf(documents, (int) Math.min((long) ordinal * 2, Integer.MAX_VALUE));
+    }
+    documents[ordinal] = document;
+  }
+
+  private static void add(
+      final Map<String, Postings> postings, final String term, final long entry) {
+    Postings current = postings.getOrDefault(term, Postings.EMPTY);
+    long[] entries = current.entries();
+    int size = current.size();
+    int index = -Arrays.binarySearch(entries, 0, size, entry) - 1;
+    if (index == size && size < entries.length) {
+      // the readers of the current postings never look past their size
+      entries[size] = entry;
+      postings.put(term, new Postings(entries, size + 1));
+      return;
+    }
+    long[] copy = new long[Math.max(size + 1, index == size ? size * 2 : size + 1)];
+    System.arraycopy(entries, 0, copy, 0, index);
+    copy[index] = entry;
+    System.arraycopy(entries, index, copy, index + 1, size - index);
+    postings.put(term, new Postings(copy, size + 1));
+  }
+
+  private static void remove(
+      final Map<String, Postings> postings, final String term, final int ordinal) {
+    Postings current = postings.getOrDefault(term, Postings.EMPTY);
+    int index = advance(current, 0, ordinal);
+    if (index == current.size() || (int) (current.entries()[index] >>> 32) != ordinal) {
+      return;
+    }
+    if (current.size() == 1) {
+      postings.remove(term);
+      return;
+    }
+    long[] copy = new long[current.size() - 1];
+    System.arraycopy(current.entries(), 0, copy, 0, index);
+    System.arraycopy(current.entries(), index + 1, copy, index, copy.length - index);
+    postings.put(term, new Postings(copy, copy.length));
+  }
+
+  /** The index of the first entry, from the given one, of a document not before the given one. */
+  private static int advance(final Postings postings, final int from, final int ordinal) {
+    long[] entries = postings.entries();
+    int size = postings.size();
+    long target = (long) ordinal << 32;
+    if (from >= size || entries[from] >= target) {
+      return from;
+    }
+    int low = from;
+    int step = 1;
+    while (low + step < size && entries[low + step] < target) {
+      low += step;
+      step <<= 1;
+    }
+    int high = Math.min(low + step, size);
+    low++;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (entries[middle] < target) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static int weight(final long entry, final String word, final Document<?>[] documents) {
+    if (word.length() <= MAX_PREFIX_LENGTH) {
+      return (int) entry & MAX_WEIGHT;
+    }
+    int best = 0;
+    for (String[] words : documents[(int) (entry >>> 32)].words()) {
+      for (int i = 0; i < words.length; i++) {
+        if (words[i].startsWith(word)) {
+          best = Math.max(best, weight(words[i], i, word.length()));
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * The weight of a prefix of a word: 4, plus 8 if it is the whole word, 2 if it is the first word
+   * of its text and 1 if it covers at least half of the word.
+   */
+  private static int weight(final String word, final int position, final int prefixLength) {
+    int weight = 4;
+    if (prefixLength == word.length()) {
+      weight += EXACT_WEIGHT;
+    }
+    if (position == 0) {
+      weight += 2;
+    }
+    if (prefixLength * 2 >= word.length()) {
+      weight += 1;
+    }
+    return weight;
+  }
+
+  private static Map<String, Integer> terms(final String[][] texts) {
+    Map<String, Integer> terms = new HashMap<>();
+    for (String[] words : texts) {
+      for (int i = 0; i < words.length; i++) {
+        String word = words[i];
+        int from = Math.min(word.length(), MIN_PREFIX_LENGTH);
+        int to = Math.min(word.length(), MAX_PREFIX_LENGTH);
+        for (int length = from; length <= to; length++) {
+          terms.merge(word.substring(0, length), weight(word, i, length), Math::max);
+        }
+      }
+    }
+    return terms;
+  }
+
+  private static String[] queryWords(final String query) {
+    Set<String> words = new LinkedHashSet<>(Arrays.asList(words(query)));
+    return words.stream().limit(MAX_QUERY_WORDS).toArray(String[]::new);
+  }
+
+  private static String[] words(final String text) {
+    String slug = Slug.slugify(Objects.requireNonNull(text, "text must not be null"));
+    return slug.isEmpty() ? new String[0] : slug.split("-");
+  }
+
+  private record Document<ID>(ID id, String[][] words) {}
+
+  /** A word of a query, with the postings of its exact and prefix matches. */
+  private record Term(String word, Postings words, Postings prefixes) {
+    int size() {
+      return words.size() + prefixes.size();
+    }
+  }
+
+  /**
+   * The postings of a term. They are never modified once published, but for the appends past their
+   * size, and replaced on every write.
+   */
+  private static final class Postings {
+    static final Postings EMPTY = new Postings(new long[0], 0);
+
+    private final long[] entries;
+    private final int size;
+    // the best ranks for the queries of this term alone, computed by the first one
+    private volatile long[] best;
+
+    Postings(final long[] entries, final int size) {
+      this.entries = entries;
+      this.size = size;
+    }
+
+    long[] entries() {
+      return entries;
+    }
+
+    int size() {
+      return size;
+    }
+
+    /** The best ranks of the documents, where the score is the weight of this term. */
+    long[] best(final int limit) {
+      if (size <= CACHED_RANKS_MIN_POSTINGS || limit > CACHED_RANKS) {
+        return top(limit);
+      }
+      long[] ranks = best;
+      if (ranks == null) {
+        ranks = top(CACHED_RANKS);
+        best = ranks;
+      }
+      return ranks.length <= limit ? ranks : Arrays.copyOf(ranks, limit);
+    }
+
+    private long[] top(final int limit) {
+      TopK top = new TopK(limit);
+      for (int i = 0; i < size; i++) {
+        top.offer(rank((int) entries[i] & MAX_WEIGHT, entries[i]));
+      }
+      return top.sorted();
+    }
+  }
+
+  /** A bounded min-heap of the best ranks. */
+  private static final class TopK {
+    private final long[] heap;
+    private int size;
+
+    TopK(final int capacity) {
+      this.heap = new long[Math.min(capacity, 1024)];
+    }
+
+    void offer(final long rank) {
+      if (size < heap.length) {
+        int i = size++;
+        while (i > 0 && heap[(i - 1) >>> 1] > rank) {
+          heap[i] = heap[(i - 1) >>> 1];
+          i = (i - 1) >>> 1;
+        }
+        heap[i] = rank;
+      } else if (rank > heap[0]) {
+        int i = 0;
+        while (true) {
+          int child = 2 * i + 1;
+          if (child >= size) {
+            break;
+          }
+          if (child + 1 < size && heap[child + 1] < heap[child]) {
+            child++;
+          }
+          if (heap[child] >= rank) {
+            break;
+          }
+          heap[i] = heap[child];
+          i = child;
+        }
+        heap[i] = rank;
+      }
+    }
+
+    /** The rank that another one must exceed to make it to the top. */
+    long min() {
+      return size < heap.length ? Long.MIN_VALUE : heap[0];
+    }
+
+    long[] sorted() {
+      long[] ranks = Arrays.copyOf(heap, size);
+      Arrays.sort(ranks);
+      for (int i = 0, j = ranks.length - 1; i < j; i++, j--) {
+        long rank = ranks[i];
+        ranks[i] = ranks[j];
+        ranks[j] = rank;
+      }
+      return ranks;
+    }
+  }
+}
@@ -20,6 +20,8 @@
  */
 package io.github.carlomicieli.catalog;
 
+import org.jetbrains.annotations.NotNull;
+
 /** The track gauge of a railway. */
 public enum TrackGauge {
   BROAD,
@@ -27,4 +29,20 @@ public enum TrackGauge {
   MINIMUM,
   NARROW,
   STANDARD;
+
+  /**
+   * Parses a track gauge, ignoring the case.
+   *
+   * @param value the track gauge name
+   * @return the track gauge
+   * @throws IllegalArgumentException if the value is not a valid track gauge
+   */
+  public static @NotNull TrackGauge parse(@NotNull final String value) {
+    for (TrackGauge candidate : values()) {
+      if (candidate.name().equalsIgnoreCase(value)) {
+        return candidate;
+      }
+    }
+    throw new IllegalArgumentException("Invalid track gauge value: " + value);
+  }
 }
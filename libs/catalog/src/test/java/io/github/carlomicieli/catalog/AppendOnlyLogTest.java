@@ -0,0 +1,155 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("AppendOnlyLog")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class AppendOnlyLogTest {
+  @TempDir Path directory;
+
+  @Test
+  void it_should_replay_the_records_in_the_order_they_were_appended() throws IOException {
+    Path path = directory.resolve("test.log");
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      log.append(record("one"));
+      log.append(record("two"));
+      log.append(record("three"));
+      assertThat(log.records()).isEqualTo(3L);
+    }
+
+    assertThat(replay(path)).containsExactly("one", "two", "three");
+  }
+
+  @Test
+  void it_should_grow_beyond_the_initial_mapping() throws IOException {
+    Path path = directory.resolve("test.log");
+    String value = "x".repeat(4096);
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      for (int i = 0; i < 1024; i++) {
+        log.append(record(value));
+      }
+    }
+
+    assertThat(replay(path)).hasSize(1024).allMatch(value::equals);
+  }
+
+  @Test
+  void it_should_append_after_the_records_replayed() throws IOException {
+    Path path = directory.resolve("test.log");
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      log.append(record("one"));
+    }
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      log.append(record("two"));
+    }
+
+    assertThat(replay(path)).containsExactly("one", "two");
+  }
+
+  @Test
+  void it_should_drop_a_torn_record_and_everything_after_it() throws IOException {
+    Path path = directory.resolve("test.log");
+    long tornRecordPosition;
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      log.append(record("one"));
+      tornRecordPosition = log.size();
+      log.append(record("two"));
+      log.append(record("three"));
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      // corrupt the payload of the second record
+      channel.write(ByteBuffer.wrap(new byte[] {'X'}), tornRecordPosition + 2 * Integer.BYTES);
+    }
+
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      assertThat(log.records()).isEqualTo(1L);
+      log.append(record("four"));
+    }
+    assertThat(replay(path)).containsExactly("one", "four");
+  }
+
+  @Test
+  void it_should_rewrite_the_log() throws IOException {
+    Path path = directory.resolve("test.log");
+    try (AppendOnlyLog log = AppendOnlyLog.open(path, ignored -> {})) {
+      for (int i = 0; i < 10; i++) {
+        log.append(record("record-" + i));
+      }
+
+      log.rewrite(Stream.of(record("record-8"), record("record-9")));
+      assertThat(log.records()).isEqualTo(2L);
+      log.append(record("record-10"));
+    }
+
+    assertThat(replay(path)).containsExactly("record-8", "record-9", "record-10");
+    assertThat(Files.list(directory)).containsExactly(path);
+  }
+
+  @Test
+  void it_should_reject_files_that_are_not_logs() throws IOException {
+    Path path = directory.resolve("test.log");
+    Files.writeString(path, "not a log");
+
+    assertThatThrownBy(() -> AppendOnlyLog.open(path, ignored -> {}))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Not a catalog log");
+  }
+
+  @Test
+  void it_should_reject_empty_records() throws IOException {
+    try (AppendOnlyLog log = AppendOnlyLog.open(directory.resolve("test.log"), ignored -> {})) {
+      assertThatThrownBy(() -> log.append(ByteBuffer.allocate(0)))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("The log records cannot be empty");
+    }
+  }
+
+  private static ByteBuffer record(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> replay(Path path) throws IOException {
+    List<String> values = new ArrayList<>();
+    AppendOnlyLog.open(
+            path, payload -> values.add(StandardCharsets.UTF_8.decode(payload).toString()))
+        .close();
+    return values;
+  }
+}
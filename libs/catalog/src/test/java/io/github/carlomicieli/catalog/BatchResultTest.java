@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BatchResult")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BatchResultTest {
+  @Test
+  void it_should_create_values() {
+    assertThat(BatchResult.of(() -> "value")).isEqualTo(new BatchResult.Created<>("value"));
+  }
+
+  @Test
+  void it_should_reject_the_values_failing_validation() {
+    assertThat(
+            BatchResult.of(
+                () -> {
+                  throw new IllegalArgumentException("invalid value");
+                }))
+        .isEqualTo(new BatchResult.Rejected<>("invalid value"));
+  }
+
+  @Test
+  void it_should_propagate_the_unexpected_exceptions() {
+    assertThatNullPointerException()
+        .isThrownBy(
+            () ->
+                BatchResult.of(
+                    () -> {
+                      throw new NullPointerException("a bug");
+                    }))
+        .withMessage("a bug");
+  }
+
+  @Test
+  void it_should_map_only_the_created_values() {
+    assertThat(new BatchResult.Created<>("value").map(String::length))
+        .isEqualTo(new BatchResult.Created<>(5));
+    assertThat(new BatchResult.Rejected<String>("invalid value").map(String::length))
+        .isEqualTo(new BatchResult.Rejected<>("invalid value"));
+  }
+
+  @Test
+  void it_should_reject_the_later_items_with_the_same_id() {
+    List<BatchResult<String>> results =
+        List.of(
+            new BatchResult.Created<>("a1"),
+            new BatchResult.Rejected<>("invalid value"),
+            new BatchResult.Created<>("b1"),
+            new BatchResult.Created<>("a2"));
+
+    assertThat(BatchResult.rejectDuplicates(results, value -> value.charAt(0)))
+        .containsExactly(
+            new BatchResult.Created<>("a1"),
+            new BatchResult.Rejected<>("invalid value"),
+            new BatchResult.Created<>("b1"),
+            new BatchResult.Rejected<>("Duplicate id in the batch: a"));
+  }
+
+  @Test
+  void it_should_reject_the_items_with_a_taken_id() {
+    List<BatchResult<String>> results =
+        List.of(
+            new BatchResult.Created<>("a1"),
+            new BatchResult.Rejected<>("invalid value"),
+            new BatchResult.Created<>("b1"));
+
+    assertThat(BatchResult.rejectTaken(results, value -> value.charAt(0), Set.of('b')))
+        .containsExactly(
+            new BatchResult.Created<>("a1"),
+            new BatchResult.Rejected<>("invalid value"),
+            new BatchResult.Rejected<>("Id already in use: b"));
+  }
+
+  @Test
+  void it_should_collect_the_created_values_in_the_batch_order() {
+    List<BatchResult<String>> results =
+        List.of(
+            new BatchResult.Created<>("a"),
+            new BatchResult.Rejected<>("invalid value"),
+            new BatchResult.Created<>("b"));
+
+    assertThat(BatchResult.created(results)).containsExactly("a", "b");
+  }
+}
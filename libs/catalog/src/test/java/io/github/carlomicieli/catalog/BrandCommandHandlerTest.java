@@ -21,6 +21,8 @@
 package io.github.carlomicieli.catalog;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import com.neovisionaries.i18n.CountryCode;
 import io.github.carlomicieli.Address;
@@ -29,9 +31,12 @@ import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.OrganizationEntityType;
 import io.github.carlomicieli.TestConstants;
 import io.github.carlomicieli.slug.Slug;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -43,7 +48,7 @@ class BrandCommandHandlerTest {
 
   private final BrandRepository brandRepository = BrandRepository.INSTANCE;
   private final BrandCommandHandler commandHandler =
-      new BrandCommandHandler(brandRepository, TestConstants.TEST_CLOCK);
+      new BrandCommandHandler(brandRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
 
   @Test
   void it_should_create_a_new_brand() {
@@ -56,7 +61,8 @@ class BrandCommandHandlerTest {
     BrandId brandId = commandHandler.handle(createBrand);
     assertThat(brandId).isNotNull().isEqualTo(new BrandId("trn:brand:new-brand"));
 
-    Optional<Brand> newBrand = brandRepository.findById(BrandId.fromName("new-brand"));
+    Optional<Brand> newBrand =
+        commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("new-brand")));
     assertThat(newBrand).isNotEmpty();
     assertThat(newBrand.get().name()).isEqualTo("New Brand");
     assertThat(newBrand.get().slug()).isEqualTo(Slug.of("new-brand"));
@@ -70,6 +76,105 @@ class BrandCommandHandlerTest {
     assertThat(newBrand.get().contactInfo()).isEqualTo(contactInfo);
   }
 
+  @Test
+  void it_should_answer_the_queries_while_a_create_is_projected() throws InterruptedException {
+    BrandRepository brandRepository = new BrandInMemoryRepository();
+    CountDownLatch projecting = new CountDownLatch(1);
+    CountDownLatch projected = new CountDownLatch(1);
+    try (EventJournal<BrandId, Brand> journal =
+        EventJournal.inMemory(
+            "brands",
+            Brand::id,
+            new EventJournal.ReadModel<>(
+                brands -> {
+                  projecting.countDown();
+                  try {
+                    projected.await();
+                  } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                  }
+                  brandRepository.saveAll(brands);
+                },
+                brandRepository::findById,
+                brandRepository::findAll))) {
+      BrandCommandHandler commandHandler =
+          new BrandCommandHandler(
+              brandRepository, journal, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+      CompletableFuture<BrandId> created =
+          CompletableFuture.supplyAsync(
+              () ->
+                  commandHandler.handle(
+                      new BrandCommand.CreateBrand("ACME", "INDUSTRIAL", null, null, null, null)));
+
+      projecting.await();
+      assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("ACME"))))
+          .isEmpty();
+      assertThat(created).isNotDone();
+
+      projected.countDown();
+      assertThat(created.join()).isEqualTo(BrandId.fromName("ACME"));
+      assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("ACME"))))
+          .isPresent();
+    }
+  }
+
+  @Test
+  void it_should_reject_to_create_a_brand_with_the_slug_of_an_existing_one() {
+    BrandRepository brandRepository = new BrandInMemoryRepository();
+    BrandCommandHandler commandHandler =
+        new BrandCommandHandler(
+            brandRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    commandHandler.handle(
+        new BrandCommand.CreateBrand("ACME", "INDUSTRIAL", null, null, null, null));
+
+    assertThatExceptionOfType(DuplicateIdException.class)
+        .isThrownBy(
+            () ->
+                commandHandler.handle(
+                    new BrandCommand.CreateBrand("acme", "BRASS_MODELS", null, null, null, null)))
+        .withMessage("Id already in use: trn:brand:acme");
+    assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("ACME"))))
+        .get()
+        .extracting(Brand::kind)
+        .isEqualTo(BrandKind.INDUSTRIAL);
+  }
+
+  @Test
+  void it_should_create_a_batch_of_brands() {
+    BrandRepository brandRepository = new BrandInMemoryRepository();
+    BrandCommandHandler commandHandler =
+        new BrandCommandHandler(
+            brandRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    BrandCommand.CreateBrands createBrands =
+        new BrandCommand.CreateBrands(
+            List.of(
+                new BrandCommand.CreateBrand("ACME", "INDUSTRIAL", null, null, null, null),
+                new BrandCommand.CreateBrand("", "INDUSTRIAL", null, null, null, null),
+                new BrandCommand.CreateBrand("Roco", null, "ACTIVE", null, null, null),
+                new BrandCommand.CreateBrand("acme", "BRASS_MODELS", null, null, null, null),
+                new BrandCommand.CreateBrand("Brand 1", "INDUSTRIAL", null, null, null, null)));
+
+    List<BatchResult<BrandId>> results = commandHandler.handle(createBrands);
+
+    assertThat(results).hasSize(5);
+    assertThat(results.get(0)).isEqualTo(new BatchResult.Created<>(BrandId.fromName("ACME")));
+    assertThat(results.get(1)).isInstanceOf(BatchResult.Rejected.class);
+    assertThat(results.get(2)).isEqualTo(new BatchResult.Created<>(BrandId.fromName("Roco")));
+    assertThat(results.get(3))
+        .isEqualTo(new BatchResult.Rejected<>("Duplicate id in the batch: trn:brand:acme"));
+    assertThat(results.get(4))
+        .isEqualTo(new BatchResult.Rejected<>("Id already in use: trn:brand:brand-1"));
+    assertThat(commandHandler.handle(new BrandCommand.FindAllBrands())).hasSize(8);
+    assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("ACME"))))
+        .get()
+        .extracting(Brand::kind)
+        .isEqualTo(BrandKind.INDUSTRIAL);
+    assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("Roco"))))
+        .get()
+        .extracting(Brand::metadata)
+        .isEqualTo(Metadata.createdAt(TestConstants.DATE_TIME_NOW));
+  }
+
   @Test
   void it_should_find_a_brand_by_id() {
     Brand expected =
@@ -92,4 +197,91 @@ class BrandCommandHandlerTest {
     List<Brand> brands = commandHandler.handle(findAllBrands);
     assertThat(brands).isNotNull().hasSize(7);
   }
+
+  @Test
+  void it_should_find_brands_one_page_at_a_time() {
+    BrandCommand.FindAllBrands findAllBrands =
+        new BrandCommand.FindAllBrands(BrandId.fromName("Brand 2"), 2);
+    List<Brand> brands = commandHandler.handle(findAllBrands);
+    assertThat(brands)
+        .extracting(Brand::id)
+        .containsExactly(BrandId.fromName("Brand 3"), BrandId.fromName("Brand 4"));
+  }
+
+  @Test
+  void it_should_find_the_version_of_the_brands() {
+    BrandCommandHandler commandHandler =
+        new BrandCommandHandler(
+            new BrandInMemoryRepository(), TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    long version = commandHandler.handle(new BrandCommand.FindBrandsVersion());
+
+    commandHandler.handle(
+        new BrandCommand.CreateBrand("ACME", "INDUSTRIAL", null, null, null, null));
+
+    assertThat(commandHandler.handle(new BrandCommand.FindBrandsVersion())).isGreaterThan(version);
+  }
+
+  @Test
+  void it_should_search_brands_by_name() {
+    BrandCommandHandler commandHandler =
+        new BrandCommandHandler(
+            new BrandInMemoryRepository(), TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    commandHandler.handle(
+        new BrandCommand.CreateBrand("Märklin", "INDUSTRIAL", null, null, null, null));
+
+    List<SearchHit<Brand>> hits = commandHandler.handle(new BrandCommand.SearchBrands("maerk", 10));
+
+    assertThat(hits).extracting(hit -> hit.value().name()).containsExactly("Märklin");
+    assertThat(commandHandler.handle(new BrandCommand.SearchBrands("brand 3", 10)))
+        .extracting(hit -> hit.value().id())
+        .containsExactly(BrandId.fromName("brand-3"));
+  }
+
+  @Test
+  void it_should_update_a_brand() {
+    BrandRepository brandRepository = new BrandInMemoryRepository();
+    BrandCommandHandler commandHandler =
+        new BrandCommandHandler(
+            brandRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+
+    Optional<Brand> updated =
+        commandHandler.handle(
+            new BrandCommand.UpdateBrand(
+                BrandId.fromName("brand-1"),
+                new BrandCommand.CreateBrand(
+                    "BRAND 1", "BRASS_MODELS", "OUT_OF_BUSINESS", null, null, null)));
+
+    assertThat(updated).isNotEmpty();
+    assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("brand-1"))))
+        .isEqualTo(updated);
+    assertThat(updated.get().name()).isEqualTo("BRAND 1");
+    assertThat(updated.get().slug()).isEqualTo(Slug.of("brand-1"));
+    assertThat(updated.get().kind()).isEqualTo(BrandKind.BRASS_MODELS);
+    assertThat(updated.get().status()).isEqualTo(BrandStatus.OUT_OF_BUSINESS);
+    assertThat(updated.get().metadata().version()).isEqualTo(1);
+  }
+
+  @Test
+  void it_should_reject_to_rename_a_brand() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new BrandCommand.UpdateBrand(
+                    BrandId.fromName("brand-1"),
+                    new BrandCommand.CreateBrand("Brand One", null, null, null, null, null)))
+        .withMessage("The brand trn:brand:brand-1 cannot be renamed");
+  }
+
+  @Test
+  void it_should_not_update_brands_that_do_not_exist() {
+    Optional<Brand> updated =
+        commandHandler.handle(
+            new BrandCommand.UpdateBrand(
+                BrandId.fromName("not-found"),
+                new BrandCommand.CreateBrand("Not found", null, null, null, null, null)));
+
+    assertThat(updated).isEmpty();
+    assertThat(commandHandler.handle(new BrandCommand.FindBrandById(BrandId.fromName("not-found"))))
+        .isEmpty();
+  }
 }
@@ -57,4 +57,13 @@ class BrandIdTest {
     BrandId brandId = new BrandId("trn:brand:123");
     assertThat(brandId.toString()).isEqualTo("trn:brand:123");
   }
+
+  @Test
+  void it_should_intern_the_ids_created_from_the_same_name() {
+    BrandId brandId = BrandId.fromName("ACME");
+
+    assertThat(BrandId.fromName("ACME")).isSameAs(brandId);
+    assertThat(brandId).isEqualTo(new BrandId("trn:brand:acme"));
+    assertThat(brandId).hasSameHashCodeAs(new BrandId("trn:brand:acme"));
+  }
 }
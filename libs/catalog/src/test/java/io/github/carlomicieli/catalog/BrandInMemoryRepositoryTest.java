@@ -0,0 +1,143 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import io.github.carlomicieli.slug.Slug;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BrandInMemoryRepository")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BrandInMemoryRepositoryTest {
+  private final BrandInMemoryRepository brandRepository = new BrandInMemoryRepository();
+
+  @Test
+  void it_should_find_brands_by_id() {
+    assertThat(brandRepository.findById(BrandId.fromName("Brand 1")))
+        .isPresent()
+        .get()
+        .extracting(Brand::name)
+        .isEqualTo("Brand 1");
+    assertThat(brandRepository.findById(BrandId.fromName("Not Found"))).isEmpty();
+  }
+
+  @Test
+  void it_should_find_brands_by_slug() {
+    assertThat(brandRepository.findBySlug(Slug.of("brand-2")))
+        .isPresent()
+        .get()
+        .extracting(Brand::id)
+        .isEqualTo(BrandId.fromName("Brand 2"));
+    assertThat(brandRepository.findBySlug(Slug.of("not-found"))).isEmpty();
+  }
+
+  @Test
+  void it_should_replace_brands_with_the_same_id() {
+    Brand brand =
+        BrandBuilder.builder(brand("Brand 1")).status(BrandStatus.OUT_OF_BUSINESS).build();
+    BrandId brandId = brandRepository.save(brand);
+
+    assertThat(brandRepository.findAll()).hasSize(6).first().isEqualTo(brand);
+    assertThat(brandRepository.findById(brandId)).contains(brand);
+    assertThat(brandRepository.size()).isEqualTo(6);
+  }
+
+  @Test
+  void it_should_change_version_when_brands_are_saved() {
+    long version = brandRepository.version();
+    assertThat(brandRepository.findAll()).isNotEmpty();
+    assertThat(brandRepository.version()).isEqualTo(version);
+
+    brandRepository.save(brand("ACME"));
+    assertThat(brandRepository.version()).isGreaterThan(version);
+  }
+
+  @Test
+  void it_should_list_brands_sorted_by_id() {
+    BrandId brandId = brandRepository.save(brand("ACME"));
+
+    List<Brand> brands = brandRepository.findAll();
+    assertThat(brands).hasSize(7).first().extracting(Brand::id).isEqualTo(brandId);
+    assertThat(brandRepository.size()).isEqualTo(7);
+    assertThat(brands).extracting(Brand::id).isSorted();
+  }
+
+  @Test
+  void it_should_find_brands_one_page_at_a_time() {
+    List<Brand> firstPage = brandRepository.findAll(null, 4);
+    assertThat(firstPage)
+        .extracting(Brand::name)
+        .containsExactly("Brand 1", "Brand 2", "Brand 3", "Brand 4");
+
+    List<Brand> secondPage = brandRepository.findAll(firstPage.getLast().id(), 4);
+    assertThat(secondPage).extracting(Brand::name).containsExactly("Brand 5", "Brand 6");
+
+    assertThat(brandRepository.findAll(secondPage.getLast().id(), 4)).isEmpty();
+  }
+
+  @Test
+  void it_should_save_brands_concurrently() throws Exception {
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      List<Future<BrandId>> results =
+          IntStream.range(0, 1_000)
+              .mapToObj(id -> executor.submit(() -> brandRepository.save(brand("ACME " + id))))
+              .toList();
+      for (Future<BrandId> result : results) {
+        assertThat(brandRepository.findById(result.get())).isPresent();
+      }
+    }
+
+    assertThat(brandRepository.findAll()).hasSize(1_006).doesNotContainNull();
+  }
+
+  @Test
+  void it_should_save_a_batch_of_brands() {
+    Brand renamed = BrandBuilder.builder(brand("Brand 1")).slug(Slug.of("brand-one")).build();
+    List<BrandId> brandIds = brandRepository.saveAll(List.of(brand("ACME"), renamed));
+
+    assertThat(brandIds).containsExactly(BrandId.fromName("ACME"), BrandId.fromName("Brand 1"));
+    assertThat(brandRepository.findAll()).hasSize(7);
+    assertThat(brandRepository.findBySlug(Slug.of("acme"))).isPresent();
+    assertThat(brandRepository.findBySlug(Slug.of("brand-one"))).contains(renamed);
+    assertThat(brandRepository.findBySlug(Slug.of("brand-1"))).isEmpty();
+  }
+
+  private static Brand brand(final String name) {
+    return BrandBuilder.builder()
+        .id(BrandId.fromName(name))
+        .name(name)
+        .slug(Slug.of(name))
+        .kind(BrandKind.INDUSTRIAL)
+        .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+        .build();
+  }
+}
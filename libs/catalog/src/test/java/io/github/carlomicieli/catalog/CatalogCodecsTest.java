@@ -0,0 +1,162 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.github.carlomicieli.Address;
+import io.github.carlomicieli.ContactInfo;
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.OrganizationEntityType;
+import io.github.carlomicieli.TestConstants;
+import io.github.carlomicieli.slug.Slug;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("CatalogCodecs")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogCodecsTest {
+  private static final Address ADDRESS =
+      new Address(CountryCode.IT, "Rome", "Via Roma", null, "RM", "00100");
+  private static final ContactInfo CONTACT_INFO =
+      new ContactInfo("mail@mail.com", "+3900000000", URI.create("http://www.example.com"));
+
+  @ParameterizedTest
+  @MethodSource("brands")
+  void it_should_encode_and_decode_brands(Brand brand) {
+    assertThat(roundTrip(CatalogCodecs.BRAND, brand)).isEqualTo(brand);
+  }
+
+  @ParameterizedTest
+  @MethodSource("railways")
+  void it_should_encode_and_decode_railways(Railway railway) {
+    assertThat(roundTrip(CatalogCodecs.RAILWAY, railway)).isEqualTo(railway);
+  }
+
+  @Test
+  void it_should_encode_and_decode_scales() {
+    Scale scale =
+        ScaleBuilder.builder()
+            .id(ScaleId.fromName("H0"))
+            .name("H0")
+            .slug(Slug.of("H0"))
+            .ratio(new BigDecimal("87.0"))
+            .trackGauge(TrackGauge.STANDARD)
+            .address(ADDRESS)
+            .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+            .build();
+
+    assertThat(roundTrip(CatalogCodecs.SCALE, scale)).isEqualTo(scale);
+  }
+
+  @ParameterizedTest
+  @MethodSource("catalogItems")
+  void it_should_encode_and_decode_catalog_items(CatalogItem catalogItem) {
+    assertThat(roundTrip(CatalogCodecs.CATALOG_ITEM, catalogItem)).isEqualTo(catalogItem);
+  }
+
+  private static <T> T roundTrip(RecordCodec<T> codec, T value) {
+    RecordOutput output = new RecordOutput(8);
+    codec.encode(value, output);
+    return codec.decode(new RecordInput(output.toByteBuffer()));
+  }
+
+  private static Stream<Brand> brands() {
+    Brand brand =
+        BrandBuilder.builder()
+            .id(BrandId.fromName("Märklin"))
+            .name("Märklin")
+            .slug(Slug.of("Märklin"))
+            .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+            .build();
+    ZonedDateTime lastModifiedAt =
+        ZonedDateTime.of(2024, 6, 1, 10, 30, 0, 0, ZoneId.of("Europe/Rome"));
+    return Stream.of(
+        brand,
+        BrandBuilder.builder(brand)
+            .kind(BrandKind.INDUSTRIAL)
+            .status(BrandStatus.ACTIVE)
+            .address(ADDRESS)
+            .organizationEntityType(OrganizationEntityType.LIMITED_COMPANY)
+            .contactInfo(CONTACT_INFO)
+            .metadata(brand.metadata().lastModifiedAt(lastModifiedAt))
+            .build(),
+        BrandBuilder.builder(brand).contactInfo(new ContactInfo(null, null, null)).build());
+  }
+
+  private static Stream<Railway> railways() {
+    Railway railway =
+        RailwayBuilder.builder()
+            .id(RailwayId.fromName("FS"))
+            .name("FS")
+            .slug(Slug.of("FS"))
+            .abbreviation("FS")
+            .country(CountryCode.IT)
+            .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+            .build();
+    return Stream.of(
+        railway,
+        RailwayBuilder.builder(railway)
+            .periodOfActivity(RailwayPeriodOfActivity.activeRailway(LocalDate.of(1905, 7, 1)))
+            .address(ADDRESS)
+            .organizationEntityType(OrganizationEntityType.STATE_OWNED_ENTERPRISE)
+            .contactInfo(CONTACT_INFO)
+            .build(),
+        RailwayBuilder.builder(railway)
+            .periodOfActivity(
+                RailwayPeriodOfActivity.inactiveRailway(
+                    LocalDate.of(1905, 7, 1), LocalDate.of(2000, 12, 31)))
+            .build());
+  }
+
+  private static Stream<CatalogItem> catalogItems() {
+    CatalogItem catalogItem =
+        CatalogItemBuilder.builder()
+            .id(CatalogItemId.from("ACME", "60000"))
+            .brandId(BrandId.fromName("ACME"))
+            .scaleId(ScaleId.fromName("H0"))
+            .itemNumber(new ItemNumber("60000"))
+            .epoch(Epoch.IIIa)
+            .category(CatalogItemCategory.LOCOMOTIVES)
+            .powerMethod(PowerMethod.AC)
+            .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+            .build();
+    return Stream.of(
+        catalogItem,
+        CatalogItemBuilder.builder(catalogItem)
+            .epoch(new Epoch.Multiple(Epoch.IV, Epoch.V))
+            .category(CatalogItemCategory.TRAIN_SETS)
+            .powerMethod(PowerMethod.DC)
+            .count(3)
+            .build());
+  }
+}
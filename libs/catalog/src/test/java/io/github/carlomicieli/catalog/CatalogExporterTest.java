@@ -0,0 +1,162 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.neovisionaries.i18n.CountryCode;
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import io.github.carlomicieli.slug.Slug;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogExporter")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogExporterTest {
+  private static final Metadata METADATA = Metadata.createdAt(TestConstants.DATE_TIME_NOW);
+
+  private final BrandRepository brandRepository = new BrandInMemoryRepository();
+  private final RailwayRepository railwayRepository = new RailwayInMemoryRepository();
+  private final ScaleRepository scaleRepository = new ScaleInMemoryRepository();
+  private final CatalogItemRepository catalogItemRepository = new CatalogItemInMemoryRepository();
+  private final CatalogExporter exporter =
+      new CatalogExporter(
+          brandRepository, railwayRepository, scaleRepository, catalogItemRepository);
+
+  @BeforeEach
+  void setUp() {
+    for (String name : List.of("ACME", "Roco")) {
+      brandRepository.save(
+          BrandBuilder.builder()
+              .id(BrandId.fromName(name))
+              .name(name)
+              .slug(Slug.of(name))
+              .metadata(METADATA)
+              .build());
+    }
+    railwayRepository.save(
+        RailwayBuilder.builder()
+            .id(RailwayId.fromName("FS"))
+            .name("FS")
+            .slug(Slug.of("FS"))
+            .abbreviation("FS")
+            .country(CountryCode.IT)
+            .metadata(METADATA)
+            .build());
+    scaleRepository.save(
+        ScaleBuilder.builder()
+            .id(ScaleId.fromName("H0"))
+            .name("H0")
+            .slug(Slug.of("H0"))
+            .ratio(new BigDecimal("87.0"))
+            .trackGauge(TrackGauge.STANDARD)
+            .metadata(METADATA)
+            .build());
+    for (int i = 0; i < 100; i++) {
+      String itemNumber = String.valueOf(60000 + i);
+      catalogItemRepository.save(
+          CatalogItemBuilder.builder()
+              .id(CatalogItemId.from("ACME", itemNumber))
+              .brandId(BrandId.fromName("ACME"))
+              .scaleId(ScaleId.fromName("H0"))
+              .itemNumber(new ItemNumber(itemNumber))
+              .epoch(Epoch.IV)
+              .category(CatalogItemCategory.LOCOMOTIVES)
+              .powerMethod(PowerMethod.AC)
+              .metadata(METADATA)
+              .build());
+    }
+  }
+
+  @Test
+  void it_should_export_every_entity_of_the_catalog() {
+    List<CatalogEntity> expected = new ArrayList<>();
+    expected.addAll(brandRepository.findAll());
+    expected.addAll(railwayRepository.findAll());
+    expected.addAll(scaleRepository.findAll());
+    expected.addAll(catalogItemRepository.findAll());
+
+    List<CatalogEntity> entities = exporter.entities().toList();
+
+    assertThat(entities).hasSizeGreaterThanOrEqualTo(104).isEqualTo(expected);
+  }
+
+  @Test
+  void it_should_write_and_read_back_the_binary_format() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.writeBinary(out);
+
+    List<CatalogEntity> entities =
+        CatalogExporter.readBinary(new ByteArrayInputStream(out.toByteArray())).toList();
+
+    assertThat(entities).isEqualTo(exporter.entities().toList());
+  }
+
+  @Test
+  void it_should_split_the_binary_format_in_chunks() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.writeBinary(out);
+
+    List<byte[]> chunks = new ArrayList<>();
+    Iterator<byte[]> iterator = exporter.binaryChunks(256);
+    iterator.forEachRemaining(chunks::add);
+
+    assertThat(chunks).hasSizeGreaterThan(10);
+    ByteArrayOutputStream joined = new ByteArrayOutputStream();
+    chunks.forEach(joined::writeBytes);
+    assertThat(joined.toByteArray()).isEqualTo(out.toByteArray());
+  }
+
+  @Test
+  void it_should_reject_streams_without_the_binary_header() {
+    assertThatThrownBy(
+            () -> CatalogExporter.readBinary(new ByteArrayInputStream("{}\n".getBytes())))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Not a catalog export");
+  }
+
+  @Test
+  void it_should_fail_to_read_a_truncated_export() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.writeBinary(out);
+    byte[] bytes = out.toByteArray();
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+    assertThatThrownBy(
+            () -> CatalogExporter.readBinary(new ByteArrayInputStream(truncated)).toList())
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessage("Unable to read the catalog export");
+  }
+}
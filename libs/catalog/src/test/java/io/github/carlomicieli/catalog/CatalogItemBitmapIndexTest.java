@@ -0,0 +1,216 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemBitmapIndex")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemBitmapIndexTest {
+  private static final List<String> BRANDS = List.of("ACME", "Roco", "Rivarossi");
+  private static final List<String> SCALES = List.of("H0", "N");
+
+  private final CatalogItemBitmapIndex index = new CatalogItemBitmapIndex();
+
+  @Test
+  void it_should_match_any_of_the_values_of_a_facet_and_all_the_facets() {
+    index(12);
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder()
+            .brandIds(Set.of(BrandId.fromName("ACME"), BrandId.fromName("Roco")))
+            .scaleIds(Set.of(ScaleId.fromName("H0")))
+            .build();
+
+    CatalogItemSearchResult result = index.search(query, null, 10);
+
+    assertThat(result.total()).isEqualTo(4);
+    assertThat(itemNumbers(result)).containsExactly("0", "4", "6", "10");
+  }
+
+  @Test
+  void it_should_count_every_facet_value_without_its_own_selection() {
+    index(12);
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder()
+            .brandIds(Set.of(BrandId.fromName("ACME")))
+            .scaleIds(Set.of(ScaleId.fromName("H0")))
+            .build();
+
+    CatalogItemSearchResult result = index.search(query, null, 10);
+
+    assertThat(result.total()).isEqualTo(2);
+    assertThat(result.facets().get(CatalogItemFacet.BRAND))
+        .containsExactlyInAnyOrderEntriesOf(
+            Map.of(
+                BrandId.fromName("ACME").value(), 2,
+                BrandId.fromName("Roco").value(), 2,
+                BrandId.fromName("Rivarossi").value(), 2));
+    assertThat(result.facets().get(CatalogItemFacet.SCALE))
+        .containsExactlyInAnyOrderEntriesOf(
+            Map.of(ScaleId.fromName("H0").value(), 2, ScaleId.fromName("N").value(), 2));
+    assertThat(result.facets().get(CatalogItemFacet.POWER_METHOD))
+        .containsExactly(Map.entry("DC", 2));
+  }
+
+  @Test
+  void it_should_count_the_same_as_a_scan_of_the_items() {
+    List<CatalogItem> items = index(20_000);
+    List<CatalogItemQuery> queries =
+        List.of(
+            CatalogItemQuery.ALL,
+            CatalogItemQueryBuilder.builder().scaleIds(Set.of(ScaleId.fromName("N"))).build(),
+            CatalogItemQueryBuilder.builder()
+                .brandIds(Set.of(BrandId.fromName("Roco")))
+                .epochs(Set.of(Epoch.III, Epoch.IV))
+                .build(),
+            CatalogItemQueryBuilder.builder()
+                .epochs(Set.of(Epoch.I))
+                .epochRanges(Set.of(EpochRange.parse("IIIb..IVb")))
+                .scaleIds(Set.of(ScaleId.fromName("H0")))
+                .build(),
+            CatalogItemQueryBuilder.builder()
+                .categories(Set.of(CatalogItemCategory.LOCOMOTIVES))
+                .powerMethods(Set.of(PowerMethod.AC))
+                .build());
+
+    for (CatalogItemQuery query : queries) {
+      CatalogItemSearchResult result = index.search(query, null, 1);
+      assertThat(result.total()).isEqualTo(items.stream().filter(i -> matches(query, i)).count());
+      for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+        assertThat(result.facets().get(facet)).isEqualTo(scanCounts(items, query, facet));
+      }
+    }
+  }
+
+  @Test
+  void it_should_page_through_the_matches() {
+    index(12);
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder().scaleIds(Set.of(ScaleId.fromName("H0"))).build();
+
+    CatalogItemSearchResult firstPage = index.search(query, null, 4);
+    CatalogItemSearchResult secondPage = index.search(query, firstPage.items().getLast().id(), 4);
+
+    assertThat(itemNumbers(firstPage)).containsExactly("0", "2", "4", "6");
+    assertThat(itemNumbers(secondPage)).containsExactly("8", "10");
+    assertThat(secondPage.total()).isEqualTo(6);
+  }
+
+  @Test
+  void it_should_reindex_the_items_when_they_are_replaced() {
+    List<CatalogItem> items = index(4);
+    index.put(CatalogItemBuilder.builder(items.getFirst()).scaleId(ScaleId.fromName("N")).build());
+
+    CatalogItemSearchResult result = index.search(CatalogItemQuery.ALL, null, 10);
+
+    assertThat(result.total()).isEqualTo(4);
+    assertThat(result.facets().get(CatalogItemFacet.SCALE))
+        .containsExactly(
+            Map.entry(ScaleId.fromName("H0").value(), 1),
+            Map.entry(ScaleId.fromName("N").value(), 3));
+  }
+
+  @Test
+  void it_should_return_nothing_for_unknown_values() {
+    index(4);
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder().brandIds(Set.of(BrandId.fromName("Märklin"))).build();
+
+    CatalogItemSearchResult result = index.search(query, null, 10);
+
+    assertThat(result.total()).isZero();
+    assertThat(result.items()).isEmpty();
+  }
+
+  @Test
+  void it_should_reject_unknown_cursors() {
+    index(4);
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () -> index.search(CatalogItemQuery.ALL, CatalogItemId.from("ACME", "999"), 10));
+  }
+
+  private List<CatalogItem> index(final int size) {
+    List<CatalogItem> items = IntStream.range(0, size).mapToObj(this::catalogItem).toList();
+    items.forEach(index::put);
+    return items;
+  }
+
+  private CatalogItem catalogItem(final int i) {
+    String brand = BRANDS.get(i % BRANDS.size());
+    return CatalogItemBuilder.builder()
+        .id(CatalogItemId.from(brand, String.valueOf(i)))
+        .brandId(BrandId.fromName(brand))
+        .scaleId(ScaleId.fromName(SCALES.get(i % SCALES.size())))
+        .itemNumber(new ItemNumber(String.valueOf(i)))
+        .epoch(Epoch.ALL.get(i % Epoch.ALL.size()))
+        .category(CatalogItemCategory.values()[i % CatalogItemCategory.values().length])
+        .powerMethod(i % 5 == 0 && i > 12 ? PowerMethod.AC : PowerMethod.DC)
+        .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+        .build();
+  }
+
+  private static boolean matches(final CatalogItemQuery query, final CatalogItem item) {
+    for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+      Set<String> values = query.values(facet);
+      if (!values.isEmpty() && !values.contains(facet.valueOf(item))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Map<String, Integer> scanCounts(
+      final List<CatalogItem> items, final CatalogItemQuery query, final CatalogItemFacet facet) {
+    CatalogItemQuery others =
+        switch (facet) {
+          case BRAND -> CatalogItemQueryBuilder.builder(query).brandIds(Set.of()).build();
+          case SCALE -> CatalogItemQueryBuilder.builder(query).scaleIds(Set.of()).build();
+          case EPOCH ->
+              CatalogItemQueryBuilder.builder(query).epochs(Set.of()).epochRanges(Set.of()).build();
+          case CATEGORY -> CatalogItemQueryBuilder.builder(query).categories(Set.of()).build();
+          case POWER_METHOD ->
+              CatalogItemQueryBuilder.builder(query).powerMethods(Set.of()).build();
+        };
+    return items.stream()
+        .filter(item -> matches(others, item))
+        .collect(
+            Collectors.groupingBy(facet::valueOf, TreeMap::new, Collectors.summingInt(item -> 1)));
+  }
+
+  private static List<String> itemNumbers(final CatalogItemSearchResult result) {
+    return result.items().stream().map(item -> item.itemNumber().value()).toList();
+  }
+}
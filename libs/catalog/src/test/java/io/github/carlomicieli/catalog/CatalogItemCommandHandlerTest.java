@@ -0,0 +1,124 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemCommandHandler")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemCommandHandlerTest {
+  private final CatalogItemRepository repository = new CatalogItemInMemoryRepository();
+  private final CatalogItemCommandHandler commandHandler =
+      new CatalogItemCommandHandler(
+          repository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+
+  @Test
+  void it_should_create_new_catalog_items() {
+    var command =
+        new CatalogItemCommand.CreateCatalogItem(
+            "ACME", "60000", "H0", "IV/V", "locomotives", "ac", 1);
+    CatalogItemId catalogItemId = commandHandler.handle(command);
+    assertThat(catalogItemId).isEqualTo(CatalogItemId.from("ACME", "60000"));
+
+    Optional<CatalogItem> catalogItem = repository.findById(catalogItemId);
+    assertThat(catalogItem).isPresent();
+    assertThat(catalogItem.get().brandId()).isEqualTo(BrandId.fromName("ACME"));
+    assertThat(catalogItem.get().scaleId()).isEqualTo(ScaleId.fromName("H0"));
+    assertThat(catalogItem.get().itemNumber()).isEqualTo(new ItemNumber("60000"));
+    assertThat(catalogItem.get().epoch()).isEqualTo(new Epoch.Multiple(Epoch.IV, Epoch.V));
+    assertThat(catalogItem.get().category()).isEqualTo(CatalogItemCategory.LOCOMOTIVES);
+    assertThat(catalogItem.get().powerMethod()).isEqualTo(PowerMethod.AC);
+    assertThat(catalogItem.get().count()).isEqualTo(1);
+    assertThat(catalogItem.get().metadata())
+        .isEqualTo(Metadata.createdAt(TestConstants.DATE_TIME_NOW));
+  }
+
+  @Test
+  void it_should_reject_catalog_items_with_invalid_values() {
+    var command =
+        new CatalogItemCommand.CreateCatalogItem(
+            "ACME", "60000", "H0", "IV", "locomotives", "steam", 1);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> commandHandler.handle(command))
+        .withMessage("Invalid power method value: steam");
+  }
+
+  @Test
+  void it_should_find_catalog_item_by_id() {
+    var command =
+        new CatalogItemCommand.FindCatalogItemById(CatalogItemId.from("Brand 1", "10001"));
+    Optional<CatalogItem> catalogItem = commandHandler.handle(command);
+    assertThat(catalogItem).isPresent();
+    assertThat(catalogItem.get().id()).isEqualTo(CatalogItemId.from("Brand 1", "10001"));
+  }
+
+  @Test
+  void it_should_find_catalog_items() {
+    List<CatalogItem> catalogItems =
+        commandHandler.handle(new CatalogItemCommand.FindCatalogItems());
+    assertThat(catalogItems).hasSize(6);
+  }
+
+  @Test
+  void it_should_find_catalog_items_matching_a_filter() {
+    CatalogItemFilter filter =
+        CatalogItemFilterBuilder.builder()
+            .brandId(BrandId.fromName("Brand 1"))
+            .epoch(Epoch.IV)
+            .build();
+    List<CatalogItem> catalogItems =
+        commandHandler.handle(new CatalogItemCommand.FindCatalogItems(filter, null, 10));
+    assertThat(catalogItems)
+        .extracting(CatalogItem::id)
+        .containsExactly(
+            CatalogItemId.from("Brand 1", "10002"), CatalogItemId.from("Brand 1", "10003"));
+  }
+
+  @Test
+  void it_should_search_catalog_items() {
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder()
+            .scaleIds(Set.of(ScaleId.fromName("N")))
+            .categories(Set.of(CatalogItemCategory.LOCOMOTIVES, CatalogItemCategory.RAILCARS))
+            .build();
+    CatalogItemSearchResult result =
+        commandHandler.handle(new CatalogItemCommand.SearchCatalogItems(query, null, 10));
+    assertThat(result.total()).isEqualTo(2);
+    assertThat(result.items())
+        .extracting(CatalogItem::id)
+        .containsExactly(
+            CatalogItemId.from("Brand 1", "10003"), CatalogItemId.from("Brand 3", "30001"));
+    assertThat(result.facets().get(CatalogItemFacet.SCALE))
+        .containsEntry(ScaleId.fromName("H0").value(), 2);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("CatalogItemFileRepository")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemFileRepositoryTest {
+  @TempDir Path directory;
+
+  @Test
+  void it_should_find_the_catalog_items_saved_before_a_restart() {
+    CatalogItem locomotive = catalogItem("60000", CatalogItemCategory.LOCOMOTIVES);
+    CatalogItem railcar = catalogItem("60001", CatalogItemCategory.RAILCARS);
+    try (CatalogItemFileRepository repository =
+        new CatalogItemFileRepository(directory.toString())) {
+      repository.save(railcar);
+      repository.save(locomotive);
+    }
+
+    try (CatalogItemFileRepository repository =
+        new CatalogItemFileRepository(directory.toString())) {
+      assertThat(repository.findAll()).containsExactly(locomotive, railcar);
+      assertThat(repository.findById(locomotive.id())).contains(locomotive);
+    }
+  }
+
+  @Test
+  void it_should_rebuild_the_indexes_with_the_latest_versions() {
+    CatalogItem catalogItem = catalogItem("60000", CatalogItemCategory.LOCOMOTIVES);
+    CatalogItem updated =
+        CatalogItemBuilder.builder(catalogItem).category(CatalogItemCategory.TRAIN_SETS).build();
+    try (CatalogItemFileRepository repository =
+        new CatalogItemFileRepository(directory.toString())) {
+      repository.save(catalogItem);
+      repository.save(updated);
+    }
+
+    try (CatalogItemFileRepository repository =
+        new CatalogItemFileRepository(directory.toString())) {
+      assertThat(repository.findAll(filter(CatalogItemCategory.TRAIN_SETS), null, 10))
+          .containsExactly(updated);
+      assertThat(repository.findAll(filter(CatalogItemCategory.LOCOMOTIVES), null, 10)).isEmpty();
+    }
+  }
+
+  @Test
+  void it_should_search_the_catalog_items_saved_before_a_restart() {
+    CatalogItem locomotive = catalogItem("60000", CatalogItemCategory.LOCOMOTIVES);
+    CatalogItem railcar = catalogItem("60001", CatalogItemCategory.RAILCARS);
+    try (CatalogItemFileRepository repository =
+        new CatalogItemFileRepository(directory.toString())) {
+      repository.save(railcar);
+      repository.save(locomotive);
+    }
+
+    try (CatalogItemFileRepository repository =
+        new CatalogItemFileRepository(directory.toString())) {
+      CatalogItemSearchResult result = repository.search(CatalogItemQuery.ALL, null, 10);
+      assertThat(result.total()).isEqualTo(2);
+      assertThat(result.items()).containsExactly(locomotive, railcar);
+      assertThat(result.facets().get(CatalogItemFacet.CATEGORY))
+          .containsEntry("LOCOMOTIVES", 1)
+          .containsEntry("RAILCARS", 1);
+    }
+  }
+
+  private static CatalogItemFilter filter(final CatalogItemCategory category) {
+    return CatalogItemFilterBuilder.builder().category(category).build();
+  }
+
+  private static CatalogItem catalogItem(
+      final String itemNumber, final CatalogItemCategory category) {
+    return CatalogItemBuilder.builder()
+        .id(CatalogItemId.from("ACME", itemNumber))
+        .brandId(BrandId.fromName("ACME"))
+        .scaleId(ScaleId.fromName("H0"))
+        .itemNumber(new ItemNumber(itemNumber))
+        .epoch(Epoch.IV)
+        .category(category)
+        .powerMethod(PowerMethod.AC)
+        .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+        .build();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemFilter")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemFilterTest {
+  private static final CatalogItem ITEM =
+      CatalogItemBuilder.builder()
+          .id(CatalogItemId.from("ACME", "60000"))
+          .brandId(BrandId.fromName("ACME"))
+          .scaleId(ScaleId.fromName("H0"))
+          .itemNumber(new ItemNumber("60000"))
+          .epoch(Epoch.IV)
+          .category(CatalogItemCategory.LOCOMOTIVES)
+          .powerMethod(PowerMethod.AC)
+          .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+          .build();
+
+  @Test
+  void it_should_match_every_item_when_empty() {
+    assertThat(CatalogItemFilter.ALL.isEmpty()).isTrue();
+    assertThat(CatalogItemFilter.ALL.matches(ITEM)).isTrue();
+  }
+
+  @Test
+  void it_should_match_the_items_satisfying_all_the_criteria() {
+    CatalogItemFilter filter =
+        CatalogItemFilterBuilder.builder()
+            .brandId(BrandId.fromName("ACME"))
+            .epoch(Epoch.IV)
+            .powerMethod(PowerMethod.AC)
+            .build();
+
+    assertThat(filter.isEmpty()).isFalse();
+    assertThat(filter.matches(ITEM)).isTrue();
+  }
+
+  @Test
+  void it_should_not_match_the_items_failing_any_criterion() {
+    List<CatalogItemFilter> filters =
+        List.of(
+            CatalogItemFilterBuilder.builder().brandId(BrandId.fromName("Roco")).build(),
+            CatalogItemFilterBuilder.builder().scaleId(ScaleId.fromName("N")).build(),
+            CatalogItemFilterBuilder.builder().epoch(Epoch.V).build(),
+            CatalogItemFilterBuilder.builder().category(CatalogItemCategory.RAILCARS).build(),
+            CatalogItemFilterBuilder.builder()
+                .scaleId(ScaleId.fromName("H0"))
+                .powerMethod(PowerMethod.DC)
+                .build());
+
+    assertThat(filters).noneMatch(filter -> filter.matches(ITEM));
+  }
+}
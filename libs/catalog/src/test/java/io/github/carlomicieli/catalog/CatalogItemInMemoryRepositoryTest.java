@@ -0,0 +1,118 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemInMemoryRepository")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemInMemoryRepositoryTest {
+  private final CatalogItemInMemoryRepository repository = new CatalogItemInMemoryRepository();
+
+  @Test
+  void it_should_find_catalog_items_by_id() {
+    assertThat(repository.findById(CatalogItemId.from("Brand 1", "10001")))
+        .isPresent()
+        .get()
+        .extracting(CatalogItem::itemNumber)
+        .isEqualTo(new ItemNumber("10001"));
+    assertThat(repository.findById(CatalogItemId.from("Brand 1", "99999"))).isEmpty();
+  }
+
+  @Test
+  void it_should_list_catalog_items_sorted_by_id() {
+    assertThat(repository.findAll()).hasSize(6).extracting(CatalogItem::id).isSorted();
+  }
+
+  @Test
+  void it_should_find_catalog_items_matching_a_single_criterion() {
+    CatalogItemFilter filter =
+        CatalogItemFilterBuilder.builder().brandId(BrandId.fromName("Brand 1")).build();
+
+    assertThat(itemNumbers(repository.findAll(filter, null, 10)))
+        .containsExactly("10001", "10002", "10003");
+  }
+
+  @Test
+  void it_should_find_catalog_items_matching_all_the_criteria() {
+    CatalogItemFilter filter =
+        CatalogItemFilterBuilder.builder()
+            .scaleId(ScaleId.fromName("H0"))
+            .category(CatalogItemCategory.LOCOMOTIVES)
+            .powerMethod(PowerMethod.DC)
+            .build();
+
+    assertThat(itemNumbers(repository.findAll(filter, null, 10))).containsExactly("10001", "20002");
+  }
+
+  @Test
+  void it_should_return_no_catalog_items_when_a_criterion_has_no_match() {
+    CatalogItemFilter filter =
+        CatalogItemFilterBuilder.builder()
+            .brandId(BrandId.fromName("Brand 1"))
+            .powerMethod(PowerMethod.AC)
+            .build();
+
+    assertThat(repository.findAll(filter, null, 10)).isEmpty();
+  }
+
+  @Test
+  void it_should_page_through_the_filtered_catalog_items() {
+    CatalogItemFilter filter =
+        CatalogItemFilterBuilder.builder().scaleId(ScaleId.fromName("H0")).build();
+
+    List<CatalogItem> firstPage = repository.findAll(filter, null, 2);
+    List<CatalogItem> secondPage = repository.findAll(filter, firstPage.getLast().id(), 2);
+
+    assertThat(itemNumbers(firstPage)).containsExactly("10001", "10002");
+    assertThat(itemNumbers(secondPage)).containsExactly("20001", "20002");
+  }
+
+  @Test
+  void it_should_reindex_the_catalog_items_when_they_are_replaced() {
+    CatalogItem item = repository.findById(CatalogItemId.from("Brand 2", "20001")).orElseThrow();
+    repository.save(CatalogItemBuilder.builder(item).epoch(Epoch.IV).build());
+
+    CatalogItemFilter epochIII = CatalogItemFilterBuilder.builder().epoch(Epoch.III).build();
+    CatalogItemFilter epochIV = CatalogItemFilterBuilder.builder().epoch(Epoch.IV).build();
+    assertThat(itemNumbers(repository.findAll(epochIII, null, 10))).containsExactly("10001");
+    assertThat(itemNumbers(repository.findAll(epochIV, null, 10)))
+        .containsExactly("10002", "10003", "20001");
+  }
+
+  @Test
+  void it_should_reject_non_positive_limits() {
+    CatalogItemFilter filter = CatalogItemFilterBuilder.builder().epoch(Epoch.III).build();
+
+    assertThatIllegalArgumentException().isThrownBy(() -> repository.findAll(filter, null, 0));
+  }
+
+  private static List<String> itemNumbers(final List<CatalogItem> items) {
+    return items.stream().map(item -> item.itemNumber().value()).toList();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogItemQuery")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogItemQueryTest {
+  @Test
+  void it_should_select_no_values_by_default() {
+    CatalogItemQuery query = CatalogItemQueryBuilder.builder().build();
+
+    assertThat(query).isEqualTo(CatalogItemQuery.ALL);
+    for (CatalogItemFacet facet : CatalogItemFacet.values()) {
+      assertThat(query.values(facet)).isEmpty();
+    }
+  }
+
+  @Test
+  void it_should_return_the_selected_values_as_facet_values() {
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder()
+            .brandIds(Set.of(BrandId.fromName("ACME")))
+            .scaleIds(Set.of(ScaleId.fromName("H0")))
+            .epochs(Set.of(new Epoch.Multiple(Epoch.IV, Epoch.V)))
+            .categories(Set.of(CatalogItemCategory.LOCOMOTIVES))
+            .powerMethods(Set.of(PowerMethod.AC, PowerMethod.DC))
+            .build();
+
+    assertThat(query.values(CatalogItemFacet.BRAND)).containsExactly("trn:brand:acme");
+    assertThat(query.values(CatalogItemFacet.SCALE)).containsExactly("trn:scale:h0");
+    assertThat(query.values(CatalogItemFacet.EPOCH)).containsExactly("IV/V");
+    assertThat(query.values(CatalogItemFacet.CATEGORY)).containsExactly("LOCOMOTIVES");
+    assertThat(query.values(CatalogItemFacet.POWER_METHOD)).containsExactlyInAnyOrder("AC", "DC");
+  }
+
+  @Test
+  void it_should_select_the_epochs_in_the_epoch_ranges() {
+    CatalogItemQuery query =
+        CatalogItemQueryBuilder.builder()
+            .epochs(Set.of(Epoch.I))
+            .epochRanges(Set.of(EpochRange.parse("IIIb..IVa"), EpochRange.parse("Vm")))
+            .build();
+
+    assertThat(query.values(CatalogItemFacet.EPOCH))
+        .containsExactlyInAnyOrder("I", "IIIb", "IV", "IVa", "IV/V", "Vm");
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import io.github.carlomicieli.slug.Slug;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CatalogProjections")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CatalogProjectionsTest {
+  private final EventJournal<BrandId, Brand> brands =
+      EventJournal.inMemory(
+          "brands",
+          Brand::id,
+          new EventJournal.ReadModel<>(
+              values -> {
+                throw new IllegalStateException("The read model is not available");
+              },
+              id -> Optional.empty(),
+              List::of));
+  private final EventJournal<RailwayId, Railway> railways =
+      EventJournal.inMemory(
+          "railways",
+          Railway::id,
+          new EventJournal.ReadModel<>(values -> {}, id -> Optional.empty(), List::of));
+  private final EventJournal<ScaleId, Scale> scales =
+      EventJournal.inMemory(
+          "scales",
+          Scale::id,
+          new EventJournal.ReadModel<>(values -> {}, id -> Optional.empty(), List::of));
+  private final CatalogProjections projections = new CatalogProjections(brands, railways, scales);
+
+  @Test
+  void it_should_report_no_failures_while_the_projections_work() {
+    assertThat(projections.failures()).isEmpty();
+  }
+
+  @Test
+  void it_should_report_the_failed_projections() {
+    Brand acme =
+        BrandBuilder.builder()
+            .id(BrandId.fromName("ACME"))
+            .name("ACME")
+            .slug(Slug.of("ACME"))
+            .kind(BrandKind.INDUSTRIAL)
+            .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+            .build();
+    assertThatIllegalStateException().isThrownBy(() -> brands.create(List.of(acme)));
+
+    assertThat(projections.failures())
+        .containsOnlyKeys("brands")
+        .extractingByKey("brands")
+        .extracting(Throwable::getMessage)
+        .isEqualTo("The read model is not available");
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CommandMetrics")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CommandMetricsTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CommandMetrics metrics = new CommandMetrics(registry, "brands");
+
+  @Test
+  void it_should_time_the_successful_commands() {
+    var command = new BrandCommand.FindAllBrands();
+
+    String result = metrics.record(command, () -> "ok");
+    metrics.record(command, () -> "ok");
+
+    assertThat(result).isEqualTo("ok");
+    assertThat(timer("FindAllBrands", "success").count()).isEqualTo(2);
+  }
+
+  @Test
+  void it_should_time_the_failed_commands() {
+    var command = new BrandCommand.FindAllBrands();
+
+    assertThatThrownBy(
+            () ->
+                metrics.record(
+                    command,
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+    assertThat(timer("FindAllBrands", "error").count()).isEqualTo(1);
+  }
+
+  @Test
+  void it_should_pass_the_null_commands_through_without_timing_them() {
+    assertThat(metrics.<String>record(null, () -> "ok")).isEqualTo("ok");
+    assertThat(registry.find(CommandMetrics.COMMANDS_TIMER).timers()).isEmpty();
+  }
+
+  @Test
+  void it_should_publish_the_repository_size() {
+    var brands = List.of("acme", "roco");
+
+    metrics.repositorySize("brands", brands, List::size);
+
+    assertThat(
+            registry
+                .get(CommandMetrics.REPOSITORY_SIZE_GAUGE)
+                .tag("entity", "brands")
+                .gauge()
+                .value())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  void it_should_publish_the_id_interner_stats() {
+    var stats = new IdInterner.Stats(3L, 1L);
+
+    metrics.internerStats("brands", () -> stats);
+    System.gc();
+
+    assertThat(gauge(CommandMetrics.INTERNER_HITS_GAUGE)).isEqualTo(3.0);
+    assertThat(gauge(CommandMetrics.INTERNER_MISSES_GAUGE)).isEqualTo(1.0);
+    assertThat(gauge(CommandMetrics.INTERNER_HIT_RATIO_GAUGE)).isEqualTo(0.75);
+  }
+
+  private double gauge(final String name) {
+    return registry.get(name).tag("entity", "brands").gauge().value();
+  }
+
+  private Timer timer(final String command, final String outcome) {
+    return registry
+        .get(CommandMetrics.COMMANDS_TIMER)
+        .tag("handler", "brands")
+        .tag("command", command)
+        .tag("outcome", outcome)
+        .timer();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("EpochRange")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class EpochRangeTest {
+  @Test
+  void it_should_include_the_epochs_from_the_first_through_the_last() {
+    EpochRange range = new EpochRange(Epoch.III, Epoch.IVb);
+
+    assertThat(Epoch.ALL.stream().filter(range::includes))
+        .containsExactly(Epoch.III, Epoch.IIIa, Epoch.IIIb, Epoch.IV, Epoch.IVa, Epoch.IVb);
+  }
+
+  @Test
+  void it_should_include_the_combined_epochs_overlapping_the_range() {
+    EpochRange range = new EpochRange(Epoch.IV, Epoch.IVb);
+
+    assertThat(range.includes(Epoch.IV_V)).isTrue();
+    assertThat(range.includes(Epoch.V_VI)).isFalse();
+  }
+
+  @Test
+  void it_should_span_both_epochs_of_combined_range_bounds() {
+    EpochRange range = new EpochRange(Epoch.IV_V, Epoch.IV_V);
+
+    assertThat(range.includes(Epoch.IV)).isTrue();
+    assertThat(range.includes(Epoch.IVb)).isTrue();
+    assertThat(range.includes(Epoch.V)).isTrue();
+    assertThat(range.includes(Epoch.Va)).isFalse();
+    assertThat(range.includes(Epoch.IIIb)).isFalse();
+  }
+
+  @Test
+  void it_should_hold_the_range_as_a_bitmask() {
+    EpochRange range = new EpochRange(Epoch.I, Epoch.VI);
+
+    assertThat(range.mask()).isEqualTo((1 << Epoch.ALL.size()) - 1);
+    assertThat(new EpochRange(Epoch.IIa, Epoch.IIa).mask()).isEqualTo(Epoch.IIa.mask());
+  }
+
+  @Test
+  void it_should_parse_epoch_ranges() {
+    assertThat(EpochRange.parse("III..IVb")).isEqualTo(new EpochRange(Epoch.III, Epoch.IVb));
+    assertThat(EpochRange.parse("IV/V..VI")).isEqualTo(new EpochRange(Epoch.IV_V, Epoch.VI));
+    assertThat(EpochRange.parse("IIb")).isEqualTo(new EpochRange(Epoch.IIb, Epoch.IIb));
+  }
+
+  @Test
+  void it_should_produce_string_representation() {
+    assertThat(new EpochRange(Epoch.III, Epoch.IVb)).hasToString("III..IVb");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "..", "III..", "..IV", "VII..VIII", "IV..III", "V..IVb"})
+  void it_should_reject_invalid_epoch_ranges(String value) {
+    assertThatIllegalArgumentException().isThrownBy(() -> EpochRange.parse(value));
+  }
+}
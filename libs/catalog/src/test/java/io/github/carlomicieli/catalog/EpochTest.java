@@ -21,6 +21,7 @@
 package io.github.carlomicieli.catalog;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.util.Currency;
 import java.util.stream.Stream;
@@ -59,6 +60,35 @@ class EpochTest {
             Epoch.VI);
   }
 
+  @Test
+  void it_should_produce_a_list_of_the_combined_epochs() {
+    assertThat(Epoch.COMBINED).containsExactly(Epoch.IV_V, Epoch.V_VI);
+  }
+
+  @Test
+  void it_should_assign_one_bit_to_every_single_epoch() {
+    for (int i = 0; i < Epoch.ALL.size(); i++) {
+      assertThat(Epoch.ALL.get(i).mask()).isEqualTo(1 << i);
+    }
+  }
+
+  @Test
+  void it_should_combine_the_bits_of_combined_epochs() {
+    assertThat(Epoch.IV_V.mask()).isEqualTo(Epoch.IV.mask() | Epoch.V.mask());
+    assertThat(Epoch.V_VI.mask()).isEqualTo(Epoch.V.mask() | Epoch.VI.mask());
+  }
+
+  @Test
+  void it_should_parse_combined_epochs_as_the_cached_instances() {
+    assertThat(Epoch.parse("IV/V")).isSameAs(Epoch.IV_V);
+    assertThat(Epoch.parse("V/VI")).isSameAs(Epoch.V_VI);
+  }
+
+  @Test
+  void it_should_reject_invalid_epoch_values() {
+    assertThatIllegalArgumentException().isThrownBy(() -> Epoch.parse("VII"));
+  }
+
   @ParameterizedTest
   @MethodSource("parseSource")
   void it_should_parse_string_values(String value, Epoch expected) {
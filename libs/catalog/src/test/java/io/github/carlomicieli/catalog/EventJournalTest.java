@@ -0,0 +1,298 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import io.github.carlomicieli.slug.Slug;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("EventJournal")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class EventJournalTest {
+  @TempDir Path directory;
+
+  @Test
+  void it_should_project_the_entities_appended_before_a_restart() {
+    Brand acme = brand("ACME");
+    Brand roco = brand("Roco");
+    try (var journal = open(new BrandInMemoryRepository(directory.toString()), 100)) {
+      journal.append(List.of(new CatalogEvent.Created<>(roco)));
+      journal.append(List.of(new CatalogEvent.Created<>(acme)));
+    }
+
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      assertThat(journal.sequence()).isEqualTo(2);
+      assertThat(brandRepository.findAll()).containsExactly(acme, roco);
+      assertThat(brandRepository.findById(BrandId.fromName("ACME"))).contains(acme);
+      assertThat(brandRepository.findBySlug(Slug.of("roco"))).contains(roco);
+    }
+  }
+
+  @Test
+  void it_should_project_the_batches_appended_before_a_restart() {
+    try (var journal = open(new BrandInMemoryRepository(directory.toString()), 100)) {
+      journal.append(
+          List.of(
+              new CatalogEvent.Created<>(brand("ACME")),
+              new CatalogEvent.Created<>(brand("Roco"))));
+    }
+
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      assertThat(journal.sequence()).isEqualTo(2);
+      assertThat(brandRepository.findAll()).extracting(Brand::name).containsExactly("ACME", "Roco");
+      assertThat(brandRepository.findBySlug(Slug.of("roco"))).contains(brand("Roco"));
+    }
+  }
+
+  @Test
+  void it_should_rebuild_the_indexes_with_the_latest_values() {
+    try (var journal = open(new BrandInMemoryRepository(directory.toString()), 100)) {
+      journal.append(List.of(new CatalogEvent.Created<>(brand("ACME"))));
+      assertThat(
+              journal.update(
+                  BrandId.fromName("ACME"),
+                  brand -> BrandBuilder.builder(brand).name("Roco").slug(Slug.of("roco")).build()))
+          .isNotEmpty();
+    }
+
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      assertThat(journal.sequence()).isEqualTo(2);
+      assertThat(brandRepository.findBySlug(Slug.of("roco")))
+          .get()
+          .extracting(Brand::id)
+          .isEqualTo(BrandId.fromName("ACME"));
+      assertThat(brandRepository.findBySlug(Slug.of("acme"))).isEmpty();
+      assertThat(brandRepository.search("roc", 10)).hasSize(1);
+      assertThat(brandRepository.search("acme", 10)).isEmpty();
+    }
+  }
+
+  @Test
+  void it_should_replay_only_the_events_after_the_snapshot() throws IOException {
+    try (var journal = open(new BrandInMemoryRepository(directory.toString()), 2)) {
+      journal.append(List.of(new CatalogEvent.Created<>(brand("ACME"))));
+      journal.append(List.of(new CatalogEvent.Created<>(brand("Roco"))));
+      journal.append(List.of(new CatalogEvent.Created<>(brand("Piko"))));
+    }
+    // the segment before the snapshot is deleted once the snapshot is written
+    assertThat(directory.resolve("brands.snapshot")).exists();
+    assertThat(segments()).hasSize(1);
+
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 2)) {
+      assertThat(journal.sequence()).isEqualTo(3);
+      assertThat(brandRepository.findAll())
+          .extracting(Brand::name)
+          .containsExactly("ACME", "Piko", "Roco");
+      journal.append(List.of(new CatalogEvent.Created<>(brand("Lima"))));
+      assertThat(journal.sequence()).isEqualTo(4);
+    }
+  }
+
+  @Test
+  void it_should_take_snapshots_on_demand() throws IOException {
+    try (var journal = open(new BrandInMemoryRepository(directory.toString()), 100)) {
+      journal.append(List.of(new CatalogEvent.Created<>(brand("ACME"))));
+      journal.snapshot().join();
+      journal.update(
+          BrandId.fromName("ACME"), brand -> BrandBuilder.builder(brand).name("Roco").build());
+    }
+    assertThat(segments()).hasSize(1);
+
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      assertThat(journal.sequence()).isEqualTo(2);
+      assertThat(brandRepository.findAll()).extracting(Brand::name).containsExactly("Roco");
+    }
+  }
+
+  @Test
+  void it_should_migrate_the_log_of_a_file_store() {
+    try (FileStore<BrandId, Brand> store =
+        new FileStore<>(directory.resolve("brands.log"), Brand::id, CatalogCodecs.BRAND)) {
+      store.put(brand("ACME"));
+    }
+
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      assertThat(journal.sequence()).isZero();
+      assertThat(brandRepository.findAll()).containsExactly(brand("ACME"));
+    }
+    assertThat(directory.resolve("brands.snapshot")).exists();
+    assertThat(directory.resolve("brands.log")).doesNotExist();
+  }
+
+  @Test
+  void it_should_project_the_events_on_another_thread() {
+    AtomicReference<Thread> projector = new AtomicReference<>();
+    try (EventJournal<BrandId, Brand> journal =
+        EventJournal.inMemory(
+            "brands",
+            Brand::id,
+            new EventJournal.ReadModel<>(
+                brands -> projector.set(Thread.currentThread()),
+                id -> Optional.empty(),
+                List::of))) {
+      assertThat(journal.append(List.of(new CatalogEvent.Created<>(brand("ACME"))))).isEqualTo(1);
+    }
+    assertThat(projector.get()).isNotNull().isNotEqualTo(Thread.currentThread());
+  }
+
+  @Test
+  void it_should_project_the_writes_before_the_commands_return() {
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      for (String name : List.of("ACME", "Piko", "Roco")) {
+        journal.append(List.of(new CatalogEvent.Created<>(brand(name))));
+        assertThat(brandRepository.findById(BrandId.fromName(name))).isPresent();
+      }
+      assertThat(brandRepository.findAll())
+          .extracting(Brand::name)
+          .containsExactly("ACME", "Piko", "Roco");
+      assertThat(journal.update(BrandId.fromName("Piko"), brand -> brand)).isNotEmpty();
+    }
+  }
+
+  @Test
+  void it_should_create_only_the_entities_with_a_free_id() {
+    BrandRepository brandRepository = new BrandInMemoryRepository(directory.toString());
+    try (var journal = open(brandRepository, 100)) {
+      assertThat(journal.create(List.of(brand("ACME")))).isEmpty();
+      Brand renamed = BrandBuilder.builder(brand("ACME")).name("Acme").build();
+
+      assertThat(journal.create(List.of(renamed, brand("Roco"))))
+          .containsExactly(BrandId.fromName("ACME"));
+      assertThat(journal.sequence()).isEqualTo(2);
+      assertThat(brandRepository.findAll()).extracting(Brand::name).containsExactly("ACME", "Roco");
+      assertThatIllegalArgumentException()
+          .isThrownBy(() -> journal.create(List.of(brand("Piko"), brand("piko"))))
+          .withMessage("Duplicate id: " + BrandId.fromName("Piko"));
+      assertThat(journal.sequence()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void it_should_not_update_entities_that_do_not_exist() {
+    BrandRepository brandRepository = new BrandInMemoryRepository();
+    try (EventJournal<BrandId, Brand> journal =
+        EventJournal.inMemory("brands", Brand::id, readModel(brandRepository))) {
+      assertThat(journal.update(BrandId.fromName("ACME"), brand -> brand)).isEmpty();
+      assertThat(journal.sequence()).isZero();
+    }
+  }
+
+  @Test
+  void it_should_fail_the_commands_when_the_projection_fails() {
+    try (EventJournal<BrandId, Brand> journal =
+        EventJournal.inMemory(
+            "brands",
+            Brand::id,
+            new EventJournal.ReadModel<>(
+                brands -> {
+                  throw new IllegalStateException("The read model is not available");
+                },
+                id -> Optional.empty(),
+                List::of))) {
+      assertThatIllegalStateException()
+          .isThrownBy(() -> journal.append(List.of(new CatalogEvent.Created<>(brand("ACME")))))
+          .withMessage("The projection of the journal brands failed")
+          .withCauseInstanceOf(IllegalStateException.class);
+      assertThatIllegalStateException().isThrownBy(journal::awaitProjection);
+      assertThat(journal.projectionFailure()).hasMessage("The read model is not available");
+    }
+  }
+
+  @Test
+  void it_should_reject_the_appends_after_a_projection_failure() {
+    try (EventJournal<BrandId, Brand> journal =
+        EventJournal.inMemory(
+            "brands",
+            Brand::id,
+            new EventJournal.ReadModel<>(
+                brands -> {
+                  throw new IllegalStateException("The read model is not available");
+                },
+                id -> Optional.empty(),
+                List::of))) {
+      assertThat(journal.projectionFailure()).isNull();
+      assertThatIllegalStateException()
+          .isThrownBy(() -> journal.append(List.of(new CatalogEvent.Created<>(brand("ACME")))));
+
+      assertThatIllegalStateException()
+          .isThrownBy(() -> journal.append(List.of(new CatalogEvent.Created<>(brand("Roco")))))
+          .withMessage("The projection of the journal brands failed");
+      assertThatIllegalStateException().isThrownBy(() -> journal.create(List.of(brand("Piko"))));
+      assertThat(journal.sequence()).isEqualTo(1);
+    }
+  }
+
+  private EventJournal<BrandId, Brand> open(
+      final BrandRepository brandRepository, final int snapshotInterval) {
+    return EventJournal.open(
+        directory,
+        "brands",
+        Brand::id,
+        CatalogCodecs.BRAND,
+        snapshotInterval,
+        readModel(brandRepository));
+  }
+
+  private static EventJournal.ReadModel<BrandId, Brand> readModel(
+      final BrandRepository brandRepository) {
+    return new EventJournal.ReadModel<>(
+        brandRepository::saveAll, brandRepository::findById, brandRepository::findAll);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.toString().endsWith(".journal")).sorted().toList();
+    }
+  }
+
+  private static Brand brand(String name) {
+    return BrandBuilder.builder()
+        .id(BrandId.fromName(name))
+        .name(name)
+        .slug(Slug.of(name))
+        .kind(BrandKind.INDUSTRIAL)
+        .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+        .build();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("FileStore")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class FileStoreTest {
+  @TempDir Path directory;
+
+  @Test
+  void it_should_reload_the_values_written_before_a_restart() {
+    try (FileStore<String, Item> store = open()) {
+      store.put(new Item("b", 1));
+      store.put(new Item("a", 1));
+      store.put(new Item("b", 2));
+    }
+
+    try (FileStore<String, Item> store = open()) {
+      assertThat(store.values()).containsExactly(new Item("a", 1), new Item("b", 2));
+      assertThat(store.get("b")).contains(new Item("b", 2));
+      assertThat(store.records()).isEqualTo(3L);
+    }
+  }
+
+  @Test
+  void it_should_reload_the_batches_written_before_a_restart() {
+    try (FileStore<String, Item> store = open()) {
+      store.putAll(List.of(new Item("b", 1), new Item("a", 1)));
+      store.putAll(List.of(new Item("b", 2)));
+    }
+
+    try (FileStore<String, Item> store = open()) {
+      assertThat(store.values()).containsExactly(new Item("a", 1), new Item("b", 2));
+      assertThat(store.records()).isEqualTo(3L);
+    }
+  }
+
+  @Test
+  void it_should_decode_the_records_in_parallel_keeping_the_latest_values() {
+    try (FileStore<String, Item> store = open()) {
+      for (int value = 0; value < 3; value++) {
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+          batch.add(new Item("item-" + i, value));
+        }
+        store.putAll(batch);
+      }
+      store.put(new Item("item-42", 42));
+    }
+
+    try (FileStore<String, Item> store =
+        new FileStore<>(directory.resolve("items.log"), Item::id, Item.CODEC, 4)) {
+      assertThat(store.size()).isEqualTo(10_000);
+      assertThat(store.records()).isEqualTo(30_001L);
+      assertThat(store.get("item-0")).contains(new Item("item-0", 2));
+      assertThat(store.get("item-42")).contains(new Item("item-42", 42));
+      assertThat(store.get("item-9999")).contains(new Item("item-9999", 2));
+    }
+  }
+
+  @Test
+  void it_should_compact_the_log_keeping_the_latest_values() {
+    try (FileStore<String, Item> store = open()) {
+      for (int i = 0; i < 10; i++) {
+        store.put(new Item("a", i));
+        store.put(new Item("b", i));
+      }
+
+      store.compact();
+      assertThat(store.records()).isEqualTo(2L);
+      store.put(new Item("c", 0));
+    }
+
+    try (FileStore<String, Item> store = open()) {
+      assertThat(store.values())
+          .containsExactly(new Item("a", 9), new Item("b", 9), new Item("c", 0));
+    }
+  }
+
+  @Test
+  void it_should_compact_the_log_only_when_most_of_the_records_are_stale() {
+    try (FileStore<String, Item> store = open()) {
+      for (int i = 0; i < 2000; i++) {
+        store.put(new Item("item-" + i, 0));
+      }
+      for (int i = 0; i < 1500; i++) {
+        store.put(new Item("item-" + i, 1));
+      }
+
+      store.compactIfNeeded();
+      assertThat(store.records()).isEqualTo(3500L);
+
+      for (int i = 0; i < 500; i++) {
+        store.put(new Item("item-" + i, 2));
+      }
+
+      store.compactIfNeeded();
+      assertThat(store.records()).isEqualTo(2000L);
+    }
+  }
+
+  private FileStore<String, Item> open() {
+    return new FileStore<>(directory.resolve("items.log"), Item::id, Item.CODEC);
+  }
+
+  private record Item(String id, int value) {
+    static final RecordCodec<Item> CODEC =
+        new RecordCodec<>() {
+          @Override
+          public void encode(Item item, RecordOutput output) {
+            output.writeString(item.id());
+            output.writeInt(item.value());
+          }
+
+          @Override
+          public Item decode(RecordInput input) {
+            return new Item(input.readRequiredString(), input.readInt());
+          }
+        };
+  }
+}
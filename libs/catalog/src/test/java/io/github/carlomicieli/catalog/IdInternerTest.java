@@ -0,0 +1,92 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IdInterner")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class IdInternerTest {
+  private final AtomicInteger created = new AtomicInteger();
+  private final IdInterner<String, String> interner =
+      new IdInterner<>(
+          16,
+          key -> {
+            created.incrementAndGet();
+            return new String(key);
+          });
+
+  @Test
+  void it_should_return_the_same_instance_for_the_same_key() {
+    String first = interner.intern("acme");
+    String second = interner.intern("acme");
+
+    assertThat(second).isSameAs(first);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  void it_should_count_hits_and_misses() {
+    interner.intern("acme");
+    interner.intern("acme");
+    interner.intern("acme");
+    interner.intern("roco");
+
+    IdInterner.Stats stats = interner.stats();
+    assertThat(stats.hits()).isEqualTo(2L);
+    assertThat(stats.misses()).isEqualTo(2L);
+    assertThat(stats.hitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  void it_should_stay_within_its_capacity() {
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(interner.intern("key-" + i)).isEqualTo("key-" + i);
+    }
+
+    assertThat(interner.capacity()).isEqualTo(16);
+    assertThat(interner.stats().misses()).isEqualTo(1_000L);
+  }
+
+  @Test
+  void it_should_round_the_capacity_up_to_a_power_of_two() {
+    assertThat(new IdInterner<String, String>(100, key -> key).capacity()).isEqualTo(128);
+  }
+
+  @Test
+  void it_should_reject_non_positive_capacities() {
+    assertThatThrownBy(() -> new IdInterner<String, String>(0, key -> key))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("The capacity must be positive: 0");
+  }
+
+  @Test
+  void it_should_report_no_hit_ratio_before_any_lookup() {
+    assertThat(interner.stats().hitRatio()).isEqualTo(0.0);
+  }
+}
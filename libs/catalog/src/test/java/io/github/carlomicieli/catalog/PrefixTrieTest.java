@@ -0,0 +1,121 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PrefixTrie")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PrefixTrieTest {
+  @Test
+  void it_should_suggest_the_values_by_prefix_ignoring_case_and_accents() {
+    PrefixTrie<String> trie =
+        PrefixTrie.of(
+            List.of(
+                entry("acme", 0, "ACME"),
+                entry("electrotren", 0, "Électrotren"),
+                entry("maerklin", 0, "Märklin")));
+
+    assertThat(trie.suggest("elec", 10)).containsExactly("electrotren");
+    assertThat(trie.suggest("ELECTROTREN", 10)).containsExactly("electrotren");
+    assertThat(trie.suggest("märk", 10)).containsExactly("maerklin");
+    assertThat(trie.suggest("a", 10)).containsExactly("acme");
+    assertThat(trie.suggest("acmes", 10)).isEmpty();
+    assertThat(trie.suggest("xyz", 10)).isEmpty();
+  }
+
+  @Test
+  void it_should_suggest_the_values_by_any_text_and_any_word() {
+    PrefixTrie<String> trie =
+        PrefixTrie.of(
+            List.of(
+                entry("fs", 0, "Ferrovie dello Stato", "FS"),
+                entry("db", 0, "Deutsche Bahn", "DB")));
+
+    assertThat(trie.suggest("fs", 10)).containsExactly("fs");
+    assertThat(trie.suggest("stato", 10)).containsExactly("fs");
+    assertThat(trie.suggest("deutsche b", 10)).containsExactly("db");
+    assertThat(trie.suggest("d", 10)).containsExactly("fs", "db");
+  }
+
+  @Test
+  void it_should_suggest_the_most_popular_values_first() {
+    PrefixTrie<String> trie =
+        PrefixTrie.of(
+            List.of(
+                entry("rivarossi", 5, "Rivarossi"),
+                entry("roco", 10, "Roco"),
+                entry("rapido", 5, "Rapido"),
+                entry("lima", 20, "Lima")));
+
+    assertThat(trie.suggest("r", 10)).containsExactly("roco", "rivarossi", "rapido");
+    assertThat(trie.suggest("r", 2)).containsExactly("roco", "rivarossi");
+    assertThat(trie.suggest("ri", 10)).containsExactly("rivarossi");
+  }
+
+  @Test
+  void it_should_suggest_a_value_once_when_more_of_its_texts_match() {
+    PrefixTrie<String> trie =
+        PrefixTrie.of(List.of(entry("sbb", 0, "Schweizerische Bundesbahnen", "SBB")));
+
+    assertThat(trie.suggest("s", 10)).containsExactly("sbb");
+    assertThat(trie.suggest("b", 10)).containsExactly("sbb");
+  }
+
+  @Test
+  void it_should_keep_only_the_best_suggestions_for_each_prefix() {
+    List<PrefixTrie.Entry<String>> entries = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      entries.add(entry("brand-" + i, i, "Brand " + i));
+    }
+    PrefixTrie<String> trie = PrefixTrie.of(entries);
+
+    assertThat(trie.size()).isEqualTo(100);
+    assertThat(trie.suggest("brand", 100))
+        .hasSize(PrefixTrie.MAX_SUGGESTIONS)
+        .startsWith("brand-99", "brand-98", "brand-97");
+    assertThat(trie.suggest("brand 1", 3)).containsExactly("brand-19", "brand-18", "brand-17");
+    assertThat(trie.suggest("brand 42", 3)).containsExactly("brand-42");
+  }
+
+  @Test
+  void it_should_suggest_nothing_for_blank_prefixes_or_empty_tries() {
+    PrefixTrie<String> trie = PrefixTrie.of(List.of(entry("acme", 0, "ACME")));
+
+    assertThat(trie.suggest("", 10)).isEmpty();
+    assertThat(trie.suggest("  ", 10)).isEmpty();
+    assertThat(PrefixTrie.<String>of(List.of()).suggest("acme", 10)).isEmpty();
+    assertThatThrownBy(() -> trie.suggest("acme", 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static PrefixTrie.Entry<String> entry(
+      final String value, final long popularity, final String... texts) {
+    return new PrefixTrie.Entry<>(value, popularity, List.of(texts));
+  }
+}
@@ -21,6 +21,7 @@
 package io.github.carlomicieli.catalog;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import com.neovisionaries.i18n.CountryCode;
 import io.github.carlomicieli.Address;
@@ -28,7 +29,9 @@ import io.github.carlomicieli.ContactInfo;
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.OrganizationEntityType;
 import io.github.carlomicieli.TestConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
@@ -44,7 +47,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 class RailwayCommandHandlerTest {
   private final RailwayRepository railwayRepository = RailwayRepository.INSTANCE;
   private final RailwayCommandHandler railwayCommandHandler =
-      new RailwayCommandHandler(railwayRepository, TestConstants.TEST_CLOCK);
+      new RailwayCommandHandler(
+          railwayRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
 
   @Test
   void it_should_find_railway_by_id_when_it_exists() {
@@ -74,9 +78,67 @@ class RailwayCommandHandlerTest {
     assertThat(railways).isNotNull().hasSize(6);
   }
 
+  @Test
+  void it_should_reject_to_create_a_railway_with_the_slug_of_an_existing_one() {
+    RailwayRepository railwayRepository = new RailwayInMemoryRepository();
+    RailwayCommandHandler railwayCommandHandler =
+        new RailwayCommandHandler(
+            railwayRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    railwayCommandHandler.handle(
+        new RailwayCommand.CreateRailway("BLS", "BLS", "CH", null, null, null, null));
+
+    assertThatExceptionOfType(DuplicateIdException.class)
+        .isThrownBy(
+            () ->
+                railwayCommandHandler.handle(
+                    new RailwayCommand.CreateRailway("bls", "BLS", "IT", null, null, null, null)))
+        .withMessage("Id already in use: " + RailwayId.fromName("BLS"));
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.FindRailwayById(RailwayId.fromName("BLS"))))
+        .get()
+        .extracting(Railway::country)
+        .isEqualTo(CountryCode.CH);
+  }
+
+  @Test
+  void it_should_create_a_batch_of_railways() {
+    RailwayRepository railwayRepository = new RailwayInMemoryRepository();
+    RailwayCommandHandler railwayCommandHandler =
+        new RailwayCommandHandler(
+            railwayRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    RailwayCommand.CreateRailways createRailways =
+        new RailwayCommand.CreateRailways(
+            List.of(
+                new RailwayCommand.CreateRailway("BLS", "BLS", "CH", null, null, null, null),
+                new RailwayCommand.CreateRailway(
+                    "XYZ", "XYZ", "not-a-country", null, null, null, null),
+                new RailwayCommand.CreateRailway("FS", "FS", "IT", null, null, null, null)));
+
+    List<BatchResult<RailwayId>> results = railwayCommandHandler.handle(createRailways);
+
+    assertThat(results)
+        .containsExactly(
+            new BatchResult.Created<>(RailwayId.fromName("BLS")),
+            new BatchResult.Rejected<>("Unknown railway country: not-a-country"),
+            new BatchResult.Rejected<>("Id already in use: " + RailwayId.fromName("FS")));
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.FindRailwayById(RailwayId.fromName("BLS"))))
+        .isPresent();
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.FindRailwayById(RailwayId.fromName("XYZ"))))
+        .isEmpty();
+  }
+
   @ParameterizedTest
   @MethodSource("createRailwayArguments")
   void it_should_create_a_new_railway(String name, String abbreviation, String country) {
+    // a fresh repository for each argument, since a railway id can be created only once
+    RailwayCommandHandler railwayCommandHandler =
+        new RailwayCommandHandler(
+            new RailwayInMemoryRepository(), TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
     Address address = new Address(CountryCode.IT, "Rome", "Via Roma", null, "RM", "00100");
     ContactInfo contactInfo =
         new ContactInfo("mail@mail.com", "+3900000000", URI.create("http://www.example.com"));
@@ -88,7 +150,8 @@ class RailwayCommandHandlerTest {
     RailwayId id = railwayCommandHandler.handle(createRailway);
     assertThat(id).isNotNull().isEqualTo(RailwayId.fromName("Ferrovie dello stato"));
 
-    Optional<Railway> railway = railwayRepository.findById(id);
+    Optional<Railway> railway =
+        railwayCommandHandler.handle(new RailwayCommand.FindRailwayById(id));
     assertThat(railway).isPresent();
     assertThat(railway.get().id()).isEqualTo(RailwayId.fromName("Ferrovie dello stato"));
     assertThat(railway.get().name()).isEqualTo(name);
@@ -110,4 +173,53 @@ class RailwayCommandHandlerTest {
         Arguments.of("Ferrovie dello stato", "FS", "IT"),
         Arguments.of("Ferrovie dello stato", "FS", "it"));
   }
+
+  @Test
+  void it_should_search_railways_by_name_or_abbreviation() {
+    RailwayRepository railwayRepository = new RailwayInMemoryRepository();
+    RailwayCommandHandler railwayCommandHandler =
+        new RailwayCommandHandler(
+            railwayRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    railwayCommandHandler.handle(
+        new RailwayCommand.CreateRailway(
+            "Ferrovie dello Stato", "FS-IT", "IT", null, null, null, null));
+
+    var hits = railwayCommandHandler.handle(new RailwayCommand.SearchRailways("ferr", 10));
+
+    assertThat(hits).extracting(hit -> hit.value().name()).containsExactly("Ferrovie dello Stato");
+    assertThat(railwayCommandHandler.handle(new RailwayCommand.SearchRailways("sncf", 10)))
+        .extracting(hit -> hit.value().id())
+        .containsExactly(RailwayId.fromName("SNCF"));
+  }
+
+  @Test
+  void it_should_update_a_railway() {
+    RailwayRepository railwayRepository = new RailwayInMemoryRepository();
+    RailwayCommandHandler railwayCommandHandler =
+        new RailwayCommandHandler(
+            railwayRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+
+    Optional<Railway> updated =
+        railwayCommandHandler.handle(
+            new RailwayCommand.UpdateRailway(
+                RailwayId.fromName("FS"),
+                new RailwayCommand.CreateRailway(
+                    "FS", "FS", "IT", null, null, "PUBLIC_INSTITUTION", null)));
+
+    assertThat(updated).isNotEmpty();
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.FindRailwayById(RailwayId.fromName("FS"))))
+        .isEqualTo(updated);
+    assertThat(updated.get().organizationEntityType())
+        .isEqualTo(OrganizationEntityType.PUBLIC_INSTITUTION);
+    assertThat(updated.get().metadata().version()).isEqualTo(1);
+    assertThat(
+            railwayCommandHandler.handle(
+                new RailwayCommand.UpdateRailway(
+                    RailwayId.fromName("not-found"),
+                    new RailwayCommand.CreateRailway(
+                        "Not found", "NF", "IT", null, null, null, null))))
+        .isEmpty();
+  }
 }
@@ -21,10 +21,13 @@
 package io.github.carlomicieli.catalog;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import io.github.carlomicieli.Metadata;
 import io.github.carlomicieli.TestConstants;
 import io.github.carlomicieli.slug.Slug;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -38,7 +41,7 @@ import org.junit.jupiter.api.Test;
 class ScaleCommandHandlerTest {
   private final ScaleRepository scaleRepository = ScaleRepository.INSTANCE;
   private final ScaleCommandHandler scaleCommandHandler =
-      new ScaleCommandHandler(scaleRepository, TestConstants.TEST_CLOCK);
+      new ScaleCommandHandler(scaleRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
 
   @Test
   void it_should_create_new_scales() {
@@ -46,7 +49,7 @@ class ScaleCommandHandlerTest {
     ScaleId scaleId = scaleCommandHandler.handle(createScale);
     assertThat(scaleId).isEqualTo(ScaleId.fromName("H0e"));
 
-    Optional<Scale> scale = scaleRepository.findById(scaleId);
+    Optional<Scale> scale = scaleCommandHandler.handle(new ScaleCommand.FindScaleById(scaleId));
     assertThat(scale).isPresent();
     assertThat(scale.get().id()).isEqualTo(ScaleId.fromName("H0e"));
     assertThat(scale.get().name()).isEqualTo("H0e");
@@ -56,6 +59,53 @@ class ScaleCommandHandlerTest {
     assertThat(scale.get().metadata()).isEqualTo(Metadata.createdAt(TestConstants.DATE_TIME_NOW));
   }
 
+  @Test
+  void it_should_reject_to_create_a_scale_with_the_slug_of_an_existing_one() {
+    ScaleRepository scaleRepository = new ScaleInMemoryRepository();
+    ScaleCommandHandler scaleCommandHandler =
+        new ScaleCommandHandler(
+            scaleRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    scaleCommandHandler.handle(new ScaleCommand.CreateScale("TT", 120f, "STANDARD"));
+
+    assertThatExceptionOfType(DuplicateIdException.class)
+        .isThrownBy(
+            () -> scaleCommandHandler.handle(new ScaleCommand.CreateScale("tt", 120f, "NARROW")))
+        .withMessage("Id already in use: " + ScaleId.fromName("TT"));
+    assertThat(scaleCommandHandler.handle(new ScaleCommand.FindScaleById(ScaleId.fromName("TT"))))
+        .get()
+        .extracting(Scale::trackGauge)
+        .isEqualTo(TrackGauge.STANDARD);
+  }
+
+  @Test
+  void it_should_create_a_batch_of_scales() {
+    ScaleRepository scaleRepository = new ScaleInMemoryRepository();
+    ScaleCommandHandler scaleCommandHandler =
+        new ScaleCommandHandler(
+            scaleRepository, TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+    ScaleCommand.CreateScales createScales =
+        new ScaleCommand.CreateScales(
+            List.of(
+                new ScaleCommand.CreateScale("TT", 120f, "STANDARD"),
+                new ScaleCommand.CreateScale("Z", 220f, "WIDE"),
+                new ScaleCommand.CreateScale("H0", 87f, "STANDARD")));
+
+    List<BatchResult<ScaleId>> results = scaleCommandHandler.handle(createScales);
+
+    assertThat(results)
+        .containsExactly(
+            new BatchResult.Created<>(ScaleId.fromName("TT")),
+            new BatchResult.Rejected<>("Unknown track gauge: WIDE"),
+            new BatchResult.Rejected<>("Id already in use: " + ScaleId.fromName("H0")));
+    assertThat(
+            scaleCommandHandler.handle(new ScaleCommand.FindNearestScale(120, TrackGauge.STANDARD)))
+        .get()
+        .extracting(Scale::name)
+        .isEqualTo("TT");
+    assertThat(scaleCommandHandler.handle(new ScaleCommand.FindScaleById(ScaleId.fromName("Z"))))
+        .isEmpty();
+  }
+
   @Test
   void it_should_find_scale_by_id() {
     ScaleCommand.FindScaleById findScaleById =
@@ -71,4 +121,83 @@ class ScaleCommandHandlerTest {
     List<Scale> scale = scaleCommandHandler.handle(findAllScales);
     assertThat(scale).isNotNull().hasSize(5);
   }
+
+  @Test
+  void it_should_find_the_nearest_scale() {
+    ScaleCommandHandler handler = handlerWithTheDefaultScales();
+
+    Optional<Scale> scale = handler.handle(new ScaleCommand.FindNearestScale(80, null));
+    Optional<Scale> narrowScale =
+        handler.handle(new ScaleCommand.FindNearestScale(160, TrackGauge.NARROW));
+
+    assertThat(scale).map(Scale::name).hasValue("H0");
+    assertThat(narrowScale).map(Scale::name).hasValue("H0m");
+  }
+
+  @Test
+  void it_should_find_the_scales_by_ratio() {
+    ScaleCommandHandler handler = handlerWithTheDefaultScales();
+
+    List<Scale> scales = handler.handle(new ScaleCommand.FindScalesByRatio(160, 43.5, null));
+
+    assertThat(scales).extracting(Scale::name).containsExactly("0", "H0", "H0m", "N");
+  }
+
+  @Test
+  void it_should_find_the_scales_by_track_gauge() {
+    ScaleCommandHandler handler = handlerWithTheDefaultScales();
+
+    List<Scale> scales =
+        handler.handle(new ScaleCommand.FindScalesByTrackGauge(TrackGauge.STANDARD));
+
+    assertThat(scales).extracting(Scale::name).containsExactly("1", "0", "H0", "N");
+  }
+
+  @Test
+  void it_should_reject_ratios_that_are_not_positive() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ScaleCommand.FindNearestScale(0, null));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ScaleCommand.FindScalesByRatio(87, Double.NaN, null));
+  }
+
+  @Test
+  void it_should_search_scales_by_name() {
+    ScaleCommandHandler handler = handlerWithTheDefaultScales();
+
+    List<SearchHit<Scale>> hits = handler.handle(new ScaleCommand.SearchScales("h0", 10));
+
+    assertThat(hits).extracting(hit -> hit.value().name()).containsExactly("H0", "H0m");
+    assertThat(handler.handle(new ScaleCommand.SearchScales("n", 10)))
+        .extracting(hit -> hit.value().name())
+        .containsExactly("N");
+  }
+
+  private static ScaleCommandHandler handlerWithTheDefaultScales() {
+    return new ScaleCommandHandler(
+        new ScaleInMemoryRepository(), TestConstants.TEST_CLOCK, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void it_should_update_a_scale() {
+    ScaleCommandHandler handler = handlerWithTheDefaultScales();
+
+    Optional<Scale> updated =
+        handler.handle(
+            new ScaleCommand.UpdateScale(
+                ScaleId.fromName("H0"), new ScaleCommand.CreateScale("H0", 87f, "NARROW")));
+
+    assertThat(updated).isNotEmpty();
+    assertThat(updated.get().trackGauge()).isEqualTo(TrackGauge.NARROW);
+    assertThat(updated.get().metadata().version()).isEqualTo(1);
+    assertThat(handler.handle(new ScaleCommand.FindScalesByTrackGauge(TrackGauge.NARROW)))
+        .extracting(Scale::name)
+        .contains("H0");
+    assertThat(
+            handler.handle(
+                new ScaleCommand.UpdateScale(
+                    ScaleId.fromName("not-found"),
+                    new ScaleCommand.CreateScale("Not found", 87f, "STANDARD"))))
+        .isEmpty();
+  }
 }
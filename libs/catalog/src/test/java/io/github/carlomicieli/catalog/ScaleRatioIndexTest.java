@@ -0,0 +1,137 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.carlomicieli.Metadata;
+import io.github.carlomicieli.TestConstants;
+import io.github.carlomicieli.slug.Slug;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ScaleRatioIndex")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ScaleRatioIndexTest {
+  private final ScaleRatioIndex index = new ScaleRatioIndex();
+
+  @BeforeEach
+  void setUp() {
+    index.putAll(
+        List.of(
+            scale("N", "160", TrackGauge.STANDARD),
+            scale("H0m", "87", TrackGauge.NARROW),
+            scale("H0", "87", TrackGauge.STANDARD),
+            scale("TT", "120", TrackGauge.STANDARD),
+            scale("0", "43.5", TrackGauge.STANDARD),
+            scale("Nm", "160", TrackGauge.NARROW)));
+  }
+
+  @Test
+  void it_should_find_the_scale_with_the_same_ratio() {
+    assertThat(index.nearest(120, null)).map(Scale::name).hasValue("TT");
+  }
+
+  @Test
+  void it_should_find_the_nearest_scale_in_proportion() {
+    assertThat(index.nearest(100, TrackGauge.NARROW)).map(Scale::name).hasValue("H0m");
+    assertThat(index.nearest(120, TrackGauge.NARROW)).map(Scale::name).hasValue("Nm");
+  }
+
+  @Test
+  void it_should_prefer_the_lowest_id_among_the_scales_with_the_same_ratio() {
+    assertThat(index.nearest(85, null)).map(Scale::name).hasValue("H0");
+    assertThat(index.nearest(90, null)).map(Scale::name).hasValue("H0");
+    assertThat(index.nearest(200, null)).map(Scale::name).hasValue("N");
+  }
+
+  @Test
+  void it_should_find_the_nearest_scale_beyond_the_ratio_range() {
+    assertThat(index.nearest(1, null)).map(Scale::name).hasValue("0");
+    assertThat(index.nearest(1000, TrackGauge.NARROW)).map(Scale::name).hasValue("Nm");
+  }
+
+  @Test
+  void it_should_find_nothing_when_there_are_no_scales() {
+    assertThat(index.nearest(87, TrackGauge.BROAD)).isEmpty();
+    assertThat(new ScaleRatioIndex().nearest(87, null)).isEmpty();
+  }
+
+  @Test
+  void it_should_find_the_scales_in_a_ratio_range() {
+    assertThat(index.byRatioBetween(160, 87, null))
+        .extracting(Scale::name)
+        .containsExactly("H0", "H0m", "TT", "N", "Nm");
+    assertThat(index.byRatioBetween(87, 120, TrackGauge.STANDARD))
+        .extracting(Scale::name)
+        .containsExactly("H0", "TT");
+    assertThat(index.byRatioBetween(88, 119, null)).isEmpty();
+  }
+
+  @Test
+  void it_should_find_the_scales_by_track_gauge() {
+    assertThat(index.byTrackGauge(TrackGauge.NARROW))
+        .extracting(Scale::name)
+        .containsExactly("H0m", "Nm");
+    assertThat(index.byTrackGauge(TrackGauge.BROAD)).isEmpty();
+  }
+
+  @Test
+  void it_should_reindex_the_scales_when_they_are_replaced() {
+    index.put(scale("TT", "120", TrackGauge.NARROW));
+
+    assertThat(index.byTrackGauge(TrackGauge.NARROW))
+        .extracting(Scale::name)
+        .containsExactly("H0m", "TT", "Nm");
+    assertThat(index.byTrackGauge(TrackGauge.STANDARD))
+        .extracting(Scale::name)
+        .containsExactly("0", "H0", "N");
+  }
+
+  @Test
+  void it_should_index_the_scales_added_after_a_read() {
+    assertThat(index.byTrackGauge(TrackGauge.BROAD)).isEmpty();
+
+    index.put(scale("Iberian H0", "87", TrackGauge.BROAD));
+    index.put(scale("Russian H0", "87", TrackGauge.BROAD));
+
+    assertThat(index.byTrackGauge(TrackGauge.BROAD))
+        .extracting(Scale::name)
+        .containsExactly("Iberian H0", "Russian H0");
+    assertThat(index.nearest(87, TrackGauge.BROAD)).map(Scale::name).hasValue("Iberian H0");
+  }
+
+  private static Scale scale(final String name, final String ratio, final TrackGauge trackGauge) {
+    return ScaleBuilder.builder()
+        .id(ScaleId.fromName(name))
+        .name(name)
+        .slug(Slug.of(name))
+        .ratio(new BigDecimal(ratio))
+        .trackGauge(trackGauge)
+        .metadata(Metadata.createdAt(TestConstants.DATE_TIME_NOW))
+        .build();
+  }
+}
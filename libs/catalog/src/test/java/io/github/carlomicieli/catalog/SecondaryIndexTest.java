@@ -0,0 +1,71 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SecondaryIndex")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SecondaryIndexTest {
+  private final SecondaryIndex<String, Integer> index = new SecondaryIndex<>();
+
+  @Test
+  void it_should_return_the_ids_for_a_key_sorted() {
+    index.add("even", 4);
+    index.add("even", 2);
+    index.add("odd", 1);
+
+    assertThat(index.ids("even")).containsExactly(2, 4);
+    assertThat(index.ids("odd")).containsExactly(1);
+    assertThat(index.count("even")).isEqualTo(2);
+  }
+
+  @Test
+  void it_should_return_no_ids_for_unknown_keys() {
+    assertThat(index.ids("unknown")).isEmpty();
+    assertThat(index.count("unknown")).isZero();
+  }
+
+  @Test
+  void it_should_count_each_id_once() {
+    index.add("even", 2);
+    index.add("even", 2);
+
+    assertThat(index.count("even")).isEqualTo(1);
+  }
+
+  @Test
+  void it_should_remove_ids() {
+    index.add("even", 2);
+    index.add("even", 4);
+    index.remove("even", 2);
+    index.remove("even", 6);
+    index.remove("unknown", 2);
+
+    assertThat(index.ids("even")).containsExactly(4);
+    assertThat(index.count("even")).isEqualTo(1);
+  }
+}
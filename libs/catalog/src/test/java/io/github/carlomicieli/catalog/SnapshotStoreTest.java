@@ -0,0 +1,110 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SnapshotStore")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SnapshotStoreTest {
+  private final SnapshotStore<String, Item> store = new SnapshotStore<>(Item::id);
+
+  @Test
+  void it_should_find_values_by_id() {
+    store.put(new Item("a", 1));
+
+    assertThat(store.get("a")).contains(new Item("a", 1));
+    assertThat(store.get("b")).isEmpty();
+  }
+
+  @Test
+  void it_should_list_values_sorted_by_id() {
+    store.put(new Item("b", 1));
+    store.put(new Item("a", 1));
+    store.put(new Item("b", 2));
+
+    assertThat(store.values()).containsExactly(new Item("a", 1), new Item("b", 2));
+  }
+
+  @Test
+  void it_should_list_values_one_page_at_a_time() {
+    store.put(new Item("d", 1));
+    store.put(new Item("b", 1));
+    store.put(new Item("a", 1));
+    store.put(new Item("c", 1));
+
+    assertThat(store.values(null, 2)).extracting(Item::id).containsExactly("a", "b");
+    assertThat(store.values("b", 2)).extracting(Item::id).containsExactly("c", "d");
+    assertThat(store.values("bb", 10)).extracting(Item::id).containsExactly("c", "d");
+    assertThat(store.values("d", 2)).isEmpty();
+    assertThat(store.values(null, 10)).isSameAs(store.values());
+  }
+
+  @Test
+  void it_should_share_the_same_snapshot_until_the_content_changes() {
+    store.put(new Item("a", 1));
+    List<Item> snapshot = store.values();
+
+    assertThat(store.values()).isSameAs(snapshot);
+
+    store.put(new Item("a", 1));
+    assertThat(store.values()).isSameAs(snapshot);
+
+    store.put(new Item("a", 2));
+    assertThat(store.values()).isNotSameAs(snapshot).containsExactly(new Item("a", 2));
+    assertThat(snapshot).containsExactly(new Item("a", 1));
+  }
+
+  @Test
+  void it_should_increment_the_version_only_when_the_content_changes() {
+    long initial = store.version();
+
+    store.put(new Item("a", 1));
+    store.put(new Item("a", 1));
+    assertThat(store.version()).isEqualTo(initial + 1);
+
+    store.put(new Item("a", 2));
+    assertThat(store.version()).isEqualTo(initial + 2);
+  }
+
+  @Test
+  void it_should_store_a_batch_of_values_in_one_version() {
+    store.put(new Item("a", 1));
+    long initial = store.version();
+
+    List<Item> previous = store.putAll(List.of(new Item("b", 1), new Item("a", 2)));
+
+    assertThat(previous).containsExactly(null, new Item("a", 1));
+    assertThat(store.values()).containsExactly(new Item("a", 2), new Item("b", 1));
+    assertThat(store.version()).isEqualTo(initial + 1);
+
+    store.putAll(List.of(new Item("a", 2), new Item("b", 1)));
+    assertThat(store.version()).isEqualTo(initial + 1);
+  }
+
+  private record Item(String id, int value) {}
+}
@@ -0,0 +1,65 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("StoreLock")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class StoreLockTest {
+  @TempDir Path directory;
+
+  @Test
+  void it_should_lock_the_store_directory() {
+    Path store = directory.resolve("store");
+
+    try (StoreLock lock = new StoreLock(store)) {
+      assertThat(lock.directory()).isEqualTo(store);
+      assertThat(store.resolve(StoreLock.LOCK_FILE)).exists();
+    }
+  }
+
+  @Test
+  void it_should_reject_a_second_lock_on_the_same_directory() {
+    try (StoreLock lock = new StoreLock(directory)) {
+      assertThatIllegalStateException()
+          .isThrownBy(() -> new StoreLock(lock.directory()))
+          .withMessage("The catalog store " + directory + " is in use by another process");
+    }
+  }
+
+  @Test
+  void it_should_lock_the_directory_again_once_released() {
+    new StoreLock(directory).close();
+
+    try (StoreLock lock = new StoreLock(directory)) {
+      assertThat(lock.directory()).isEqualTo(directory);
+    }
+  }
+}
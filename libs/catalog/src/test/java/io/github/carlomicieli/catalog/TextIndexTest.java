@@ -0,0 +1,172 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TextIndex")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class TextIndexTest {
+  private final TextIndex<String> index = new TextIndex<>();
+
+  @Test
+  void it_should_find_the_documents_by_word_prefix_ignoring_case_and_accents() {
+    index.put("acme", "ACME");
+    index.put("electrotren", "Électrotren");
+    index.put("maerklin", "Märklin");
+
+    assertThat(ids("elec")).containsExactly("electrotren");
+    assertThat(ids("ELECTROTREN")).containsExactly("electrotren");
+    assertThat(ids("märk")).containsExactly("maerklin");
+    assertThat(ids("ac")).containsExactly("acme");
+    assertThat(ids("xyz")).isEmpty();
+  }
+
+  @Test
+  void it_should_search_every_text_of_a_document() {
+    index.put("fs", "Ferrovie dello Stato", "FS");
+    index.put("db", "Deutsche Bahn", "DB");
+
+    assertThat(ids("fs")).containsExactly("fs");
+    assertThat(ids("bahn")).containsExactly("db");
+  }
+
+  @Test
+  void it_should_require_every_word_of_the_query() {
+    index.put("1", "Rivarossi Models");
+    index.put("2", "Roco Models");
+    index.put("3", "Rivarossi");
+
+    assertThat(ids("riva mod")).containsExactly("1");
+    assertThat(ids("mod")).containsExactlyInAnyOrder("1", "2");
+    assertThat(ids("riva xyz")).isEmpty();
+  }
+
+  @Test
+  void it_should_rank_exact_and_first_words_before_prefixes() {
+    index.put("1", "Rocomotion Lines");
+    index.put("2", "Lines Roco");
+    index.put("3", "Roco");
+
+    List<SearchHit<String>> hits = index.search("roco", 10, Optional::of);
+
+    assertThat(hits).extracting(SearchHit::value).containsExactly("3", "2", "1");
+    assertThat(hits).extracting(SearchHit::score).containsExactly(15, 13, 6);
+  }
+
+  @Test
+  void it_should_rank_the_shorter_documents_first_on_the_same_score() {
+    index.put("long", "Piko Expert Line");
+    index.put("short", "Piko");
+    index.put("medium", "Piko Expert");
+
+    assertThat(ids("piko")).containsExactly("short", "medium", "long");
+  }
+
+  @Test
+  void it_should_only_match_one_character_words_exactly() {
+    index.put("n", "N");
+    index.put("nm", "Nm");
+    index.put("nord", "Nord");
+
+    assertThat(ids("n")).containsExactly("n");
+    assertThat(ids("no")).containsExactly("nord");
+  }
+
+  @Test
+  void it_should_check_the_query_words_longer_than_the_indexed_prefixes() {
+    index.put("1", "Verkehrsbetriebe Zürich");
+    index.put("2", "Verkehrsbetrieb");
+
+    assertThat(ids("verkehrsbetriebe")).containsExactly("1");
+    assertThat(ids("verkehrsbetr")).containsExactly("2", "1");
+    assertThat(ids("verkehrsbetxyz")).isEmpty();
+    assertThat(index.search("verkehrsbetrieb zur", 1, Optional::of))
+        .extracting(SearchHit::value)
+        .containsExactly("1");
+  }
+
+  @Test
+  void it_should_replace_the_texts_of_a_document() {
+    index.put("1", "Lima");
+    index.put("1", "Jouef");
+    index.put("1", "Jouef");
+
+    assertThat(ids("lima")).isEmpty();
+    assertThat(ids("jou")).containsExactly("1");
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  void it_should_return_at_most_limit_hits() {
+    for (int i = 0; i < 100; i++) {
+      index.put("brand-" + i, "Brand " + i);
+    }
+
+    assertThat(index.search("brand", 10, Optional::of)).hasSize(10);
+    assertThat(index.search("brand", 0, Optional::of)).isEmpty();
+    assertThat(ids("brand 42")).containsExactly("brand-42");
+  }
+
+  @Test
+  void it_should_rank_the_single_word_queries_on_long_postings_after_every_write() {
+    for (int i = 0; i < 2000; i++) {
+      index.put("line-" + i, "Roco Line " + i);
+    }
+
+    assertThat(ids("roco")).hasSize(10).startsWith("line-0", "line-1");
+
+    index.put("roco", "Roco");
+    index.put("line-1", "Fleischmann");
+
+    assertThat(ids("roco")).hasSize(10).startsWith("roco", "line-0", "line-2");
+  }
+
+  @Test
+  void it_should_skip_the_documents_without_a_value() {
+    index.put("1", "Roco");
+    index.put("2", "Roco");
+
+    List<SearchHit<String>> hits =
+        index.search("roco", 10, id -> id.equals("1") ? Optional.empty() : Optional.of(id));
+
+    assertThat(hits).extracting(SearchHit::value).containsExactly("2");
+  }
+
+  @Test
+  void it_should_return_nothing_for_blank_queries() {
+    index.put("1", "Roco");
+
+    assertThat(ids("  ")).isEmpty();
+    assertThat(ids("!?")).isEmpty();
+  }
+
+  private List<String> ids(final String query) {
+    return index.search(query, 10, Optional::of).stream().map(SearchHit::value).toList();
+  }
+}
@@ -1,4 +1,7 @@
-plugins { id("buildlogic.java-library-conventions") }
+plugins {
+  id("buildlogic.java-library-conventions")
+  id("buildlogic.jmh-conventions")
+}
 
 dependencies {
   implementation(libs.slugify)
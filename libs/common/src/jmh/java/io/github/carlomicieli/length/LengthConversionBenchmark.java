@@ -0,0 +1,93 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.length;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts a batch of model lengths from millimeters to inches, with {@code BigDecimal} arithmetic
+ * on {@link Length} and with {@link FixedLength}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LengthConversionBenchmark {
+  private static final BigDecimal MILLIMETERS = BigDecimal.valueOf(25_400_000L);
+  private static final BigDecimal INCHES = BigDecimal.valueOf(1_000_000L);
+
+  @Param({"10000"})
+  private int size;
+
+  private Length[] lengths;
+  private FixedLength[] fixedLengths;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    lengths = new Length[size];
+    fixedLengths = new FixedLength[size];
+    for (int i = 0; i < size; i++) {
+      // 50.0 mm to 549.9 mm, with one decimal digit
+      BigDecimal value = BigDecimal.valueOf(500 + i % 5000, 1);
+      lengths[i] = Length.of(value, MeasureUnit.MILLIMETERS);
+      fixedLengths[i] = FixedLength.of(lengths[i]);
+    }
+  }
+
+  @Benchmark
+  public Length[] bigDecimal() {
+    Length[] inches = new Length[size];
+    for (int i = 0; i < size; i++) {
+      BigDecimal value =
+          lengths[i].value().multiply(INCHES).divide(MILLIMETERS, MathContext.DECIMAL64);
+      inches[i] = Length.of(value, MeasureUnit.INCHES);
+    }
+    return inches;
+  }
+
+  @Benchmark
+  public long[] fixedLength() {
+    long[] inches = new long[size];
+    for (int i = 0; i < size; i++) {
+      inches[i] = fixedLengths[i].to(MeasureUnit.INCHES, 4);
+    }
+    return inches;
+  }
+
+  @Benchmark
+  public long[] fixedLengthFromLength() {
+    long[] inches = new long[size];
+    for (int i = 0; i < size; i++) {
+      inches[i] = FixedLength.of(lengths[i]).to(MeasureUnit.INCHES, 4);
+    }
+    return inches;
+  }
+}
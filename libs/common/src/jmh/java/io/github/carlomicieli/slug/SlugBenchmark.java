@@ -0,0 +1,62 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.slug;
+
+import com.github.slugify.Slugify;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares {@link Slug#slugify(String)} with calling Slugify on every value. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlugBenchmark {
+  private final Slugify slugify =
+      Slugify.builder().lowerCase(true).customReplacement("ä", "ae").build();
+
+  private String slug = "acme-h0";
+  private String name = "Märklin Modellbahnen";
+
+  @Benchmark
+  public String alreadySlug() {
+    return Slug.slugify(slug);
+  }
+
+  @Benchmark
+  public String slugifyAlreadySlug() {
+    return slugify.slugify(slug);
+  }
+
+  @Benchmark
+  public String name() {
+    return Slug.slugify(name);
+  }
+
+  @Benchmark
+  public String slugifyName() {
+    return slugify.slugify(name);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.trn;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/** The original split and regex based TRN parser, kept as a baseline for the benchmarks. */
+record LegacyTRN(String namespaceIdentifier, String namespaceSpecificString) {
+  private static final String SCHEME = "trn:";
+
+  private static final Pattern NAMESPACE_IDENTIFIER_PATTERN = Pattern.compile("[a-zA-Z0-9_\\-]+");
+  private static final Pattern NAMESPACE_SPECIFIC_STRING_PATTERN =
+      Pattern.compile("[a-zA-Z0-9_\\-]+");
+
+  static boolean isValid(final String value) {
+    String[] values = Objects.requireNonNull(value).split(":");
+    return extractScheme(values).isPresent()
+        && extractNamespaceIdentifier(values).isPresent()
+        && extractNamespaceSpecificString(values).isPresent();
+  }
+
+  static Optional<LegacyTRN> tryParse(final String value) {
+    return Optional.ofNullable(value)
+        .map(input -> input.split(":"))
+        .flatMap(LegacyTRN::extractValues);
+  }
+
+  private static Optional<LegacyTRN> extractValues(final String[] tokens) {
+    if (extractScheme(tokens).isEmpty()) {
+      return Optional.empty();
+    }
+
+    record Pair(String lhs, String rhs) {}
+
+    return extractNamespaceIdentifier(tokens)
+        .flatMap(
+            namespaceIdentifier -> {
+              Optional<String> namespaceSpecificString = extractNamespaceSpecificString(tokens);
+              return namespaceSpecificString.map(nss -> new Pair(namespaceIdentifier, nss));
+            })
+        .map(pair -> new LegacyTRN(pair.lhs(), pair.rhs()));
+  }
+
+  static LegacyTRN of(final String value) {
+    String[] tokens = Objects.requireNonNull(value).split(":");
+    extractScheme(tokens)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid TRN value: " + value));
+    String namespaceIdentifier =
+        extractNamespaceIdentifier(tokens)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid TRN value: " + value));
+    String namespaceSpecificString =
+        extractNamespaceSpecificString(tokens)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid TRN value: " + value));
+
+    return new LegacyTRN(namespaceIdentifier, namespaceSpecificString);
+  }
+
+  private static Optional<String> extractScheme(final String[] values) {
+    return values.length > 0
+        ? Optional.of(values[0]).map(scheme -> scheme + ":").filter(SCHEME::equalsIgnoreCase)
+        : Optional.empty();
+  }
+
+  private static Optional<String> extractNamespaceIdentifier(final String[] values) {
+    return values.length > 1
+        ? Optional.of(values[1])
+            .filter(
+                namespaceIdentifier ->
+                    NAMESPACE_IDENTIFIER_PATTERN.matcher(namespaceIdentifier).matches())
+        : Optional.empty();
+  }
+
+  private static Optional<String> extractNamespaceSpecificString(final String[] values) {
+    if (values.length < 3) {
+      return Optional.empty();
+    }
+
+    return Arrays.stream(values)
+        .skip(2)
+        .filter(
+            namespaceSpecificString ->
+                NAMESPACE_SPECIFIC_STRING_PATTERN.matcher(namespaceSpecificString).matches())
+        .reduce((a, b) -> a + ":" + b);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.trn;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the single-pass TRN parser with the original split and regex based one. Run with the
+ * {@code gc} profiler to get the allocations per parse ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TRNBenchmark {
+  private String brandId = "trn:brand:acme";
+  private String catalogItemId = "trn:catalog-item:acme:60392";
+  private String invalid = "trn:brand:name with spaces";
+
+  @Benchmark
+  public TRN of() {
+    return TRN.of(brandId);
+  }
+
+  @Benchmark
+  public LegacyTRN legacyOf() {
+    return LegacyTRN.of(brandId);
+  }
+
+  @Benchmark
+  public TRN ofWithTwoNamespaceSpecificStrings() {
+    return TRN.of(catalogItemId);
+  }
+
+  @Benchmark
+  public LegacyTRN legacyOfWithTwoNamespaceSpecificStrings() {
+    return LegacyTRN.of(catalogItemId);
+  }
+
+  @Benchmark
+  public Optional<TRN> tryParseInvalid() {
+    return TRN.tryParse(invalid);
+  }
+
+  @Benchmark
+  public Optional<LegacyTRN> legacyTryParseInvalid() {
+    return LegacyTRN.tryParse(invalid);
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return TRN.isValid(brandId);
+  }
+
+  @Benchmark
+  public boolean legacyIsValid() {
+    return LegacyTRN.isValid(brandId);
+  }
+}
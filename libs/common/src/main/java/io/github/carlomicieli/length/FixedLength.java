@@ -0,0 +1,204 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.length;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A length held as a whole number of nanometers, to compare and convert lengths without {@code
+ * BigDecimal} arithmetic.
+ *
+ * <p>Every {@link MeasureUnit} is a whole number of nanometers, so a value with up to five decimal
+ * digits converts to a {@code FixedLength} exactly, whatever its unit: a {@link Length} survives
+ * the round trip. Converting back to another unit is exact when the result has a finite decimal
+ * expansion (millimeters to meters, inches to millimeters), and rounded otherwise (millimeters to
+ * inches). The lengths are ordered by their size, whatever the unit they were created with.
+ *
+ * @param nanometers the length in nanometers
+ */
+public record FixedLength(long nanometers) implements Comparable<FixedLength> {
+  /** The longest conversion to another unit, the digits of a {@code long}. */
+  private static final MathContext PRECISION = new MathContext(19, RoundingMode.HALF_EVEN);
+
+  private static final long[] POWERS_OF_TEN = {
+    1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+  };
+
+  /** The zero length. */
+  public static final FixedLength ZERO = new FixedLength(0);
+
+  /**
+   * Creates a length of a whole number of units.
+   *
+   * @param value the number of units
+   * @param measureUnit the measure unit
+   * @return the length
+   * @throws ArithmeticException if the length overflows a {@code long} number of nanometers
+   */
+  @CheckReturnValue
+  public static @NotNull FixedLength of(final long value, @NotNull final MeasureUnit measureUnit) {
+    return new FixedLength(Math.multiplyExact(value, measureUnit.nanometers()));
+  }
+
+  /**
+   * Creates a length from a fixed-point value: {@code unscaledValue × 10^-scale} units.
+   *
+   * @param unscaledValue the unscaled value
+   * @param scale the number of decimal digits, from 0 to 9
+   * @param measureUnit the measure unit
+   * @return the length
+   * @throws IllegalArgumentException if the value is not a whole number of nanometers
+   * @throws ArithmeticException if the length overflows a {@code long} number of nanometers
+   */
+  @CheckReturnValue
+  public static @NotNull FixedLength of(
+      final long unscaledValue, final int scale, @NotNull final MeasureUnit measureUnit) {
+    long divisor = powerOfTen(scale);
+    long nanometers = measureUnit.nanometers();
+    if (nanometers % divisor == 0) {
+      return new FixedLength(Math.multiplyExact(unscaledValue, nanometers / divisor));
+    }
+    long product = Math.multiplyExact(unscaledValue, nanometers);
+    if (product % divisor != 0) {
+      throw new IllegalArgumentException(
+          "Length is not a whole number of nanometers: " + unscaledValue + "e-" + scale);
+    }
+    return new FixedLength(product / divisor);
+  }
+
+  /**
+   * Creates a length from a {@code BigDecimal} value.
+   *
+   * @param value the value
+   * @param measureUnit the measure unit
+   * @return the length
+   * @throws IllegalArgumentException if the value is not a whole number of nanometers
+   * @throws ArithmeticException if the length overflows a {@code long} number of nanometers
+   */
+  @CheckReturnValue
+  public static @NotNull FixedLength of(
+      @NotNull final BigDecimal value, @NotNull final MeasureUnit measureUnit) {
+    Objects.requireNonNull(value);
+    BigDecimal nanometers = value.multiply(BigDecimal.valueOf(measureUnit.nanometers()));
+    if (nanometers.signum() != 0 && nanometers.stripTrailingZeros().scale() > 0) {
+      throw new IllegalArgumentException(
+          "Length is not a whole number of nanometers: " + value + " " + measureUnit.symbol());
+    }
+    return new FixedLength(nanometers.longValueExact());
+  }
+
+  /**
+   * Creates a length from a {@link Length}.
+   *
+   * @param length the length
+   * @return the length
+   * @throws IllegalArgumentException if the value is not a whole number of nanometers
+   * @throws ArithmeticException if the length overflows a {@code long} number of nanometers
+   */
+  @CheckReturnValue
+  public static @NotNull FixedLength of(@NotNull final Length length) {
+    return of(length.value(), length.measureUnit());
+  }
+
+  /**
+   * Returns this length in the given unit as a fixed-point value, {@code unscaledValue × 10^-scale}
+   * units, rounding half even the digits beyond the scale.
+   *
+   * @param measureUnit the measure unit
+   * @param scale the number of decimal digits, from 0 to 9
+   * @return the unscaled value
+   * @throws ArithmeticException if the unscaled value overflows a {@code long}
+   */
+  @CheckReturnValue
+  public long to(@NotNull final MeasureUnit measureUnit, final int scale) {
+    long multiplier = powerOfTen(scale);
+    long divisor = measureUnit.nanometers();
+    if (divisor % multiplier == 0) {
+      return divideRounding(nanometers, divisor / multiplier);
+    }
+    long high = Math.multiplyHigh(nanometers, multiplier);
+    long low = nanometers * multiplier;
+    if (high != (low >> 63)) {
+      return BigDecimal.valueOf(nanometers)
+          .scaleByPowerOfTen(scale)
+          .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_EVEN)
+          .longValueExact();
+    }
+    return divideRounding(low, divisor);
+  }
+
+  /**
+   * Returns this length in the given unit, exactly when the value has a finite decimal expansion
+   * and rounded to 19 significant digits otherwise.
+   *
+   * <p>The value has no trailing zeros in its fraction and a scale of at least zero, so that equal
+   * lengths give equal values, written in plain notation ({@code 1000}, not {@code 1E+3}).
+   *
+   * @param measureUnit the measure unit
+   * @return the value in the measure unit
+   */
+  @CheckReturnValue
+  public @NotNull BigDecimal value(@NotNull final MeasureUnit measureUnit) {
+    BigDecimal value =
+        BigDecimal.valueOf(nanometers)
+            .divide(BigDecimal.valueOf(measureUnit.nanometers()), PRECISION)
+            .stripTrailingZeros();
+    return value.scale() < 0 ? value.setScale(0) : value;
+  }
+
+  /**
+   * Returns this length as a {@link Length} in the given unit.
+   *
+   * @param measureUnit the measure unit
+   * @return the length
+   * @throws IllegalArgumentException if this length is not positive
+   */
+  @CheckReturnValue
+  public @NotNull Length toLength(@NotNull final MeasureUnit measureUnit) {
+    return Length.of(value(measureUnit), measureUnit);
+  }
+
+  @Override
+  public int compareTo(@NotNull final FixedLength other) {
+    return Long.compare(nanometers, other.nanometers);
+  }
+
+  private static long powerOfTen(final int scale) {
+    if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+      throw new IllegalArgumentException("Scale must be between 0 and 9: " + scale);
+    }
+    return POWERS_OF_TEN[scale];
+  }
+
+  private static long divideRounding(final long dividend, final long divisor) {
+    long quotient = Math.floorDiv(dividend, divisor);
+    long twiceRemainder = 2 * Math.floorMod(dividend, divisor);
+    if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0)) {
+      return quotient + 1;
+    }
+    return quotient;
+  }
+}
@@ -22,16 +22,18 @@ package io.github.carlomicieli.length;
 
 /** Represents the measure units for the length. */
 public enum MeasureUnit {
-  MILES("mi"),
-  MILLIMETERS("mm"),
-  METERS("m"),
-  INCHES("in"),
-  KILOMETERS("km");
+  MILES("mi", 1_609_344_000_000L),
+  MILLIMETERS("mm", 1_000_000L),
+  METERS("m", 1_000_000_000L),
+  INCHES("in", 25_400_000L),
+  KILOMETERS("km", 1_000_000_000_000L);
 
   private final String symbol;
+  private final long nanometers;
 
-  MeasureUnit(String symbol) {
+  MeasureUnit(String symbol, long nanometers) {
     this.symbol = symbol;
+    this.nanometers = nanometers;
   }
 
   /**
@@ -43,6 +45,16 @@ public enum MeasureUnit {
     return symbol;
   }
 
+  /**
+   * Returns the length of one unit in nanometers, the international inch and mile are defined as
+   * exactly 25.4 mm and 1609.344 m.
+   *
+   * @return the nanometers in one unit
+   */
+  public long nanometers() {
+    return nanometers;
+  }
+
   /**
    * Returns the MeasureUnit for the given symbol.
    *
@@ -21,16 +21,28 @@
 package io.github.carlomicieli.slug;
 
 import com.github.slugify.Slugify;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
-/** It converts a string to a "slug". */
+/**
+ * It converts a string to a "slug".
+ *
+ * <p>Values that are already slugs (lowercase ASCII letters, digits and underscores, in runs
+ * separated by a single hyphen) are kept as they are, without going through Slugify. The results
+ * for the other values are memoized in a small, bounded cache.
+ */
 public record Slug(@NotNull String value) {
   private static final Slugify SLUGIFY =
       Slugify.builder().lowerCase(true).customReplacement("ä", "ae").build();
 
+  private static final int CACHE_SIZE = 1024;
+  private static final int CACHE_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(CACHE_SIZE);
+  private static final AtomicReferenceArray<CacheEntry> CACHE =
+      new AtomicReferenceArray<>(CACHE_SIZE);
+
   public Slug {
-    value = SLUGIFY.slugify(value);
+    value = slugify(value);
   }
 
   @CheckReturnValue
@@ -40,11 +52,46 @@ public record Slug(@NotNull String value) {
 
   @CheckReturnValue
   public static @NotNull String slugify(@NotNull final String value) {
-    return SLUGIFY.slugify(value);
+    if (value == null) {
+      return SLUGIFY.slugify(null);
+    }
+    if (isSlug(value)) {
+      return value;
+    }
+
+    int index = (value.hashCode() * 0x9E3779B9) >>> CACHE_SHIFT;
+    CacheEntry entry = CACHE.get(index);
+    if (entry != null && entry.input().equals(value)) {
+      return entry.slug();
+    }
+
+    String slug = SLUGIFY.slugify(value);
+    CACHE.set(index, new CacheEntry(value, slug));
+    return slug;
+  }
+
+  private static boolean isSlug(@NotNull final String value) {
+    int length = value.length();
+    if (length == 0) {
+      return false;
+    }
+
+    char previous = '-';
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      boolean isWordChar = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+      if (!isWordChar && (c != '-' || previous == '-')) {
+        return false;
+      }
+      previous = c;
+    }
+    return previous != '-';
   }
 
   @Override
   public String toString() {
     return value;
   }
+
+  private record CacheEntry(@NotNull String input, @NotNull String slug) {}
 }
@@ -21,14 +21,12 @@
 package io.github.carlomicieli.trn;
 
 import io.github.carlomicieli.slug.Slug;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A <strong>Train Resource Name</strong> (<em>TRN</em>) is a Uniform Resource Identifier (URI) that
@@ -46,10 +44,7 @@ import org.jetbrains.annotations.NotNull;
  */
 public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
   private static final String SCHEME = "trn:";
-
-  private static final Pattern NAMESPACE_IDENTIFIER_PATTERN = Pattern.compile("[a-zA-Z0-9_\\-]+");
-  private static final Pattern NAMESPACE_SPECIFIC_STRING_PATTERN =
-      Pattern.compile("[a-zA-Z0-9_\\-]+");
+  private static final char SEPARATOR = ':';
 
   /**
    * Creates a new TRN value.
@@ -64,12 +59,9 @@ public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
       @NotNull String namespaceSpecificString2) {
     this(
         namespaceIdentifier,
-        buildNamespaceSpecificString(namespaceSpecificString1, namespaceSpecificString2));
-  }
-
-  private static @NotNull String buildNamespaceSpecificString(
-      @NotNull String s1, @NotNull String s2) {
-    return Stream.of(s1, s2).map(Slug::slugify).reduce((a, b) -> a + ":" + b).orElseThrow();
+        Slug.slugify(namespaceSpecificString1)
+            + SEPARATOR
+            + Slug.slugify(namespaceSpecificString2));
   }
 
   public List<String> namespaceSpecificStrings() {
@@ -84,10 +76,7 @@ public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
    */
   @CheckReturnValue
   public static boolean isValid(@NotNull final String value) {
-    String[] values = Objects.requireNonNull(value).split(":");
-    return extractScheme(values).isPresent()
-        && extractNamespaceIdentifier(values).isPresent()
-        && extractNamespaceSpecificString(values).isPresent();
+    return parse(Objects.requireNonNull(value)) != null;
   }
 
   /**
@@ -98,7 +87,11 @@ public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
    * @throws IllegalArgumentException if the given string is not a valid TRN
    */
   public static TRN requireValid(@NotNull final String value, @NotNull final String message) {
-    return tryParse(value).orElseThrow(() -> new IllegalArgumentException(message));
+    TRN trn = value != null ? parse(value) : null;
+    if (trn == null) {
+      throw new IllegalArgumentException(message);
+    }
+    return trn;
   }
 
   /**
@@ -114,13 +107,47 @@ public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
       @NotNull final String value,
       @NotNull final String namespaceIdentifier,
       @NotNull final String message) {
-    TRN trn = tryParse(value).orElseThrow(() -> new IllegalArgumentException(message));
+    TRN trn = requireValid(value, message);
     if (!trn.namespaceIdentifier().equals(namespaceIdentifier)) {
       throw new IllegalArgumentException(message);
     }
     return trn;
   }
 
+  /**
+   * Checks if the given string is a TRN in the specified namespace, already in the canonical form
+   * of {@link #toString()}: the {@code trn:} scheme, the namespace identifier and one or more
+   * valid, non-empty tokens. It does not allocate, so that the ids read back from storage, which
+   * are always canonical, can skip the parsing.
+   *
+   * @param value the string to check
+   * @param namespaceIdentifier the expected namespace identifier
+   * @return {@code true} if {@code TRN.of(value).toString()} is equal to the given string, and its
+   *     namespace identifier is the expected one
+   */
+  @CheckReturnValue
+  public static boolean isCanonical(
+      @NotNull final String value, @NotNull final String namespaceIdentifier) {
+    final int start = SCHEME.length() + namespaceIdentifier.length() + 1;
+    final int length = value.length();
+    if (length <= start
+        || !value.startsWith(SCHEME)
+        || !value.startsWith(namespaceIdentifier, SCHEME.length())
+        || value.charAt(start - 1) != SEPARATOR) {
+      return false;
+    }
+
+    char previous = SEPARATOR;
+    for (int i = start; i < length; i++) {
+      char ch = value.charAt(i);
+      if (ch == SEPARATOR ? previous == SEPARATOR : !isValidChar(ch)) {
+        return false;
+      }
+      previous = ch;
+    }
+    return previous != SEPARATOR;
+  }
+
   /**
    * Tries to parse the given string as a TRN.
    *
@@ -130,23 +157,7 @@ public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
    */
   @CheckReturnValue
   public static Optional<TRN> tryParse(@NotNull final String value) {
-    return Optional.ofNullable(value).map(input -> input.split(":")).flatMap(TRN::extractValues);
-  }
-
-  private static Optional<TRN> extractValues(@NotNull final String[] tokens) {
-    if (extractScheme(tokens).isEmpty()) {
-      return Optional.empty();
-    }
-
-    record Pair(String lhs, String rhs) {}
-
-    return extractNamespaceIdentifier(tokens)
-        .flatMap(
-            namespaceIdentifier -> {
-              Optional<String> namespaceSpecificString = extractNamespaceSpecificString(tokens);
-              return namespaceSpecificString.map(nss -> new Pair(namespaceIdentifier, nss));
-            })
-        .map(pair -> new TRN(pair.lhs(), pair.rhs()));
+    return value != null ? Optional.ofNullable(parse(value)) : Optional.empty();
   }
 
   /**
@@ -158,50 +169,92 @@ public record TRN(String namespaceIdentifier, String namespaceSpecificString) {
    */
   @CheckReturnValue
   public static @NotNull TRN of(@NotNull final String value) {
-    String[] tokens = Objects.requireNonNull(value).split(":");
-    String scheme =
-        extractScheme(tokens)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid TRN value: " + value));
-    String namespaceIdentifier =
-        extractNamespaceIdentifier(tokens)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid TRN value: " + value));
-    String namespaceSpecificString =
-        extractNamespaceSpecificString(tokens)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid TRN value: " + value));
-
-    return new TRN(namespaceIdentifier, namespaceSpecificString);
+    TRN trn = parse(Objects.requireNonNull(value));
+    if (trn == null) {
+      throw new IllegalArgumentException("Invalid TRN value: " + value);
+    }
+    return trn;
   }
 
-  private static Optional<String> extractScheme(@NotNull final String[] values) {
-    return values.length > 0
-        ? Optional.of(values[0]).map(scheme -> scheme + ":").filter(SCHEME::equalsIgnoreCase)
-        : Optional.empty();
-  }
+  /**
+   * Parses the given string in a single pass, without regular expressions or intermediate arrays.
+   *
+   * <p>The scheme is matched ignoring the case, and the namespace identifier must be a non-empty
+   * token of letters, digits, {@code '_'} and {@code '-'}. The namespace-specific string is made by
+   * the valid tokens that follow, joined by {@code ':'}: invalid or empty tokens are skipped, and
+   * at least one valid token is required.
+   *
+   * @param value the string to parse
+   * @return the parsed TRN, or {@code null} if the given string is not a valid TRN
+   */
+  private static @Nullable TRN parse(@NotNull final String value) {
+    final int length = value.length();
+    if (!value.regionMatches(true, 0, SCHEME, 0, SCHEME.length())) {
+      return null;
+    }
 
-  private static Optional<String> extractNamespaceIdentifier(@NotNull final String[] values) {
-    return values.length > 1
-        ? Optional.of(values[1])
-            .filter(
-                namespaceIdentifier ->
-                    NAMESPACE_IDENTIFIER_PATTERN.matcher(namespaceIdentifier).matches())
-        : Optional.empty();
-  }
+    final int namespaceStart = SCHEME.length();
+    int namespaceEnd = namespaceStart;
+    while (namespaceEnd < length && value.charAt(namespaceEnd) != SEPARATOR) {
+      if (!isValidChar(value.charAt(namespaceEnd))) {
+        return null;
+      }
+      namespaceEnd++;
+    }
+    if (namespaceEnd == namespaceStart || namespaceEnd == length) {
+      return null;
+    }
 
-  private static Optional<String> extractNamespaceSpecificString(@NotNull final String[] values) {
-    if (values.length < 3) {
-      return Optional.empty();
+    final int start = namespaceEnd + 1;
+    StringBuilder namespaceSpecificString = null;
+    int validTokens = 0;
+    int tokenStart = start;
+    boolean validToken = true;
+    for (int i = start; i <= length; i++) {
+      if (i < length && value.charAt(i) != SEPARATOR) {
+        validToken = validToken && isValidChar(value.charAt(i));
+        continue;
+      }
+
+      if (validToken && i > tokenStart) {
+        if (namespaceSpecificString != null) {
+          if (!namespaceSpecificString.isEmpty()) {
+            namespaceSpecificString.append(SEPARATOR);
+          }
+          namespaceSpecificString.append(value, tokenStart, i);
+        }
+        validTokens++;
+      } else if (namespaceSpecificString == null) {
+        // the first token to skip: copy the (valid) tokens scanned so far
+        namespaceSpecificString = new StringBuilder(length - start);
+        if (validTokens > 0) {
+          namespaceSpecificString.append(value, start, tokenStart - 1);
+        }
+      }
+      tokenStart = i + 1;
+      validToken = true;
+    }
+
+    if (validTokens == 0) {
+      return null;
     }
+    return new TRN(
+        value.substring(namespaceStart, namespaceEnd),
+        namespaceSpecificString != null
+            ? namespaceSpecificString.toString()
+            : value.substring(start));
+  }
 
-    return Arrays.stream(values)
-        .skip(2)
-        .filter(
-            namespaceSpecificString ->
-                NAMESPACE_SPECIFIC_STRING_PATTERN.matcher(namespaceSpecificString).matches())
-        .reduce((a, b) -> a + ":" + b);
+  private static boolean isValidChar(final char ch) {
+    return (ch >= 'a' && ch <= 'z')
+        || (ch >= 'A' && ch <= 'Z')
+        || (ch >= '0' && ch <= '9')
+        || ch == '_'
+        || ch == '-';
   }
 
   @Override
   public String toString() {
-    return SCHEME + namespaceIdentifier + ":" + namespaceSpecificString;
+    return SCHEME + namespaceIdentifier + SEPARATOR + namespaceSpecificString;
   }
 }
@@ -0,0 +1,136 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Encodes a sequence of values into chunks of bytes, lazily: the values are encoded only when the
+ * next chunk is requested, so that a large sequence can be streamed keeping one chunk in memory.
+ *
+ * <p>A chunk is cut after the value that brings it to the given size, so it can be larger than that
+ * by the size of one value.
+ *
+ * @param <T> the type of the values
+ */
+public final class ChunkedEncoder<T> implements Iterator<byte[]> {
+  /**
+   * Writes the encoding of one value.
+   *
+   * @param <T> the type of the values
+   */
+  @FunctionalInterface
+  public interface Encoder<T> {
+    /**
+     * Writes the encoding of a value.
+     *
+     * @param value the value to encode
+     * @param output the chunk to write to
+     * @throws IOException if the value cannot be encoded
+     */
+    void encode(@NotNull T value, @NotNull ByteArrayOutputStream output) throws IOException;
+  }
+
+  private final Iterator<? extends T> values;
+  private final Encoder<T> encoder;
+  private final byte[] footer;
+  private final int chunkSize;
+  private final ByteArrayOutputStream chunk;
+  private boolean finished = false;
+
+  /**
+   * Creates an encoder.
+   *
+   * @param values the values to encode
+   * @param encoder the encoder of a value
+   * @param header the bytes written before the first value
+   * @param footer the bytes written after the last value
+   * @param chunkSize the size of the chunks
+   */
+  public ChunkedEncoder(
+      @NotNull final Iterator<? extends T> values,
+      @NotNull final Encoder<T> encoder,
+      final byte @NotNull [] header,
+      final byte @NotNull [] footer,
+      final int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The chunk size must be positive");
+    }
+    this.values = Objects.requireNonNull(values, "values must not be null");
+    this.encoder = Objects.requireNonNull(encoder, "encoder must not be null");
+    this.footer = footer.clone();
+    this.chunkSize = chunkSize;
+    this.chunk = new ByteArrayOutputStream(chunkSize + chunkSize / 4);
+    this.chunk.writeBytes(header);
+  }
+
+  /**
+   * Creates an encoder without header and footer.
+   *
+   * @param values the values to encode
+   * @param encoder the encoder of a value
+   * @param chunkSize the size of the chunks
+   */
+  public ChunkedEncoder(
+      @NotNull final Iterator<? extends T> values,
+      @NotNull final Encoder<T> encoder,
+      final int chunkSize) {
+    this(values, encoder, new byte[0], new byte[0], chunkSize);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !finished;
+  }
+
+  /**
+   * Encodes the next chunk.
+   *
+   * @return the next chunk
+   * @throws UncheckedIOException if a value cannot be encoded
+   */
+  @Override
+  public byte @NotNull [] next() {
+    if (finished) {
+      throw new NoSuchElementException();
+    }
+    try {
+      while (chunk.size() < chunkSize && values.hasNext()) {
+        encoder.encode(values.next(), chunk);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to encode the chunk", e);
+    }
+    if (!values.hasNext()) {
+      chunk.writeBytes(footer);
+      finished = true;
+    }
+    byte[] bytes = chunk.toByteArray();
+    chunk.reset();
+    return bytes;
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.length;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("FixedLength")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class FixedLengthTest {
+  @ParameterizedTest
+  @EnumSource(MeasureUnit.class)
+  void it_should_create_lengths_of_whole_units(MeasureUnit measureUnit) {
+    FixedLength length = FixedLength.of(3, measureUnit);
+    assertThat(length.nanometers()).isEqualTo(3 * measureUnit.nanometers());
+    assertThat(length.to(measureUnit, 0)).isEqualTo(3);
+  }
+
+  @ParameterizedTest
+  @EnumSource(MeasureUnit.class)
+  void it_should_round_trip_to_the_length_values(MeasureUnit measureUnit) {
+    Length length = Length.of(new BigDecimal("165.12345"), measureUnit);
+
+    FixedLength fixedLength = FixedLength.of(length);
+
+    assertThat(fixedLength.toLength(measureUnit).value()).isEqualTo(new BigDecimal("165.12345"));
+    assertThat(fixedLength.toLength(measureUnit).measureUnit()).isEqualTo(measureUnit);
+  }
+
+  @ParameterizedTest
+  @MethodSource("conversions")
+  void it_should_convert_lengths_between_measure_units(
+      String value, MeasureUnit from, MeasureUnit to, String expected) {
+    FixedLength length = FixedLength.of(new BigDecimal(value), from);
+    assertThat(length.value(to)).isEqualTo(new BigDecimal(expected));
+    assertThat(length.value(to).toString()).isEqualTo(expected);
+  }
+
+  @Test
+  void it_should_round_the_conversions_without_a_finite_decimal_expansion() {
+    FixedLength length = FixedLength.of(1, MeasureUnit.MILLIMETERS);
+    assertThat(length.value(MeasureUnit.INCHES))
+        .isEqualTo(new BigDecimal("0.03937007874015748031"));
+  }
+
+  @Test
+  void it_should_convert_to_fixed_point_values() {
+    FixedLength gauge = FixedLength.of(165, 1, MeasureUnit.MILLIMETERS);
+
+    assertThat(gauge.to(MeasureUnit.MILLIMETERS, 1)).isEqualTo(165);
+    assertThat(gauge.to(MeasureUnit.INCHES, 4)).isEqualTo(6496);
+    assertThat(gauge.to(MeasureUnit.METERS, 9)).isEqualTo(16_500_000);
+  }
+
+  @Test
+  void it_should_round_half_even_the_fixed_point_values() {
+    assertThat(FixedLength.of(25, 1, MeasureUnit.MILLIMETERS).to(MeasureUnit.MILLIMETERS, 0))
+        .isEqualTo(2);
+    assertThat(FixedLength.of(35, 1, MeasureUnit.MILLIMETERS).to(MeasureUnit.MILLIMETERS, 0))
+        .isEqualTo(4);
+    assertThat(FixedLength.of(26, 1, MeasureUnit.MILLIMETERS).to(MeasureUnit.MILLIMETERS, 0))
+        .isEqualTo(3);
+    assertThat(FixedLength.of(-25, 1, MeasureUnit.MILLIMETERS).to(MeasureUnit.MILLIMETERS, 0))
+        .isEqualTo(-2);
+  }
+
+  @Test
+  void it_should_convert_to_fixed_point_values_beyond_the_long_range() {
+    FixedLength length = new FixedLength(Long.MAX_VALUE / 2);
+
+    long expected =
+        BigDecimal.valueOf(Long.MAX_VALUE / 2)
+            .scaleByPowerOfTen(9)
+            .divide(BigDecimal.valueOf(MeasureUnit.MILES.nanometers()), 0, RoundingMode.HALF_EVEN)
+            .longValueExact();
+    assertThat(length.to(MeasureUnit.MILES, 9)).isEqualTo(expected);
+  }
+
+  @Test
+  void it_should_compare_lengths_in_different_measure_units() {
+    List<FixedLength> lengths =
+        new ArrayList<>(
+            List.of(
+                FixedLength.of(1, MeasureUnit.METERS),
+                FixedLength.of(1, MeasureUnit.INCHES),
+                FixedLength.of(new BigDecimal("25.5"), MeasureUnit.MILLIMETERS),
+                FixedLength.of(1, MeasureUnit.MILES),
+                FixedLength.of(1, MeasureUnit.KILOMETERS)));
+
+    Collections.sort(lengths);
+
+    assertThat(lengths)
+        .containsExactly(
+            FixedLength.of(1, MeasureUnit.INCHES),
+            FixedLength.of(new BigDecimal("25.5"), MeasureUnit.MILLIMETERS),
+            FixedLength.of(1, MeasureUnit.METERS),
+            FixedLength.of(1, MeasureUnit.KILOMETERS),
+            FixedLength.of(1, MeasureUnit.MILES));
+    assertThat(FixedLength.of(254, 1, MeasureUnit.MILLIMETERS))
+        .isEqualByComparingTo(FixedLength.of(1, MeasureUnit.INCHES));
+  }
+
+  @Test
+  void it_should_reject_fractions_of_nanometers() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FixedLength.of(new BigDecimal("0.0000001"), MeasureUnit.MILLIMETERS));
+    assertThatIllegalArgumentException().isThrownBy(() -> FixedLength.of(1, 6, MeasureUnit.INCHES));
+  }
+
+  @Test
+  void it_should_reject_lengths_overflowing_the_nanometers() {
+    assertThatThrownBy(() -> FixedLength.of(Long.MAX_VALUE, MeasureUnit.MILES))
+        .isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> FixedLength.of(new BigDecimal("1e10"), MeasureUnit.MILES))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void it_should_reject_invalid_scales() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FixedLength.of(1, 10, MeasureUnit.MILLIMETERS));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FixedLength.ZERO.to(MeasureUnit.MILLIMETERS, -1));
+  }
+
+  private static Stream<Arguments> conversions() {
+    return Stream.of(
+        Arguments.of("1", MeasureUnit.INCHES, MeasureUnit.MILLIMETERS, "25.4"),
+        Arguments.of("16.5", MeasureUnit.MILLIMETERS, MeasureUnit.METERS, "0.0165"),
+        Arguments.of("1", MeasureUnit.MILES, MeasureUnit.KILOMETERS, "1.609344"),
+        Arguments.of("1", MeasureUnit.MILES, MeasureUnit.INCHES, "63360"),
+        Arguments.of("2.5", MeasureUnit.KILOMETERS, MeasureUnit.METERS, "2500"),
+        Arguments.of("1", MeasureUnit.KILOMETERS, MeasureUnit.METERS, "1000"),
+        Arguments.of("0", MeasureUnit.INCHES, MeasureUnit.MILLIMETERS, "0"),
+        Arguments.of("1435", MeasureUnit.MILLIMETERS, MeasureUnit.INCHES, "56.49606299212598425"));
+  }
+}
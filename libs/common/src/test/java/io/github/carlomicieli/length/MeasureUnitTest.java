@@ -43,6 +43,14 @@ class MeasureUnitTest {
     assertThat(symbol).isEqualTo("mi");
   }
 
+  @Test
+  void it_should_return_the_nanometers_in_one_unit() {
+    assertThat(MeasureUnit.MILLIMETERS.nanometers()).isEqualTo(1_000_000L);
+    assertThat(MeasureUnit.INCHES.nanometers()).isEqualTo(25_400_000L);
+    assertThat(MeasureUnit.MILES.nanometers())
+        .isEqualTo(1_609_344L * MeasureUnit.MILLIMETERS.nanometers());
+  }
+
   @ParameterizedTest
   @MethodSource("provideSymbols")
   void it_should_return_the_measure_unit_for_the_given_symbol(String symbol, MeasureUnit expected) {
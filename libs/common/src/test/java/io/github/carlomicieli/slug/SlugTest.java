@@ -22,10 +22,13 @@ package io.github.carlomicieli.slug;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.github.slugify.Slugify;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 @DisplayName("Slug")
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -55,4 +58,27 @@ class SlugTest {
     String slug = Slug.slugify("hello World");
     assertThat(slug).isEqualTo("hello-world");
   }
+
+  @Test
+  void it_should_keep_the_values_that_are_already_slugs() {
+    String value = "acme-h0_scale-1";
+    assertThat(Slug.slugify(value)).isSameAs(value);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "-acme",
+        "acme-",
+        "acme--h0",
+        "ACME",
+        "acme h0",
+        "Märklìn",
+        "Société Nationale des Chemins de fer Français"
+      })
+  void it_should_produce_the_same_slugs_as_slugify(String value) {
+    Slugify slugify = Slugify.builder().lowerCase(true).customReplacement("ä", "ae").build();
+    assertThat(Slug.slugify(value)).isEqualTo(slugify.slugify(value));
+  }
 }
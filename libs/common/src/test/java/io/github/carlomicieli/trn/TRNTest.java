@@ -71,6 +71,22 @@ class TRNTest {
         .containsExactly("namespace-specific-string1", "namespace-specific-string2");
   }
 
+  @ParameterizedTest
+  @CsvSource({
+    "TRN:namespace:nss,namespace,nss",
+    "trn:namespace:nss1:nss2,namespace,nss1:nss2",
+    "trn:namespace:nss1::nss2,namespace,nss1:nss2",
+    "trn:namespace:nss1:,namespace,nss1",
+    "trn:namespace:nss 1:nss2,namespace,nss2",
+    "trn:namespace:nss1:nss 2:nss3,namespace,nss1:nss3",
+  })
+  void it_should_skip_the_invalid_namespace_specific_strings(
+      final String value, final String namespaceIdentifier, final String namespaceSpecificString) {
+    TRN trn = TRN.of(value);
+    assertThat(trn.namespaceIdentifier()).isEqualTo(namespaceIdentifier);
+    assertThat(trn.namespaceSpecificString()).isEqualTo(namespaceSpecificString);
+  }
+
   @Test
   void it_should_produce_a_String_representation() {
     TRN trn = TRN.of("trn:namespace:namespace-specific-string");
@@ -154,4 +170,25 @@ class TRNTest {
   void it_should_check_TRN_validity(final String value, final boolean isValid) {
     assertThat(TRN.isValid(value)).isEqualTo(isValid);
   }
+
+  @ParameterizedTest
+  @CsvSource({
+    "trn:namespace:namespace-specific-string,true",
+    "trn:namespace:first:second,true",
+    "trn:namespace:Upper_Case,true",
+    "TRN:namespace:namespace-specific-string,false",
+    "trn:namespaces:namespace-specific-string,false",
+    "trn:different-namespace:namespace-specific-string,false",
+    "trn:namespace:,false",
+    "trn:namespace:first::second,false",
+    "trn:namespace:first:,false",
+    "trn:namespace:namespace specific string,false"
+  })
+  void it_should_check_if_the_TRN_is_in_its_canonical_form(
+      final String value, final boolean isCanonical) {
+    assertThat(TRN.isCanonical(value, "namespace")).isEqualTo(isCanonical);
+    if (isCanonical) {
+      assertThat(TRN.of(value)).hasToString(value);
+    }
+  }
 }
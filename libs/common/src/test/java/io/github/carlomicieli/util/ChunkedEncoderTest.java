@@ -0,0 +1,115 @@
+/*
+ *   Copyright (c) 2024 (C) Carlo Micieli
+ *
+ *    Licensed to the Apache Software Foundation (ASF) under one
+ *    or more contributor license agreements.  See the NOTICE file
+ *    distributed with this work for additional information
+ *    regarding copyright ownership.  The ASF licenses this file
+ *    to you under the Apache License, Version 2.0 (the
+ *    "License"); you may not use this file except in compliance
+ *    with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing,
+ *    software distributed under the License is distributed on an
+ *    "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *    KIND, either express or implied.  See the License for the
+ *    specific language governing permissions and limitations
+ *    under the License.
+ */
+package io.github.carlomicieli.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ChunkedEncoder")
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ChunkedEncoderTest {
+  private static final ChunkedEncoder.Encoder<Integer> LINES =
+      (value, output) -> output.write((value + "\n").getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  void it_should_encode_the_values_in_chunks() {
+    var encoder = new ChunkedEncoder<>(IntStream.range(0, 10).iterator(), LINES, 6);
+
+    assertThat(chunks(encoder)).containsExactly("0\n1\n2\n", "3\n4\n5\n", "6\n7\n8\n", "9\n");
+  }
+
+  @Test
+  void it_should_write_the_header_and_the_footer() {
+    var encoder =
+        new ChunkedEncoder<>(
+            List.of(1, 2, 3).iterator(), LINES, "[\n".getBytes(), "]".getBytes(), 1024);
+
+    assertThat(chunks(encoder)).containsExactly("[\n1\n2\n3\n]");
+  }
+
+  @Test
+  void it_should_produce_one_chunk_when_there_are_no_values() {
+    var encoder =
+        new ChunkedEncoder<>(
+            Collections.<Integer>emptyIterator(), LINES, "[".getBytes(), "]".getBytes(), 8);
+
+    assertThat(chunks(encoder)).containsExactly("[]");
+    assertThatThrownBy(encoder::next).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void it_should_encode_the_values_lazily() {
+    List<Integer> encoded = new ArrayList<>();
+    var encoder =
+        new ChunkedEncoder<Integer>(
+            IntStream.range(0, 100).iterator(),
+            (value, output) -> {
+              encoded.add(value);
+              output.write(value);
+            },
+            10);
+
+    encoder.next();
+
+    assertThat(encoded).hasSize(10);
+  }
+
+  @Test
+  void it_should_wrap_the_encoding_errors() {
+    var encoder =
+        new ChunkedEncoder<Integer>(
+            List.of(1).iterator(),
+            (value, output) -> {
+              throw new IOException("boom");
+            },
+            10);
+
+    assertThatThrownBy(encoder::next)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasRootCauseMessage("boom");
+  }
+
+  @Test
+  void it_should_reject_chunk_sizes_that_are_not_positive() {
+    assertThatThrownBy(() -> new ChunkedEncoder<>(List.of(1).iterator(), LINES, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The chunk size must be positive");
+  }
+
+  private static List<String> chunks(ChunkedEncoder<Integer> encoder) {
+    List<String> chunks = new ArrayList<>();
+    encoder.forEachRemaining(chunk -> chunks.add(new String(chunk, StandardCharsets.UTF_8)));
+    return chunks;
+  }
+}
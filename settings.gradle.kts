@@ -5,6 +5,7 @@ plugins {
 
 rootProject.name = "micronaut-trains"
 include("api")
+include("benchmarks")
 include(":libs:common")
 include(":libs:catalog")
 